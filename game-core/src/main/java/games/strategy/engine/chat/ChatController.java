@@ -2,12 +2,15 @@ package games.strategy.engine.chat;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.concurrent.GuardedBy;
+
 import games.strategy.engine.lobby.server.IModeratorController;
 import games.strategy.engine.message.IChannelMessenger;
 import games.strategy.engine.message.IRemoteMessenger;
@@ -29,9 +32,11 @@ public class ChatController implements IChatController {
   private final IModeratorController moderatorController;
   private final IChannelMessenger channelMessenger;
   private final String chatName;
-  private final Map<INode, Tag> chatters = new HashMap<>();
+  // read without locking; membership changes hold the mutex so they are numbered in the order they are broadcast
+  private final Map<INode, Tag> chatters = new ConcurrentHashMap<>();
   private final Object mutex = new Object();
   private final String chatChannel;
+  @GuardedBy("mutex")
   private long version;
   private final ScheduledExecutorService pingThread = Executors.newScheduledThreadPool(1);
   private final IConnectionChangeListener connectionChangeListener = new IConnectionChangeListener() {
@@ -40,11 +45,7 @@ public class ChatController implements IChatController {
 
     @Override
     public void connectionRemoved(final INode to) {
-      synchronized (mutex) {
-        if (chatters.keySet().contains(to)) {
-          leaveChatInternal(to);
-        }
-      }
+      leaveChatInternal(to);
     }
   };
 
@@ -125,13 +126,16 @@ public class ChatController implements IChatController {
   }
 
   private void leaveChatInternal(final INode node) {
-    final long version;
+    if (!chatters.containsKey(node)) {
+      return;
+    }
     synchronized (mutex) {
-      chatters.remove(node);
-      this.version++;
-      version = this.version;
+      if (chatters.remove(node) == null) {
+        return;
+      }
+      version++;
+      getChatBroadcaster().speakerRemoved(node, version);
     }
-    getChatBroadcaster().speakerRemoved(node, version);
     logger.info("Chatter:" + node + " has left chat:" + chatName);
   }
 }
@@ -1,42 +1,62 @@
 package games.strategy.engine.chat;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * Simple flood control, only allow so many events per window of time. During each rolling time window, anyone that
- * sends more than "N" messages will be filtered until the next time window begins.
+ * Simple flood control, only allow so many events per window of time. Each sender has a token bucket that holds up to
+ * "N" events and refills at "N" events per window, so anyone may send a burst of "N" messages, but no more than "N"
+ * messages per window over time.
  *
+ * <p>
+ * The bucket of each sender is kept as the time at which it will be full again, and is updated without locking, so
+ * many threads may check events concurrently. Buckets that are full again are forgotten once per window.
+ * </p>
  */
-class ChatFloodControl {
+@ThreadSafe
+public final class ChatFloodControl {
   private static final int ONE_MINUTE = 60 * 1000;
   static final int EVENTS_PER_WINDOW = 20;
   static final int WINDOW = ONE_MINUTE;
-  private final Object lock = new Object();
-  private final Map<String, Integer> messageCount = new HashMap<>();
-  private long clearTime;
+  private static final long EVENT_INTERVAL = WINDOW / EVENTS_PER_WINDOW;
+  private final ConcurrentMap<String, Long> fullTimes = new ConcurrentHashMap<>();
+  private final AtomicLong nextSweepTime = new AtomicLong(Long.MIN_VALUE);
 
-  ChatFloodControl() {
-    this(System.currentTimeMillis());
+  /**
+   * Records an event of the specified sender if the sender's bucket has a token left.
+   *
+   * @return {@code true} if the event is allowed.
+   */
+  public boolean allow(final String from, final long now) {
+    sweep(now);
+    while (true) {
+      final @Nullable Long fullTime = fullTimes.get(from);
+      final long nextFullTime = Math.max((fullTime != null) ? fullTime : now, now) + EVENT_INTERVAL;
+      if (nextFullTime - now > WINDOW) {
+        return false;
+      }
+      final boolean updated = (fullTime != null)
+          ? fullTimes.replace(from, fullTime, nextFullTime)
+          : (fullTimes.putIfAbsent(from, nextFullTime) == null);
+      if (updated) {
+        return true;
+      }
+    }
   }
 
-  ChatFloodControl(final long initialClearTime) {
-    clearTime = initialClearTime;
+  private void sweep(final long now) {
+    final long sweepTime = nextSweepTime.get();
+    if (now >= sweepTime && nextSweepTime.compareAndSet(sweepTime, now + WINDOW)) {
+      // removes an entry only if it still has the value that was tested
+      fullTimes.values().removeIf(fullTime -> fullTime <= now);
+    }
   }
 
-  boolean allow(final String from, final long now) {
-    synchronized (lock) {
-      // reset the window
-      if (now > clearTime) {
-        messageCount.clear();
-        clearTime = now + WINDOW;
-      }
-      if (!messageCount.containsKey(from)) {
-        messageCount.put(from, 1);
-      } else {
-        messageCount.put(from, messageCount.get(from) + 1);
-      }
-      return messageCount.get(from) <= EVENTS_PER_WINDOW;
-    }
+  int getSenderCount() {
+    return fullTimes.size();
   }
 }
@@ -5,6 +5,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.engine.config.PropertyReader;
+import games.strategy.engine.message.unifiedmessenger.InvocationScheduler;
+import games.strategy.net.AuthenticationScheduler;
 
 /**
  * Reads property values from a lobby configuration.
@@ -18,6 +20,31 @@ public final class LobbyPropertyReader {
     this.propertyReader = propertyReader;
   }
 
+  public int getAuthenticationQueueCapacity() {
+    return propertyReader.readIntegerPropertyOrDefault(
+        PropertyKeys.AUTHENTICATION_QUEUE_CAPACITY, DefaultValues.AUTHENTICATION_QUEUE_CAPACITY);
+  }
+
+  public int getAuthenticationThreads() {
+    return propertyReader.readIntegerPropertyOrDefault(
+        PropertyKeys.AUTHENTICATION_THREADS, DefaultValues.AUTHENTICATION_THREADS);
+  }
+
+  public int getInvocationQueueCapacity() {
+    return propertyReader.readIntegerPropertyOrDefault(
+        PropertyKeys.INVOCATION_QUEUE_CAPACITY, DefaultValues.INVOCATION_QUEUE_CAPACITY);
+  }
+
+  public int getInvocationThreads() {
+    return propertyReader.readIntegerPropertyOrDefault(
+        PropertyKeys.INVOCATION_THREADS, DefaultValues.INVOCATION_THREADS);
+  }
+
+  public int getMaxPendingLoginsPerAddress() {
+    return propertyReader.readIntegerPropertyOrDefault(
+        PropertyKeys.MAX_PENDING_LOGINS_PER_ADDRESS, DefaultValues.MAX_PENDING_LOGINS_PER_ADDRESS);
+  }
+
   public int getPort() {
     return propertyReader.readIntegerPropertyOrDefault(PropertyKeys.PORT, DefaultValues.PORT);
   }
@@ -34,6 +61,11 @@ public final class LobbyPropertyReader {
     return propertyReader.readProperty(PropertyKeys.POSTGRES_PASSWORD);
   }
 
+  public int getPostgresPoolSize() {
+    return propertyReader.readIntegerPropertyOrDefault(
+        PropertyKeys.POSTGRES_POOL_SIZE, DefaultValues.POSTGRES_POOL_SIZE);
+  }
+
   public int getPostgresPort() {
     return propertyReader.readIntegerPropertyOrDefault(PropertyKeys.POSTGRES_PORT, DefaultValues.POSTGRES_PORT);
   }
@@ -51,21 +83,33 @@ public final class LobbyPropertyReader {
    */
   @VisibleForTesting
   public interface PropertyKeys {
+    String AUTHENTICATION_QUEUE_CAPACITY = "authentication_queue_capacity";
+    String AUTHENTICATION_THREADS = "authentication_threads";
+    String INVOCATION_QUEUE_CAPACITY = "invocation_queue_capacity";
+    String INVOCATION_THREADS = "invocation_threads";
     String MAINTENANCE_MODE = "maintenance_mode";
+    String MAX_PENDING_LOGINS_PER_ADDRESS = "max_pending_logins_per_address";
     String PORT = "port";
     String POSTGRES_DATABASE = "postgres_database";
     String POSTGRES_HOST = "postgres_host";
     String POSTGRES_PASSWORD = "postgres_password";
+    String POSTGRES_POOL_SIZE = "postgres_pool_size";
     String POSTGRES_PORT = "postgres_port";
     String POSTGRES_USER = "postgres_user";
   }
 
   @VisibleForTesting
   interface DefaultValues {
+    int AUTHENTICATION_QUEUE_CAPACITY = AuthenticationScheduler.DEFAULT_QUEUE_CAPACITY;
+    int AUTHENTICATION_THREADS = AuthenticationScheduler.DEFAULT_PARALLELISM;
+    int INVOCATION_QUEUE_CAPACITY = InvocationScheduler.DEFAULT_QUEUE_CAPACITY;
+    int INVOCATION_THREADS = InvocationScheduler.DEFAULT_PARALLELISM;
     boolean MAINTENANCE_MODE = false;
+    int MAX_PENDING_LOGINS_PER_ADDRESS = AuthenticationScheduler.DEFAULT_MAX_PENDING_PER_ADDRESS;
     int PORT = 3304;
     String POSTGRES_DATABASE = "ta_users";
     String POSTGRES_HOST = "localhost";
+    int POSTGRES_POOL_SIZE = 10;
     int POSTGRES_PORT = 5432;
   }
 }
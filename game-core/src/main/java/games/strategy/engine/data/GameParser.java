@@ -6,10 +6,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.Function;
@@ -18,20 +23,24 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import javax.annotation.Nullable;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.ErrorHandler;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.GameEngineVersion;
@@ -65,10 +74,27 @@ import lombok.extern.java.Log;
 public final class GameParser {
   private static final String RESOURCE_IS_DISPLAY_FOR_NONE = "NONE";
 
+  // the sections of a game definition, in the order the DTD requires
+  private static final List<String> SECTIONS = ImmutableList.of("info", "loader", "triplea", "diceSides", "map",
+      "resourceList", "playerList", "unitList", "relationshipTypes", "territoryEffectList", "gamePlay", "production",
+      "technology", "attachmentList", "initialize", "propertyList");
+  private static final Set<String> SHALLOW_SECTIONS =
+      ImmutableSet.of("info", "loader", "triplea", "diceSides", "playerList", "propertyList");
+  private static final Set<String> REQUIRED_SECTIONS =
+      ImmutableSet.of("info", "loader", "map", "playerList", "gamePlay");
+  private static final Set<String> REQUIRED_SHALLOW_SECTIONS = ImmutableSet.of("info", "loader", "playerList");
+
   private final GameData data = new GameData();
   private final Collection<SAXParseException> errorsSax = new ArrayList<>();
   public static final String DTD_FILE_NAME = "game.dtd";
   private final String mapName;
+  private boolean shallow;
+  private final Set<String> readSections = new HashSet<>();
+  // sections that refer to sections not yet parsed
+  private final Map<String, Element> deferredSections = new HashMap<>();
+  // the loader section, which is parsed only once the minimum engine version has been checked
+  private @Nullable Element pendingLoader;
+  private final XmlGameElementMapper elementMapper = new XmlGameElementMapper();
 
   private GameParser(final String mapName) {
     this.mapName = mapName;
@@ -88,9 +114,7 @@ public final class GameParser {
   }
 
   private GameData parse(final InputStream stream) throws GameParseException, EngineVersionException {
-    final Element root = parseDom(stream);
-    parseMapProperties(root);
-    parseMapDetails(root);
+    parseDocument(stream, false);
     return data;
   }
 
@@ -120,85 +144,182 @@ public final class GameParser {
   }
 
   private GameData parseShallow(final InputStream stream) throws GameParseException, EngineVersionException {
-    final Element root = parseDom(stream);
-    parseMapProperties(root);
+    parseDocument(stream, true);
     return data;
   }
 
-  private Element parseDom(final InputStream stream) throws GameParseException {
+  /**
+   * Reads the game definition in one forward pass. Each section is parsed as soon as it has been read, unless it refers
+   * to a section that comes later in the document, in which case it is parsed once that section has been parsed. The
+   * attachments, which make up most of a large game definition, are parsed one at a time as they are read, unless they
+   * must wait for the properties.
+   */
+  private void parseDocument(final InputStream stream, final boolean shallow)
+      throws GameParseException, EngineVersionException {
+    this.shallow = shallow;
+    parseDiceSides(null);
     try {
-      return getDocument(stream).getDocumentElement();
-    } catch (final SAXException e) {
-      throw newGameParseException("failed to parse XML document", e);
-    }
-  }
+      readDocument(stream);
+      // a document without a triplea section has no minimum engine version
+      parsePendingLoader();
 
-  private void parseMapProperties(final Element root) throws GameParseException, EngineVersionException {
-    // mandatory fields
-    // get the name of the map
-    parseInfo(getSingleChild("info", root));
-
-    // test minimum engine version FIRST
-    parseMinimumEngineVersionNumber(getSingleChild("triplea", root, true));
-    parseGameLoader(getSingleChild("loader", root));
-    // if we manage to get this far, past the minimum engine version number test, AND we are still good, then check and
-    // see if we have any
-    // SAX errors we need to show
-    if (!errorsSax.isEmpty()) {
+      for (final String name : shallow ? REQUIRED_SHALLOW_SECTIONS : REQUIRED_SECTIONS) {
+        if (!readSections.contains(name)) {
+          throw newGameParseException("No child called " + name);
+        }
+      }
+    } finally {
+      // the SAX errors often explain why a section failed to parse, so they are shown whether or not parsing succeeded
       for (final SAXParseException error : errorsSax) {
         log.log(Level.SEVERE,
             "SAXParseException: game: " + (data.getGameName() == null ? "?" : data.getGameName()) + ", line: " + error
                 .getLineNumber() + ", column: " + error.getColumnNumber() + ", error: " + error.getMessage());
       }
     }
-    parseDiceSides(getSingleChild("diceSides", root, true));
-    final Element playerListNode = getSingleChild("playerList", root);
-    parsePlayerList(playerListNode);
-    parseAlliances(playerListNode);
-    final Node properties = getSingleChild("propertyList", root, true);
-    if (properties != null) {
-      parseProperties(properties);
+    if (!shallow) {
+      if (!readSections.contains("propertyList")) {
+        parseDeferredSections();
+      }
+      parseDefaults();
     }
   }
 
-  private void parseMapDetails(final Element root) throws GameParseException {
-    parseMap(getSingleChild("map", root));
-    final Element resourceList = getSingleChild("resourceList", root, true);
-    if (resourceList != null) {
-      parseResources(resourceList);
+  private void readDocument(final InputStream stream) throws GameParseException, EngineVersionException {
+    // get the dtd location
+    final String dtdFile = "/games/strategy/engine/xml/" + DTD_FILE_NAME;
+    final URL url = GameParser.class.getResource(dtdFile);
+    if (url == null) {
+      throw new RuntimeException(String.format("Map: %s, Could not find in classpath %s", mapName, dtdFile));
     }
-    final Element unitList = getSingleChild("unitList", root, true);
-    if (unitList != null) {
-      parseUnits(unitList);
+    final String dtdSystem = url.toExternalForm();
+    final InputSource source = new InputSource(stream);
+    source.setSystemId(dtdSystem.substring(0, dtdSystem.length() - 8));
+    try {
+      final SAXParserFactory factory = SAXParserFactory.newInstance();
+      factory.setValidating(true);
+      factory.newSAXParser().parse(source, new SectionReader());
+    } catch (final SAXException e) {
+      if (e.getException() instanceof GameParseException) {
+        throw (GameParseException) e.getException();
+      } else if (e.getException() instanceof EngineVersionException) {
+        throw (EngineVersionException) e.getException();
+      }
+      throw newGameParseException("failed to parse XML document", e);
+    } catch (final IOException | ParserConfigurationException e) {
+      throw new IllegalStateException("Error parsing: " + mapName, e);
     }
-    // Parse all different relationshipTypes that are defined in the xml, for example: War, Allied, Neutral, NAP
-    final Element relationshipTypes = getSingleChild("relationshipTypes", root, true);
-    if (relationshipTypes != null) {
-      parseRelationshipTypes(relationshipTypes);
+  }
+
+  private boolean startSection(final String name) throws GameParseException {
+    if (!SECTIONS.contains(name) || (shallow && !SHALLOW_SECTIONS.contains(name))) {
+      return false;
     }
-    final Element territoryEffectList = getSingleChild("territoryEffectList", root, true);
-    if (territoryEffectList != null) {
-      parseTerritoryEffects(territoryEffectList);
+    if (!readSections.add(name)) {
+      throw newGameParseException("Too many children named " + name);
     }
-    parseGamePlay(getSingleChild("gamePlay", root));
-    final Element production = getSingleChild("production", root, true);
-    if (production != null) {
-      parseProduction(production);
+    return true;
+  }
+
+  private void parseSection(final Element section) throws GameParseException, EngineVersionException {
+    if (!section.getTagName().equals("triplea")) {
+      // the triplea section, if any, directly follows the loader section
+      parsePendingLoader();
+    }
+    switch (section.getTagName()) {
+      case "info":
+        parseInfo(section);
+        break;
+      case "loader":
+        // the loader class may not exist in this engine, so it is instantiated only once the engine version is checked
+        pendingLoader = section;
+        break;
+      case "triplea":
+        parseMinimumEngineVersionNumber(section);
+        parsePendingLoader();
+        break;
+      case "diceSides":
+        parseDiceSides(section);
+        break;
+      case "map":
+        parseMap(section);
+        break;
+      case "resourceList":
+        // resources refer to the players, which come later
+        deferredSections.put(section.getTagName(), section);
+        break;
+      case "playerList":
+        parsePlayerList(section);
+        parseAlliances(section);
+        if (deferredSections.containsKey("resourceList")) {
+          parseResources(deferredSections.remove("resourceList"));
+        }
+        break;
+      case "unitList":
+        parseUnits(section);
+        break;
+      case "relationshipTypes":
+        // Parse all different relationshipTypes that are defined in the xml, for example: War, Allied, Neutral, NAP
+        parseRelationshipTypes(section);
+        break;
+      case "territoryEffectList":
+        parseTerritoryEffects(section);
+        break;
+      case "gamePlay":
+        parseGamePlay(section);
+        break;
+      case "production":
+        parseProduction(section);
+        break;
+      case "technology":
+        parseTechnology(section);
+        break;
+      case "attachmentList":
+        // unless waiting for the properties, the attachments have been parsed as they were read
+        if (isWaitingForProperties()) {
+          deferredSections.put(section.getTagName(), section);
+        }
+        break;
+      case "initialize":
+        if (isWaitingForProperties()) {
+          deferredSections.put(section.getTagName(), section);
+        } else {
+          parseInitialization(section);
+        }
+        break;
+      case "propertyList":
+        parseProperties(section);
+        if (!shallow) {
+          parseDeferredSections();
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unknown section: " + section.getTagName());
     }
-    final Element technology = getSingleChild("technology", root, true);
-    if (technology != null) {
-      parseTechnology(technology);
-    } else {
+  }
+
+  /**
+   * Indicates whether the attachments and initialization must wait for the properties, which come last, because there
+   * is no technology section and the default technologies depend on the properties.
+   */
+  private boolean isWaitingForProperties() {
+    return !readSections.contains("technology") && !readSections.contains("propertyList");
+  }
+
+  private void parseDeferredSections() throws GameParseException {
+    if (!readSections.contains("technology")) {
       TechAdvance.createDefaultTechAdvances(data);
     }
-    final Element attachmentList = getSingleChild("attachmentList", root, true);
+    final Element attachmentList = deferredSections.remove("attachmentList");
     if (attachmentList != null) {
       parseAttachments(attachmentList);
     }
-    final Node initialization = getSingleChild("initialize", root, true);
+    final Element initialization = deferredSections.remove("initialize");
     if (initialization != null) {
       parseInitialization(initialization);
     }
+  }
+
+  private void parseDefaults() throws GameParseException {
     // set & override default relationships
     // sets the relationship between all players and the NullPlayer to NullRelation
     // (with archeType War)
@@ -289,38 +410,97 @@ public final class GameParser {
     }
   }
 
-  private Document getDocument(final InputStream input) throws SAXException {
-    try {
-      final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-      factory.setValidating(true);
-      // get the dtd location
-      final String dtdFile = "/games/strategy/engine/xml/" + DTD_FILE_NAME;
-      final URL url = GameParser.class.getResource(dtdFile);
-      if (url == null) {
-        throw new RuntimeException(String.format("Map: %s, Could not find in classpath %s", mapName, dtdFile));
+  /**
+   * Builds the elements of each section of the game definition as they are read, and hands each complete section to
+   * the parser. The attachments are handed to the parser one at a time, and dropped once parsed.
+   */
+  private final class SectionReader extends DefaultHandler {
+    private final Document document = newDocument();
+    private final Deque<Element> elements = new ArrayDeque<>();
+    private int depth;
+    // the depth of the section being skipped; zero if no section is being skipped
+    private int skippedDepth;
+
+    private Document newDocument() {
+      try {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+      } catch (final ParserConfigurationException e) {
+        throw new IllegalStateException("Error parsing: " + mapName, e);
+      }
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qualifiedName,
+        final Attributes attributes) throws SAXException {
+      depth++;
+      if (depth == 1 || skippedDepth != 0) {
+        return;
       }
-      final DocumentBuilder builder = factory.newDocumentBuilder();
-      builder.setErrorHandler(new ErrorHandler() {
-        @Override
-        public void fatalError(final SAXParseException exception) {
-          errorsSax.add(exception);
+      try {
+        if (depth == 2 && !startSection(qualifiedName)) {
+          skippedDepth = depth;
+          return;
         }
+      } catch (final GameParseException e) {
+        throw new SAXException(e);
+      }
 
-        @Override
-        public void error(final SAXParseException exception) {
-          errorsSax.add(exception);
+      final Element element = document.createElement(qualifiedName);
+      for (int i = 0; i < attributes.getLength(); i++) {
+        element.setAttribute(attributes.getQName(i), attributes.getValue(i));
+      }
+      if (!elements.isEmpty()) {
+        elements.peek().appendChild(element);
+      }
+      elements.push(element);
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String qualifiedName)
+        throws SAXException {
+      try {
+        if (depth == 1 || skippedDepth != 0) {
+          if (depth == skippedDepth) {
+            skippedDepth = 0;
+          }
+          return;
         }
 
-        @Override
-        public void warning(final SAXParseException exception) {
-          errorsSax.add(exception);
+        final Element element = elements.pop();
+        if (depth == 2) {
+          parseSection(element);
+        } else if (depth == 3 && element.getTagName().equals("attachment")
+            && elements.peek().getTagName().equals("attachmentList") && !isWaitingForProperties()) {
+          parseAttachment(element);
+          elements.peek().removeChild(element);
         }
-      });
-      final String dtdSystem = url.toExternalForm();
-      final String system = dtdSystem.substring(0, dtdSystem.length() - 8);
-      return builder.parse(input, system);
-    } catch (final IOException | ParserConfigurationException e) {
-      throw new IllegalStateException("Error parsing: " + mapName, e);
+      } catch (final GameParseException | EngineVersionException e) {
+        throw new SAXException(e);
+      } finally {
+        depth--;
+      }
+    }
+
+    @Override
+    public void characters(final char[] ch, final int start, final int length) {
+      if (skippedDepth == 0 && !elements.isEmpty()) {
+        elements.peek().appendChild(document.createTextNode(new String(ch, start, length)));
+      }
+    }
+
+    @Override
+    public void fatalError(final SAXParseException exception) {
+      errorsSax.add(exception);
+    }
+
+    @Override
+    public void error(final SAXParseException exception) {
+      errorsSax.add(exception);
+    }
+
+    @Override
+    public void warning(final SAXParseException exception) {
+      errorsSax.add(exception);
     }
   }
 
@@ -515,6 +695,14 @@ public final class GameParser {
     data.setGameVersion(new Version(version));
   }
 
+  private void parsePendingLoader() throws GameParseException {
+    if (pendingLoader != null) {
+      final Element loader = pendingLoader;
+      pendingLoader = null;
+      parseGameLoader(loader);
+    }
+  }
+
   private void parseGameLoader(final Node loader) throws GameParseException {
     final String className = ((Element) loader).getAttribute("javaClass");
     final Object instance = getInstance(className);
@@ -941,8 +1129,6 @@ public final class GameParser {
     for (final Element current : delegateList) {
       // load the class
       final String className = current.getAttribute("javaClass");
-      final XmlGameElementMapper elementMapper = new XmlGameElementMapper();
-
       final IDelegate delegate = elementMapper.getDelegate(className).orElseThrow(
           () -> newGameParseException("Class <" + className + "> is not a delegate."));
       final String name = current.getAttribute("name");
@@ -1193,20 +1379,24 @@ public final class GameParser {
 
   private void parseAttachments(final Element root) throws GameParseException {
     for (final Element current : getChildren("attachment", root)) {
-      final String className = current.getAttribute("javaClass");
-      final Attachable attachable = findAttachment(current, current.getAttribute("type"));
-      final String name = current.getAttribute("name");
-      final List<Element> options = getChildren("option", current);
-      final IAttachment attachment = new XmlGameElementMapper().getAttachment(className, name, attachable, data)
-          .orElseThrow(() -> newGameParseException("Attachment of type " + className + " could not be instantiated"));
-      attachable.addAttachment(name, attachment);
-
-      final ArrayList<Tuple<String, String>> attachmentOptionValues = setValues(attachment, options);
-      // keep a list of attachment references in the order they were added
-      data.addToAttachmentOrderAndValues(Tuple.of(attachment, attachmentOptionValues));
+      parseAttachment(current);
     }
   }
 
+  private void parseAttachment(final Element current) throws GameParseException {
+    final String className = current.getAttribute("javaClass");
+    final Attachable attachable = findAttachment(current, current.getAttribute("type"));
+    final String name = current.getAttribute("name");
+    final List<Element> options = getChildren("option", current);
+    final IAttachment attachment = elementMapper.getAttachment(className, name, attachable, data)
+        .orElseThrow(() -> newGameParseException("Attachment of type " + className + " could not be instantiated"));
+    attachable.addAttachment(name, attachment);
+
+    final ArrayList<Tuple<String, String>> attachmentOptionValues = setValues(attachment, options);
+    // keep a list of attachment references in the order they were added
+    data.addToAttachmentOrderAndValues(Tuple.of(attachment, attachmentOptionValues));
+  }
+
   private Attachable findAttachment(final Element element, final String type) throws GameParseException {
     final Attachable returnVal;
     final String name = "attachTo";
@@ -1233,6 +1423,8 @@ public final class GameParser {
   private ArrayList<Tuple<String, String>> setValues(final IAttachment attachment, final List<Element> values)
       throws GameParseException {
     final ArrayList<Tuple<String, String>> options = new ArrayList<>();
+    // the property map is built on each call, so look it up once rather than once per option
+    final Map<String, MutableProperty<?>> properties = attachment.getPropertyMap();
     for (final Element current : values) {
       // decapitalize the property name for backwards compatibility
       final String name = decapitalize(current.getAttribute("name"));
@@ -1244,7 +1436,7 @@ public final class GameParser {
       final String count = current.getAttribute("count");
       final String itemValues = (count.length() > 0 ? count + ":" : "") + value;
       try {
-        attachment.getProperty(name)
+        Optional.ofNullable(properties.get(name))
             .orElseThrow(() -> newGameParseException(String.format(
                 "Missing property definition for option '%s' in attachment '%s'",
                 name, attachment.getName())))
@@ -30,6 +30,18 @@ class AddUnits extends Change {
     m_name = name;
   }
 
+  String getHolderName() {
+    return m_name;
+  }
+
+  String getHolderType() {
+    return m_type;
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   public Change invert() {
     return new RemoveUnits(m_name, m_type, m_units);
@@ -0,0 +1,166 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.Unit;
+
+/**
+ * Compacts a sequence of changes into an equivalent change that only holds their net effect.
+ *
+ * <p>
+ * Territory owner, unit property, resource and unit location changes are merged: a property set several times is set
+ * once to its last value, resource changes are summed, and units that are added to and later removed from the same
+ * holder are dropped. These changes do not depend on each other, so they are merged across every run of them. Any
+ * other change is kept as is, and no change is merged across it, because it may depend on the state the preceding
+ * changes leave behind.
+ * </p>
+ *
+ * <p>
+ * The compacted change has the same effect as the original changes when performed on the state they were made on, and
+ * its inversion has the same effect as their inversion, except that the units of a holder may end up in a different
+ * order.
+ * </p>
+ */
+public final class ChangeCompactor {
+  private ChangeCompactor() {}
+
+  /**
+   * Returns a change with the net effect of the specified changes, performed in order.
+   */
+  public static CompositeChange compact(final Collection<? extends Change> changes) {
+    final CompositeChange compacted = new CompositeChange();
+    Run run = new Run();
+    for (final Change change : flatten(changes)) {
+      if (!run.add(change)) {
+        run.appendTo(compacted);
+        compacted.add(change);
+        run = new Run();
+      }
+    }
+    run.appendTo(compacted);
+    return compacted;
+  }
+
+  private static List<Change> flatten(final Collection<? extends Change> changes) {
+    final List<Change> flattened = new ArrayList<>(changes.size());
+    for (final Change change : changes) {
+      if (change instanceof CompositeChange) {
+        flattened.addAll(flatten(((CompositeChange) change).getChanges()));
+      } else {
+        flattened.add(change);
+      }
+    }
+    return flattened;
+  }
+
+  /**
+   * A run of changes that do not depend on each other.
+   */
+  private static final class Run {
+    private final List<Change> changes = new ArrayList<>();
+    private final Map<String, OwnerChange> ownerChanges = new LinkedHashMap<>();
+    private final Map<List<Object>, ObjectPropertyChange> propertyChanges = new LinkedHashMap<>();
+    private final Map<List<String>, Integer> resourceChanges = new LinkedHashMap<>();
+    // the net number of times each unit was added to each holder, in the order the units were last added
+    private final Map<List<String>, Map<Unit, Integer>> unitChanges = new LinkedHashMap<>();
+
+    /**
+     * Adds the specified change to this run and returns {@code true}, or returns {@code false} if it cannot be
+     * merged with other changes.
+     */
+    boolean add(final Change change) {
+      if (change instanceof OwnerChange) {
+        final OwnerChange ownerChange = (OwnerChange) change;
+        ownerChanges.merge(ownerChange.getTerritoryName(), ownerChange, (first, last) -> new OwnerChange(
+            first.getTerritoryName(), last.getNewOwnerName(), first.getOldOwnerName()));
+      } else if (change instanceof ObjectPropertyChange) {
+        final ObjectPropertyChange propertyChange = (ObjectPropertyChange) change;
+        propertyChanges.merge(Arrays.asList(propertyChange.getObject(), propertyChange.getProperty()),
+            propertyChange, (first, last) -> new ObjectPropertyChange(first.getObject(), first.getProperty(),
+                last.getNewValue(), first.getOldValue()));
+      } else if (change instanceof ChangeResourceChange) {
+        final ChangeResourceChange resourceChange = (ChangeResourceChange) change;
+        resourceChanges.merge(Arrays.asList(resourceChange.getPlayerName(), resourceChange.getResourceName()),
+            resourceChange.getQuantity(), Integer::sum);
+      } else if (change instanceof AddUnits) {
+        final AddUnits addUnits = (AddUnits) change;
+        final Map<Unit, Integer> holderChanges = getUnitChanges(addUnits.getHolderName(), addUnits.getHolderType());
+        for (final Unit unit : addUnits.getUnits()) {
+          final int count = holderChanges.getOrDefault(unit, 0) + 1;
+          // re-inserted, so the units keep the order in which they were last added
+          holderChanges.remove(unit);
+          holderChanges.put(unit, count);
+        }
+      } else if (change instanceof RemoveUnits) {
+        final RemoveUnits removeUnits = (RemoveUnits) change;
+        final Map<Unit, Integer> holderChanges =
+            getUnitChanges(removeUnits.getHolderName(), removeUnits.getHolderType());
+        for (final Unit unit : removeUnits.getUnits()) {
+          holderChanges.merge(unit, -1, Integer::sum);
+        }
+      } else {
+        return false;
+      }
+      changes.add(change);
+      return true;
+    }
+
+    private Map<Unit, Integer> getUnitChanges(final String holderName, final String holderType) {
+      return unitChanges.computeIfAbsent(Arrays.asList(holderName, holderType), key -> new LinkedHashMap<>());
+    }
+
+    /**
+     * Appends the net changes of this run to the specified change.
+     */
+    void appendTo(final CompositeChange change) {
+      if (changes.size() <= 1 || !areUnitChangesValid()) {
+        changes.forEach(change::add);
+        return;
+      }
+
+      ownerChanges.values().stream()
+          .filter(ownerChange -> !Objects.equals(ownerChange.getOldOwnerName(), ownerChange.getNewOwnerName()))
+          .forEach(change::add);
+      propertyChanges.values().stream()
+          .filter(propertyChange -> !Objects.equals(propertyChange.getOldValue(), propertyChange.getNewValue()))
+          .forEach(change::add);
+      resourceChanges.forEach((key, quantity) -> {
+        if (quantity != 0) {
+          change.add(new ChangeResourceChange(key.get(0), key.get(1), quantity));
+        }
+      });
+      unitChanges.forEach((key, holderChanges) -> {
+        final List<Unit> removedUnits = new ArrayList<>();
+        final List<Unit> addedUnits = new ArrayList<>();
+        holderChanges.forEach((unit, count) -> {
+          if (count < 0) {
+            removedUnits.add(unit);
+          } else if (count > 0) {
+            addedUnits.add(unit);
+          }
+        });
+        if (!removedUnits.isEmpty()) {
+          change.add(new RemoveUnits(key.get(0), key.get(1), removedUnits));
+        }
+        if (!addedUnits.isEmpty()) {
+          change.add(new AddUnits(key.get(0), key.get(1), addedUnits));
+        }
+      });
+    }
+
+    private boolean areUnitChangesValid() {
+      // a unit added to or removed from a holder twice in a row is left to fail as it would have without compaction
+      return unitChanges.values().stream()
+          .flatMap(holderChanges -> holderChanges.values().stream())
+          .allMatch(count -> count >= -1 && count <= 1);
+    }
+  }
+}
@@ -21,12 +21,24 @@ class ChangeResourceChange extends Change {
     m_quantity = quantity;
   }
 
-  private ChangeResourceChange(final String player, final String resource, final int quantity) {
+  ChangeResourceChange(final String player, final String resource, final int quantity) {
     m_player = player;
     m_resource = resource;
     m_quantity = quantity;
   }
 
+  String getPlayerName() {
+    return m_player;
+  }
+
+  String getResourceName() {
+    return m_resource;
+  }
+
+  int getQuantity() {
+    return m_quantity;
+  }
+
   @Override
   public Change invert() {
     return new ChangeResourceChange(m_player, m_resource, -m_quantity);
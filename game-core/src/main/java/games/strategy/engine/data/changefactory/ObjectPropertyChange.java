@@ -22,7 +22,7 @@ public class ObjectPropertyChange extends Change {
     m_oldValue = object.getPropertyOrThrow(property).getValue();
   }
 
-  private ObjectPropertyChange(final Unit object, final String property, final Object newValue,
+  ObjectPropertyChange(final Unit object, final String property, final Object newValue,
       final Object oldValue) {
     m_object = object;
     // prevent multiple copies of the property names being held in the game
@@ -36,6 +36,22 @@ public class ObjectPropertyChange extends Change {
     m_property = m_property.intern();
   }
 
+  Unit getObject() {
+    return m_object;
+  }
+
+  String getProperty() {
+    return m_property;
+  }
+
+  Object getOldValue() {
+    return m_oldValue;
+  }
+
+  Object getNewValue() {
+    return m_newValue;
+  }
+
   @Override
   public Change invert() {
     return new ObjectPropertyChange(m_object, m_property, m_oldValue, m_newValue);
@@ -26,7 +26,7 @@ class OwnerChange extends Change {
     m_old = getName(territory.getOwner());
   }
 
-  private OwnerChange(final String name, final String newOwner, final String oldOwner) {
+  OwnerChange(final String name, final String newOwner, final String oldOwner) {
     m_territory = name;
     m_new = newOwner;
     m_old = oldOwner;
@@ -46,6 +46,18 @@ class OwnerChange extends Change {
     return data.getPlayerList().getPlayerId(name);
   }
 
+  String getTerritoryName() {
+    return m_territory;
+  }
+
+  String getOldOwnerName() {
+    return m_old;
+  }
+
+  String getNewOwnerName() {
+    return m_new;
+  }
+
   @Override
   public Change invert() {
     return new OwnerChange(m_territory, m_old, m_new);
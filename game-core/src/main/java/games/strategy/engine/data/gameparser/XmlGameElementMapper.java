@@ -67,8 +67,11 @@ import lombok.extern.java.Log;
  */
 @Log
 public class XmlGameElementMapper {
-  /* Maps a name (given as an XML attribute value) to a supplier function that creates the corresponding delegate */
-  private final ImmutableMap<String, Supplier<IDelegate>> delegateMap =
+  /*
+   * Maps a name (given as an XML attribute value) to a supplier function that creates the corresponding delegate. The
+   * maps are shared by all mappers, so they are built once rather than for each parsed delegate and attachment.
+   */
+  private static final ImmutableMap<String, Supplier<IDelegate>> DELEGATE_MAP =
       ImmutableMap.<String, Supplier<IDelegate>>builder()
           .put("BattleDelegate", BattleDelegate::new)
           .put("BidPlaceDelegate", BidPlaceDelegate::new)
@@ -99,7 +102,7 @@ public class XmlGameElementMapper {
   /*
    * Maps a name (given as an XML attribute value) to a function that can create attachment objects.
    */
-  private final ImmutableMap<String, Function<AttachmentData, IAttachment>> attachmentMap =
+  private static final ImmutableMap<String, Function<AttachmentData, IAttachment>> ATTACHMENT_MAP =
       ImmutableMap.<String, Function<AttachmentData, IAttachment>>builder()
           .put("CanalAttachment", attachmentData -> new CanalAttachment(attachmentData.name,
               attachmentData.attachable, attachmentData.gameData))
@@ -162,12 +165,12 @@ public class XmlGameElementMapper {
    */
   public Optional<IDelegate> getDelegate(final String className) {
     final String bareName = className.replaceAll("^games\\.strategy\\.triplea\\.delegate\\.", "");
-    if (!delegateMap.containsKey(bareName)) {
+    if (!DELEGATE_MAP.containsKey(bareName)) {
       handleMissingObjectError("delegate", className);
       return Optional.empty();
     }
 
-    return Optional.of(delegateMap.get(bareName).get());
+    return Optional.of(DELEGATE_MAP.get(bareName).get());
   }
 
   private static void handleMissingObjectError(final String typeLabel, final String value) {
@@ -180,11 +183,11 @@ public class XmlGameElementMapper {
   public Optional<IAttachment> getAttachment(final String javaClass, final String name, final Attachable attachable,
       final GameData data) {
     final String bareName = javaClass.replaceAll("^games\\.strategy\\.triplea\\.attachments\\.", "");
-    if (!attachmentMap.containsKey(bareName)) {
+    if (!ATTACHMENT_MAP.containsKey(bareName)) {
       handleMissingObjectError("attachment", javaClass);
       return Optional.empty();
     }
-    final Function<AttachmentData, IAttachment> attachmentFactoryFunction = attachmentMap.get(bareName);
+    final Function<AttachmentData, IAttachment> attachmentFactoryFunction = ATTACHMENT_MAP.get(bareName);
     return Optional.of(attachmentFactoryFunction.apply(new AttachmentData(name, attachable, data)));
   }
 }
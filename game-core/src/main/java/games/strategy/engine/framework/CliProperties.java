@@ -22,6 +22,9 @@ public class CliProperties {
   public static final String LOBBY_GAME_SUPPORT_PASSWORD = "triplea.lobby.game.supportPassword";
   public static final String LOBBY_GAME_RECONNECTION = "triplea.lobby.game.reconnection";
   public static final String DO_NOT_CHECK_FOR_UPDATES = "triplea.doNotCheckForUpdates";
+  public static final String SERVER_POOL_GAMES = "triplea.server.pool.games";
+  public static final String SERVER_POOL_INVOCATION_THREADS = "triplea.server.pool.invocationThreads";
+  public static final String SERVER_POOL_STATUS_PORT = "triplea.server.pool.statusPort";
 
   public static final String MAP_FOLDER = "triplea.map.folder";
 }
@@ -108,15 +108,23 @@ public final class GameDataManager {
           return null;
         }
       }
-      final GameData data = (GameData) input.readObject();
-      loadDelegates(input, data);
-      data.postDeSerialize();
-      return data;
+      return readGameData(input);
     } catch (final ClassNotFoundException cnfe) {
       throw new IOException(cnfe.getMessage());
     }
   }
 
+  /**
+   * Reads game data and its delegates, as written by {@link #writeGameData(ObjectOutputStream, GameData, boolean)},
+   * from the specified stream.
+   */
+  static GameData readGameData(final ObjectInputStream input) throws ClassNotFoundException, IOException {
+    final GameData data = (GameData) input.readObject();
+    loadDelegates(input, data);
+    data.postDeSerialize();
+    return data;
+  }
+
   private static void loadDelegates(final ObjectInputStream input, final GameData data)
       throws ClassNotFoundException, IOException {
     for (Object endMarker = input.readObject(); !endMarker.equals(DELEGATE_LIST_END); endMarker = input.readObject()) {
@@ -163,17 +171,7 @@ public final class GameDataManager {
     final byte[] bytes = IoUtils.writeToMemory(os -> {
       try (ObjectOutputStream outStream = new ObjectOutputStream(os)) {
         outStream.writeObject(ClientContext.engineVersion());
-        data.acquireReadLock();
-        try {
-          outStream.writeObject(data);
-          if (saveDelegateInfo) {
-            writeDelegates(data, outStream);
-          } else {
-            outStream.writeObject(DELEGATE_LIST_END);
-          }
-        } finally {
-          data.releaseReadLock();
-        }
+        writeGameData(outStream, data, saveDelegateInfo);
       }
     });
 
@@ -183,6 +181,25 @@ public final class GameDataManager {
     }
   }
 
+  /**
+   * Writes the specified game data and, optionally, the state of its delegates to the specified stream. Unlike a saved
+   * game, the engine version is not written.
+   */
+  static void writeGameData(final ObjectOutputStream out, final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
+    data.acquireReadLock();
+    try {
+      out.writeObject(data);
+      if (saveDelegateInfo) {
+        writeDelegates(data, out);
+      } else {
+        out.writeObject(DELEGATE_LIST_END);
+      }
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
   private static void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException {
     for (final IDelegate delegate : data.getDelegateList()) {
       out.writeObject(DELEGATE_START);
@@ -0,0 +1,242 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.ClientFileSystemHelper;
+import games.strategy.engine.data.EngineVersionException;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParseException;
+import games.strategy.engine.data.GameParser;
+import games.strategy.io.IoUtils;
+import games.strategy.triplea.settings.ClientSetting;
+import games.strategy.util.Version;
+import lombok.extern.java.Log;
+
+/**
+ * Parses game XML files, keeping the result of each parse as a serialized template so that the same file can be
+ * started again without parsing it again.
+ *
+ * <p>
+ * Templates are keyed by the hash of the XML content and the engine version, so an edited map or a new engine never
+ * sees a stale template. They are kept in memory, up to a fixed total size, and optionally in a folder on disk so that
+ * they survive restarts. The folder is kept under a fixed total size by deleting the least recently used templates,
+ * so templates of edited maps and older engines are eventually removed. Every call returns a new {@link GameData}
+ * instance with its own game UUID, exactly as if the XML had been parsed.
+ * </p>
+ */
+@Log
+@ThreadSafe
+public final class GameDataTemplateCache {
+  private static final long MAX_MEMORY_BYTES = 64L * 1024 * 1024;
+  @VisibleForTesting
+  static final long DEFAULT_MAX_DISK_BYTES = 256L * 1024 * 1024;
+  private static final String FILE_EXTENSION = ".tgt";
+
+  private static volatile @Nullable GameDataTemplateCache instance;
+
+  private final @Nullable File folder;
+  private final Version engineVersion;
+  private final long maxDiskBytes;
+  private final Cache<String, byte[]> templates = CacheBuilder.newBuilder()
+      .maximumWeight(MAX_MEMORY_BYTES)
+      .weigher((final String key, final byte[] template) -> template.length)
+      .build();
+
+  /**
+   * Initializes a new cache.
+   *
+   * @param folder The folder in which templates are stored between runs, or {@code null} to keep them only in memory.
+   * @param engineVersion The version of the engine that creates and reads the templates.
+   * @param maxDiskBytes The total size of the templates kept in the folder.
+   */
+  @VisibleForTesting
+  GameDataTemplateCache(final @Nullable File folder, final Version engineVersion, final long maxDiskBytes) {
+    this.folder = folder;
+    this.engineVersion = checkNotNull(engineVersion);
+    this.maxDiskBytes = maxDiskBytes;
+  }
+
+  /**
+   * Returns the cache shared by the whole process, which stores templates in the user's TripleA folder unless the
+   * {@link ClientSetting#CACHE_GAME_TEMPLATES_ON_DISK} setting is disabled.
+   */
+  public static GameDataTemplateCache getInstance() {
+    if (instance == null) {
+      synchronized (GameDataTemplateCache.class) {
+        if (instance == null) {
+          instance = new GameDataTemplateCache(
+              ClientSetting.CACHE_GAME_TEMPLATES_ON_DISK.booleanValue()
+                  ? new File(ClientFileSystemHelper.getUserRootFolder(), "gameCache")
+                  : null,
+              ClientContext.engineVersion(),
+              DEFAULT_MAX_DISK_BYTES);
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Performs a deep parse of the game definition contained in the specified stream, reusing the template of an
+   * earlier parse of the same content if there is one.
+   *
+   * @see GameParser#parse(String, InputStream)
+   */
+  public GameData parse(final String mapName, final InputStream stream)
+      throws GameParseException, EngineVersionException, IOException {
+    checkNotNull(mapName);
+    checkNotNull(stream);
+
+    final byte[] xml = ByteStreams.toByteArray(stream);
+    final String key = Hashing.sha256().newHasher()
+        .putString(engineVersion.toString(), StandardCharsets.UTF_8)
+        .putBytes(xml)
+        .hash()
+        .toString();
+    final @Nullable byte[] template = getTemplate(key);
+    if (template != null) {
+      try {
+        return newGameData(template);
+      } catch (final IOException e) {
+        log.log(Level.WARNING, "Discarding unreadable game template for " + mapName, e);
+        templates.invalidate(key);
+        deleteTemplateFile(key);
+      }
+    }
+
+    final GameData data = GameParser.parse(mapName, new ByteArrayInputStream(xml));
+    try {
+      putTemplate(key, newTemplate(data));
+    } catch (final IOException e) {
+      // the parse itself succeeded; the file is simply parsed again next time
+      log.log(Level.WARNING, "Failed to create game template for " + mapName, e);
+    }
+    return data;
+  }
+
+  private @Nullable byte[] getTemplate(final String key) {
+    final @Nullable byte[] template = templates.getIfPresent(key);
+    if (template != null || folder == null) {
+      return template;
+    }
+
+    final File file = new File(folder, key + FILE_EXTENSION);
+    if (!file.isFile()) {
+      return null;
+    }
+    try {
+      final byte[] storedTemplate = Files.readAllBytes(file.toPath());
+      // the modification time orders the templates by last use when the folder is pruned
+      if (!file.setLastModified(System.currentTimeMillis())) {
+        log.fine("Failed to update modification time of game template: " + file);
+      }
+      templates.put(key, storedTemplate);
+      return storedTemplate;
+    } catch (final IOException e) {
+      log.log(Level.WARNING, "Failed to read game template: " + file, e);
+      return null;
+    }
+  }
+
+  private void putTemplate(final String key, final byte[] template) {
+    templates.put(key, template);
+    if (folder == null) {
+      return;
+    }
+
+    try {
+      Files.createDirectories(folder.toPath());
+      // write to a temporary file first, so a concurrent reader never sees a partial template
+      final File tempFile = File.createTempFile(key, null, folder);
+      try {
+        Files.write(tempFile.toPath(), template);
+        Files.move(tempFile.toPath(), new File(folder, key + FILE_EXTENSION).toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile.toPath());
+      }
+    } catch (final IOException e) {
+      log.log(Level.WARNING, "Failed to store game template in " + folder, e);
+    }
+    pruneFolder(folder);
+  }
+
+  /**
+   * Deletes the least recently used templates until the templates in the specified folder fit the size limit. The most
+   * recently used template is always kept.
+   */
+  private void pruneFolder(final File folder) {
+    final @Nullable File[] files = folder.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+    if (files == null) {
+      return;
+    }
+
+    Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+    long totalBytes = 0;
+    for (int i = 0; i < files.length; i++) {
+      totalBytes += files[i].length();
+      if (i > 0 && totalBytes > maxDiskBytes) {
+        try {
+          Files.deleteIfExists(files[i].toPath());
+        } catch (final IOException e) {
+          log.log(Level.WARNING, "Failed to delete game template: " + files[i], e);
+        }
+      }
+    }
+  }
+
+  private void deleteTemplateFile(final String key) {
+    if (folder != null) {
+      try {
+        Files.deleteIfExists(new File(folder, key + FILE_EXTENSION).toPath());
+      } catch (final IOException e) {
+        log.log(Level.WARNING, "Failed to delete game template from " + folder, e);
+      }
+    }
+  }
+
+  private static byte[] newTemplate(final GameData data) throws IOException {
+    return IoUtils.writeToMemory(os -> {
+      try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(os))) {
+        GameDataManager.writeGameData(out, data, true);
+      }
+    });
+  }
+
+  private static GameData newGameData(final byte[] template) throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(template)))) {
+      final GameData data = GameDataManager.readGameData(in);
+      // each started game must be distinguishable from every other game started from the same file
+      data.getProperties().set(GameData.GAME_UUID, UUID.randomUUID().toString());
+      return data;
+    } catch (final ClassNotFoundException | ClassCastException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -41,7 +41,8 @@ public final class GameDataUtils {
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
     try {
       final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data, copyDelegates));
-      return IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+      // a copy is short-lived, so its history is not spilled to disk again
+      return History.readWithoutSpilling(() -> IoUtils.readFromMemory(bytes, GameDataManager::loadGame));
     } catch (final IOException e) {
       log.log(Level.SEVERE, "Failed to clone game data", e);
       return null;
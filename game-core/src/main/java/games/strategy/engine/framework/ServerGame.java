@@ -12,6 +12,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import javax.annotation.Nullable;
+
 import games.strategy.engine.GameOverException;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
@@ -26,6 +28,7 @@ import games.strategy.engine.delegate.DelegateExecutionManager;
 import games.strategy.engine.delegate.IDelegate;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.delegate.IPersistentDelegate;
+import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
 import games.strategy.engine.framework.startup.mc.IObserverWaitingToJoin;
 import games.strategy.engine.framework.startup.ui.InGameLobbyWatcherWrapper;
 import games.strategy.engine.framework.ui.SaveGameFileChooser;
@@ -80,6 +83,11 @@ public class ServerGame extends AbstractGame {
    * Has the delegate signaled that delegate execution should stop.
    */
   private volatile boolean delegateExecutionStopped = false;
+  /**
+   * The headless server hosting this game, if any, captured on creation as the game may be stopped from threads that do
+   * not belong to it.
+   */
+  private final @Nullable HeadlessGameServer headlessGameServer = HeadlessGameServer.getInstance();
 
   /**
    * Initializes a new instance of the ServerGame class.
@@ -315,7 +323,11 @@ public class ServerGame extends AbstractGame {
         // Try one more time
         if (!delegateExecutionManager.blockDelegateExecution(16000)) {
           log.log(Level.SEVERE, "Exiting...");
-          ExitStatus.FAILURE.exit();
+          if (headlessGameServer != null) {
+            headlessGameServer.shutDownAfterFatalError();
+          } else {
+            ExitStatus.FAILURE.exit();
+          }
         }
       }
     } catch (final InterruptedException e) {
@@ -363,7 +375,7 @@ public class ServerGame extends AbstractGame {
 
   private static String getAutoSaveBeforeFileName(final String stepName) {
     final String baseFileName = "autosaveBefore" + stepName.substring(0, 1).toUpperCase() + stepName.substring(1);
-    return GameDataFileUtils.addExtension(baseFileName);
+    return SaveGameFileChooser.getHeadlessAutoSaveFileName(GameDataFileUtils.addExtension(baseFileName));
   }
 
   @Override
@@ -462,7 +474,7 @@ public class ServerGame extends AbstractGame {
 
   private static String getAutoSaveAfterFileName(final String stepName) {
     final String baseFileName = "autosaveAfter" + stepName.substring(0, 1).toUpperCase() + stepName.substring(1);
-    return GameDataFileUtils.addExtension(baseFileName);
+    return SaveGameFileChooser.getHeadlessAutoSaveFileName(GameDataFileUtils.addExtension(baseFileName));
   }
 
   private void endStep() {
@@ -1,41 +1,31 @@
 package games.strategy.engine.framework.headlessGameServer;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.logging.Level;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
-import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
-import javax.annotation.concurrent.ThreadSafe;
 
-import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.data.GameData;
-import games.strategy.engine.data.GameParser;
-import games.strategy.io.FileUtils;
+import games.strategy.engine.framework.GameDataTemplateCache;
+import games.strategy.engine.framework.map.MapCatalogue;
 import games.strategy.util.UrlStreams;
 import lombok.extern.java.Log;
 
 /**
- * A list of all available games. We make sure we can parse them all, but we don't keep them in memory.
+ * A list of all available games, taken from the map catalogue. A game is only fully parsed when it is loaded.
  */
 @Log
 @Immutable
 public final class AvailableGames {
-  private static final String ZIP_EXTENSION = ".zip";
   private final Map<String, URI> availableGames;
   private final Set<String> availableMapFolderOrZipNames;
 
@@ -46,85 +36,22 @@ public final class AvailableGames {
         Collections.unmodifiableSet(new HashSet<>(gameRepository.availableMapFolderOrZipNames));
   }
 
-  @ThreadSafe
   private static final class GameRepository {
-    final Map<String, URI> availableGames = Collections.synchronizedMap(new HashMap<>());
-    final Set<String> availableMapFolderOrZipNames = Collections.synchronizedSet(new HashSet<>());
+    final Map<String, URI> availableGames = new HashMap<>();
+    final Set<String> availableMapFolderOrZipNames = new HashSet<>();
   }
 
   private static GameRepository newGameRepository() {
     final GameRepository gameRepository = new GameRepository();
-    FileUtils.listFiles(ClientFileSystemHelper.getUserMapsFolder()).parallelStream()
-        .forEach(map -> {
-          if (map.isDirectory()) {
-            populateFromDirectory(map, gameRepository.availableGames, gameRepository.availableMapFolderOrZipNames);
-          } else if (map.isFile() && map.getName().toLowerCase().endsWith(ZIP_EXTENSION)) {
-            populateFromZip(map, gameRepository.availableGames, gameRepository.availableMapFolderOrZipNames);
-          }
-        });
-    return gameRepository;
-  }
-
-  private static void populateFromDirectory(
-      final File mapDir,
-      final Map<String, URI> availableGames,
-      final Set<String> availableMapFolderOrZipNames) {
-    final File games = new File(mapDir, "games");
-    for (final File game : FileUtils.listFiles(games)) {
-      if (game.isFile() && game.getName().toLowerCase().endsWith("xml")) {
-        final boolean added = addToAvailableGames(game.toURI(), availableGames);
-        if (added) {
-          availableMapFolderOrZipNames.add(mapDir.getName());
-        }
+    final List<MapCatalogue.Game> games =
+        MapCatalogue.getInstalledGames((map, e) -> log.severe("Could not read map: " + map));
+    for (final MapCatalogue.Game game : games) {
+      if (!gameRepository.availableGames.containsKey(game.getGameName())) {
+        gameRepository.availableGames.put(game.getGameName(), URI.create(game.getLocation()));
+        gameRepository.availableMapFolderOrZipNames.add(game.getMapFolderOrZipName());
       }
     }
-  }
-
-  private static void populateFromZip(final File map, final Map<String, URI> availableGames,
-      final Set<String> availableMapFolderOrZipNames) {
-    try (InputStream fis = new FileInputStream(map);
-        final ZipInputStream zis = new ZipInputStream(fis);
-        final URLClassLoader loader = new URLClassLoader(new URL[] {map.toURI().toURL()})) {
-      ZipEntry entry = zis.getNextEntry();
-      while (entry != null) {
-        if (entry.getName().contains("games/") && entry.getName().toLowerCase().endsWith(".xml")) {
-          final URL url = loader.getResource(entry.getName());
-          if (url != null) {
-            final boolean added = addToAvailableGames(
-                URI.create(url.toString().replace(" ", "%20")),
-                availableGames);
-            if (added && map.getName().length() > 4) {
-              availableMapFolderOrZipNames
-                  .add(map.getName().substring(0, map.getName().length() - ZIP_EXTENSION.length()));
-            }
-          }
-        }
-        // we have to close the loader to allow files to be deleted on windows
-        zis.closeEntry();
-        entry = zis.getNextEntry();
-      }
-    } catch (final IOException e) {
-      log.log(Level.SEVERE, "Map: " + map, e);
-    }
-  }
-
-  private static boolean addToAvailableGames(
-      @Nonnull final URI uri,
-      @Nonnull final Map<String, URI> availableGames) {
-    final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
-    if (inputStream.isPresent()) {
-      try (InputStream input = inputStream.get()) {
-        final GameData data = GameParser.parse(uri.toString(), input);
-        final String name = data.getGameName();
-        if (!availableGames.containsKey(name)) {
-          availableGames.put(name, uri);
-          return true;
-        }
-      } catch (final Exception e) {
-        log.log(Level.SEVERE, "Exception while parsing: " + uri.toString(), e);
-      }
-    }
-    return false;
+    return gameRepository;
   }
 
   Set<String> getGameNames() {
@@ -161,7 +88,7 @@ public final class AvailableGames {
     final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
     if (inputStream.isPresent()) {
       try (InputStream input = inputStream.get()) {
-        return Optional.of(GameParser.parse(uri.toString(), input));
+        return Optional.of(GameDataTemplateCache.getInstance().parse(uri.toString(), input));
       } catch (final Exception e) {
         log.log(Level.SEVERE, "Exception while parsing: " + uri.toString(), e);
       }
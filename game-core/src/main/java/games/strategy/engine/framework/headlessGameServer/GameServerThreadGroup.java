@@ -0,0 +1,91 @@
+package games.strategy.engine.framework.headlessGameServer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Optional;
+import java.util.Properties;
+
+import javax.annotation.Nullable;
+
+import games.strategy.engine.message.unifiedmessenger.InvocationScheduler;
+
+/**
+ * The threads of one of the games hosted by a {@link HeadlessGameServerPool}.
+ *
+ * <p>
+ * Threads inherit the thread group of the thread that creates them, so every thread started on behalf of a pooled game
+ * belongs to that game's group. This lets code that used to rely on process-wide state, such as the
+ * {@link HeadlessGameServer} instance and the command line system properties, find the state of the game it is
+ * running for. Outside of a pool, there is no such group and the process-wide state is used as before.
+ * </p>
+ */
+public final class GameServerThreadGroup extends ThreadGroup {
+  private final Properties properties;
+  private final int invocationThreads;
+  private volatile @Nullable HeadlessGameServer server;
+
+  /**
+   * Initializes a new thread group for a pooled game.
+   *
+   * @param name The name of the game, used as the name of the group.
+   * @param properties The command line properties whose values differ from the system properties for this game.
+   * @param invocationThreads The number of threads that may run remote invocations for this game at the same time.
+   */
+  GameServerThreadGroup(final String name, final Properties properties, final int invocationThreads) {
+    super(name);
+    checkArgument(invocationThreads > 0, "invocation threads must be positive");
+
+    this.properties = checkNotNull(properties);
+    this.invocationThreads = invocationThreads;
+  }
+
+  /**
+   * Returns the group of the pooled game for which the current thread runs, or empty if it runs for no pooled game.
+   */
+  static Optional<GameServerThreadGroup> current() {
+    for (ThreadGroup group = Thread.currentThread().getThreadGroup(); group != null; group = group.getParent()) {
+      if (group instanceof GameServerThreadGroup) {
+        return Optional.of((GameServerThreadGroup) group);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the value of the specified command line property for the game for which the current thread runs. Falls
+   * back to the system property if the game does not override it or the current thread runs for no pooled game.
+   */
+  public static @Nullable String getProperty(final String key) {
+    return current()
+        .map(group -> group.properties.getProperty(key))
+        .orElseGet(() -> System.getProperty(key));
+  }
+
+  /**
+   * Returns the value of the specified command line property for the game for which the current thread runs, or the
+   * specified default value if the property is not set.
+   */
+  public static String getProperty(final String key, final String defaultValue) {
+    return Optional.ofNullable(getProperty(key)).orElse(defaultValue);
+  }
+
+  /**
+   * Creates the scheduler for remote invocations received by the game for which the current thread runs. Pooled games
+   * are limited to their share of threads; other games use the default scheduler.
+   */
+  public static InvocationScheduler newInvocationScheduler() {
+    return current()
+        .map(group -> new InvocationScheduler(group.invocationThreads, InvocationScheduler.DEFAULT_QUEUE_CAPACITY))
+        .orElseGet(InvocationScheduler::new);
+  }
+
+  @Nullable
+  HeadlessGameServer getServer() {
+    return server;
+  }
+
+  void setServer(final HeadlessGameServer server) {
+    this.server = server;
+  }
+}
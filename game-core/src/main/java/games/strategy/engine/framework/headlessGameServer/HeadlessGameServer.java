@@ -66,8 +66,9 @@ public class HeadlessGameServer {
   private final String startDate = TimeManager.getFullUtcString(Instant.now());
   private static HeadlessGameServer instance = null;
   private SetupPanelModel setupPanelModel = null;
-  private ServerGame game = null;
-  private boolean shutDown = false;
+  private volatile ServerGame game = null;
+  private volatile boolean shutDown = false;
+  private final boolean pooled;
 
   private final List<Runnable> shutdownListeners = Arrays.asList(
       lobbyWatcherResetupThread::shutdown,
@@ -77,19 +78,35 @@ public class HeadlessGameServer {
 
 
   private HeadlessGameServer() {
-    if (instance != null) {
-      throw new IllegalStateException("Instance already exists");
+    this(new AvailableGames());
+  }
+
+  /**
+   * Initializes a new headless game server. If the current thread belongs to a {@link GameServerThreadGroup}, the new
+   * server hosts that group's game in a pool; otherwise, it is the only server in this process.
+   *
+   * @param availableGames The games that may be hosted; shared by all servers in a pool.
+   */
+  HeadlessGameServer(final AvailableGames availableGames) {
+    final Optional<GameServerThreadGroup> threadGroup = GameServerThreadGroup.current();
+    pooled = threadGroup.isPresent();
+    if (pooled) {
+      threadGroup.get().setServer(this);
+    } else {
+      synchronized (HeadlessGameServer.class) {
+        if (instance != null) {
+          throw new IllegalStateException("Instance already exists");
+        }
+        instance = this;
+      }
     }
-    instance = this;
     Runtime.getRuntime().addShutdownHook(new Thread(() -> {
       log.info("Running ShutdownHook.");
-      shutDown = true;
-      shutdownListeners.stream()
-          .forEach(Runnable::run);
+      shutDown();
     }));
-    availableGames = new AvailableGames();
+    this.availableGames = availableGames;
     gameSelectorModel = new GameSelectorModel();
-    final String fileName = System.getProperty(TRIPLEA_GAME, "");
+    final String fileName = GameServerThreadGroup.getProperty(TRIPLEA_GAME, "");
     if (!fileName.isEmpty()) {
       try {
         final File file = new File(fileName);
@@ -110,7 +127,7 @@ public class HeadlessGameServer {
 
     int reconnect;
     try {
-      final String reconnectionSeconds = System.getProperty(LOBBY_GAME_RECONNECTION,
+      final String reconnectionSeconds = GameServerThreadGroup.getProperty(LOBBY_GAME_RECONNECTION,
           "" + GameRunner.LOBBY_RECONNECTION_REFRESH_SECONDS_DEFAULT);
       reconnect =
           Math.max(Integer.parseInt(reconnectionSeconds), GameRunner.LOBBY_RECONNECTION_REFRESH_SECONDS_MINIMUM);
@@ -119,22 +136,53 @@ public class HeadlessGameServer {
     }
     lobbyWatcherResetupThread.scheduleAtFixedRate(() -> {
       try {
-        restartLobbyWatcher(setupPanelModel, game);
+        restartLobbyWatcher();
       } catch (final Exception e) {
         Interruptibles.sleep(10 * 60 * 1000);
         // try again, but don't catch it this time
-        restartLobbyWatcher(setupPanelModel, game);
+        restartLobbyWatcher();
       }
     }, reconnect, reconnect, TimeUnit.SECONDS);
     log.info("Game Server initialized");
   }
 
-  public static synchronized HeadlessGameServer getInstance() {
-    return instance;
+  /**
+   * Returns the server hosting the game for which the current thread runs, or {@code null} if there is none.
+   */
+  public static HeadlessGameServer getInstance() {
+    final Optional<GameServerThreadGroup> threadGroup = GameServerThreadGroup.current();
+    if (threadGroup.isPresent()) {
+      return threadGroup.get().getServer();
+    }
+    synchronized (HeadlessGameServer.class) {
+      return instance;
+    }
+  }
+
+  /**
+   * Stops the game and the lobby watcher of this server and cancels its setup, which closes its connections.
+   */
+  void shutDown() {
+    shutDown = true;
+    shutdownListeners.forEach(Runnable::run);
   }
 
-  public static synchronized boolean headless() {
-    return getInstance() != null || Boolean.parseBoolean(System.getProperty(GameRunner.TRIPLEA_HEADLESS, "false"));
+  /**
+   * Stops this server after an error it cannot recover from. The server of a pooled game shuts down only its own game,
+   * so the other games of the pool keep running; any other server exits the process.
+   */
+  public void shutDownAfterFatalError() {
+    if (pooled) {
+      log.severe("Shutting down game server after fatal error");
+      shutDown();
+    } else {
+      ExitStatus.FAILURE.exit();
+    }
+  }
+
+  public static boolean headless() {
+    return getInstance() != null
+        || Boolean.parseBoolean(GameServerThreadGroup.getProperty(GameRunner.TRIPLEA_HEADLESS, "false"));
   }
 
   public Set<String> getAvailableGames() {
@@ -207,25 +255,25 @@ public class HeadlessGameServer {
     }
   }
 
-  public static synchronized void setServerGame(final ServerGame serverGame) {
+  public static void setServerGame(final ServerGame serverGame) {
     final HeadlessGameServer instance = getInstance();
     if (instance != null) {
       instance.game = serverGame;
       if (serverGame != null) {
-        log.info("Game starting up: " + instance.game.isGameSequenceRunning() + ", GameOver: "
-            + instance.game.isGameOver() + ", Players: " + instance.game.getPlayerManager().toString());
+        log.info("Game starting up: " + serverGame.isGameSequenceRunning() + ", GameOver: "
+            + serverGame.isGameOver() + ", Players: " + serverGame.getPlayerManager().toString());
       }
     }
   }
 
-  public static synchronized void log(final String stdout) {
+  public static void log(final String stdout) {
     final HeadlessGameServer instance = getInstance();
     if (instance != null) {
       log.info(stdout);
     }
   }
 
-  public static synchronized void sendChat(final String chatString) {
+  public static void sendChat(final String chatString) {
     final HeadlessGameServer instance = getInstance();
     if (instance != null) {
       final Chat chat = instance.getChat();
@@ -248,14 +296,19 @@ public class HeadlessGameServer {
   }
 
   public String remoteShutdown(final String hashedPassword, final String salt) {
-    final String password = System.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
+    final String password = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
     if (password.equals(GameRunner.NO_REMOTE_REQUESTS_ALLOWED)) {
       return "Host not accepting remote requests!";
     }
     if (hashPassword(password, salt).equals(hashedPassword)) {
       new Thread(() -> {
         log.info("Remote Shutdown Initiated.");
-        ExitStatus.SUCCESS.exit();
+        if (GameServerThreadGroup.current().isPresent()) {
+          // other games of the pool keep running
+          shutDown();
+        } else {
+          ExitStatus.SUCCESS.exit();
+        }
       }).start();
       return null;
     }
@@ -264,7 +317,7 @@ public class HeadlessGameServer {
   }
 
   public String remoteStopGame(final String hashedPassword, final String salt) {
-    final String password = System.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
+    final String password = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
     if (password.equals(GameRunner.NO_REMOTE_REQUESTS_ALLOWED)) {
       return "Host not accepting remote requests!";
     }
@@ -290,7 +343,7 @@ public class HeadlessGameServer {
   }
 
   public String remoteGetChatLog(final String hashedPassword, final String salt) {
-    final String password = System.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
+    final String password = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
     if (password.equals(GameRunner.NO_REMOTE_REQUESTS_ALLOWED)) {
       return "Host not accepting remote requests!";
     }
@@ -307,7 +360,7 @@ public class HeadlessGameServer {
 
   public String remoteMutePlayer(final String playerName, final int minutes, final String hashedPassword,
       final String salt) {
-    final String password = System.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
+    final String password = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
     if (password.equals(GameRunner.NO_REMOTE_REQUESTS_ALLOWED)) {
       return "Host not accepting remote requests!";
     }
@@ -350,7 +403,7 @@ public class HeadlessGameServer {
   }
 
   public String remoteBootPlayer(final String playerName, final String hashedPassword, final String salt) {
-    final String password = System.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
+    final String password = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
     if (password.equals(GameRunner.NO_REMOTE_REQUESTS_ALLOWED)) {
       return "Host not accepting remote requests!";
     }
@@ -387,7 +440,7 @@ public class HeadlessGameServer {
 
   public String remoteBanPlayer(final String playerName, final int hours, final String hashedPassword,
       final String salt) {
-    final String password = System.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
+    final String password = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_PASSWORD, "");
     if (password.equals(GameRunner.NO_REMOTE_REQUESTS_ALLOWED)) {
       return "Host not accepting remote requests!";
     }
@@ -445,8 +498,8 @@ public class HeadlessGameServer {
     return game;
   }
 
-  private static synchronized void restartLobbyWatcher(
-      final SetupPanelModel setupPanelModel, final ServerGame serverGame) {
+  private synchronized void restartLobbyWatcher() {
+    final ServerGame serverGame = game;
     try {
       final ISetupPanel setup = setupPanelModel.getPanel();
       if (setup == null) {
@@ -505,7 +558,7 @@ public class HeadlessGameServer {
         }
         if (setupPanelModel != null && setupPanelModel.getPanel() != null
             && setupPanelModel.getPanel().canGameStart()) {
-          final boolean started = startHeadlessGame(setupPanelModel);
+          final boolean started = startHeadlessGame();
           if (!started) {
             log.warning("Error in launcher, going back to waiting.");
           } else {
@@ -517,7 +570,7 @@ public class HeadlessGameServer {
     }, "Headless Server Waiting For Users To Connect And Start").start();
   }
 
-  private static synchronized boolean startHeadlessGame(final SetupPanelModel setupPanelModel) {
+  private synchronized boolean startHeadlessGame() {
     try {
       if (setupPanelModel != null && setupPanelModel.getPanel() != null && setupPanelModel.getPanel().canGameStart()) {
         log.info("Starting Game: " + setupPanelModel.getGameSelectorModel().getGameData().getGameName()
@@ -546,7 +599,7 @@ public class HeadlessGameServer {
 
   public static void waitForUsersHeadlessInstance() {
     log.info("Waiting for users to connect.");
-    instance.waitForUsersHeadless();
+    getInstance().waitForUsersHeadless();
   }
 
   private ServerModel getServerModel() {
@@ -586,6 +639,23 @@ public class HeadlessGameServer {
    * Launches a bot server. Most properties are passed via command line-like arguments.
    */
   public static void main(final String[] args) {
+    if (!initializeHeadlessEnvironment(args)) {
+      return;
+    }
+    try {
+      new HeadlessGameServer();
+    } catch (final Exception e) {
+      log.log(Level.SEVERE, "Failed to start game server", e);
+    }
+  }
+
+  /**
+   * Validates the command line arguments of a headless game server and moves them to system properties or client
+   * settings. Exits the process if an argument has an invalid value.
+   *
+   * @return {@code false} if a required argument is missing.
+   */
+  static boolean initializeHeadlessEnvironment(final String[] args) {
     final ArgValidationResult validation = HeadlessGameServerCliParam.validateArgs(args);
     if (!validation.isValid()) {
       log.log(Level.SEVERE,
@@ -595,7 +665,7 @@ public class HeadlessGameServer {
               Arrays.toString(args),
               String.join("\n- ", validation.getErrorMessages()),
               HeadlessGameServerCliParam.exampleUsage()));
-      return;
+      return false;
     }
 
     ClientSetting.initialize();
@@ -603,11 +673,7 @@ public class HeadlessGameServer {
     new ArgParser().handleCommandLineArgs(args);
     handleHeadlessGameServerArgs();
     ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
-    try {
-      new HeadlessGameServer();
-    } catch (final Exception e) {
-      log.log(Level.SEVERE, "Failed to start game server", e);
-    }
+    return true;
   }
 
   private static void usage() {
@@ -647,8 +713,8 @@ public class HeadlessGameServer {
       printUsage = true;
     }
 
-    final String playerName = System.getProperty(TRIPLEA_NAME, "");
-    final String hostName = System.getProperty(LOBBY_GAME_HOSTED_BY, "");
+    final String playerName = GameServerThreadGroup.getProperty(TRIPLEA_NAME, "");
+    final String hostName = GameServerThreadGroup.getProperty(LOBBY_GAME_HOSTED_BY, "");
     if (playerName.length() < 7 || hostName.length() < 7 || !hostName.equals(playerName)
         || !playerName.startsWith("Bot") || !hostName.startsWith("Bot")) {
       log.warning(
@@ -657,21 +723,21 @@ public class HeadlessGameServer {
       printUsage = true;
     }
 
-    final String comments = System.getProperty(LOBBY_GAME_COMMENTS, "");
+    final String comments = GameServerThreadGroup.getProperty(LOBBY_GAME_COMMENTS, "");
     if (!comments.contains("automated_host")) {
       log.warning(
           "Invalid argument: " + LOBBY_GAME_COMMENTS + " must contain the string \"automated_host\".");
       printUsage = true;
     }
 
-    final String email = System.getProperty(LOBBY_GAME_SUPPORT_EMAIL, "");
+    final String email = GameServerThreadGroup.getProperty(LOBBY_GAME_SUPPORT_EMAIL, "");
     if (email.length() < 3 || !Util.isMailValid(email)) {
       log.warning(
           "Invalid argument: " + LOBBY_GAME_SUPPORT_EMAIL + " must contain a valid email address.");
       printUsage = true;
     }
 
-    final String reconnection = System.getProperty(LOBBY_GAME_RECONNECTION,
+    final String reconnection = GameServerThreadGroup.getProperty(LOBBY_GAME_RECONNECTION,
         "" + GameRunner.LOBBY_RECONNECTION_REFRESH_SECONDS_DEFAULT);
     try {
       final int reconnect = Integer.parseInt(reconnection);
@@ -0,0 +1,157 @@
+package games.strategy.engine.framework.headlessGameServer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static games.strategy.engine.framework.CliProperties.LOBBY_GAME_HOSTED_BY;
+import static games.strategy.engine.framework.CliProperties.SERVER_POOL_GAMES;
+import static games.strategy.engine.framework.CliProperties.SERVER_POOL_INVOCATION_THREADS;
+import static games.strategy.engine.framework.CliProperties.SERVER_POOL_STATUS_PORT;
+import static games.strategy.engine.framework.CliProperties.TRIPLEA_NAME;
+import static games.strategy.engine.framework.CliProperties.TRIPLEA_PORT;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.sun.net.httpserver.HttpServer;
+
+import games.strategy.util.ExitStatus;
+import lombok.extern.java.Log;
+
+/**
+ * Hosts several independent headless games in one process.
+ *
+ * <p>
+ * Each game has its own {@link HeadlessGameServer}, with its own server messenger, setup and lobby watcher, and runs
+ * in its own {@link GameServerThreadGroup}. Game {@code n} (counting from 1) listens on {@code triplea.port + n - 1}
+ * and appears in the lobby as {@code triplea.name_n}; all other command line properties are shared. The list of
+ * available games is parsed once and shared by all games.
+ * </p>
+ *
+ * <p>
+ * In addition to the properties of a {@link HeadlessGameServer}, the pool accepts:
+ * </p>
+ * <ul>
+ * <li>{@code triplea.server.pool.games}: the number of games to host (default 2).</li>
+ * <li>{@code triplea.server.pool.invocationThreads}: the number of threads that may run remote invocations for each
+ * game at the same time (default 4).</li>
+ * <li>{@code triplea.server.pool.statusPort}: if set, the port on the loopback interface on which {@code /status}
+ * reports the state and thread count of every game.</li>
+ * </ul>
+ */
+@Log
+public final class HeadlessGameServerPool {
+  private static final int DEFAULT_GAMES = 2;
+  private static final int DEFAULT_INVOCATION_THREADS = 4;
+
+  private final ImmutableList<GameServerThreadGroup> games;
+
+  private HeadlessGameServerPool(final List<GameServerThreadGroup> games) {
+    this.games = ImmutableList.copyOf(games);
+  }
+
+  /**
+   * Launches a pool of bot servers. Most properties are passed via command line-like arguments.
+   */
+  public static void main(final String[] args) {
+    if (!HeadlessGameServer.initializeHeadlessEnvironment(args)) {
+      return;
+    }
+
+    try {
+      final int gameCount = getPositiveInt(SERVER_POOL_GAMES, DEFAULT_GAMES);
+      final int invocationThreads = getPositiveInt(SERVER_POOL_INVOCATION_THREADS, DEFAULT_INVOCATION_THREADS);
+      final @Nullable String statusPort = System.getProperty(SERVER_POOL_STATUS_PORT);
+      final HeadlessGameServerPool pool = start(gameCount, invocationThreads);
+      if (statusPort != null) {
+        pool.startStatusEndpoint(Integer.parseInt(statusPort));
+      }
+    } catch (final IllegalArgumentException | IOException e) {
+      log.log(Level.SEVERE, "Failed to start game server pool", e);
+      ExitStatus.FAILURE.exit();
+    }
+  }
+
+  private static int getPositiveInt(final String key, final int defaultValue) {
+    final int value = Integer.parseInt(System.getProperty(key, String.valueOf(defaultValue)));
+    checkArgument(value > 0, key + " must be positive");
+    return value;
+  }
+
+  private static HeadlessGameServerPool start(final int gameCount, final int invocationThreads) {
+    final String baseName = System.getProperty(TRIPLEA_NAME);
+    final int basePort = Integer.parseInt(System.getProperty(TRIPLEA_PORT));
+    final AvailableGames availableGames = new AvailableGames();
+    final List<GameServerThreadGroup> games = new ArrayList<>(gameCount);
+    for (int i = 0; i < gameCount; i++) {
+      final Properties properties = newGameProperties(baseName, basePort, i);
+      final String name = properties.getProperty(TRIPLEA_NAME);
+      final GameServerThreadGroup threadGroup = new GameServerThreadGroup(name, properties, invocationThreads);
+      games.add(threadGroup);
+      new Thread(threadGroup, () -> {
+        try {
+          new HeadlessGameServer(availableGames);
+        } catch (final RuntimeException e) {
+          log.log(Level.SEVERE, "Failed to start game server " + name, e);
+        }
+      }, name + " startup").start();
+    }
+    log.info("Started " + gameCount + " game servers");
+    return new HeadlessGameServerPool(games);
+  }
+
+  /**
+   * Returns the command line properties that differ between the games of a pool.
+   *
+   * @param index The index of the game, counting from 0.
+   */
+  @VisibleForTesting
+  static Properties newGameProperties(final String baseName, final int basePort, final int index) {
+    final String name = baseName + "_" + (index + 1);
+    final Properties properties = new Properties();
+    properties.setProperty(TRIPLEA_NAME, name);
+    properties.setProperty(LOBBY_GAME_HOSTED_BY, name);
+    properties.setProperty(TRIPLEA_PORT, String.valueOf(basePort + index));
+    return properties;
+  }
+
+  private String getStatus() {
+    final StringBuilder status = new StringBuilder();
+    for (final GameServerThreadGroup game : games) {
+      final @Nullable HeadlessGameServer server = game.getServer();
+      status.append("=== ").append(game.getName())
+          .append(" (threads: ").append(game.activeCount()).append(")\n")
+          .append((server != null) ? server.getStatus() : "Starting")
+          .append("\n\n");
+    }
+    final Runtime runtime = Runtime.getRuntime();
+    final long mb = 1024 * 1024;
+    status.append("Threads: ").append(Thread.activeCount()).append('\n')
+        .append("Used memory [MB]: ").append((runtime.totalMemory() - runtime.freeMemory()) / mb).append('\n')
+        .append("Max memory [MB]: ").append(runtime.maxMemory() / mb).append('\n');
+    return status.toString();
+  }
+
+  private void startStatusEndpoint(final int port) throws IOException {
+    final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext("/status", exchange -> {
+      final byte[] body = getStatus().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    server.start();
+    log.info("Game server pool status available at http://localhost:" + port + "/status");
+  }
+}
@@ -0,0 +1,322 @@
+package games.strategy.engine.framework.map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.ClientFileSystemHelper;
+import games.strategy.engine.data.EngineVersionException;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParser;
+import games.strategy.engine.data.properties.GameProperties;
+import games.strategy.io.FileUtils;
+import games.strategy.triplea.Constants;
+import games.strategy.util.UrlStreams;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.extern.java.Log;
+
+/**
+ * A catalogue of the games of the maps installed in the user's maps folder.
+ *
+ * <p>
+ * Each map zip, and each game file of a map folder, is recorded in the catalogue with its size, its modification time
+ * and the details of its games, and the catalogue is saved in the user's root folder. Only the map files that were
+ * added or changed since the catalogue was saved are parsed again, in parallel; all other games are taken from the
+ * catalogue. The catalogue is discarded when it was saved by another engine version, because the games a map can be
+ * played with depend on the engine version.
+ * </p>
+ */
+@Log
+public final class MapCatalogue {
+  private static final int FORMAT_VERSION = 1;
+  private static final String FILE_NAME = "mapCatalogue.ser";
+  private static final String ZIP_EXTENSION = ".zip";
+
+  private final File file;
+  private final String engineVersion;
+  private final MapFileReader mapFileReader;
+
+  MapCatalogue(final File file, final String engineVersion, final MapFileReader mapFileReader) {
+    this.file = checkNotNull(file);
+    this.engineVersion = checkNotNull(engineVersion);
+    this.mapFileReader = checkNotNull(mapFileReader);
+  }
+
+  /**
+   * Returns the games of all maps installed in the user's maps folder. This method will block until all changed maps
+   * are parsed and should not be called from the EDT.
+   *
+   * @param invalidMapFileHandler Called with each map zip that could not be read and the error that occurred. Such a
+   *        map is not recorded, so it is read again next time.
+   */
+  public static synchronized List<Game> getInstalledGames(
+      final BiConsumer<File, IOException> invalidMapFileHandler) {
+    checkNotNull(invalidMapFileHandler);
+
+    final MapCatalogue catalogue = new MapCatalogue(
+        new File(ClientFileSystemHelper.getUserRootFolder(), FILE_NAME),
+        ClientContext.engineVersion().toString(),
+        MapCatalogue::readMapFile);
+    return catalogue.getGames(listMapFiles(ClientFileSystemHelper.getUserMapsFolder()), invalidMapFileHandler);
+  }
+
+  /**
+   * Returns the map zips and game files in the specified maps folder, each mapped to the name of the map zip (without
+   * extension) or map folder it belongs to.
+   */
+  static Map<File, String> listMapFiles(final File mapsFolder) {
+    final Map<File, String> mapFiles = new LinkedHashMap<>();
+    for (final File map : FileUtils.listFiles(mapsFolder)) {
+      if (map.isDirectory()) {
+        // use contents under a "mapDir/map" folder if present, otherwise use the "mapDir/" contents directly
+        final File mapFolder = new File(map, "map");
+        final File games = new File(mapFolder.exists() ? mapFolder : map, "games");
+        for (final File game : FileUtils.listFiles(games)) {
+          if (game.isFile() && game.getName().toLowerCase().endsWith("xml")) {
+            mapFiles.put(game, map.getName());
+          }
+        }
+      } else if (map.isFile() && map.getName().toLowerCase().endsWith(ZIP_EXTENSION)) {
+        mapFiles.put(map, map.getName().substring(0, map.getName().length() - ZIP_EXTENSION.length()));
+      }
+    }
+    return mapFiles;
+  }
+
+  /**
+   * Returns the games of the specified map files, in the order of the map files, and saves the catalogue if any map
+   * file was added, changed or removed since it was last saved.
+   *
+   * @param mapFiles The map files, each mapped to the name of the map zip or map folder it belongs to.
+   * @param invalidMapFileHandler Called with each map file that could not be read and the error that occurred.
+   */
+  List<Game> getGames(final Map<File, String> mapFiles, final BiConsumer<File, IOException> invalidMapFileHandler) {
+    final Map<String, MapFile> savedMapFiles = load();
+    final Map<String, MapFile> currentMapFiles = new ConcurrentHashMap<>();
+    final List<File> changedMapFiles = new ArrayList<>();
+    mapFiles.keySet().forEach(mapFile -> {
+      final MapFile savedMapFile = savedMapFiles.get(mapFile.getAbsolutePath());
+      if (savedMapFile != null && savedMapFile.isCurrent(mapFile)) {
+        currentMapFiles.put(mapFile.getAbsolutePath(), savedMapFile);
+      } else {
+        changedMapFiles.add(mapFile);
+      }
+    });
+
+    changedMapFiles.parallelStream().forEach(mapFile -> {
+      final long length = mapFile.length();
+      final long lastModified = mapFile.lastModified();
+      try {
+        final List<Game> games = mapFileReader.read(mapFile, mapFiles.get(mapFile));
+        currentMapFiles.put(mapFile.getAbsolutePath(), new MapFile(length, lastModified, games));
+      } catch (final IOException e) {
+        log.log(Level.WARNING, "Failed to read map: " + mapFile, e);
+        invalidMapFileHandler.accept(mapFile, e);
+      }
+    });
+
+    if (!currentMapFiles.equals(savedMapFiles)) {
+      save(currentMapFiles);
+    }
+
+    final List<Game> games = new ArrayList<>();
+    mapFiles.keySet().stream()
+        .map(mapFile -> currentMapFiles.get(mapFile.getAbsolutePath()))
+        .filter(mapFile -> mapFile != null)
+        .forEach(mapFile -> games.addAll(mapFile.games));
+    return games;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, MapFile> load() {
+    if (!file.exists()) {
+      return Collections.emptyMap();
+    }
+
+    try (InputStream is = new FileInputStream(file);
+        ObjectInputStream in = new ObjectInputStream(is)) {
+      if (in.readInt() != FORMAT_VERSION || !engineVersion.equals(in.readUTF())) {
+        return Collections.emptyMap();
+      }
+      return (Map<String, MapFile>) in.readObject();
+    } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+      log.log(Level.WARNING, "Failed to read map catalogue; all maps will be parsed: " + file, e);
+      return Collections.emptyMap();
+    }
+  }
+
+  private void save(final Map<String, MapFile> mapFiles) {
+    try {
+      // a unique temporary file, so processes saving at the same time do not write to the same file
+      final File tempFile = File.createTempFile(FILE_NAME, null, file.getAbsoluteFile().getParentFile());
+      try {
+        try (OutputStream os = new FileOutputStream(tempFile);
+            ObjectOutputStream out = new ObjectOutputStream(os)) {
+          out.writeInt(FORMAT_VERSION);
+          out.writeUTF(engineVersion);
+          out.writeObject(new HashMap<>(mapFiles));
+        }
+        try {
+          Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+          Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tempFile.toPath());
+      }
+    } catch (final IOException e) {
+      // the maps will be parsed again next time
+      log.log(Level.WARNING, "Failed to save map catalogue: " + file, e);
+    }
+  }
+
+  /**
+   * Reads the games of a map zip or game file.
+   */
+  @FunctionalInterface
+  interface MapFileReader {
+    /**
+     * Returns the games of the specified map file. A game that cannot be parsed is logged and left out.
+     *
+     * @param mapFile The map zip or game file.
+     * @param mapName The name of the map zip (without extension) or map folder the map file belongs to.
+     *
+     * @throws IOException If the map file is not a valid map zip.
+     */
+    List<Game> read(File mapFile, String mapName) throws IOException;
+  }
+
+  private static List<Game> readMapFile(final File mapFile, final String mapName) throws IOException {
+    if (!mapFile.getName().toLowerCase().endsWith(ZIP_EXTENSION)) {
+      return readGame(mapFile.toURI(), mapName)
+          .map(Collections::singletonList)
+          .orElseGet(Collections::emptyList);
+    }
+
+    final List<Game> games = new ArrayList<>();
+    try (ZipFile zipFile = new ZipFile(mapFile);
+        URLClassLoader loader = new URLClassLoader(new URL[] {mapFile.toURI().toURL()})) {
+      final Enumeration<? extends ZipEntry> zipEntryEnumeration = zipFile.entries();
+      while (zipEntryEnumeration.hasMoreElements()) {
+        final ZipEntry entry = zipEntryEnumeration.nextElement();
+        if (entry.getName().contains("games/") && entry.getName().toLowerCase().endsWith(".xml")) {
+          final URL url = loader.getResource(entry.getName());
+          if (url == null) {
+            // not loading the URL means the XML is truncated or otherwise in bad shape
+            throw new IOException("Failed to load game: " + entry.getName());
+          }
+          readGame(URI.create(url.toString().replace(" ", "%20")), mapName).ifPresent(games::add);
+        }
+      }
+    }
+    return games;
+  }
+
+  private static Optional<Game> readGame(final URI uri, final String mapName) {
+    final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
+    if (!inputStream.isPresent()) {
+      // this means the map was deleted out from under us.
+      return Optional.empty();
+    }
+
+    try (InputStream input = inputStream.get()) {
+      return Optional.of(newGame(uri, mapName, GameParser.parseShallow(uri.toString(), input)));
+    } catch (final EngineVersionException e) {
+      log.log(Level.SEVERE, "Engine version problem:" + uri, e);
+    } catch (final Exception e) {
+      log.log(Level.SEVERE, "Could not parse: " + uri, e);
+    }
+    return Optional.empty();
+  }
+
+  private static Game newGame(final URI uri, final String mapName, final GameData data) {
+    final GameProperties properties = data.getProperties();
+    return new Game(
+        uri.toString(),
+        mapName,
+        data.getGameName(),
+        properties.get(Constants.MAP_NAME, ""),
+        data.getPlayerList().size(),
+        String.valueOf(data.getGameVersion()),
+        properties.get("notes", ""));
+  }
+
+  @AllArgsConstructor
+  private static final class MapFile implements Serializable {
+    private static final long serialVersionUID = -4542108627399357617L;
+
+    private final long length;
+    private final long lastModified;
+    private final List<Game> games;
+
+    boolean isCurrent(final File mapFile) {
+      return length == mapFile.length() && lastModified == mapFile.lastModified();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (obj == this) {
+        return true;
+      } else if (!(obj instanceof MapFile)) {
+        return false;
+      }
+
+      final MapFile other = (MapFile) obj;
+      return length == other.length && lastModified == other.lastModified && games.equals(other.games);
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(lastModified);
+    }
+  }
+
+  /**
+   * The details of a game of an installed map, as shown when choosing a game.
+   */
+  @Value
+  public static final class Game implements Serializable {
+    private static final long serialVersionUID = 2373372567146187384L;
+
+    /** The URI of the game file in string form. */
+    private final String location;
+    /** The name of the map zip (without extension) or map folder the game belongs to. */
+    private final String mapFolderOrZipName;
+    private final String gameName;
+    /** The value of the {@code mapName} property of the game; may be empty. */
+    private final String mapNameProperty;
+    private final int playerCount;
+    private final String gameVersion;
+    /** The value of the {@code notes} property of the game; may be empty. */
+    private final String notes;
+  }
+}
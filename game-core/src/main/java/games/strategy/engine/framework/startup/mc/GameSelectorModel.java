@@ -13,8 +13,8 @@ import com.google.common.base.Preconditions;
 import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
-import games.strategy.engine.data.GameParser;
 import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameDataTemplateCache;
 import games.strategy.engine.framework.ui.GameChooserEntry;
 import games.strategy.engine.framework.ui.GameChooserModel;
 import games.strategy.triplea.ai.pro.ProAi;
@@ -74,7 +74,7 @@ public class GameSelectorModel extends Observable {
       // if the file name is xml, load it as a new game
       if (file.getName().toLowerCase().endsWith("xml")) {
         try (InputStream inputStream = new FileInputStream(file)) {
-          newData = GameParser.parse(file.getAbsolutePath(), inputStream);
+          newData = GameDataTemplateCache.getInstance().parse(file.getAbsolutePath(), inputStream);
         }
       } else {
         // try to load it as a saved game whatever the extension
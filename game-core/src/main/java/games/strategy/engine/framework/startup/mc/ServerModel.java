@@ -45,6 +45,7 @@ import games.strategy.engine.framework.GameDataManager;
 import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.engine.framework.GameRunner;
 import games.strategy.engine.framework.GameState;
+import games.strategy.engine.framework.headlessGameServer.GameServerThreadGroup;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
 import games.strategy.engine.framework.message.PlayerListing;
 import games.strategy.engine.framework.startup.launcher.ServerLauncher;
@@ -190,13 +191,14 @@ public class ServerModel extends Observable implements IMessengerErrorListener,
   }
 
   private Optional<ServerConnectionProps> getServerProps(final Component ui) {
-    if (System.getProperty(TRIPLEA_SERVER, "false").equals("true")
-        && GameState.notStarted()) {
+    // headless servers, including each game of a headless server pool, always use the command line properties
+    if (GameServerThreadGroup.getProperty(TRIPLEA_SERVER, "false").equals("true")
+        && (GameState.notStarted() || HeadlessGameServer.getInstance() != null)) {
       GameState.setStarted();
       return Optional.of(ServerConnectionProps.builder()
-          .name(System.getProperty(TRIPLEA_NAME))
-          .port(Integer.parseInt(System.getProperty(TRIPLEA_PORT)))
-          .password(System.getProperty(SERVER_PASSWORD))
+          .name(GameServerThreadGroup.getProperty(TRIPLEA_NAME))
+          .port(Integer.parseInt(GameServerThreadGroup.getProperty(TRIPLEA_PORT)))
+          .password(GameServerThreadGroup.getProperty(SERVER_PASSWORD))
           .build());
     }
     final String playername = ClientSetting.PLAYER_NAME.value();
@@ -261,7 +263,8 @@ public class ServerModel extends Observable implements IMessengerErrorListener,
       serverMessenger.setLoginValidator(clientLoginValidator);
       serverMessenger.addErrorListener(this);
       serverMessenger.addConnectionChangeListener(this);
-      final UnifiedMessenger unifiedMessenger = new UnifiedMessenger(serverMessenger);
+      final UnifiedMessenger unifiedMessenger =
+          new UnifiedMessenger(serverMessenger, GameServerThreadGroup.newInvocationScheduler());
       remoteMessenger = new RemoteMessenger(unifiedMessenger);
       remoteMessenger.registerRemote(serverStartupRemote, SERVER_REMOTE_NAME);
       channelMessenger = new ChannelMessenger(unifiedMessenger);
@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.Observer;
 import java.util.logging.Level;
 
+import javax.annotation.Nullable;
 import javax.swing.JComponent;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -21,6 +22,7 @@ import javax.swing.SwingUtilities;
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.data.events.GameStepListener;
 import games.strategy.engine.framework.IGame;
+import games.strategy.engine.framework.headlessGameServer.GameServerThreadGroup;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
 import games.strategy.engine.framework.startup.mc.GameSelectorModel;
 import games.strategy.engine.lobby.server.GameDescription;
@@ -87,9 +89,9 @@ public class InGameLobbyWatcher {
    */
   public static InGameLobbyWatcher newInGameLobbyWatcher(final IServerMessenger gameMessenger, final JComponent parent,
       final InGameLobbyWatcher oldWatcher) {
-    final String host = System.getProperty(LOBBY_HOST);
-    final String port = System.getProperty(LOBBY_PORT);
-    final String hostedBy = System.getProperty(LOBBY_GAME_HOSTED_BY);
+    final String host = GameServerThreadGroup.getProperty(LOBBY_HOST);
+    final String port = GameServerThreadGroup.getProperty(LOBBY_PORT);
+    final String hostedBy = GameServerThreadGroup.getProperty(LOBBY_GAME_HOSTED_BY);
     if (host == null || port == null) {
       return null;
     }
@@ -157,7 +159,7 @@ public class InGameLobbyWatcher {
     this.messenger = messenger;
     this.remoteMessenger = remoteMessenger;
     this.serverMessenger = serverMessenger;
-    final String password = System.getProperty(SERVER_PASSWORD);
+    final String password = GameServerThreadGroup.getProperty(SERVER_PASSWORD);
     final boolean passworded = password != null && password.length() > 0;
     final Instant startDateTime = (oldWatcher == null || oldWatcher.gameDescription == null
         || oldWatcher.gameDescription.getStartDateTime() == null) ? Instant.now()
@@ -182,7 +184,7 @@ public class InGameLobbyWatcher {
         gameStatus,
         gameRound,
         serverMessenger.getLocalNode().getName(),
-        System.getProperty(LOBBY_GAME_COMMENTS),
+        GameServerThreadGroup.getProperty(LOBBY_GAME_COMMENTS),
         passworded,
         ClientContext.engineVersion().toString(), "0");
     final ILobbyGameController controller =
@@ -216,11 +218,12 @@ public class InGameLobbyWatcher {
       if (addressUsed != null) {
         if (isActive()) {
           shutDown();
+          // resolve the state of the game before leaving its threads
+          final @Nullable HeadlessGameServer headlessGameServer = HeadlessGameServer.getInstance();
+          final boolean headless = HeadlessGameServer.headless();
+          final String port = GameServerThreadGroup.getProperty(TRIPLEA_PORT, "");
           SwingUtilities.invokeLater(() -> {
-            String portString = System.getProperty(TRIPLEA_PORT);
-            if (portString == null || portString.trim().length() <= 0) {
-              portString = "3300";
-            }
+            final String portString = port.trim().isEmpty() ? "3300" : port;
             final String message = "Your computer is not reachable from the internet.\n"
                 + "Please make sure your Firewall allows incoming connections (hosting) for TripleA.\n"
                 + "(The firewall exception must be updated every time a new version of TripleA comes out.)\n"
@@ -228,9 +231,14 @@ public class InGameLobbyWatcher {
                 + " to your local ip address.\r\n"
                 + "See 'How To Host...' in the help menu, at the top of the lobby screen.\n"
                 + "The server tried to connect to your external ip: " + addressUsed;
-            if (HeadlessGameServer.headless()) {
+            if (headless) {
               log.log(Level.SEVERE, message);
-              ExitStatus.FAILURE.exit();
+              if (headlessGameServer != null) {
+                headlessGameServer.shutDownAfterFatalError();
+              } else {
+                ExitStatus.FAILURE.exit();
+              }
+              return;
             }
             final Frame parentComponent = JOptionPane.getFrameForComponent(parent);
             if (JOptionPane.showConfirmDialog(parentComponent,
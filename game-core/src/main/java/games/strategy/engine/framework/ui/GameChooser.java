@@ -24,7 +24,6 @@ import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.SwingUtilities;
 
-import games.strategy.engine.data.GameData;
 import games.strategy.engine.framework.GameRunner;
 import games.strategy.util.LocalizeHtml;
 
@@ -127,16 +126,16 @@ public class GameChooser extends JDialog {
 
   private void updateInfoPanel() {
     if (getSelected() != null) {
-      final GameData data = getSelected().getGameData();
+      final GameChooserEntry entry = getSelected();
       final StringBuilder notes = new StringBuilder();
-      notes.append("<h1>").append(data.getGameName()).append("</h1>");
-      final String mapNameDir = data.getProperties().get("mapName", "");
+      notes.append("<h1>").append(entry.getGameName()).append("</h1>");
+      final String mapNameDir = entry.getMapName();
       appendListItem("Map Name", mapNameDir, notes);
-      appendListItem("Number Of Players", data.getPlayerList().size() + "", notes);
-      appendListItem("Location", getSelected().getLocation() + "", notes);
-      appendListItem("Version", data.getGameVersion() + "", notes);
+      appendListItem("Number Of Players", entry.getPlayerCount() + "", notes);
+      appendListItem("Location", entry.getLocation() + "", notes);
+      appendListItem("Version", entry.getGameVersion() + "", notes);
       notes.append("<p></p>");
-      final String notesProperty = data.getProperties().get("notes", "");
+      final String notesProperty = entry.getNotes();
       if (notesProperty != null && notesProperty.trim().length() != 0) {
         // AbstractUiContext resource loader should be null (or potentially is still the last game we played's loader),
         // so we send the map dir name so that our localizing of image links can get a new resource loader if needed
@@ -7,10 +7,14 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Level;
 
+import javax.annotation.Nullable;
+
 import games.strategy.engine.data.EngineVersionException;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
 import games.strategy.engine.data.GameParser;
+import games.strategy.engine.framework.GameDataTemplateCache;
+import games.strategy.engine.framework.map.MapCatalogue;
 import games.strategy.triplea.Constants;
 import games.strategy.util.UrlStreams;
 import lombok.extern.java.Log;
@@ -20,6 +24,7 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
   private final URI url;
   private GameData gameData;
   private boolean gameDataFullyLoaded = false;
+  private final @Nullable MapCatalogue.Game game;
   private final String gameNameAndMapNameProperty;
 
   public GameChooserEntry(final URI uri) throws IOException, GameParseException, EngineVersionException {
@@ -27,6 +32,7 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
 
     final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
     if (!inputStream.isPresent()) {
+      game = null;
       gameNameAndMapNameProperty = "";
       // this means the map was deleted out from under us.
       return;
@@ -34,10 +40,21 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
 
     try (InputStream input = inputStream.get()) {
       gameData = GameParser.parseShallow(uri.toString(), input);
+      game = null;
       gameNameAndMapNameProperty = getGameName() + ":" + getMapNameProperty();
     }
   }
 
+  /**
+   * Initializes a new instance of the GameChooserEntry class from the details of a game in the map catalogue. The game
+   * data is not available until it is {@link #fullyParseGameData() fully parsed}.
+   */
+  public GameChooserEntry(final MapCatalogue.Game game) {
+    url = URI.create(game.getLocation());
+    this.game = game;
+    gameNameAndMapNameProperty = getGameName() + ":" + getMapNameProperty();
+  }
+
   public GameData fullyParseGameData() throws GameParseException {
     // TODO: We should be setting this in the the constructor. At this point, you have to call methods in the
     // correct order for things to work, and that is bads.
@@ -49,7 +66,7 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
     }
 
     try (InputStream input = inputStream.get()) {
-      gameData = GameParser.parse(url.toString(), input);
+      gameData = GameDataTemplateCache.getInstance().parse(url.toString(), input);
       gameDataFullyLoaded = true;
     } catch (final EngineVersionException e) {
       log.log(Level.SEVERE, "Game engine not compatible with: " + url, e);
@@ -69,25 +86,51 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
   }
 
   public String getGameName() {
-    return gameData.getGameName();
+    return (game != null) ? game.getGameName() : gameData.getGameName();
   }
 
   // the user may have selected a map skin instead of this map folder, so don't use this for anything except our
   // equals/hashcode below
   private String getMapNameProperty() {
-    final String mapName = (String) gameData.getProperties().get(Constants.MAP_NAME);
-    if (mapName == null || mapName.trim().length() == 0) {
+    final String mapName = getMapName();
+    if (mapName.trim().length() == 0) {
       throw new IllegalStateException("Map name property not set on game");
     }
     return mapName;
   }
 
+  /**
+   * Returns the value of the map name property of the game; may be empty.
+   */
+  public String getMapName() {
+    return (game != null) ? game.getMapNameProperty() : gameData.getProperties().get(Constants.MAP_NAME, "");
+  }
+
+  public int getPlayerCount() {
+    return (game != null) ? game.getPlayerCount() : gameData.getPlayerList().size();
+  }
+
+  public String getGameVersion() {
+    return (game != null) ? game.getGameVersion() : String.valueOf(gameData.getGameVersion());
+  }
+
+  /**
+   * Returns the value of the notes property of the game; may be empty.
+   */
+  public String getNotes() {
+    return (game != null) ? game.getNotes() : gameData.getProperties().get("notes", "");
+  }
+
   @Override
   public String toString() {
     return getGameName();
   }
 
-  public GameData getGameData() {
+  /**
+   * Returns the game data of this entry. Only the properties of the game are available until it is
+   * {@link #fullyParseGameData() fully parsed}, and nothing at all for an entry taken from the map catalogue.
+   */
+  public @Nullable GameData getGameData() {
     return gameData;
   }
 
@@ -108,6 +151,10 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
     return url.toString();
   }
 
+  private boolean isAvailable() {
+    return game != null || gameData != null;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(gameNameAndMapNameProperty);
@@ -125,10 +172,10 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
       return false;
     }
     final GameChooserEntry other = (GameChooserEntry) obj;
-    if (gameData == null && other.gameData != null) {
+    if (!isAvailable() && other.isAvailable()) {
       return false;
     }
-    return other.gameData != null && this.gameNameAndMapNameProperty.equals(other.gameNameAndMapNameProperty);
+    return other.isAvailable() && this.gameNameAndMapNameProperty.equals(other.gameNameAndMapNameProperty);
   }
 
   @Override
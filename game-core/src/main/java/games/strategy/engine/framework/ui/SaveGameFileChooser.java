@@ -4,11 +4,13 @@ import static games.strategy.engine.framework.CliProperties.LOBBY_GAME_HOSTED_BY
 import static games.strategy.engine.framework.CliProperties.TRIPLEA_NAME;
 
 import java.io.File;
+import java.util.function.Supplier;
 
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileFilter;
 
 import games.strategy.engine.framework.GameDataFileUtils;
+import games.strategy.engine.framework.headlessGameServer.GameServerThreadGroup;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
 import games.strategy.triplea.settings.ClientSetting;
 
@@ -20,56 +22,51 @@ public class SaveGameFileChooser extends JFileChooser {
   private static SaveGameFileChooser instance;
 
   public enum AUTOSAVE_TYPE {
-    AUTOSAVE(getAutoSaveFileName()),
+    AUTOSAVE(SaveGameFileChooser::getAutoSaveFileName),
 
-    AUTOSAVE2(""),
+    AUTOSAVE2(() -> ""),
 
-    AUTOSAVE_ODD(getAutoSaveOddFileName()),
+    AUTOSAVE_ODD(SaveGameFileChooser::getAutoSaveOddFileName),
 
-    AUTOSAVE_EVEN(getAutoSaveEvenFileName());
+    AUTOSAVE_EVEN(SaveGameFileChooser::getAutoSaveEvenFileName);
 
-    private final String fileName;
+    // the name is resolved on each call, as it differs between the games of a headless server pool
+    private final Supplier<String> fileName;
 
-    AUTOSAVE_TYPE(final String fileName) {
+    AUTOSAVE_TYPE(final Supplier<String> fileName) {
       this.fileName = fileName;
     }
 
     public String getFileName() {
-      return fileName;
+      return fileName.get();
     }
   }
 
   public static String getAutoSaveFileName() {
-    if (HeadlessGameServer.headless()) {
-      final String saveSuffix = System.getProperty(TRIPLEA_NAME,
-          System.getProperty(LOBBY_GAME_HOSTED_BY, ""));
-      if (saveSuffix.length() > 0) {
-        return saveSuffix + "_" + AUTOSAVE_FILE_NAME;
-      }
-    }
-    return AUTOSAVE_FILE_NAME;
+    return getHeadlessAutoSaveFileName(AUTOSAVE_FILE_NAME);
   }
 
   public static String getAutoSaveOddFileName() {
-    if (HeadlessGameServer.headless()) {
-      final String saveSuffix = System.getProperty(TRIPLEA_NAME,
-          System.getProperty(LOBBY_GAME_HOSTED_BY, ""));
-      if (saveSuffix.length() > 0) {
-        return saveSuffix + "_" + AUTOSAVE_ODD_ROUND_FILE_NAME;
-      }
-    }
-    return AUTOSAVE_ODD_ROUND_FILE_NAME;
+    return getHeadlessAutoSaveFileName(AUTOSAVE_ODD_ROUND_FILE_NAME);
   }
 
   public static String getAutoSaveEvenFileName() {
+    return getHeadlessAutoSaveFileName(AUTOSAVE_EVEN_ROUND_FILE_NAME);
+  }
+
+  /**
+   * Returns the specified autosave file name, prefixed with the name of the bot when running headless, so that bots
+   * sharing a save games folder, such as the games of a headless server pool, do not overwrite each other's autosaves.
+   */
+  public static String getHeadlessAutoSaveFileName(final String fileName) {
     if (HeadlessGameServer.headless()) {
-      final String saveSuffix = System.getProperty(TRIPLEA_NAME,
-          System.getProperty(LOBBY_GAME_HOSTED_BY, ""));
+      final String saveSuffix = GameServerThreadGroup.getProperty(TRIPLEA_NAME,
+          GameServerThreadGroup.getProperty(LOBBY_GAME_HOSTED_BY, ""));
       if (saveSuffix.length() > 0) {
-        return saveSuffix + "_" + AUTOSAVE_EVEN_ROUND_FILE_NAME;
+        return saveSuffix + "_" + fileName;
       }
     }
-    return AUTOSAVE_EVEN_ROUND_FILE_NAME;
+    return fileName;
   }
 
   public static SaveGameFileChooser getInstance() {
@@ -0,0 +1,284 @@
+package games.strategy.engine.history;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.ref.Reference;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.FinalizablePhantomReference;
+import com.google.common.base.FinalizableReferenceQueue;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.io.IoUtils;
+import games.strategy.util.function.ThrowingSupplier;
+import lombok.extern.java.Log;
+
+/**
+ * The changes of a history, of which only the most recent ones are held in memory.
+ *
+ * <p>
+ * Changes are appended in memory in blocks of a set size. Once more than a set number of blocks are held in memory, the
+ * oldest block is serialized to an append-only log file and dropped from memory; the log keeps the offset of each
+ * block, so a spilled change is read by loading its block again. The few most recently loaded blocks are kept, so
+ * browsing the history around one point does not read the same block repeatedly.
+ * </p>
+ *
+ * <p>
+ * The index of a change never changes while it is in the list, and appending a change does not count as a
+ * modification, so views of earlier changes stay valid while changes are appended and spilled on another thread.
+ * Changes can only be removed from the end of the list, which truncates the log file if spilled changes are removed.
+ * </p>
+ *
+ * <p>
+ * No file is held open between operations. The log file is created in the temporary folder when the first block is
+ * spilled, and is deleted once the change log is no longer reachable, or when the VM exits. Change logs created by
+ * {@link #readWithoutSpilling(ThrowingSupplier)}, such as those of copies of game data, never spill.
+ * </p>
+ */
+@Log
+@ThreadSafe
+final class ChangeLog extends AbstractList<Change> implements RandomAccess {
+  static final int DEFAULT_BLOCK_SIZE = 1000;
+  static final int DEFAULT_MEMORY_BLOCKS = 50;
+  private static final int LOADED_BLOCKS = 4;
+  private static final ThreadLocal<Boolean> spillingSuspended = ThreadLocal.withInitial(() -> Boolean.FALSE);
+  private static final FinalizableReferenceQueue logFileReferenceQueue = new FinalizableReferenceQueue();
+  // keeps the references that delete the log files of dropped change logs reachable until they have done so
+  private static final Set<Reference<?>> logFileReferences = Sets.newConcurrentHashSet();
+
+  private final GameData data;
+  private final int blockSize;
+  private final int memoryBlocks;
+  private final boolean spilling;
+  // the changes by block; the blocks before spilledBlockCount have been spilled and are null
+  @GuardedBy("this")
+  private final List<List<Change>> blocks = new ArrayList<>();
+  @GuardedBy("this")
+  private int size;
+  @GuardedBy("this")
+  private int spilledBlockCount;
+  // the offset of each spilled block in the log file, followed by the offset at which the next block is written
+  @GuardedBy("this")
+  private final List<Long> blockOffsets = new ArrayList<>();
+  @GuardedBy("this")
+  private @Nullable File file;
+  @GuardedBy("this")
+  private boolean spillingFailed;
+  private final LoadingCache<Integer, List<Change>> loadedBlocks = CacheBuilder.newBuilder()
+      .maximumSize(LOADED_BLOCKS)
+      .build(CacheLoader.from(this::readBlock));
+
+  /**
+   * Initializes a new change log.
+   *
+   * @param data The game data whose changes are logged; spilled changes are read back into it.
+   * @param blockSize The number of changes spilled and loaded at once.
+   * @param memoryBlocks The number of blocks held in memory before the oldest block is spilled.
+   */
+  ChangeLog(final GameData data, final int blockSize, final int memoryBlocks) {
+    checkArgument(blockSize > 0, "block size must be positive");
+    checkArgument(memoryBlocks >= 0, "memory blocks must not be negative");
+
+    this.data = checkNotNull(data);
+    this.blockSize = blockSize;
+    this.memoryBlocks = memoryBlocks;
+    spilling = !spillingSuspended.get();
+  }
+
+  /**
+   * Runs the specified reader, typically one that reads a copy of game data, so that the change logs it creates hold
+   * all their changes in memory. Copies are short-lived, so spilling their changes to disk again would only add disk
+   * I/O and log files.
+   */
+  static <T, E extends Throwable> T readWithoutSpilling(final ThrowingSupplier<T, E> reader) throws E {
+    final boolean suspended = spillingSuspended.get();
+    spillingSuspended.set(Boolean.TRUE);
+    try {
+      return reader.get();
+    } finally {
+      spillingSuspended.set(suspended);
+    }
+  }
+
+  @Override
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of changes that are held in memory; the others are loaded from the log file when needed.
+   */
+  synchronized int getMemoryChangeCount() {
+    return size - spilledBlockCount * blockSize;
+  }
+
+  @Override
+  public synchronized Change get(final int index) {
+    checkElementIndex(index, size);
+
+    final int block = index / blockSize;
+    final List<Change> changes = (block < spilledBlockCount) ? getSpilledBlock(block) : blocks.get(block);
+    return changes.get(index % blockSize);
+  }
+
+  @GuardedBy("this")
+  private List<Change> getSpilledBlock(final int block) {
+    try {
+      return loadedBlocks.get(block);
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      throw new IllegalStateException("Failed to read changes from history log: " + file, e.getCause());
+    }
+  }
+
+  /**
+   * Appends the specified change. Appending is not a structural modification, so it does not invalidate iterators or
+   * views of this list.
+   */
+  @Override
+  public synchronized boolean add(final Change change) {
+    checkNotNull(change);
+
+    if (size % blockSize == 0) {
+      blocks.add(new ArrayList<>(blockSize));
+    }
+    blocks.get(blocks.size() - 1).add(change);
+    size++;
+    if (spilling && !spillingFailed && getMemoryChangeCount() >= (memoryBlocks + 1) * blockSize) {
+      spillBlock();
+    }
+    return true;
+  }
+
+  @GuardedBy("this")
+  private void spillBlock() {
+    final List<Change> block = blocks.get(spilledBlockCount);
+    try {
+      final byte[] bytes = IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new GameObjectStreamFactory(data).create(new GZIPOutputStream(os))) {
+          out.writeObject(new ArrayList<>(block));
+        }
+      });
+      if (file == null) {
+        file = newLogFile(this);
+        blockOffsets.add(0L);
+      }
+      try (OutputStream out = new FileOutputStream(file, true)) {
+        out.write(bytes);
+      }
+      blockOffsets.add(blockOffsets.get(blockOffsets.size() - 1) + bytes.length);
+      blocks.set(spilledBlockCount, null);
+      spilledBlockCount++;
+    } catch (final IOException e) {
+      // the changes stay in memory, as they would without a log
+      log.log(Level.WARNING, "Failed to write changes to history log; keeping all changes in memory", e);
+      spillingFailed = true;
+    }
+  }
+
+  /**
+   * Creates a log file that is deleted once the specified change log is no longer reachable. Static, so the reference
+   * that deletes the file does not keep the change log reachable.
+   */
+  private static File newLogFile(final ChangeLog changeLog) throws IOException {
+    final File file = File.createTempFile("triplea-history", ".log");
+    file.deleteOnExit();
+    logFileReferences.add(new FinalizablePhantomReference<ChangeLog>(changeLog, logFileReferenceQueue) {
+      @Override
+      public void finalizeReferent() {
+        logFileReferences.remove(this);
+        if (!file.delete()) {
+          log.fine("Failed to delete history log: " + file);
+        }
+      }
+    });
+    return file;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Change> readBlock(final int block) {
+    synchronized (this) {
+      final long offset = blockOffsets.get(block);
+      final byte[] bytes = new byte[(int) (blockOffsets.get(block + 1) - offset)];
+      try {
+        try (RandomAccessFile in = new RandomAccessFile(checkNotNull(file), "r")) {
+          in.seek(offset);
+          in.readFully(bytes);
+        }
+        return IoUtils.readFromMemory(bytes, is -> {
+          try (ObjectInputStream in = new GameObjectStreamFactory(data).create(new GZIPInputStream(is))) {
+            return (List<Change>) in.readObject();
+          } catch (final ClassNotFoundException e) {
+            throw new IOException(e);
+          }
+        });
+      } catch (final IOException e) {
+        throw new IllegalStateException("Failed to read changes from history log: " + file, e);
+      }
+    }
+  }
+
+  /**
+   * Removes the changes from the specified index to the end of the list. If spilled changes are removed, the block that
+   * held the first of them is loaded back into memory.
+   *
+   * @throws UnsupportedOperationException If {@code toIndex} is not the size of this list.
+   */
+  @Override
+  protected synchronized void removeRange(final int fromIndex, final int toIndex) {
+    if (toIndex != size) {
+      throw new UnsupportedOperationException("only changes at the end can be removed");
+    } else if (fromIndex == toIndex) {
+      return;
+    }
+
+    final int firstBlock = fromIndex / blockSize;
+    if (firstBlock < spilledBlockCount) {
+      final List<Change> block = new ArrayList<>(getSpilledBlock(firstBlock));
+      try (RandomAccessFile out = new RandomAccessFile(checkNotNull(file), "rw")) {
+        out.setLength(blockOffsets.get(firstBlock));
+      } catch (final IOException e) {
+        throw new IllegalStateException("Failed to truncate history log: " + file, e);
+      }
+      blockOffsets.subList(firstBlock + 1, blockOffsets.size()).clear();
+      loadedBlocks.invalidateAll();
+      blocks.set(firstBlock, block);
+      spilledBlockCount = firstBlock;
+    }
+    blocks.subList(firstBlock + 1, blocks.size()).clear();
+    final List<Change> lastBlock = blocks.get(firstBlock);
+    lastBlock.subList(fromIndex - firstBlock * blockSize, lastBlock.size()).clear();
+    if (lastBlock.isEmpty()) {
+      blocks.remove(firstBlock);
+    }
+    size = fromIndex;
+    modCount++;
+  }
+}
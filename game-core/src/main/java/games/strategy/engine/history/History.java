@@ -12,6 +12,7 @@ import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.triplea.ui.history.HistoryPanel;
+import games.strategy.util.function.ThrowingSupplier;
 
 /**
  * A history of the game.
@@ -29,7 +30,8 @@ public class History extends DefaultTreeModel {
   private static final long serialVersionUID = -1769876896869L;
 
   private final HistoryWriter writer = new HistoryWriter(this);
-  private final List<Change> changes = new ArrayList<>();
+  private final List<Change> changes;
+  private final HistoryCheckpoints checkpoints;
   private final GameData gameData;
   private HistoryNode currentNode;
   private HistoryPanel panel = null;
@@ -43,12 +45,31 @@ public class History extends DefaultTreeModel {
   public History(final GameData data) {
     super(new RootHistoryNode("Game History"));
     gameData = data;
+    // older changes are spilled to disk, so the history of a long game does not hold all of them in memory
+    changes = new ChangeLog(data, ChangeLog.DEFAULT_BLOCK_SIZE, ChangeLog.DEFAULT_MEMORY_BLOCKS);
+    checkpoints = new HistoryCheckpoints(changes, HistoryCheckpoints.DEFAULT_SPAN);
+  }
+
+  /**
+   * Runs the specified reader, typically one that reads a copy of game data, so that the histories it creates hold all
+   * their changes in memory rather than spilling older ones to disk.
+   */
+  public static <T, E extends Throwable> T readWithoutSpilling(final ThrowingSupplier<T, E> reader) throws E {
+    return ChangeLog.readWithoutSpilling(reader);
   }
 
   public HistoryWriter getHistoryWriter() {
     return writer;
   }
 
+  /**
+   * Sets the maximum number of changes held in memory by the checkpoints that speed up jumps across long stretches of
+   * the history. A budget of zero disables the checkpoints.
+   */
+  public void setCheckpointBudget(final int maxChanges) {
+    checkpoints.setBudget(maxChanges);
+  }
+
   public void setTreePanel(final HistoryPanel panel) {
     this.panel = panel;
   }
@@ -98,7 +119,7 @@ public class History extends DefaultTreeModel {
       return null;
     }
     final List<Change> deltaChanges =
-        changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
+        checkpoints.getChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     final Change compositeChange = new CompositeChange(deltaChanges);
     return (lastChange >= firstChange) ? compositeChange : compositeChange.invert();
   }
@@ -126,9 +147,10 @@ public class History extends DefaultTreeModel {
     getGameData().acquireWriteLock();
     try {
       final int lastChange = getLastChange(removeAfterNode) + 1;
-      while (changes.size() > lastChange) {
-        changes.remove(lastChange);
+      if (changes.size() > lastChange) {
+        changes.subList(lastChange, changes.size()).clear();
       }
+      checkpoints.truncate(changes.size());
       final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
       enumeration.nextElement();
       boolean startRemoving = false;
@@ -0,0 +1,122 @@
+package games.strategy.engine.history;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.changefactory.ChangeCompactor;
+
+/**
+ * Checkpoints that divide the changes of a history into spans of a fixed number of changes, each with the compacted
+ * net change of its span.
+ *
+ * <p>
+ * A delta that covers whole spans uses their compacted changes instead of the changes made in them, so jumping across
+ * many rounds of a long game performs a few net changes per span. The compacted changes are computed when a delta
+ * first needs them and are retained within a budget on the total number of changes they hold; the least recently used
+ * ones are dropped when the budget is exceeded and computed again when needed.
+ * </p>
+ */
+@ThreadSafe
+final class HistoryCheckpoints {
+  static final int DEFAULT_SPAN = 1000;
+  static final int DEFAULT_BUDGET = 200_000;
+
+  private final List<Change> changes;
+  private final int span;
+  @GuardedBy("this")
+  private final Map<Integer, CompositeChange> compactedSpans = new LinkedHashMap<>(16, 0.75f, true);
+  @GuardedBy("this")
+  private int budget = DEFAULT_BUDGET;
+  @GuardedBy("this")
+  private int retainedChanges;
+
+  /**
+   * Initializes new checkpoints.
+   *
+   * @param changes The changes of the history; read when a delta is requested.
+   * @param span The number of changes between two checkpoints.
+   */
+  HistoryCheckpoints(final List<Change> changes, final int span) {
+    checkArgument(span > 0, "span must be positive");
+
+    this.changes = changes;
+    this.span = span;
+  }
+
+  /**
+   * Sets the maximum total number of changes held by the retained compacted changes. A budget of zero disables the
+   * checkpoints.
+   */
+  synchronized void setBudget(final int budget) {
+    checkArgument(budget >= 0, "budget must not be negative");
+
+    this.budget = budget;
+    evictOverBudget();
+  }
+
+  /**
+   * Returns changes with the same net effect as the changes between the specified indices, in order.
+   */
+  synchronized List<Change> getChanges(final int fromIndex, final int toIndex) {
+    final int firstSpan = (fromIndex + span - 1) / span;
+    final int endSpan = toIndex / span;
+    if (budget == 0 || firstSpan >= endSpan) {
+      return changes.subList(fromIndex, toIndex);
+    }
+
+    final List<Change> delta = new ArrayList<>(changes.subList(fromIndex, firstSpan * span));
+    for (int i = firstSpan; i < endSpan; i++) {
+      delta.add(getCompactedSpan(i));
+    }
+    delta.addAll(changes.subList(endSpan * span, toIndex));
+    return delta;
+  }
+
+  @GuardedBy("this")
+  private Change getCompactedSpan(final int index) {
+    final CompositeChange retained = compactedSpans.get(index);
+    if (retained != null) {
+      return retained;
+    }
+
+    final CompositeChange compacted = ChangeCompactor.compact(changes.subList(index * span, (index + 1) * span));
+    compactedSpans.put(index, compacted);
+    retainedChanges += compacted.getChanges().size();
+    evictOverBudget();
+    return compacted;
+  }
+
+  @GuardedBy("this")
+  private void evictOverBudget() {
+    for (final Iterator<CompositeChange> it = compactedSpans.values().iterator();
+        retainedChanges > budget && it.hasNext();) {
+      retainedChanges -= it.next().getChanges().size();
+      it.remove();
+    }
+  }
+
+  /**
+   * Drops the checkpoints of spans that are no longer complete because the changes were truncated to the specified
+   * size.
+   */
+  synchronized void truncate(final int size) {
+    for (final Iterator<Map.Entry<Integer, CompositeChange>> it = compactedSpans.entrySet().iterator();
+        it.hasNext();) {
+      final Map.Entry<Integer, CompositeChange> entry = it.next();
+      if ((entry.getKey() + 1) * span > size) {
+        retainedChanges -= entry.getValue().getChanges().size();
+        it.remove();
+      }
+    }
+  }
+}
@@ -11,8 +11,10 @@ import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 import games.strategy.engine.lobby.server.GameDescription;
-import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.ILobbyGameChangeBroadcaster;
 import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.engine.lobby.server.LobbyGameChanges;
 import games.strategy.engine.message.IChannelMessenger;
 import games.strategy.engine.message.IRemoteMessenger;
 import games.strategy.engine.message.MessageContext;
@@ -29,20 +31,18 @@ class LobbyGameTableModel extends AbstractTableModel {
 
   private final IMessenger messenger;
   private final boolean admin;
+  private final ILobbyGameController lobbyGameController;
 
   // these must only be accessed in the swing event thread
   private final List<Tuple<GUID, GameDescription>> gameList = new ArrayList<>();
-  private final ILobbyGameBroadcaster lobbyGameBroadcaster = new ILobbyGameBroadcaster() {
+  // the version of the lobby's game list that gameList reflects
+  private long gameListVersion;
+  private boolean catchingUp;
+  private final ILobbyGameChangeBroadcaster lobbyGameBroadcaster = new ILobbyGameChangeBroadcaster() {
     @Override
-    public void gameUpdated(final GUID gameId, final GameDescription description) {
+    public void gamesChanged(final LobbyGameChanges changes) {
       assertSentFromServer();
-      updateGame(gameId, description);
-    }
-
-    @Override
-    public void gameRemoved(final GUID gameId) {
-      assertSentFromServer();
-      removeGame(gameId);
+      SwingUtilities.invokeLater(() -> applyChanges(changes));
     }
   };
 
@@ -50,28 +50,75 @@ class LobbyGameTableModel extends AbstractTableModel {
       final IRemoteMessenger remoteMessenger) {
     this.messenger = messenger;
     this.admin = admin;
-    channelMessenger.registerChannelSubscriber(lobbyGameBroadcaster, ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL);
+    lobbyGameController =
+        (ILobbyGameController) remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE);
+    // the lobby sends each change either on this channel or on the channel of older clients, never on both
+    channelMessenger.registerChannelSubscriber(
+        lobbyGameBroadcaster, ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL);
+
+    final LobbyGameChanges games = lobbyGameController.updatesSince(0);
+    SwingUtilities.invokeLater(() -> applyChanges(games));
+  }
 
-    final Map<GUID, GameDescription> games =
-        ((ILobbyGameController) remoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE)).listGames();
-    for (final GUID id : games.keySet()) {
-      updateGame(id, games.get(id));
+  private void applyChanges(final LobbyGameChanges changes) {
+    if (changes.getToVersion() <= gameListVersion) {
+      // already applied
+      return;
+    }
+    if (!changes.isComplete() && changes.getFromVersion() > gameListVersion) {
+      // we missed some changes
+      catchUp();
+      return;
     }
-  }
 
-  private void removeGame(final GUID gameId) {
-    SwingUtilities.invokeLater(() -> {
-      if (gameId == null) {
+    if (changes.isComplete()) {
+      new ArrayList<>(gameList).stream()
+          .map(Tuple::getFirst)
+          .filter(gameId -> !changes.getGames().containsKey(gameId))
+          .forEach(this::removeGameNow);
+    }
+    changes.getGames().forEach(this::updateGameNow);
+    for (final Map.Entry<GUID, GameDescriptionDelta> entry : changes.getDeltas().entrySet()) {
+      final Tuple<GUID, GameDescription> game = findGame(entry.getKey());
+      if (game == null) {
+        // we missed the game being added
+        catchUp();
         return;
       }
+      updateGameNow(entry.getKey(), entry.getValue().applyTo(game.getSecond()));
+    }
+    changes.getRemovedGames().forEach(this::removeGameNow);
+    gameListVersion = changes.getToVersion();
+  }
 
-      final Tuple<GUID, GameDescription> gameToRemove = findGame(gameId);
-      if (gameToRemove != null) {
-        final int index = gameList.indexOf(gameToRemove);
-        gameList.remove(gameToRemove);
-        fireTableRowsDeleted(index, index);
+  private void catchUp() {
+    if (catchingUp) {
+      return;
+    }
+
+    catchingUp = true;
+    final long sinceVersion = gameListVersion;
+    new Thread(() -> {
+      try {
+        final LobbyGameChanges changes = lobbyGameController.updatesSince(sinceVersion);
+        SwingUtilities.invokeLater(() -> {
+          catchingUp = false;
+          applyChanges(changes);
+        });
+      } catch (final RuntimeException e) {
+        SwingUtilities.invokeLater(() -> catchingUp = false);
+        throw e;
       }
-    });
+    }, "Lobby game list catch-up").start();
+  }
+
+  private void removeGameNow(final GUID gameId) {
+    final Tuple<GUID, GameDescription> gameToRemove = findGame(gameId);
+    if (gameToRemove != null) {
+      final int index = gameList.indexOf(gameToRemove);
+      gameList.remove(gameToRemove);
+      fireTableRowsDeleted(index, index);
+    }
   }
 
   private Tuple<GUID, GameDescription> findGame(final GUID gameId) {
@@ -82,7 +129,7 @@ class LobbyGameTableModel extends AbstractTableModel {
   }
 
 
-  protected ILobbyGameBroadcaster getLobbyGameBroadcaster() {
+  protected ILobbyGameChangeBroadcaster getLobbyGameBroadcaster() {
     return lobbyGameBroadcaster;
   }
 
@@ -96,22 +143,16 @@ class LobbyGameTableModel extends AbstractTableModel {
     }
   }
 
-  private void updateGame(final GUID gameId, final GameDescription description) {
-    SwingUtilities.invokeLater(() -> {
-      if (gameId == null) {
-        return;
-      }
-
-      final Tuple<GUID, GameDescription> toReplace = findGame(gameId);
-      if (toReplace == null) {
-        gameList.add(Tuple.of(gameId, description));
-        fireTableRowsInserted(getRowCount() - 1, getRowCount() - 1);
-      } else {
-        final int replaceIndex = gameList.indexOf(toReplace);
-        gameList.set(replaceIndex, Tuple.of(gameId, description));
-        fireTableRowsUpdated(replaceIndex, replaceIndex);
-      }
-    });
+  private void updateGameNow(final GUID gameId, final GameDescription description) {
+    final Tuple<GUID, GameDescription> toReplace = findGame(gameId);
+    if (toReplace == null) {
+      gameList.add(Tuple.of(gameId, description));
+      fireTableRowsInserted(getRowCount() - 1, getRowCount() - 1);
+    } else {
+      final int replaceIndex = gameList.indexOf(toReplace);
+      gameList.set(replaceIndex, Tuple.of(gameId, description));
+      fireTableRowsUpdated(replaceIndex, replaceIndex);
+    }
   }
 
   @Override
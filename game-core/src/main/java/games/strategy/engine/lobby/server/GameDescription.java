@@ -11,6 +11,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 
 import games.strategy.engine.framework.CliProperties;
+import games.strategy.engine.framework.headlessGameServer.GameServerThreadGroup;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
 import games.strategy.net.INode;
 import games.strategy.net.Node;
@@ -74,7 +75,7 @@ public class GameDescription implements Externalizable, Cloneable {
   private String engineVersion;
   private String gameVersion;
   private String botSupportEmail = (HeadlessGameServer.getInstance() != null)
-          ? System.getProperty(CliProperties.LOBBY_GAME_SUPPORT_EMAIL, "")
+          ? GameServerThreadGroup.getProperty(CliProperties.LOBBY_GAME_SUPPORT_EMAIL, "")
           : "";
 
   // if you add a field, add it to write/read object as well for Externalizable
@@ -114,6 +115,13 @@ public class GameDescription implements Externalizable, Cloneable {
     return version;
   }
 
+  /**
+   * Sets the version number; used when applying changes made to another copy of this description.
+   */
+  void setVersion(final int version) {
+    this.version = version;
+  }
+
   public void setGameName(final String gameName) {
     version++;
     this.gameName = gameName;
@@ -0,0 +1,202 @@
+package games.strategy.engine.lobby.server;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+
+/**
+ * The fields of a {@link GameDescription} that changed between two versions of it. Hosts update the player count,
+ * round, status and comment of their games often, so the lobby sends only those fields rather than the whole
+ * description.
+ */
+public final class GameDescriptionDelta implements Externalizable {
+  private static final long serialVersionUID = -2304452186404371376L;
+
+  private static final int GAME_NAME = 1;
+  private static final int PLAYER_COUNT = 1 << 1;
+  private static final int ROUND = 1 << 2;
+  private static final int STATUS = 1 << 3;
+  private static final int HOST_NAME = 1 << 4;
+  private static final int COMMENT = 1 << 5;
+  private static final int PASSWORDED = 1 << 6;
+  private static final int GAME_VERSION = 1 << 7;
+
+  // bit set of the fields that changed; only those fields are meaningful
+  private int changedFields;
+  private int version;
+  private String gameName;
+  private int playerCount;
+  private String round;
+  private GameStatus status;
+  private String hostName;
+  private String comment;
+  private boolean passworded;
+  private String gameVersion;
+
+  // if you add a field, add it to write/read object as well for Externalizable
+  public GameDescriptionDelta() {}
+
+  /**
+   * Returns the changes that turn {@code oldDescription} into {@code newDescription}, or {@code null} if they differ in
+   * a field that cannot be sent as a delta (e.g. the host or port), in which case the whole description must be sent.
+   */
+  public static @Nullable GameDescriptionDelta between(
+      final GameDescription oldDescription,
+      final GameDescription newDescription) {
+    if (!Objects.equals(oldDescription.getHostedBy(), newDescription.getHostedBy())
+        || oldDescription.getPort() != newDescription.getPort()
+        || !Objects.equals(oldDescription.getStartDateTime(), newDescription.getStartDateTime())
+        || !Objects.equals(oldDescription.getEngineVersion(), newDescription.getEngineVersion())
+        || !Objects.equals(oldDescription.getBotSupportEmail(), newDescription.getBotSupportEmail())) {
+      return null;
+    }
+
+    final GameDescriptionDelta delta = new GameDescriptionDelta();
+    delta.version = newDescription.getVersion();
+    if (!Objects.equals(oldDescription.getGameName(), newDescription.getGameName())) {
+      delta.changedFields |= GAME_NAME;
+      delta.gameName = newDescription.getGameName();
+    }
+    if (oldDescription.getPlayerCount() != newDescription.getPlayerCount()) {
+      delta.changedFields |= PLAYER_COUNT;
+      delta.playerCount = newDescription.getPlayerCount();
+    }
+    if (!Objects.equals(oldDescription.getRound(), newDescription.getRound())) {
+      delta.changedFields |= ROUND;
+      delta.round = newDescription.getRound();
+    }
+    if (oldDescription.getStatus() != newDescription.getStatus()) {
+      delta.changedFields |= STATUS;
+      delta.status = newDescription.getStatus();
+    }
+    if (!Objects.equals(oldDescription.getHostName(), newDescription.getHostName())) {
+      delta.changedFields |= HOST_NAME;
+      delta.hostName = newDescription.getHostName();
+    }
+    if (!Objects.equals(oldDescription.getComment(), newDescription.getComment())) {
+      delta.changedFields |= COMMENT;
+      delta.comment = newDescription.getComment();
+    }
+    if (oldDescription.getPassworded() != newDescription.getPassworded()) {
+      delta.changedFields |= PASSWORDED;
+      delta.passworded = newDescription.getPassworded();
+    }
+    if (!Objects.equals(oldDescription.getGameVersion(), newDescription.getGameVersion())) {
+      delta.changedFields |= GAME_VERSION;
+      delta.gameVersion = newDescription.getGameVersion();
+    }
+    return delta;
+  }
+
+  /**
+   * Returns true if no field changed.
+   */
+  public boolean isEmpty() {
+    return changedFields == 0;
+  }
+
+  /**
+   * Returns a copy of the specified description with the changed fields applied; the specified description is not
+   * modified.
+   */
+  public GameDescription applyTo(final GameDescription description) {
+    final GameDescription changed = (GameDescription) description.clone();
+    if ((changedFields & GAME_NAME) != 0) {
+      changed.setGameName(gameName);
+    }
+    if ((changedFields & PLAYER_COUNT) != 0) {
+      changed.setPlayerCount(playerCount);
+    }
+    if ((changedFields & ROUND) != 0) {
+      changed.setRound(round);
+    }
+    if ((changedFields & STATUS) != 0) {
+      changed.setStatus(status);
+    }
+    if ((changedFields & HOST_NAME) != 0) {
+      changed.setHostName(hostName);
+    }
+    if ((changedFields & COMMENT) != 0) {
+      changed.setComment(comment);
+    }
+    if ((changedFields & PASSWORDED) != 0) {
+      changed.setPassworded(passworded);
+    }
+    if ((changedFields & GAME_VERSION) != 0) {
+      changed.setGameVersion(gameVersion);
+    }
+    changed.setVersion(version);
+    return changed;
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException {
+    changedFields = in.readByte() & 0xFF;
+    version = in.readInt();
+    if ((changedFields & GAME_NAME) != 0) {
+      gameName = in.readUTF();
+    }
+    if ((changedFields & PLAYER_COUNT) != 0) {
+      playerCount = in.readByte();
+    }
+    if ((changedFields & ROUND) != 0) {
+      round = in.readUTF();
+    }
+    if ((changedFields & STATUS) != 0) {
+      status = GameStatus.values()[in.readByte()];
+    }
+    if ((changedFields & HOST_NAME) != 0) {
+      hostName = in.readUTF();
+    }
+    if ((changedFields & COMMENT) != 0) {
+      comment = in.readUTF();
+    }
+    if ((changedFields & PASSWORDED) != 0) {
+      passworded = in.readBoolean();
+    }
+    if ((changedFields & GAME_VERSION) != 0) {
+      gameVersion = in.readUTF();
+    }
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    out.writeByte(changedFields);
+    out.writeInt(version);
+    if ((changedFields & GAME_NAME) != 0) {
+      out.writeUTF(gameName);
+    }
+    if ((changedFields & PLAYER_COUNT) != 0) {
+      out.writeByte(playerCount);
+    }
+    if ((changedFields & ROUND) != 0) {
+      out.writeUTF(round);
+    }
+    if ((changedFields & STATUS) != 0) {
+      out.writeByte(status.ordinal());
+    }
+    if ((changedFields & HOST_NAME) != 0) {
+      out.writeUTF(hostName);
+    }
+    if ((changedFields & COMMENT) != 0) {
+      out.writeUTF(comment);
+    }
+    if ((changedFields & PASSWORDED) != 0) {
+      out.writeBoolean(passworded);
+    }
+    if ((changedFields & GAME_VERSION) != 0) {
+      out.writeUTF(gameVersion);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GameDescriptionDelta[changedFields:" + Integer.toBinaryString(changedFields) + " version:" + version + "]";
+  }
+}
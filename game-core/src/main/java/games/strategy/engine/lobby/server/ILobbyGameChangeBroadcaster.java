@@ -0,0 +1,23 @@
+package games.strategy.engine.lobby.server;
+
+import games.strategy.engine.message.IChannelSubscribor;
+import games.strategy.engine.message.RemoteName;
+
+/**
+ * Receives the changes made to the lobby's game list.
+ *
+ * <p>
+ * The changes are broadcast on their own channel, so only clients that subscribe to it receive them. Older clients
+ * subscribe to {@link ILobbyGameBroadcaster#GAME_BROADCASTER_CHANNEL} instead, and receive each change on its own.
+ * </p>
+ */
+public interface ILobbyGameChangeBroadcaster extends IChannelSubscribor {
+  RemoteName GAME_CHANGE_BROADCASTER_CHANNEL = new RemoteName(
+      "games.strategy.engine.lobby.server.ILobbyGameChangeBroadcaster.CHANNEL", ILobbyGameChangeBroadcaster.class);
+
+  /**
+   * Invoked with the changes made to the game list since the previous invocation. The lobby collects the changes made
+   * within a short window and sends them together, so a game updated several times within the window is sent once.
+   */
+  void gamesChanged(LobbyGameChanges changes);
+}
@@ -26,4 +26,18 @@ public interface ILobbyGameController extends IRemote {
    * </p>
    */
   String testGame(GUID gameId);
+
+  /**
+   * Returns the changes made to the game list since the specified version, so a client that missed some changes (e.g.
+   * because it reconnected) can catch up without reloading the whole list. The changes are complete if the specified
+   * version is too old for the lobby to know which games were removed since then.
+   *
+   * <p>
+   * Remote methods are numbered in the order of their names, so this method is named to sort after all earlier
+   * methods, which keeps their numbers unchanged for older clients.
+   * </p>
+   *
+   * @see ILobbyGameChangeBroadcaster
+   */
+  LobbyGameChanges updatesSince(long sinceVersion);
 }
@@ -0,0 +1,158 @@
+package games.strategy.engine.lobby.server;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.net.GUID;
+
+/**
+ * The changes made to the lobby's game list between two versions of it.
+ *
+ * <p>
+ * The lobby numbers every change to its game list. A client that has applied all changes up to
+ * {@link #getFromVersion()} can apply these changes to bring its list up to {@link #getToVersion()}. If these changes
+ * are <i>complete</i>, they contain every game in the list, and any game not contained in them has been removed.
+ * </p>
+ */
+public final class LobbyGameChanges implements Externalizable {
+  private static final long serialVersionUID = 6281539043528453117L;
+
+  private long fromVersion;
+  private long toVersion;
+  private boolean complete;
+  private Map<GUID, GameDescription> games;
+  private Map<GUID, GameDescriptionDelta> deltas;
+  private Set<GUID> removedGames;
+
+  // if you add a field, add it to write/read object as well for Externalizable
+  public LobbyGameChanges() {}
+
+  public LobbyGameChanges(
+      final long fromVersion,
+      final long toVersion,
+      final boolean complete,
+      final Map<GUID, GameDescription> games,
+      final Map<GUID, GameDescriptionDelta> deltas,
+      final Set<GUID> removedGames) {
+    this.fromVersion = fromVersion;
+    this.toVersion = toVersion;
+    this.complete = complete;
+    this.games = checkNotNull(games);
+    this.deltas = checkNotNull(deltas);
+    this.removedGames = checkNotNull(removedGames);
+  }
+
+  /**
+   * Returns the complete game list at the specified version.
+   */
+  public static LobbyGameChanges complete(final long version, final Map<GUID, GameDescription> games) {
+    return new LobbyGameChanges(0, version, true, games, Collections.emptyMap(), Collections.emptySet());
+  }
+
+  /**
+   * The version of the game list these changes apply to.
+   */
+  public long getFromVersion() {
+    return fromVersion;
+  }
+
+  /**
+   * The version of the game list after these changes are applied.
+   */
+  public long getToVersion() {
+    return toVersion;
+  }
+
+  /**
+   * Returns true if these changes contain every game in the list.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * The games that were added or whose description must be replaced as a whole.
+   */
+  public Map<GUID, GameDescription> getGames() {
+    return Collections.unmodifiableMap(games);
+  }
+
+  /**
+   * The games whose description changed, and the fields that changed.
+   */
+  public Map<GUID, GameDescriptionDelta> getDeltas() {
+    return Collections.unmodifiableMap(deltas);
+  }
+
+  public Set<GUID> getRemovedGames() {
+    return Collections.unmodifiableSet(removedGames);
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+    fromVersion = in.readLong();
+    toVersion = in.readLong();
+    complete = in.readBoolean();
+    final int gameCount = in.readInt();
+    games = new HashMap<>(gameCount * 2);
+    for (int i = 0; i < gameCount; i++) {
+      final GUID gameId = readGuid(in);
+      final GameDescription description = new GameDescription();
+      description.readExternal(in);
+      games.put(gameId, description);
+    }
+    final int deltaCount = in.readInt();
+    deltas = new HashMap<>(deltaCount * 2);
+    for (int i = 0; i < deltaCount; i++) {
+      final GUID gameId = readGuid(in);
+      final GameDescriptionDelta delta = new GameDescriptionDelta();
+      delta.readExternal(in);
+      deltas.put(gameId, delta);
+    }
+    final int removedGameCount = in.readInt();
+    removedGames = new HashSet<>(removedGameCount * 2);
+    for (int i = 0; i < removedGameCount; i++) {
+      removedGames.add(readGuid(in));
+    }
+  }
+
+  private static GUID readGuid(final ObjectInput in) throws IOException, ClassNotFoundException {
+    return (GUID) in.readObject();
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    out.writeLong(fromVersion);
+    out.writeLong(toVersion);
+    out.writeBoolean(complete);
+    out.writeInt(games.size());
+    for (final Map.Entry<GUID, GameDescription> entry : games.entrySet()) {
+      out.writeObject(entry.getKey());
+      entry.getValue().writeExternal(out);
+    }
+    out.writeInt(deltas.size());
+    for (final Map.Entry<GUID, GameDescriptionDelta> entry : deltas.entrySet()) {
+      out.writeObject(entry.getKey());
+      entry.getValue().writeExternal(out);
+    }
+    out.writeInt(removedGames.size());
+    for (final GUID gameId : removedGames) {
+      out.writeObject(gameId);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "LobbyGameChanges[fromVersion:" + fromVersion + " toVersion:" + toVersion + " complete:" + complete
+        + " games:" + games.size() + " deltas:" + deltas.size() + " removedGames:" + removedGames.size() + "]";
+  }
+}
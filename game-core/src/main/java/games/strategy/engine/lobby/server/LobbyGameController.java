@@ -3,13 +3,27 @@ package games.strategy.engine.lobby.server;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import games.strategy.engine.message.IRemoteMessenger;
 import games.strategy.engine.message.MessageContext;
 import games.strategy.net.GUID;
@@ -17,15 +31,69 @@ import games.strategy.net.IConnectionChangeListener;
 import games.strategy.net.IMessenger;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
+import games.strategy.util.Tuple;
 
+/**
+ * The lobby's list of games.
+ *
+ * <p>
+ * Every change to the list is numbered with a new version of the list. Changes are not broadcast to clients as they
+ * are made; instead, the changes made within {@link #BROADCAST_DELAY_MILLIS} are broadcast together on the
+ * {@link ILobbyGameChangeBroadcaster} channel, with each game sent at most once and only the fields of its description
+ * that changed. Older clients do not know that channel; for them, each change is broadcast on its own on the
+ * {@link ILobbyGameBroadcaster} channel. Each client subscribes to only one of the channels, so it receives each change
+ * once.
+ * </p>
+ */
 class LobbyGameController implements ILobbyGameController {
   private static final Logger logger = Logger.getLogger(LobbyGameController.class.getName());
+  @VisibleForTesting
+  static final long BROADCAST_DELAY_MILLIS = 250;
+  // how many removed games to remember, so that updatesSince(sinceVersion) can report their removal
+  @VisibleForTesting
+  static final int MAX_REMOVED_GAMES = 1000;
+
+  // guards changes to the game list; reading the game list does not require it
   private final Object mutex = new Object();
-  private final Map<GUID, GameDescription> allGames = new HashMap<>();
+  private final ConcurrentMap<GUID, VersionedGame> allGames = new ConcurrentHashMap<>();
+  // the version at which each recently removed game was removed
+  private final ConcurrentMap<GUID, Long> removedGames = new ConcurrentHashMap<>();
+  @GuardedBy("mutex")
+  private final Queue<Tuple<GUID, Long>> removedGamesInRemovalOrder = new ArrayDeque<>();
+  // written after the change it numbers, so a reader that sees a version also sees all changes up to it
+  private volatile long version;
+  // the removal of games before this version may have been forgotten
+  private volatile long oldestIncrementalVersion;
   private final ILobbyGameBroadcaster broadcaster;
+  private final ILobbyGameChangeBroadcaster changeBroadcaster;
+  private final ScheduledExecutorService broadcastExecutor;
+  // the game list as last broadcast to clients
+  @GuardedBy("mutex")
+  private final Map<GUID, GameDescription> broadcastGames = new HashMap<>();
+  @GuardedBy("mutex")
+  private final Set<GUID> changedGameIds = new HashSet<>();
+  @GuardedBy("mutex")
+  private long broadcastVersion;
+  @GuardedBy("mutex")
+  private boolean broadcastScheduled;
 
-  LobbyGameController(final ILobbyGameBroadcaster broadcaster, final IMessenger messenger) {
+  LobbyGameController(
+      final ILobbyGameBroadcaster broadcaster,
+      final ILobbyGameChangeBroadcaster changeBroadcaster,
+      final IMessenger messenger) {
+    this(broadcaster, changeBroadcaster, messenger, Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("Lobby game broadcaster").setDaemon(true).build()));
+  }
+
+  @VisibleForTesting
+  LobbyGameController(
+      final ILobbyGameBroadcaster broadcaster,
+      final ILobbyGameChangeBroadcaster changeBroadcaster,
+      final IMessenger messenger,
+      final ScheduledExecutorService broadcastExecutor) {
     this.broadcaster = broadcaster;
+    this.changeBroadcaster = changeBroadcaster;
+    this.broadcastExecutor = broadcastExecutor;
     ((IServerMessenger) messenger).addConnectionChangeListener(new IConnectionChangeListener() {
       @Override
       public void connectionRemoved(final INode to) {
@@ -40,18 +108,14 @@ class LobbyGameController implements ILobbyGameController {
   private void connectionLost(final INode to) {
     final List<GUID> removed = new ArrayList<>();
     synchronized (mutex) {
-      final Iterator<GUID> keys = allGames.keySet().iterator();
-      while (keys.hasNext()) {
-        final GUID key = keys.next();
-        final GameDescription game = allGames.get(key);
-        if (game.getHostedBy().equals(to)) {
-          keys.remove();
-          removed.add(key);
+      allGames.forEach((gameId, game) -> {
+        if (game.description.getHostedBy().equals(to) && removeGame(gameId)) {
+          removed.add(gameId);
         }
-      }
+      });
     }
-    for (final GUID guid : removed) {
-      broadcaster.gameRemoved(guid);
+    for (final GUID gameId : removed) {
+      broadcaster.gameRemoved(gameId);
     }
   }
 
@@ -61,7 +125,7 @@ class LobbyGameController implements ILobbyGameController {
     assertCorrectHost(description, from);
     logger.info("Game added:" + description);
     synchronized (mutex) {
-      allGames.put(gameId, description);
+      putGame(gameId, description);
     }
     broadcaster.gameUpdated(gameId, description);
   }
@@ -78,7 +142,7 @@ class LobbyGameController implements ILobbyGameController {
     final INode from = MessageContext.getSender();
     assertCorrectHost(description, from);
     synchronized (mutex) {
-      final GameDescription oldDescription = allGames.get(gameId);
+      final GameDescription oldDescription = allGames.get(gameId).description;
       // out of order updates
       // ignore, we already have the latest
       if (oldDescription.getVersion() > description.getVersion()) {
@@ -87,16 +151,122 @@ class LobbyGameController implements ILobbyGameController {
       if (!oldDescription.getHostedBy().equals(description.getHostedBy())) {
         throw new IllegalStateException("Game modified by wrong host");
       }
-      allGames.put(gameId, description);
+      putGame(gameId, description);
     }
     broadcaster.gameUpdated(gameId, description);
   }
 
+  @GuardedBy("mutex")
+  private void putGame(final GUID gameId, final GameDescription description) {
+    final long newVersion = version + 1;
+    allGames.put(gameId, new VersionedGame(description, newVersion));
+    removedGames.remove(gameId);
+    version = newVersion;
+    gameChanged(gameId);
+  }
+
+  @GuardedBy("mutex")
+  private boolean removeGame(final GUID gameId) {
+    final long newVersion = version + 1;
+    if (allGames.remove(gameId) == null) {
+      return false;
+    }
+    removedGames.put(gameId, newVersion);
+    removedGamesInRemovalOrder.add(Tuple.of(gameId, newVersion));
+    while (removedGamesInRemovalOrder.size() > MAX_REMOVED_GAMES) {
+      final Tuple<GUID, Long> forgotten = removedGamesInRemovalOrder.remove();
+      // clients that have not seen this removal can no longer catch up incrementally
+      oldestIncrementalVersion = forgotten.getSecond();
+      removedGames.remove(forgotten.getFirst(), forgotten.getSecond());
+    }
+    version = newVersion;
+    gameChanged(gameId);
+    return true;
+  }
+
+  @GuardedBy("mutex")
+  private void gameChanged(final GUID gameId) {
+    changedGameIds.add(gameId);
+    if (!broadcastScheduled) {
+      broadcastScheduled = true;
+      broadcastExecutor.schedule(this::broadcastChanges, BROADCAST_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Broadcasts the changes made since the previous broadcast.
+   */
+  @VisibleForTesting
+  void broadcastChanges() {
+    final LobbyGameChanges changes;
+    synchronized (mutex) {
+      broadcastScheduled = false;
+      if (changedGameIds.isEmpty()) {
+        return;
+      }
+
+      final Map<GUID, GameDescription> games = new HashMap<>();
+      final Map<GUID, GameDescriptionDelta> deltas = new HashMap<>();
+      final Set<GUID> removed = new HashSet<>();
+      for (final GUID gameId : changedGameIds) {
+        final @Nullable VersionedGame game = allGames.get(gameId);
+        if (game == null) {
+          if (broadcastGames.remove(gameId) != null) {
+            removed.add(gameId);
+          }
+          continue;
+        }
+
+        final @Nullable GameDescription broadcastDescription = broadcastGames.put(gameId, game.description);
+        final @Nullable GameDescriptionDelta delta = (broadcastDescription != null)
+            ? GameDescriptionDelta.between(broadcastDescription, game.description)
+            : null;
+        if (delta == null) {
+          games.put(gameId, game.description);
+        } else if (!delta.isEmpty()) {
+          deltas.put(gameId, delta);
+        }
+      }
+      changedGameIds.clear();
+      // always broadcast, even if nothing visible changed, so clients know they have not missed any change
+      changes = new LobbyGameChanges(broadcastVersion, version, false, games, deltas, removed);
+      broadcastVersion = version;
+    }
+    changeBroadcaster.gamesChanged(changes);
+  }
+
   @Override
   public Map<GUID, GameDescription> listGames() {
-    synchronized (mutex) {
-      return new HashMap<>(allGames);
+    final Map<GUID, GameDescription> games = new HashMap<>();
+    allGames.forEach((gameId, game) -> games.put(gameId, game.description));
+    return games;
+  }
+
+  @Override
+  public LobbyGameChanges updatesSince(final long sinceVersion) {
+    final long currentVersion = version;
+    if (sinceVersion <= 0 || sinceVersion > currentVersion) {
+      // a new client, or a client of a previous lobby instance
+      return LobbyGameChanges.complete(currentVersion, listGames());
+    }
+
+    final Map<GUID, GameDescription> games = new HashMap<>();
+    allGames.forEach((gameId, game) -> {
+      if (game.version > sinceVersion) {
+        games.put(gameId, game.description);
+      }
+    });
+    final Set<GUID> removed = new HashSet<>();
+    removedGames.forEach((gameId, removedVersion) -> {
+      if (removedVersion > sinceVersion) {
+        removed.add(gameId);
+      }
+    });
+    // checked last, so a removal forgotten while we were looking is noticed
+    if (sinceVersion < oldestIncrementalVersion) {
+      return LobbyGameChanges.complete(currentVersion, listGames());
     }
+    return new LobbyGameChanges(sinceVersion, currentVersion, false, games, new HashMap<>(), removed);
   }
 
   void register(final IRemoteMessenger remote) {
@@ -105,13 +275,11 @@ class LobbyGameController implements ILobbyGameController {
 
   @Override
   public String testGame(final GUID gameId) {
-    final GameDescription description;
-    synchronized (mutex) {
-      description = allGames.get(gameId);
-    }
-    if (description == null) {
+    final @Nullable VersionedGame game = allGames.get(gameId);
+    if (game == null) {
       return "No such game found";
     }
+    final GameDescription description = game.description;
     // make sure we are being tested from the right node
     final INode from = MessageContext.getSender();
     assertCorrectHost(description, from);
@@ -124,4 +292,17 @@ class LobbyGameController implements ILobbyGameController {
       return "host:" + host + " " + " port:" + port;
     }
   }
+
+  /**
+   * A game and the version of the game list at which it last changed.
+   */
+  private static final class VersionedGame {
+    final GameDescription description;
+    final long version;
+
+    VersionedGame(final GameDescription description, final long version) {
+      this.description = description;
+      this.version = version;
+    }
+  }
 }
@@ -5,7 +5,12 @@ import java.io.IOException;
 import games.strategy.engine.chat.ChatController;
 import games.strategy.engine.chat.StatusManager;
 import games.strategy.engine.config.lobby.LobbyPropertyReader;
+import games.strategy.engine.lobby.server.db.AccessLogController;
+import games.strategy.engine.lobby.server.db.BatchingAccessLogDao;
+import games.strategy.engine.lobby.server.db.Database;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
+import games.strategy.engine.message.unifiedmessenger.InvocationScheduler;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.Messengers;
 import games.strategy.net.ServerMessenger;
@@ -38,23 +43,37 @@ public final class LobbyServer {
    * running.
    * </p>
    */
-  static void start(final LobbyPropertyReader lobbyPropertyReader) throws IOException {
+  public static void start(final LobbyPropertyReader lobbyPropertyReader) throws IOException {
     ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
 
-    final IServerMessenger server = ServerMessenger.newInstanceForLobby(ADMIN_USERNAME, lobbyPropertyReader);
-    final Messengers messengers = new Messengers(server);
-    server.setLoginValidator(new LobbyLoginValidator(lobbyPropertyReader));
+    final Database database = new Database(lobbyPropertyReader);
+    final ModerationCache moderationCache = new ModerationCache(database);
+    moderationCache.start();
+    final IServerMessenger server =
+        ServerMessenger.newInstanceForLobby(ADMIN_USERNAME, lobbyPropertyReader, moderationCache);
+    final Messengers messengers = new Messengers(server, new InvocationScheduler(
+        lobbyPropertyReader.getInvocationThreads(),
+        lobbyPropertyReader.getInvocationQueueCapacity()));
+    final BatchingAccessLogDao accessLogDao = new BatchingAccessLogDao(new AccessLogController(database));
+    // write the accesses that are still queued when the lobby is stopped
+    Runtime.getRuntime().addShutdownHook(new Thread(accessLogDao::close, "Access log flusher"));
+    server.setLoginValidator(new LobbyLoginValidator(lobbyPropertyReader, database, moderationCache, accessLogDao));
     // setup common objects
     new UserManager(lobbyPropertyReader).register(messengers.getRemoteMessenger());
-    final ModeratorController moderatorController = new ModeratorController(server, messengers, lobbyPropertyReader);
+    final ModeratorController moderatorController =
+        new ModeratorController(server, messengers, database, moderationCache);
     moderatorController.register(messengers.getRemoteMessenger());
     new ChatController(LOBBY_CHAT, messengers, moderatorController);
 
     // register the status controller
     new StatusManager(messengers).shutDown();
 
-    final LobbyGameController controller = new LobbyGameController((ILobbyGameBroadcaster) messengers
-        .getChannelMessenger().getChannelBroadcastor(ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL), server);
+    final LobbyGameController controller = new LobbyGameController(
+        (ILobbyGameBroadcaster) messengers.getChannelMessenger()
+            .getChannelBroadcastor(ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL),
+        (ILobbyGameChangeBroadcaster) messengers.getChannelMessenger()
+            .getChannelBroadcastor(ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL),
+        server);
     controller.register(messengers.getRemoteMessenger());
 
     // now we are open for business
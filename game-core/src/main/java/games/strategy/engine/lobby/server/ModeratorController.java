@@ -4,38 +4,56 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
 import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.engine.config.lobby.LobbyPropertyReader;
-import games.strategy.engine.lobby.server.db.BannedMacController;
-import games.strategy.engine.lobby.server.db.BannedUsernameController;
 import games.strategy.engine.lobby.server.db.Database;
-import games.strategy.engine.lobby.server.db.MutedMacController;
-import games.strategy.engine.lobby.server.db.MutedUsernameController;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.UserController;
 import games.strategy.engine.lobby.server.userDB.DBUser;
 import games.strategy.engine.message.MessageContext;
-import games.strategy.engine.message.RemoteName;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.MacFinder;
 import games.strategy.net.Messengers;
 
 public class ModeratorController extends AbstractModeratorController {
+  private static final long REMOTE_HOST_RESPONSE_TIMEOUT_SECONDS = 30;
+
   private final Database database;
+  private final ModerationCache moderationCache;
 
   public ModeratorController(
       final IServerMessenger serverMessenger,
       final Messengers messengers,
       final LobbyPropertyReader lobbyPropertyReader) {
-    super(serverMessenger, messengers);
+    this(serverMessenger, messengers, new Database(checkNotNull(lobbyPropertyReader)));
+  }
+
+  private ModeratorController(
+      final IServerMessenger serverMessenger,
+      final Messengers messengers,
+      final Database database) {
+    this(serverMessenger, messengers, database, new ModerationCache(database));
+  }
 
-    checkNotNull(lobbyPropertyReader);
+  public ModeratorController(
+      final IServerMessenger serverMessenger,
+      final Messengers messengers,
+      final Database database,
+      final ModerationCache moderationCache) {
+    super(serverMessenger, messengers);
 
-    database = new Database(lobbyPropertyReader);
+    this.database = checkNotNull(database);
+    this.moderationCache = checkNotNull(moderationCache);
   }
 
   @Override
@@ -51,7 +69,7 @@ public class ModeratorController extends AbstractModeratorController {
 
     final User bannedUser = getUserForNode(node);
     final User moderator = getUserForNode(MessageContext.getSender());
-    new BannedUsernameController(database).addBannedUsername(bannedUser, banExpires, moderator);
+    moderationCache.addBannedUsername(bannedUser, banExpires, moderator);
     logger.info(String.format(
         "User was banned from the lobby (by username); "
             + "Username: %s, IP: %s, MAC: %s, Mod Username: %s, Mod IP: %s, Mod MAC: %s, Expires: %s",
@@ -111,7 +129,7 @@ public class ModeratorController extends AbstractModeratorController {
 
     final User bannedUser = getUserForNode(node).withHashedMacAddress(hashedMac);
     final User moderator = getUserForNode(MessageContext.getSender());
-    new BannedMacController(database).addBannedMac(bannedUser, banExpires, moderator);
+    moderationCache.addBannedMac(bannedUser, banExpires, moderator);
     logger.info(String.format(
         "User was banned from the lobby (by MAC); "
             + "Username: %s, IP: %s, MAC: %s, Mod Username: %s, Mod IP: %s, Mod MAC: %s, Expires: %s",
@@ -133,7 +151,7 @@ public class ModeratorController extends AbstractModeratorController {
 
     final User mutedUser = getUserForNode(node);
     final User moderator = getUserForNode(MessageContext.getSender());
-    new MutedUsernameController(database).addMutedUsername(mutedUser, muteExpires, moderator);
+    moderationCache.addMutedUsername(mutedUser, muteExpires, moderator);
     serverMessenger.notifyUsernameMutingOfPlayer(mutedUser.getUsername(), muteExpires);
     logger.info(String.format(
         "User was muted in the lobby (by username); "
@@ -156,7 +174,7 @@ public class ModeratorController extends AbstractModeratorController {
 
     final User mutedUser = getUserForNode(node);
     final User moderator = getUserForNode(MessageContext.getSender());
-    new MutedMacController(database).addMutedMac(mutedUser, muteExpires, moderator);
+    moderationCache.addMutedMac(mutedUser, muteExpires, moderator);
     serverMessenger.notifyMacMutingOfPlayer(mutedUser.getHashedMacAddress(), muteExpires);
     logger.info(String.format(
         "User was muted in the lobby (by MAC); "
@@ -194,10 +212,7 @@ public class ModeratorController extends AbstractModeratorController {
         "Getting salt for Headless HostBot. Host: %s IP: %s Mac: %s Mod Username: %s Mod IP: %s Mod Mac: %s",
         node.getName(), node.getAddress().getHostAddress(), mac, modNode.getName(),
         modNode.getAddress().getHostAddress(), getNodeMacAddress(modNode)));
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    return remoteHostUtils.getSalt();
+    return invokeRemoteHostUtils(node, IRemoteHostUtils::getSalt);
   }
 
   @Override
@@ -208,10 +223,8 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    final String response = remoteHostUtils.getChatLogHeadlessHostBot(hashedPassword, salt);
+    final String response = invokeRemoteHostUtils(node,
+        remoteHostUtils -> remoteHostUtils.getChatLogHeadlessHostBot(hashedPassword, salt));
     logger.info(String.format(
         ((response == null || response.equals("Invalid password!")) ? "Failed" : "Successful")
             + " Remote get Chat Log of Headless HostBot. "
@@ -230,11 +243,9 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    final String response =
-        remoteHostUtils.mutePlayerHeadlessHostBot(playerNameToBeMuted, minutes, hashedPassword, salt);
+    final String response = invokeRemoteHostUtils(node,
+        remoteHostUtils -> remoteHostUtils.mutePlayerHeadlessHostBot(
+            playerNameToBeMuted, minutes, hashedPassword, salt));
     logger.info(String.format(
         (response == null ? "Successful" : "Failed (" + response + ")") + " Remote Mute of " + playerNameToBeMuted
             + " for " + minutes
@@ -253,10 +264,8 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    final String response = remoteHostUtils.bootPlayerHeadlessHostBot(playerNameToBeBooted, hashedPassword, salt);
+    final String response = invokeRemoteHostUtils(node,
+        remoteHostUtils -> remoteHostUtils.bootPlayerHeadlessHostBot(playerNameToBeBooted, hashedPassword, salt));
     logger.info(String.format(
         (response == null ? "Successful" : "Failed (" + response + ")") + " Remote Boot of " + playerNameToBeBooted
             + " In Headless HostBot. Host: %s IP: %s Mac: %s Mod Username: %s Mod IP: %s Mod Mac: %s",
@@ -274,10 +283,8 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    final String response = remoteHostUtils.banPlayerHeadlessHostBot(playerNameToBeBanned, hours, hashedPassword, salt);
+    final String response = invokeRemoteHostUtils(node,
+        remoteHostUtils -> remoteHostUtils.banPlayerHeadlessHostBot(playerNameToBeBanned, hours, hashedPassword, salt));
     logger.info(String.format(
         (response == null ? "Successful" : "Failed (" + response + ")") + " Remote Ban of " + playerNameToBeBanned
             + " for " + hours
@@ -295,10 +302,8 @@ public class ModeratorController extends AbstractModeratorController {
     }
     final INode modNode = MessageContext.getSender();
     final String mac = getNodeMacAddress(node);
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    final String response = remoteHostUtils.stopGameHeadlessHostBot(hashedPassword, salt);
+    final String response = invokeRemoteHostUtils(node,
+        remoteHostUtils -> remoteHostUtils.stopGameHeadlessHostBot(hashedPassword, salt));
     logger.info(String.format(
         (response == null ? "Successful" : "Failed (" + response + ")")
             + " Remote Stopgame of Headless HostBot. Host: %s IP: %s Mac: %s Mod Username: %s Mod IP: %s Mod Mac: %s",
@@ -319,10 +324,8 @@ public class ModeratorController extends AbstractModeratorController {
         "Started Remote Shutdown of Headless HostBot. Host: %s IP: %s Mac: %s Mod Username: %s Mod IP: %s Mod Mac: %s",
         node.getName(), node.getAddress().getHostAddress(), mac, modNode.getName(),
         modNode.getAddress().getHostAddress(), getNodeMacAddress(modNode)));
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    final String response = remoteHostUtils.shutDownHeadlessHostBot(hashedPassword, salt);
+    final String response = invokeRemoteHostUtils(node,
+        remoteHostUtils -> remoteHostUtils.shutDownHeadlessHostBot(hashedPassword, salt));
     logger.info(String.format(
         (response == null ? "Successful" : "Failed (" + response + ")")
             + " Remote Shutdown of Headless HostBot. "
@@ -359,10 +362,29 @@ public class ModeratorController extends AbstractModeratorController {
     if (serverMessenger.getServerNode().equals(node)) {
       throw new IllegalStateException("Cannot do this for server node");
     }
-    final RemoteName remoteName = RemoteHostUtils.getRemoteHostUtilsName(node);
-    final IRemoteHostUtils remoteHostUtils =
-        (IRemoteHostUtils) allMessengers.getRemoteMessenger().getRemote(remoteName);
-    return remoteHostUtils.getConnections();
+    return invokeRemoteHostUtils(node, IRemoteHostUtils::getConnections);
+  }
+
+  /**
+   * Calls a method on the remote host utilities of the given node, waiting at most
+   * {@link #REMOTE_HOST_RESPONSE_TIMEOUT_SECONDS} for the host to respond so that an unresponsive bot cannot park a
+   * lobby thread indefinitely. The call is cancelled on timeout, so it does not stay pending once nobody waits for it.
+   */
+  private String invokeRemoteHostUtils(final INode node, final Function<IRemoteHostUtils, String> call) {
+    final CompletableFuture<String> response = allMessengers.getRemoteMessenger()
+        .invokeAsync(RemoteHostUtils.getRemoteHostUtilsName(node), call);
+    try {
+      return response.get(REMOTE_HOST_RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for " + node.getName(), e);
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Exception on remote " + node.getName(), e.getCause());
+    } catch (final TimeoutException e) {
+      response.cancel(false);
+      throw new IllegalStateException(node.getName() + " did not respond within "
+          + REMOTE_HOST_RESPONSE_TIMEOUT_SECONDS + " seconds", e);
+    }
   }
 
   @Override
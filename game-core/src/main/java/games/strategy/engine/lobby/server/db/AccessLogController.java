@@ -5,9 +5,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 
 import games.strategy.engine.lobby.server.User;
 import games.strategy.engine.lobby.server.login.UserType;
+import games.strategy.util.Tuple;
 
 /**
  * Implementation of {@link AccessLogDao} for a Postgres database.
@@ -17,20 +19,42 @@ public final class AccessLogController extends AbstractController implements Acc
     super(database);
   }
 
+  private static final String INSERT_SQL =
+      "insert into access_log (username, ip, mac, registered) values (?, ?::inet, ?, ?)";
+
   @Override
   public void insert(final User user, final UserType userType) throws SQLException {
     checkNotNull(user);
     checkNotNull(userType);
 
-    final String sql = "insert into access_log (username, ip, mac, registered) values (?, ?::inet, ?, ?)";
     try (Connection conn = newDatabaseConnection();
-        PreparedStatement ps = conn.prepareStatement(sql)) {
-      ps.setString(1, user.getUsername());
-      ps.setString(2, user.getInetAddress().getHostAddress());
-      ps.setString(3, user.getHashedMacAddress());
-      ps.setBoolean(4, userType == UserType.REGISTERED);
+        PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+      setParameters(ps, user, userType);
       ps.execute();
       conn.commit();
     }
   }
+
+  @Override
+  public void insertAll(final Collection<Tuple<User, UserType>> accesses) throws SQLException {
+    checkNotNull(accesses);
+
+    try (Connection conn = newDatabaseConnection();
+        PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+      for (final Tuple<User, UserType> access : accesses) {
+        setParameters(ps, access.getFirst(), access.getSecond());
+        ps.addBatch();
+      }
+      ps.executeBatch();
+      conn.commit();
+    }
+  }
+
+  private static void setParameters(final PreparedStatement ps, final User user, final UserType userType)
+      throws SQLException {
+    ps.setString(1, user.getUsername());
+    ps.setString(2, user.getInetAddress().getHostAddress());
+    ps.setString(3, user.getHashedMacAddress());
+    ps.setBoolean(4, userType == UserType.REGISTERED);
+  }
 }
@@ -1,9 +1,11 @@
 package games.strategy.engine.lobby.server.db;
 
 import java.sql.SQLException;
+import java.util.Collection;
 
 import games.strategy.engine.lobby.server.User;
 import games.strategy.engine.lobby.server.login.UserType;
+import games.strategy.util.Tuple;
 
 /**
  * Data access object for the access log table.
@@ -18,4 +20,13 @@ public interface AccessLogDao {
    * @throws SQLException If an error occurs while logging the access.
    */
   void insert(User user, UserType userType) throws SQLException;
+
+  /**
+   * Inserts a new record in the access log table for each of the specified accesses in a single transaction.
+   *
+   * @param accesses The users who accessed the lobby and their types.
+   *
+   * @throws SQLException If an error occurs while logging the accesses; none of the accesses are logged in this case.
+   */
+  void insertAll(Collection<Tuple<User, UserType>> accesses) throws SQLException;
 }
@@ -0,0 +1,224 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.engine.lobby.server.User;
+import games.strategy.engine.lobby.server.login.UserType;
+import games.strategy.util.Interruptibles;
+import games.strategy.util.Tuple;
+import lombok.extern.java.Log;
+
+/**
+ * Implementation of {@link AccessLogDao} that writes accesses to another {@link AccessLogDao} in batches on a
+ * background thread, so the caller does not wait for the database.
+ *
+ * <p>
+ * Accesses are queued in memory and written once {@code batchSize} of them are queued or the oldest of them has been
+ * queued for {@code flushIntervalMillis}, whichever comes first. If the queue is full, because the database is not
+ * keeping up or is unavailable, further accesses are dropped rather than slowing down logins. Dropped accesses and
+ * accesses that could not be written are counted and logged; dropped accesses are logged at most once per
+ * {@link #DROP_WARNING_INTERVAL_MILLIS}, as a count.
+ * </p>
+ *
+ * <p>
+ * {@link #close()} writes the accesses that are still queued, and must be called when the lobby shuts down.
+ * </p>
+ */
+@Log
+@ThreadSafe
+public final class BatchingAccessLogDao implements AccessLogDao {
+  private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+  private static final int DEFAULT_BATCH_SIZE = 100;
+  private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+  // how long the writer waits for an access before checking whether it has been closed
+  private static final long IDLE_POLL_MILLIS = 100;
+  @VisibleForTesting
+  static final long DROP_WARNING_INTERVAL_MILLIS = 60_000;
+
+  private final AccessLogDao accessLogDao;
+  private final BlockingQueue<Tuple<User, UserType>> queue;
+  private final int batchSize;
+  private final long flushIntervalMillis;
+  private final LongAdder writtenCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final AtomicLong reportedDroppedCount = new AtomicLong();
+  private final AtomicLong nextDropWarningNanos = new AtomicLong(System.nanoTime());
+  private final Thread flusher;
+  private volatile boolean closed;
+
+  public BatchingAccessLogDao(final AccessLogDao accessLogDao) {
+    this(accessLogDao, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+  }
+
+  @VisibleForTesting
+  BatchingAccessLogDao(
+      final AccessLogDao accessLogDao,
+      final int queueCapacity,
+      final int batchSize,
+      final long flushIntervalMillis) {
+    checkNotNull(accessLogDao);
+    checkArgument(queueCapacity > 0, "queue capacity must be positive");
+    checkArgument(batchSize > 0, "batch size must be positive");
+    checkArgument(flushIntervalMillis >= 0, "flush interval must not be negative");
+
+    this.accessLogDao = accessLogDao;
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+
+    flusher = new Thread(this::flushLoop, "Access log writer");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /**
+   * Queues the specified access to be written to the access log table; returns without waiting for it to be written.
+   * Accesses made after this object has been closed are dropped.
+   */
+  @Override
+  public void insert(final User user, final UserType userType) {
+    checkNotNull(user);
+    checkNotNull(userType);
+
+    if (closed || !queue.offer(Tuple.of(user, userType))) {
+      droppedCount.increment();
+      final long now = System.nanoTime();
+      final long nextDropWarning = nextDropWarningNanos.get();
+      if (now - nextDropWarning >= 0 && nextDropWarningNanos.compareAndSet(nextDropWarning,
+          now + TimeUnit.MILLISECONDS.toNanos(DROP_WARNING_INTERVAL_MILLIS))) {
+        warnDroppedAccesses();
+      }
+    }
+  }
+
+  private void warnDroppedAccesses() {
+    final long totalDroppedCount = getDroppedCount();
+    final long droppedCount = totalDroppedCount - reportedDroppedCount.getAndSet(totalDroppedCount);
+    if (droppedCount > 0) {
+      log.warning("Access log queue is full; dropped " + droppedCount + " accesses since the last warning ("
+          + totalDroppedCount + " dropped in total)");
+    }
+  }
+
+  /**
+   * Queues the specified accesses to be written to the access log table; returns without waiting for them to be
+   * written.
+   */
+  @Override
+  public void insertAll(final Collection<Tuple<User, UserType>> accesses) {
+    checkNotNull(accesses);
+
+    accesses.forEach(access -> insert(access.getFirst(), access.getSecond()));
+  }
+
+  private void flushLoop() {
+    try {
+      while (!closed) {
+        final List<Tuple<User, UserType>> batch = takeBatch();
+        if (!batch.isEmpty()) {
+          write(batch);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the next batch of accesses, or an empty batch if none is queued within {@link #IDLE_POLL_MILLIS}.
+   */
+  private List<Tuple<User, UserType>> takeBatch() throws InterruptedException {
+    final List<Tuple<User, UserType>> batch = new ArrayList<>(batchSize);
+    final Tuple<User, UserType> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return batch;
+    }
+    batch.add(first);
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    // stop waiting for a full batch once closed, so that close() does not wait for the flush interval
+    while (batch.size() < batchSize && !closed) {
+      if (queue.drainTo(batch, batchSize - batch.size()) == 0) {
+        final long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+          break;
+        }
+        final Tuple<User, UserType> access =
+            queue.poll(Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)), TimeUnit.NANOSECONDS);
+        if (access != null) {
+          batch.add(access);
+        }
+      }
+    }
+    return batch;
+  }
+
+  private void write(final List<Tuple<User, UserType>> batch) {
+    try {
+      accessLogDao.insertAll(batch);
+      writtenCount.add(batch.size());
+    } catch (final SQLException | RuntimeException e) {
+      failedCount.add(batch.size());
+      log.log(Level.SEVERE, "Failed to write " + batch.size() + " accesses to the access log", e);
+    }
+  }
+
+  /**
+   * Stops the background writer and writes the accesses that are still queued on the calling thread. Accesses made
+   * after this method is called are dropped.
+   */
+  public void close() {
+    closed = true;
+    Interruptibles.join(flusher);
+    final List<Tuple<User, UserType>> batch = new ArrayList<>(batchSize);
+    while (queue.drainTo(batch, batchSize) > 0) {
+      write(batch);
+      batch.clear();
+    }
+    warnDroppedAccesses();
+  }
+
+  /**
+   * Returns the number of accesses waiting to be written.
+   */
+  public int getQueuedCount() {
+    return queue.size();
+  }
+
+  /**
+   * Returns the number of accesses that have been written.
+   */
+  public long getWrittenCount() {
+    return writtenCount.sum();
+  }
+
+  /**
+   * Returns the number of accesses that were dropped because the queue was full.
+   */
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  /**
+   * Returns the number of accesses that could not be written.
+   */
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+}
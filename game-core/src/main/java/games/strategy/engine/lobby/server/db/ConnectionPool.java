@@ -0,0 +1,199 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.util.Interruptibles;
+import lombok.extern.java.Log;
+
+/**
+ * A bounded pool of physical database connections.
+ *
+ * <p>
+ * Closing a connection obtained from the pool returns its physical connection to the pool. A physical connection that
+ * has been idle for a while is validated before it is reused, and one that has been idle for too long is closed. A
+ * physical connection on which the driver reports a fatal error is closed rather than returned to the pool.
+ * </p>
+ */
+@Log
+@ThreadSafe
+final class ConnectionPool {
+  @VisibleForTesting
+  static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  @VisibleForTesting
+  static final long VALIDATION_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final ConnectionPoolDataSource dataSource;
+  private final long connectionTimeoutMillis;
+  private final LongSupplier currentTimeMillis;
+  private final Semaphore permits;
+  // most recently used first, so the least recently used connections are the ones that become idle long enough to be
+  // evicted
+  private final Deque<PooledEntry> idleEntries = new ConcurrentLinkedDeque<>();
+
+  ConnectionPool(final ConnectionPoolDataSource dataSource, final int maxSize) {
+    this(dataSource, maxSize, DEFAULT_CONNECTION_TIMEOUT_MILLIS, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  ConnectionPool(
+      final ConnectionPoolDataSource dataSource,
+      final int maxSize,
+      final long connectionTimeoutMillis,
+      final LongSupplier currentTimeMillis) {
+    checkNotNull(dataSource);
+    checkArgument(maxSize > 0, "max size must be positive");
+    checkNotNull(currentTimeMillis);
+
+    this.dataSource = dataSource;
+    this.connectionTimeoutMillis = connectionTimeoutMillis;
+    this.currentTimeMillis = currentTimeMillis;
+    permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Returns a connection from the pool, opening a new physical connection if no idle one is available. Waits for a
+   * connection to be returned to the pool if the pool is at its maximum size.
+   *
+   * @throws SQLException If no connection could be obtained.
+   */
+  Connection getConnection() throws SQLException {
+    final boolean acquired = Interruptibles
+        .awaitResult(() -> permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS))
+        .result
+        .orElse(false);
+    if (!acquired) {
+      throw new SQLException("Timed out waiting for a database connection");
+    }
+    try {
+      return borrow();
+    } catch (final SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private Connection borrow() throws SQLException {
+    PooledEntry entry;
+    while ((entry = idleEntries.pollFirst()) != null) {
+      final long idleMillis = currentTimeMillis.getAsLong() - entry.lastUsedMillis;
+      if (idleMillis >= IDLE_TIMEOUT_MILLIS) {
+        entry.discard();
+        continue;
+      }
+      final Connection connection = entry.getConnection();
+      if (idleMillis < VALIDATION_INTERVAL_MILLIS || isValid(connection)) {
+        return connection;
+      }
+      entry.discard();
+    }
+    return new PooledEntry(dataSource.getPooledConnection()).getConnection();
+  }
+
+  private static boolean isValid(final Connection connection) {
+    try {
+      return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (final SQLException e) {
+      return false;
+    }
+  }
+
+  private void release(final PooledEntry entry) {
+    try {
+      if (entry.broken) {
+        entry.discard();
+      } else {
+        entry.lastUsedMillis = currentTimeMillis.getAsLong();
+        idleEntries.offerFirst(entry);
+      }
+      evictIdleEntries();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void evictIdleEntries() {
+    PooledEntry entry;
+    while ((entry = idleEntries.peekLast()) != null
+        && currentTimeMillis.getAsLong() - entry.lastUsedMillis >= IDLE_TIMEOUT_MILLIS) {
+      // another thread may have borrowed the connection since we peeked at it
+      if (idleEntries.removeLastOccurrence(entry)) {
+        entry.discard();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of idle physical connections in the pool.
+   */
+  @VisibleForTesting
+  int getIdleCount() {
+    return idleEntries.size();
+  }
+
+  /**
+   * A physical connection owned by the pool.
+   */
+  private final class PooledEntry implements ConnectionEventListener {
+    private final PooledConnection pooledConnection;
+    private volatile long lastUsedMillis;
+    private volatile boolean broken;
+    private volatile boolean discarded;
+
+    PooledEntry(final PooledConnection pooledConnection) {
+      this.pooledConnection = pooledConnection;
+      pooledConnection.addConnectionEventListener(this);
+    }
+
+    Connection getConnection() throws SQLException {
+      try {
+        return pooledConnection.getConnection();
+      } catch (final SQLException | RuntimeException e) {
+        discard();
+        throw e;
+      }
+    }
+
+    void discard() {
+      discarded = true;
+      try {
+        pooledConnection.close();
+      } catch (final SQLException e) {
+        log.log(Level.FINE, "Failed to close database connection", e);
+      }
+    }
+
+    @Override
+    public void connectionClosed(final ConnectionEvent event) {
+      // closing the physical connection also closes the connection we handed out, so ignore the resulting event
+      if (!discarded) {
+        release(this);
+      }
+    }
+
+    @Override
+    public void connectionErrorOccurred(final ConnectionEvent event) {
+      // the connection we handed out is still open; it is discarded when it is closed
+      broken = true;
+    }
+  }
+}
@@ -3,23 +3,36 @@ package games.strategy.engine.lobby.server.db;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.concurrent.ThreadSafe;
 
+import org.postgresql.ds.PGConnectionPoolDataSource;
+
 import games.strategy.engine.config.lobby.LobbyPropertyReader;
 
 /**
  * Utility to get connections to the Postgres lobby database.
  *
  * <p>
+ * Connections are taken from a {@link ConnectionPool} shared by all instances that connect to the same database as
+ * the same user, so creating an instance is cheap and closing a connection returns it to the pool. Because physical
+ * connections are reused, the driver's per-connection prepared statement cache lets DAOs reuse the server-side
+ * prepared statements of their queries.
+ * </p>
+ *
+ * <p>
  * Instances of this class are thread-safe if the underlying {@link LobbyPropertyReader} is thread-safe.
  * </p>
  */
 @ThreadSafe
 public final class Database {
+  private static final Map<List<String>, ConnectionPool> connectionPools = new ConcurrentHashMap<>();
+
   private final LobbyPropertyReader lobbyPropertyReader;
 
   public Database(final LobbyPropertyReader lobbyPropertyReader) {
@@ -28,10 +41,28 @@ public final class Database {
     this.lobbyPropertyReader = lobbyPropertyReader;
   }
 
+  /**
+   * Returns a connection from the pool with auto-commit disabled. Uncommitted work is rolled back when the connection
+   * is closed.
+   */
   public Connection newConnection() throws SQLException {
-    final Connection connection = DriverManager.getConnection(getConnectionUrl(), getConnectionProperties());
-    connection.setAutoCommit(false);
-    return connection;
+    final String url = getConnectionUrl();
+    final String user = lobbyPropertyReader.getPostgresUser();
+    final String password = lobbyPropertyReader.getPostgresPassword();
+    return connectionPools
+        .computeIfAbsent(Arrays.asList(url, user, password), k -> newConnectionPool(url, user, password))
+        .getConnection();
+  }
+
+  private ConnectionPool newConnectionPool(final String url, final String user, final String password) {
+    final PGConnectionPoolDataSource dataSource = new PGConnectionPoolDataSource();
+    dataSource.setUrl(url);
+    dataSource.setUser(user);
+    dataSource.setPassword(password);
+    dataSource.setDefaultAutoCommit(false);
+    // use a server-side prepared statement from the first execution of a query
+    dataSource.setPrepareThreshold(1);
+    return new ConnectionPool(dataSource, lobbyPropertyReader.getPostgresPoolSize());
   }
 
   private String getConnectionUrl() {
@@ -41,11 +72,4 @@ public final class Database {
         lobbyPropertyReader.getPostgresPort(),
         lobbyPropertyReader.getPostgresDatabase());
   }
-
-  private Properties getConnectionProperties() {
-    final Properties props = new Properties();
-    props.put("user", lobbyPropertyReader.getPostgresUser());
-    props.put("password", lobbyPropertyReader.getPostgresPassword());
-    return props;
-  }
 }
@@ -0,0 +1,237 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import games.strategy.engine.lobby.server.User;
+import games.strategy.util.Tuple;
+import lombok.extern.java.Log;
+
+/**
+ * An in-memory copy of the lobby's bans, mutes and bad words, so that logins and chat messages can be checked against
+ * them without querying the database.
+ *
+ * <p>
+ * Bans and mutes expire according to their ban/mute end time without the cache needing to be reloaded. Changes made
+ * through this cache are written to the database and are visible to the next query. Changes made directly to the
+ * database (e.g. by another process) are picked up by polling the version of the moderation tables, which the database
+ * increments on every change, once {@link #start()} has been called. While polling, expired bans and mutes are also
+ * deleted from the database.
+ * </p>
+ */
+@Log
+@ThreadSafe
+public final class ModerationCache implements BadWordDao, BannedMacDao, BannedUsernameDao {
+  private static final long POLL_INTERVAL_SECONDS = 10;
+
+  private final ModerationSnapshotDao moderationSnapshotDao;
+  private final BadWordDao badWordDao;
+  private final BannedMacDao bannedMacDao;
+  private final BannedUsernameDao bannedUsernameDao;
+  private final MutedMacController mutedMacController;
+  private final MutedUsernameController mutedUsernameController;
+  private final Supplier<Instant> now;
+  private final Object refreshLock = new Object();
+  // null until first used, and after a change made through this cache
+  private volatile @Nullable ModerationSnapshot snapshot;
+
+  public ModerationCache(final Database database) {
+    this(
+        new ModerationSnapshotController(database),
+        new BadWordController(database),
+        new BannedMacController(database),
+        new BannedUsernameController(database),
+        new MutedMacController(database),
+        new MutedUsernameController(database),
+        Instant::now);
+  }
+
+  @VisibleForTesting
+  ModerationCache(
+      final ModerationSnapshotDao moderationSnapshotDao,
+      final BadWordDao badWordDao,
+      final BannedMacDao bannedMacDao,
+      final BannedUsernameDao bannedUsernameDao,
+      final MutedMacController mutedMacController,
+      final MutedUsernameController mutedUsernameController,
+      final Supplier<Instant> now) {
+    this.moderationSnapshotDao = checkNotNull(moderationSnapshotDao);
+    this.badWordDao = checkNotNull(badWordDao);
+    this.bannedMacDao = checkNotNull(bannedMacDao);
+    this.bannedUsernameDao = checkNotNull(bannedUsernameDao);
+    this.mutedMacController = checkNotNull(mutedMacController);
+    this.mutedUsernameController = checkNotNull(mutedUsernameController);
+    this.now = checkNotNull(now);
+  }
+
+  /**
+   * Loads the moderation tables and starts polling them for changes made outside of this cache.
+   */
+  public void start() {
+    getSnapshot();
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("Moderation cache poller").setDaemon(true).build());
+    executor.scheduleWithFixedDelay(() -> {
+      deleteExpired();
+      refreshIfChanged();
+    }, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Deletes the expired bans and mutes from the database, if the cache holds any. Each delete changes the version of
+   * the moderation tables, so the database is only touched when there is something to delete.
+   */
+  @VisibleForTesting
+  void deleteExpired() {
+    try {
+      final @Nullable ModerationSnapshot current = snapshot;
+      final Instant deleteBefore = now.get();
+      if (current != null && current.hasExpiredBefore(deleteBefore)) {
+        moderationSnapshotDao.deleteExpired(deleteBefore);
+        invalidate();
+      }
+    } catch (final RuntimeException e) {
+      log.log(Level.WARNING, "Failed to delete expired bans and mutes", e);
+    }
+  }
+
+  @VisibleForTesting
+  void refreshIfChanged() {
+    try {
+      final ModerationSnapshot current = snapshot;
+      if (current == null || moderationSnapshotDao.getVersion() != current.version) {
+        refresh(current);
+      }
+    } catch (final RuntimeException e) {
+      // keep polling; the cache stays usable with the data it has
+      log.log(Level.WARNING, "Failed to refresh moderation cache", e);
+    }
+  }
+
+  /**
+   * Loads the moderation tables, unless another thread has already replaced the specified snapshot while this thread
+   * waited for the lock.
+   */
+  private ModerationSnapshot refresh(final @Nullable ModerationSnapshot stale) {
+    synchronized (refreshLock) {
+      final @Nullable ModerationSnapshot current = snapshot;
+      if (current != null && current != stale) {
+        return current;
+      }
+      final ModerationSnapshot refreshed = moderationSnapshotDao.load();
+      snapshot = refreshed;
+      return refreshed;
+    }
+  }
+
+  private ModerationSnapshot getSnapshot() {
+    final ModerationSnapshot current = snapshot;
+    return (current != null) ? current : refresh(null);
+  }
+
+  private void invalidate() {
+    synchronized (refreshLock) {
+      snapshot = null;
+    }
+  }
+
+  @Override
+  public void addBadWord(final String word) {
+    badWordDao.addBadWord(word);
+    invalidate();
+  }
+
+  @Override
+  public List<String> list() {
+    return getSnapshot().badWords;
+  }
+
+  @Override
+  public void addBannedMac(final User bannedUser, final @Nullable Instant banTill, final User moderator) {
+    bannedMacDao.addBannedMac(bannedUser, banTill, moderator);
+    invalidate();
+  }
+
+  @Override
+  public Tuple<Boolean, /* @Nullable */ Timestamp> isMacBanned(final String mac) {
+    return toBanTuple(getSnapshot().bannedMacs.get(mac));
+  }
+
+  @Override
+  public void addBannedUsername(final User bannedUser, final @Nullable Instant banTill, final User moderator) {
+    bannedUsernameDao.addBannedUsername(bannedUser, banTill, moderator);
+    invalidate();
+  }
+
+  @Override
+  public Tuple<Boolean, /* @Nullable */ Timestamp> isUsernameBanned(final String username) {
+    return toBanTuple(getSnapshot().bannedUsernames.get(username));
+  }
+
+  private Tuple<Boolean, /* @Nullable */ Timestamp> toBanTuple(final @Nullable Instant banTill) {
+    if (banTill == null) {
+      return Tuple.of(false, null);
+    }
+    final @Nullable Timestamp banTillTimestamp = banTill.equals(Instant.MAX) ? null : Timestamp.from(banTill);
+    return Tuple.of(now.get().isBefore(banTill), banTillTimestamp);
+  }
+
+  /**
+   * Mutes the given user's MAC. See {@link MutedMacController#addMutedMac(User, Instant, User)}.
+   */
+  public void addMutedMac(final User mutedUser, final @Nullable Instant muteTill, final User moderator) {
+    mutedMacController.addMutedMac(mutedUser, muteTill, moderator);
+    invalidate();
+  }
+
+  /**
+   * Returns the instant at which the mute of the given MAC expires ({@link Instant#MAX} if it never expires), or empty
+   * if the MAC is not muted.
+   */
+  public Optional<Instant> getMacUnmuteTime(final String mac) {
+    return getUnmuteTime(getSnapshot().mutedMacs.get(mac));
+  }
+
+  public boolean isMacMuted(final String mac) {
+    return getMacUnmuteTime(mac).isPresent();
+  }
+
+  /**
+   * Mutes the given user's username. See {@link MutedUsernameController#addMutedUsername(User, Instant, User)}.
+   */
+  public void addMutedUsername(final User mutedUser, final @Nullable Instant muteTill, final User moderator) {
+    mutedUsernameController.addMutedUsername(mutedUser, muteTill, moderator);
+    invalidate();
+  }
+
+  /**
+   * Returns the instant at which the mute of the given username expires ({@link Instant#MAX} if it never expires), or
+   * empty if the username is not muted.
+   */
+  public Optional<Instant> getUsernameUnmuteTime(final String username) {
+    return getUnmuteTime(getSnapshot().mutedUsernames.get(username));
+  }
+
+  public boolean isUsernameMuted(final String username) {
+    return getUsernameUnmuteTime(username).isPresent();
+  }
+
+  private Optional<Instant> getUnmuteTime(final @Nullable Instant muteTill) {
+    return Optional.ofNullable(muteTill).filter(now.get()::isBefore);
+  }
+}
@@ -0,0 +1,61 @@
+package games.strategy.engine.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The bans, mutes and bad words in the lobby database at a given version of the moderation tables.
+ *
+ * <p>
+ * Bans and mutes are mapped to the instant at which they expire; a ban or mute that never expires is mapped to
+ * {@link Instant#MAX}.
+ * </p>
+ */
+@Immutable
+final class ModerationSnapshot {
+  final long version;
+  final ImmutableList<String> badWords;
+  final ImmutableMap<String, Instant> bannedMacs;
+  final ImmutableMap<String, Instant> bannedUsernames;
+  final ImmutableMap<String, Instant> mutedMacs;
+  final ImmutableMap<String, Instant> mutedUsernames;
+
+  ModerationSnapshot(
+      final long version,
+      final Collection<String> badWords,
+      final Map<String, Instant> bannedMacs,
+      final Map<String, Instant> bannedUsernames,
+      final Map<String, Instant> mutedMacs,
+      final Map<String, Instant> mutedUsernames) {
+    checkNotNull(badWords);
+    checkNotNull(bannedMacs);
+    checkNotNull(bannedUsernames);
+    checkNotNull(mutedMacs);
+    checkNotNull(mutedUsernames);
+
+    this.version = version;
+    this.badWords = ImmutableList.copyOf(badWords);
+    this.bannedMacs = ImmutableMap.copyOf(bannedMacs);
+    this.bannedUsernames = ImmutableMap.copyOf(bannedUsernames);
+    this.mutedMacs = ImmutableMap.copyOf(mutedMacs);
+    this.mutedUsernames = ImmutableMap.copyOf(mutedUsernames);
+  }
+
+  /**
+   * Returns true if any ban or mute expired before the specified instant.
+   */
+  boolean hasExpiredBefore(final Instant instant) {
+    return Stream.of(bannedMacs, bannedUsernames, mutedMacs, mutedUsernames)
+        .flatMap(expirations -> expirations.values().stream())
+        .anyMatch(expiration -> expiration.isBefore(instant));
+  }
+}
@@ -0,0 +1,102 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class to read all of the moderation tables at once.
+ */
+final class ModerationSnapshotController extends AbstractController implements ModerationSnapshotDao {
+  ModerationSnapshotController(final Database database) {
+    super(database);
+  }
+
+  @Override
+  public long getVersion() {
+    try (Connection con = newDatabaseConnection()) {
+      return getVersion(con);
+    } catch (final SQLException sqle) {
+      throw new IllegalStateException("Error reading moderation version", sqle);
+    }
+  }
+
+  private static long getVersion(final Connection con) throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement("select version from moderation_version");
+        ResultSet rs = ps.executeQuery()) {
+      if (!rs.next()) {
+        throw new SQLException("Missing moderation version");
+      }
+      return rs.getLong(1);
+    }
+  }
+
+  @Override
+  public ModerationSnapshot load() {
+    try (Connection con = newDatabaseConnection()) {
+      // read the version first, so a change made while we read the tables results in a newer version
+      final long version = getVersion(con);
+      return new ModerationSnapshot(
+          version,
+          readBadWords(con),
+          readExpirations(con, "select mac, ban_till from banned_macs"),
+          readExpirations(con, "select username, ban_till from banned_usernames"),
+          readExpirations(con, "select mac, mute_till from muted_macs"),
+          readExpirations(con, "select username, mute_till from muted_usernames"));
+    } catch (final SQLException sqle) {
+      throw new IllegalStateException("Error reading moderation tables", sqle);
+    }
+  }
+
+  @Override
+  public void deleteExpired(final Instant now) {
+    final Timestamp nowTimestamp = Timestamp.from(now);
+    try (Connection con = newDatabaseConnection()) {
+      deleteExpired(con, "delete from banned_macs where ban_till < ?", nowTimestamp);
+      deleteExpired(con, "delete from banned_usernames where ban_till < ?", nowTimestamp);
+      deleteExpired(con, "delete from muted_macs where mute_till < ?", nowTimestamp);
+      deleteExpired(con, "delete from muted_usernames where mute_till < ?", nowTimestamp);
+      con.commit();
+    } catch (final SQLException sqle) {
+      throw new IllegalStateException("Error deleting expired bans and mutes", sqle);
+    }
+  }
+
+  private static void deleteExpired(final Connection con, final String sql, final Timestamp now)
+      throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(sql)) {
+      ps.setTimestamp(1, now);
+      ps.execute();
+    }
+  }
+
+  private static List<String> readBadWords(final Connection con) throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement("select word from bad_words");
+        ResultSet rs = ps.executeQuery()) {
+      final List<String> badWords = new ArrayList<>();
+      while (rs.next()) {
+        badWords.add(rs.getString(1));
+      }
+      return badWords;
+    }
+  }
+
+  private static Map<String, Instant> readExpirations(final Connection con, final String sql) throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(sql);
+        ResultSet rs = ps.executeQuery()) {
+      final Map<String, Instant> expirations = new HashMap<>();
+      while (rs.next()) {
+        final Timestamp till = rs.getTimestamp(2);
+        expirations.put(rs.getString(1), (till != null) ? till.toInstant() : Instant.MAX);
+      }
+      return expirations;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package games.strategy.engine.lobby.server.db;
+
+import java.time.Instant;
+
+/**
+ * Data access object for reading all of the moderation tables (bans, mutes and bad words) at once.
+ */
+interface ModerationSnapshotDao {
+  /**
+   * Returns the current version of the moderation tables. The version changes whenever any of the tables change.
+   *
+   * @throws IllegalStateException If an error occurs while reading the version.
+   */
+  long getVersion();
+
+  /**
+   * Returns the current contents of the moderation tables.
+   *
+   * @throws IllegalStateException If an error occurs while reading the tables.
+   */
+  ModerationSnapshot load();
+
+  /**
+   * Deletes the bans and mutes that expired before the specified instant.
+   *
+   * @throws IllegalStateException If an error occurs while deleting the bans and mutes.
+   */
+  void deleteExpired(Instant now);
+}
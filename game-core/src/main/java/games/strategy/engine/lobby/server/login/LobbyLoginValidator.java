@@ -20,6 +20,7 @@ import games.strategy.engine.framework.startup.ui.InGameLobbyWatcher;
 import games.strategy.engine.lobby.server.LobbyServer;
 import games.strategy.engine.lobby.server.User;
 import games.strategy.engine.lobby.server.db.AccessLogController;
+import games.strategy.engine.lobby.server.db.AccessLogDao;
 import games.strategy.engine.lobby.server.db.BadWordController;
 import games.strategy.engine.lobby.server.db.BadWordDao;
 import games.strategy.engine.lobby.server.db.BannedMacController;
@@ -28,6 +29,7 @@ import games.strategy.engine.lobby.server.db.BannedUsernameController;
 import games.strategy.engine.lobby.server.db.BannedUsernameDao;
 import games.strategy.engine.lobby.server.db.Database;
 import games.strategy.engine.lobby.server.db.HashedPassword;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.db.UserController;
 import games.strategy.engine.lobby.server.db.UserDao;
 import games.strategy.engine.lobby.server.userDB.DBUser;
@@ -82,11 +84,46 @@ public final class LobbyLoginValidator implements ILoginValidator {
   private LobbyLoginValidator(final LobbyPropertyReader lobbyPropertyReader, final Database database) {
     this(
         lobbyPropertyReader,
+        database,
         new BadWordController(database),
         new BannedMacController(database),
         new BannedUsernameController(database),
+        new AccessLogController(database));
+  }
+
+  /**
+   * Creates a new login validator that checks bans and bad words against the given moderation cache rather than
+   * querying the database on every login, and that writes successful logins to the given access log in the
+   * background.
+   */
+  public LobbyLoginValidator(
+      final LobbyPropertyReader lobbyPropertyReader,
+      final Database database,
+      final ModerationCache moderationCache,
+      final AccessLogDao accessLogDao) {
+    this(
+        lobbyPropertyReader,
+        database,
+        moderationCache,
+        moderationCache,
+        moderationCache,
+        accessLogDao);
+  }
+
+  private LobbyLoginValidator(
+      final LobbyPropertyReader lobbyPropertyReader,
+      final Database database,
+      final BadWordDao badWordDao,
+      final BannedMacDao bannedMacDao,
+      final BannedUsernameDao bannedUsernameDao,
+      final AccessLogDao accessLogDao) {
+    this(
+        lobbyPropertyReader,
+        badWordDao,
+        bannedMacDao,
+        bannedUsernameDao,
         new UserController(database),
-        new CompositeAccessLog(new AccessLogController(database)),
+        new CompositeAccessLog(accessLogDao),
         new RsaAuthenticator(),
         BCrypt::gensalt);
   }
@@ -1,5 +1,8 @@
 package games.strategy.engine.message;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 /**
  * Very similar to RMI.
  *
@@ -61,6 +64,15 @@ package games.strategy.engine.message;
  * </p>
  *
  * <p>
+ * Calls made through a remote reference block until the remote method returns. To call several remotes at once and
+ * wait for all of them together, use invokeAsync(...) instead:
+ * </p>
+ *
+ * <pre>
+ * CompletableFuture&lt;Boolean&gt; rVal = aRemoteMessenger.invokeAsync(FOO, (IFoo foo) -&gt; foo.fee());
+ * </pre>
+ *
+ * <p>
  * <b>Remotes and threading</b>
  * </p>
  *
@@ -84,6 +96,22 @@ public interface IRemoteMessenger {
    */
   IRemote getRemote(RemoteName name, boolean ignoreResults);
 
+  /**
+   * Calls a single method on the registered remote without blocking while the remote executes.
+   *
+   * <p>
+   * {@code call} is applied immediately to a remote reference of type {@code T} and must call exactly one method on
+   * it; the value {@code call} itself returns is meaningless and ignored. The returned future completes with the value
+   * the remote method returned, or exceptionally if the remote method threw. Dependent stages without an executor may
+   * run on a network thread, so anything but trivial work should be attached with one of the {@code *Async} methods.
+   * Cancelling the returned future stops waiting for the remote method to return.
+   * </p>
+   *
+   * @param name the name the remote is registered under.
+   * @param call a function that calls one method on the remote reference, such as {@code (IFoo foo) -> foo.fee()}.
+   */
+  <T extends IRemote, R> CompletableFuture<R> invokeAsync(RemoteName name, Function<T, R> call);
+
   /**
    * Registers the specified remote under the given name.
    *
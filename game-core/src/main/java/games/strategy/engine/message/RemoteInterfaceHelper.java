@@ -1,26 +1,42 @@
 package games.strategy.engine.message;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 
 class RemoteInterfaceHelper {
+  /**
+   * Dispatch tables are immutable once built, so we compute them once per remote interface and share them
+   * between every call that is encoded or decoded for that interface.
+   */
+  private static final ClassValue<DispatchTable> dispatchTables = new ClassValue<DispatchTable>() {
+    @Override
+    protected DispatchTable computeValue(final Class<?> remoteInterface) {
+      return new DispatchTable(remoteInterface);
+    }
+  };
+
   static int getNumber(final String methodName, final Class<?>[] argTypes, final Class<?> remoteInterface) {
-    final Method[] methods = remoteInterface.getMethods();
-    Arrays.sort(methods, methodComparator);
-
-    return IntStream.range(0, methods.length)
-        .filter(i -> methods[i].getName().equals(methodName))
-        .filter(i -> Arrays.equals(argTypes, methods[i].getParameterTypes()))
-        .findAny()
-        .orElseThrow(() -> new IllegalStateException("Method not found: " + methodName));
+    return dispatchTables.get(remoteInterface).getNumber(methodName, argTypes);
   }
 
   static Method getMethod(final int methodNumber, final Class<?> remoteInterface) {
-    final Method[] methods = remoteInterface.getMethods();
-    Arrays.sort(methods, methodComparator);
-    return methods[methodNumber];
+    return dispatchTables.get(remoteInterface).methods.get(methodNumber);
+  }
+
+  /**
+   * Returns a method handle for the given method number with the type {@code (Object, Object[])Object}; the first
+   * argument is the implementor to invoke on and the second the (possibly null) method arguments.
+   */
+  static MethodHandle getMethodHandle(final int methodNumber, final Class<?> remoteInterface) {
+    return dispatchTables.get(remoteInterface).methodHandles.get(methodNumber);
   }
 
   /**
@@ -39,4 +55,53 @@ class RemoteInterfaceHelper {
                 }
                 return 0;
               }));
+
+  /**
+   * The sorted methods of a remote interface, indexed by the method number we send over the wire.
+   */
+  private static final class DispatchTable {
+    private static final MethodType invokerType =
+        MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final ImmutableList<Method> methods;
+    private final ImmutableList<MethodHandle> methodHandles;
+    private final ImmutableListMultimap<String, Integer> methodNumbersByName;
+
+    DispatchTable(final Class<?> remoteInterface) {
+      final Method[] sortedMethods = remoteInterface.getMethods();
+      Arrays.sort(sortedMethods, methodComparator);
+      methods = ImmutableList.copyOf(sortedMethods);
+
+      final ImmutableList.Builder<MethodHandle> methodHandlesBuilder = ImmutableList.builder();
+      final ImmutableListMultimap.Builder<String, Integer> methodNumbersByNameBuilder = ImmutableListMultimap.builder();
+      for (int i = 0; i < sortedMethods.length; i++) {
+        methodHandlesBuilder.add(newInvoker(sortedMethods[i]));
+        methodNumbersByNameBuilder.put(sortedMethods[i].getName(), i);
+      }
+      methodHandles = methodHandlesBuilder.build();
+      methodNumbersByName = methodNumbersByNameBuilder.build();
+    }
+
+    private static MethodHandle newInvoker(final Method method) {
+      method.setAccessible(true);
+      try {
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+          handle = MethodHandles.dropArguments(handle, 0, method.getDeclaringClass());
+        }
+        return handle
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(invokerType);
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException("Cannot access remote method: " + method, e);
+      }
+    }
+
+    int getNumber(final String methodName, final Class<?>[] argTypes) {
+      return methodNumbersByName.get(methodName).stream()
+          .filter(i -> Arrays.equals(argTypes, methods.get(i).getParameterTypes()))
+          .findAny()
+          .orElseThrow(() -> new IllegalStateException("Method not found: " + methodName));
+    }
+  }
 }
@@ -1,7 +1,13 @@
 package games.strategy.engine.message;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import games.strategy.engine.message.unifiedmessenger.UnifiedMessenger;
 
@@ -24,10 +30,35 @@ public class RemoteMessenger implements IRemoteMessenger {
   public IRemote getRemote(final RemoteName remoteName, final boolean ignoreResults) {
     final InvocationHandler ih =
         new UnifiedInvocationHandler(unifiedMessenger, remoteName.getName(), ignoreResults, remoteName.getClazz());
+    return newProxy(remoteName, ih);
+  }
+
+  private static IRemote newProxy(final RemoteName remoteName, final InvocationHandler ih) {
     return (IRemote) Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
         new Class<?>[] {remoteName.getClazz()}, ih);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends IRemote, R> CompletableFuture<R> invokeAsync(final RemoteName remoteName,
+      final Function<T, R> call) {
+    final List<CompletableFuture<RemoteMethodCallResults>> pendingResults = new ArrayList<>(1);
+    final InvocationHandler ih = new UnifiedInvocationHandler(
+        unifiedMessenger, remoteName.getName(), remoteName.getClazz(), pendingResults::add);
+    call.apply((T) newProxy(remoteName, ih));
+    checkState(pendingResults.size() == 1,
+        "Expected exactly one remote method call on " + remoteName + " but was " + pendingResults.size());
+    final CompletableFuture<RemoteMethodCallResults> remoteResults = pendingResults.get(0);
+    final CompletableFuture<R> result =
+        remoteResults.thenApply(results -> (R) UnifiedInvocationHandler.getReturnValue(results));
+    result.whenComplete((value, e) -> {
+      if (result.isCancelled()) {
+        remoteResults.cancel(false);
+      }
+    });
+    return result;
+  }
+
   @Override
   public void registerRemote(final Object implementor, final RemoteName name) {
     unifiedMessenger.addImplementor(name, implementor, false);
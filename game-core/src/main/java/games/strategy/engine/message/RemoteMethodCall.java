@@ -4,6 +4,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 import javax.annotation.Nullable;
@@ -162,4 +163,12 @@ public class RemoteMethodCall implements Externalizable {
     methodName = method.getName();
     argTypes = classesToString(method.getParameterTypes(), args);
   }
+
+  /**
+   * Returns a method handle that invokes this call's method on an implementor of the given remote type. The handle
+   * has the type {@code (Object, Object[])Object}, so it can be called with {@code invokeExact(implementor, args)}.
+   */
+  public MethodHandle getMethodHandle(final Class<?> remoteType) {
+    return RemoteInterfaceHelper.getMethodHandle(methodNumber, remoteType);
+  }
 }
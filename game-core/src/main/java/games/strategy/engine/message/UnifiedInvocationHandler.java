@@ -2,6 +2,12 @@ package games.strategy.engine.message;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Defaults;
 
 import games.strategy.engine.message.unifiedmessenger.UnifiedMessenger;
 import games.strategy.triplea.util.WrappedInvocationHandler;
@@ -18,15 +24,33 @@ class UnifiedInvocationHandler extends WrappedInvocationHandler {
   private final String endPointName;
   private final boolean ignoreResults;
   private final Class<?> remoteType;
+  // if not null, calls do not wait for their results; the pending results are handed to this consumer instead
+  private final @Nullable Consumer<CompletableFuture<RemoteMethodCallResults>> pendingResultsConsumer;
 
   public UnifiedInvocationHandler(final UnifiedMessenger messenger, final String endPointName,
       final boolean ignoreResults, final Class<?> remoteType) {
+    this(messenger, endPointName, ignoreResults, remoteType, null);
+  }
+
+  /**
+   * Creates an invocation handler whose calls return immediately with a default value (null, zero or false), handing
+   * the pending results of each call to {@code pendingResultsConsumer}.
+   */
+  UnifiedInvocationHandler(final UnifiedMessenger messenger, final String endPointName, final Class<?> remoteType,
+      final Consumer<CompletableFuture<RemoteMethodCallResults>> pendingResultsConsumer) {
+    this(messenger, endPointName, false, remoteType, pendingResultsConsumer);
+  }
+
+  private UnifiedInvocationHandler(final UnifiedMessenger messenger, final String endPointName,
+      final boolean ignoreResults, final Class<?> remoteType,
+      final @Nullable Consumer<CompletableFuture<RemoteMethodCallResults>> pendingResultsConsumer) {
     // equality and hash code are based on end point name
     super(endPointName);
     this.messenger = messenger;
     this.endPointName = endPointName;
     this.ignoreResults = ignoreResults;
     this.remoteType = remoteType;
+    this.pendingResultsConsumer = pendingResultsConsumer;
   }
 
   @Override
@@ -48,8 +72,19 @@ class UnifiedInvocationHandler extends WrappedInvocationHandler {
       messenger.invoke(endPointName, remoteMethodMsg);
       return null;
     }
+    if (pendingResultsConsumer != null) {
+      pendingResultsConsumer.accept(messenger.invokeAsync(endPointName, remoteMethodMsg));
+      return Defaults.defaultValue(method.getReturnType());
+    }
+
+    return getReturnValue(messenger.invokeAndWait(endPointName, remoteMethodMsg));
+  }
 
-    final RemoteMethodCallResults response = messenger.invokeAndWait(endPointName, remoteMethodMsg);
+  /**
+   * Returns the value returned by the remote method, or throws an unchecked exception wrapping whatever the remote
+   * method threw.
+   */
+  static Object getReturnValue(final RemoteMethodCallResults response) {
     if (response.getException() != null) {
       throw new RuntimeException("Exception on remote", response.getException());
     }
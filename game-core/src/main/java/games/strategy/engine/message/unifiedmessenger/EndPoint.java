@@ -1,9 +1,11 @@
 package games.strategy.engine.message.unifiedmessenger;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.WrongMethodTypeException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
@@ -25,6 +27,8 @@ class EndPoint {
   private final AtomicLong nextGivenNumber = new AtomicLong();
   // the next number we can run
   private long currentRunnableNumber = 0;
+  // numbers that were given out but whose invocations will never run, guarded by numberMutex
+  private final Set<Long> abandonedNumbers = new HashSet<>();
   private final Object numberMutex = new Object();
   private final Object implementorsMutex = new Object();
   private final String name;
@@ -66,10 +70,27 @@ class EndPoint {
   private void releaseNumber() {
     synchronized (numberMutex) {
       currentRunnableNumber++;
+      while (abandonedNumbers.remove(currentRunnableNumber)) {
+        currentRunnableNumber++;
+      }
       numberMutex.notifyAll();
     }
   }
 
+  /**
+   * Gives back a number acquired with {@link #takeANumber()} for an invocation that will never be run, so that
+   * single threaded end points do not wait forever for it.
+   */
+  void releaseNumberWithoutRunning(final long number) {
+    synchronized (numberMutex) {
+      if (number == currentRunnableNumber) {
+        releaseNumber();
+      } else {
+        abandonedNumbers.add(number);
+      }
+    }
+  }
+
   /**
    * Adds the specified implementation of this end point's remote interface.
    *
@@ -139,22 +160,18 @@ class EndPoint {
   private RemoteMethodCallResults invokeSingle(final RemoteMethodCall call, final Object implementor,
       final INode messageOriginator) {
     call.resolve(remoteClass);
-    final Method method;
-    try {
-      method = implementor.getClass().getMethod(call.getMethodName(), call.getArgTypes());
-      method.setAccessible(true);
-    } catch (final NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    }
+    final MethodHandle methodHandle = call.getMethodHandle(remoteClass);
     MessageContext.setSenderNodeForThread(messageOriginator);
     try {
-      final Object methodRVal = method.invoke(implementor, call.getArgs());
+      final Object methodRVal = (Object) methodHandle.invokeExact(implementor, call.getArgs());
       return new RemoteMethodCallResults(methodRVal);
-    } catch (final InvocationTargetException e) {
-      return new RemoteMethodCallResults(e.getTargetException());
-    } catch (final IllegalAccessException | IllegalArgumentException e) {
+    } catch (final WrongMethodTypeException | ClassCastException e) {
+      // the call's arguments do not match the method
       log.log(Level.SEVERE, "error in call:" + call, e);
       return new RemoteMethodCallResults(e);
+    } catch (final Throwable e) {
+      // unlike Method.invoke, method handles do not wrap exceptions thrown by the implementor
+      return new RemoteMethodCallResults(e);
     } finally {
       MessageContext.setSenderNodeForThread(null);
     }
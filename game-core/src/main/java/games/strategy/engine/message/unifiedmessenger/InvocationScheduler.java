@@ -0,0 +1,161 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import games.strategy.util.Interruptibles;
+import games.strategy.util.LatencyHistogram;
+
+/**
+ * Runs the remote method invocations received by a {@link UnifiedMessenger} on a bounded pool of worker threads.
+ *
+ * <p>
+ * The number of waiting invocations is bounded. When the scheduler is saturated, {@link #submit(String, Runnable)}
+ * rejects the invocation at once, so the caller can report the rejection to a remote sender that is waiting for a
+ * result. An invocation that nobody waits for cannot be rejected without being lost, so {@link #submitOrWait(String,
+ * Runnable)} instead makes the submitting thread (normally the thread reading messages from the network) wait for
+ * room, which in turn slows down the remote senders. Because a running invocation may itself wait for a message that
+ * the blocked thread has yet to read, the wait is limited to {@link #MAX_WAIT_MILLIS}; after that, the invocation is
+ * scheduled beyond the bound rather than dropped.
+ * </p>
+ *
+ * <p>
+ * Worker threads are daemons and time out when idle, so a scheduler that is no longer used does not need to be shut
+ * down explicitly.
+ * </p>
+ */
+@ThreadSafe
+public final class InvocationScheduler {
+  public static final int DEFAULT_PARALLELISM = 15;
+  public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+  public static final long MAX_WAIT_MILLIS = 1000;
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final ThreadPoolExecutor executor;
+  private final Semaphore capacity;
+  private final AtomicInteger inFlightCount = new AtomicInteger();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder overflowCount = new LongAdder();
+  private final Map<String, LatencyHistogram> latencyByEndPoint = new ConcurrentHashMap<>();
+
+  public InvocationScheduler() {
+    this(DEFAULT_PARALLELISM, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  public InvocationScheduler(final int parallelism, final int queueCapacity) {
+    checkArgument(parallelism > 0, "parallelism must be positive");
+    checkArgument(queueCapacity > 0, "queue capacity must be positive");
+
+    executor = new ThreadPoolExecutor(
+        parallelism,
+        parallelism,
+        KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("Remote invocation %d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    capacity = new Semaphore(parallelism + queueCapacity);
+  }
+
+  /**
+   * Schedules the given invocation of the given end point, unless the scheduler is saturated.
+   *
+   * @return {@code true} if the invocation was scheduled; {@code false} if it was rejected because the scheduler is
+   *         saturated.
+   */
+  public boolean submit(final String endPointName, final Runnable invocation) {
+    if (!capacity.tryAcquire()) {
+      rejectedCount.increment();
+      return false;
+    }
+    execute(endPointName, invocation, true);
+    return true;
+  }
+
+  /**
+   * Schedules the given invocation of the given end point. The invocation is never rejected: if the scheduler is
+   * saturated, the calling thread waits up to {@link #MAX_WAIT_MILLIS} for room, and then schedules the invocation
+   * beyond the bound.
+   *
+   * @return {@code true} if the invocation was scheduled within the bound; {@code false} if it was scheduled beyond
+   *         the bound because no room became free in time.
+   */
+  public boolean submitOrWait(final String endPointName, final Runnable invocation) {
+    final boolean acquired = capacity.tryAcquire()
+        || Interruptibles.awaitResult(() -> capacity.tryAcquire(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS))
+            .result
+            .orElse(false);
+    if (!acquired) {
+      overflowCount.increment();
+    }
+    execute(endPointName, invocation, acquired);
+    return acquired;
+  }
+
+  private void execute(final String endPointName, final Runnable invocation, final boolean holdsCapacity) {
+    final LatencyHistogram latency = latencyByEndPoint.computeIfAbsent(endPointName, k -> new LatencyHistogram());
+    final long submittedAt = System.nanoTime();
+    inFlightCount.incrementAndGet();
+    executor.execute(() -> {
+      try {
+        invocation.run();
+      } finally {
+        inFlightCount.decrementAndGet();
+        if (holdsCapacity) {
+          capacity.release();
+        }
+        latency.record(System.nanoTime() - submittedAt);
+      }
+    });
+  }
+
+  /**
+   * Returns the number of invocations that have been submitted but have not yet finished running.
+   */
+  public int getInFlightCount() {
+    return inFlightCount.get();
+  }
+
+  /**
+   * Returns the number of invocations that have been rejected because the scheduler was saturated.
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  /**
+   * Returns the number of invocations that have been scheduled beyond the bound because the scheduler stayed saturated
+   * for longer than {@link #MAX_WAIT_MILLIS}.
+   */
+  public long getOverflowCount() {
+    return overflowCount.sum();
+  }
+
+  /**
+   * Returns the latencies, measured from submission to completion, of the invocations of each end point.
+   */
+  public Map<String, LatencyHistogram> getLatencyByEndPoint() {
+    return ImmutableMap.copyOf(latencyByEndPoint);
+  }
+
+  @Override
+  public String toString() {
+    return "InvocationScheduler[inFlight=" + getInFlightCount() + ", rejected=" + getRejectedCount()
+        + ", overflow=" + getOverflowCount()
+        + ", latencyByEndPoint=" + latencyByEndPoint + "]";
+  }
+}
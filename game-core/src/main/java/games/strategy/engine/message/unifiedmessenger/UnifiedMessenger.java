@@ -4,9 +4,10 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,7 +35,6 @@ import games.strategy.util.Interruptibles;
 public class UnifiedMessenger {
   private static final Logger logger = Logger.getLogger(UnifiedMessenger.class.getName());
 
-  private static final ExecutorService threadPool = Executors.newFixedThreadPool(15);
   // the messenger we are based on
   private final IMessenger messenger;
   // lock on this for modifications to create or remove local end points
@@ -43,15 +43,11 @@ public class UnifiedMessenger {
   // these are the end points that
   // have local implementors
   private final Map<String, EndPoint> localEndPoints = new HashMap<>();
-  private final Object pendingLock = new Object();
-  // threads wait on these latches for the hub to return invocations
-  // the latch should be removed from the map when you countdown the last result
-  // access should be synchronized on pendingLock
-  // TODO: how do these get shutdown when we exit a game or close triplea?
-  private final Map<GUID, CountDownLatch> pendingInvocations = new HashMap<>();
-  // after the remote has invoked, the results are placed here
-  // access should be synchronized on pendingLock
-  private final Map<GUID, RemoteMethodCallResults> results = new HashMap<>();
+  // threads wait on these futures for the hub to return invocations
+  // the future should be removed from the map before it is completed
+  private final Map<GUID, CompletableFuture<RemoteMethodCallResults>> pendingInvocations = new ConcurrentHashMap<>();
+  // runs the invocations that other nodes make on our local end points
+  private final InvocationScheduler invocationScheduler;
   // only non null for the server
   private UnifiedMessengerHub hub;
 
@@ -59,7 +55,15 @@ public class UnifiedMessenger {
    * Creates a new instance of UnifiedMessanger.
    */
   public UnifiedMessenger(final IMessenger messenger) {
+    this(messenger, new InvocationScheduler());
+  }
+
+  /**
+   * Creates a new instance of UnifiedMessanger that runs incoming invocations on the given scheduler.
+   */
+  public UnifiedMessenger(final IMessenger messenger, final InvocationScheduler invocationScheduler) {
     this.messenger = messenger;
+    this.invocationScheduler = invocationScheduler;
     this.messenger.addMessageListener(this::messageReceived);
     this.messenger.addErrorListener((messenger1, reason) -> messengerInvalid(reason));
     if (this.messenger.isServer()) {
@@ -68,16 +72,24 @@ public class UnifiedMessenger {
   }
 
   @VisibleForTesting
-  UnifiedMessengerHub getHub() {
+  public UnifiedMessengerHub getHub() {
     return hub;
   }
 
+  @VisibleForTesting
+  int getPendingInvocationCount() {
+    return pendingInvocations.size();
+  }
+
+  public InvocationScheduler getInvocationScheduler() {
+    return invocationScheduler;
+  }
+
   private void messengerInvalid(final Throwable cause) {
-    synchronized (pendingLock) {
-      for (final GUID id : pendingInvocations.keySet()) {
-        final CountDownLatch latch = pendingInvocations.remove(id);
-        latch.countDown();
-        results.put(id, new RemoteMethodCallResults(cause));
+    for (final GUID id : pendingInvocations.keySet()) {
+      final CompletableFuture<RemoteMethodCallResults> pendingResults = pendingInvocations.remove(id);
+      if (pendingResults != null) {
+        pendingResults.complete(new RemoteMethodCallResults(cause));
       }
     }
   }
@@ -94,7 +106,33 @@ public class UnifiedMessenger {
       return invokeAndWaitRemote(remoteCall);
       // we have the implementor here, just invoke it
     }
+    return invokeLocal(local, endPointName, remoteCall);
+  }
+
+  /**
+   * Invoke without blocking the calling thread while the remote implementor executes. The returned future is
+   * completed with the results once they arrive; it is never completed exceptionally, failures are reported through
+   * {@link RemoteMethodCallResults#getException()}. Cancelling the returned future stops waiting for the results, which
+   * are dropped if they arrive later.
+   *
+   * <p>
+   * If the implementor is local, it is invoked on the calling thread and the returned future is already complete.
+   * </p>
+   */
+  public CompletableFuture<RemoteMethodCallResults> invokeAsync(final String endPointName,
+      final RemoteMethodCall remoteCall) {
+    final EndPoint local;
+    synchronized (endPointMutex) {
+      local = localEndPoints.get(endPointName);
+    }
+    if (local == null) {
+      return invokeRemote(new GUID(), remoteCall);
+    }
+    return CompletableFuture.completedFuture(invokeLocal(local, endPointName, remoteCall));
+  }
 
+  private RemoteMethodCallResults invokeLocal(final EndPoint local, final String endPointName,
+      final RemoteMethodCall remoteCall) {
     final long number = local.takeANumber();
     final List<RemoteMethodCallResults> results = local.invokeLocal(remoteCall, number, getLocalNode());
     if (results.size() == 0) {
@@ -106,26 +144,42 @@ public class UnifiedMessenger {
     return results.get(0);
   }
 
-  private RemoteMethodCallResults invokeAndWaitRemote(final RemoteMethodCall remoteCall) {
-    final GUID methodCallId = new GUID();
-    final CountDownLatch latch = new CountDownLatch(1);
-    synchronized (pendingLock) {
-      pendingInvocations.put(methodCallId, latch);
-    }
+  private CompletableFuture<RemoteMethodCallResults> invokeRemote(final GUID methodCallId,
+      final RemoteMethodCall remoteCall) {
+    final CompletableFuture<RemoteMethodCallResults> pendingResults = new CompletableFuture<>();
+    pendingInvocations.put(methodCallId, pendingResults);
+    pendingResults.whenComplete((results, e) -> {
+      if (pendingResults.isCancelled()) {
+        pendingInvocations.remove(methodCallId, pendingResults);
+      }
+    });
     // invoke remotely
     final Invoke invoke = new HubInvoke(methodCallId, true, remoteCall);
     send(invoke, messenger.getServerNode());
+    return pendingResults;
+  }
 
-    Interruptibles.await(latch);
+  private RemoteMethodCallResults invokeAndWaitRemote(final RemoteMethodCall remoteCall) {
+    final GUID methodCallId = new GUID();
+    final CompletableFuture<RemoteMethodCallResults> pendingResults = invokeRemote(methodCallId, remoteCall);
 
-    synchronized (pendingLock) {
-      final RemoteMethodCallResults methodCallResults = results.remove(methodCallId);
-      if (methodCallResults == null) {
-        throw new IllegalStateException(
-            "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
-                + remoteCall.getRemoteName() + " with id:" + methodCallId);
-      }
-      return methodCallResults;
+    final Interruptibles.Result<RemoteMethodCallResults> methodCallResults =
+        Interruptibles.awaitResult(() -> getResults(pendingResults));
+    if (!methodCallResults.completed) {
+      pendingInvocations.remove(methodCallId);
+    }
+    return methodCallResults.result.orElseThrow(() -> new IllegalStateException(
+        "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
+            + remoteCall.getRemoteName() + " with id:" + methodCallId));
+  }
+
+  private static RemoteMethodCallResults getResults(final CompletableFuture<RemoteMethodCallResults> pendingResults)
+      throws InterruptedException {
+    try {
+      return pendingResults.get();
+    } catch (final ExecutionException e) {
+      // pending results are only ever completed normally
+      throw new IllegalStateException(e.getCause());
     }
   }
 
@@ -264,7 +318,7 @@ public class UnifiedMessenger {
       // we don't want to block the message thread, only one thread is
       // reading messages per connection, so run with out thread pool
       final EndPoint localFinal = local;
-      threadPool.execute(() -> {
+      final Runnable invocation = () -> {
         final List<RemoteMethodCallResults> results =
             localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
         if (invoke.needReturnValues) {
@@ -277,24 +331,36 @@ public class UnifiedMessenger {
           }
           send(new HubInvocationResults(result, invoke.methodCallId), from);
         }
-      });
+      };
+      if (!invoke.needReturnValues) {
+        // nobody is told about a rejected one way invocation (such as a channel broadcast), so it must never be
+        // rejected; wait for room instead, which stops us reading from the network until the backlog drains
+        if (!invocationScheduler.submitOrWait(invoke.call.getRemoteName(), invocation)) {
+          logger.warning("Scheduled invocation of " + invoke.call + " from " + invoke.getInvoker()
+              + " beyond the bound, scheduler is saturated: " + invocationScheduler);
+        }
+      } else if (!invocationScheduler.submit(invoke.call.getRemoteName(), invocation)) {
+        local.releaseNumberWithoutRunning(methodRunNumber);
+        logger.warning("Rejected invocation of " + invoke.call + " from " + invoke.getInvoker()
+            + ", scheduler is saturated: " + invocationScheduler);
+        send(new HubInvocationResults(
+            new RemoteMethodCallResults(new RejectedExecutionException("Too many pending invocations on "
+                + getLocalNode() + ", rejected " + invoke.call)),
+            invoke.methodCallId), from);
+      }
     } else if (msg instanceof SpokeInvocationResults) { // a remote machine is returning results
       // if this isn't the server, something is wrong
       // maybe an attempt to spoof a message
       assertIsServer(from);
       final SpokeInvocationResults spokeInvocationResults = (SpokeInvocationResults) msg;
       final GUID methodId = spokeInvocationResults.methodCallId;
-      // both of these should already be populated
-      // this list should be a synchronized list so we can do the add
-      // all
-      synchronized (pendingLock) {
-        results.put(methodId, spokeInvocationResults.results);
-        final CountDownLatch latch = pendingInvocations.remove(methodId);
-        Preconditions.checkNotNull(latch, String.format(
-            "method id: %s, was not present in pending invocations: %s, unified messenger addr: %s",
-            methodId, pendingInvocations, super.toString()));
-        latch.countDown();
+      final CompletableFuture<RemoteMethodCallResults> pendingResults = pendingInvocations.remove(methodId);
+      if (pendingResults == null) {
+        // the invocation was cancelled, or its caller stopped waiting
+        logger.fine("Dropping results of invocation that is no longer pending, method id: " + methodId);
+        return;
       }
+      pendingResults.complete(spokeInvocationResults.results);
     }
   }
 
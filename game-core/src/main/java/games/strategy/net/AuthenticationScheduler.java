@@ -0,0 +1,146 @@
+package games.strategy.net;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import games.strategy.util.LatencyHistogram;
+
+/**
+ * Runs the slow parts of logging in a new connection (password hashing, database lookups, etc.) on a bounded pool of
+ * worker threads so they do not hold up the thread decoding messages for every other connection.
+ *
+ * <p>
+ * Both the number of waiting logins and the number of logins pending for a single remote address are bounded. A login
+ * that would exceed either bound is rejected immediately rather than waited for, as the caller is normally the decoder
+ * thread.
+ * </p>
+ *
+ * <p>
+ * Worker threads are daemons and time out when idle, so a scheduler that is no longer used does not need to be shut
+ * down explicitly.
+ * </p>
+ */
+@ThreadSafe
+public final class AuthenticationScheduler {
+  public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_QUEUE_CAPACITY = 100;
+  public static final int DEFAULT_MAX_PENDING_PER_ADDRESS = 4;
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final ThreadPoolExecutor executor;
+  private final int maxPendingPerAddress;
+  private final Map<InetAddress, Integer> pendingCountByAddress = new ConcurrentHashMap<>();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  public AuthenticationScheduler() {
+    this(DEFAULT_PARALLELISM, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_PENDING_PER_ADDRESS);
+  }
+
+  public AuthenticationScheduler(final int parallelism, final int queueCapacity, final int maxPendingPerAddress) {
+    checkArgument(parallelism > 0, "parallelism must be positive");
+    checkArgument(queueCapacity > 0, "queue capacity must be positive");
+    checkArgument(maxPendingPerAddress > 0, "max pending per address must be positive");
+
+    this.maxPendingPerAddress = maxPendingPerAddress;
+    executor = new ThreadPoolExecutor(
+        parallelism,
+        parallelism,
+        KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new ThreadFactoryBuilder().setNameFormat("Authentication %d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Schedules the given authentication task for a connection from the given address.
+   *
+   * @return {@code true} if the task was scheduled; {@code false} if it was rejected because the scheduler is saturated
+   *         or too many logins from the same address are already pending.
+   */
+  public boolean submit(final InetAddress address, final Runnable task) {
+    checkNotNull(address);
+    checkNotNull(task);
+
+    if (!tryAcquire(address)) {
+      rejectedCount.increment();
+      return false;
+    }
+    final long submittedAt = System.nanoTime();
+    try {
+      executor.execute(() -> {
+        try {
+          task.run();
+        } finally {
+          release(address);
+          latency.record(System.nanoTime() - submittedAt);
+        }
+      });
+      return true;
+    } catch (final RejectedExecutionException e) {
+      release(address);
+      rejectedCount.increment();
+      return false;
+    }
+  }
+
+  private boolean tryAcquire(final InetAddress address) {
+    final boolean[] acquired = {false};
+    pendingCountByAddress.compute(address, (k, count) -> {
+      final int pendingCount = (count == null) ? 0 : count;
+      if (pendingCount >= maxPendingPerAddress) {
+        return count;
+      }
+      acquired[0] = true;
+      return pendingCount + 1;
+    });
+    return acquired[0];
+  }
+
+  private void release(final InetAddress address) {
+    pendingCountByAddress.computeIfPresent(address, (k, count) -> (count > 1) ? count - 1 : null);
+  }
+
+  /**
+   * Returns the number of authentication tasks that have been submitted but have not yet finished running.
+   */
+  public int getPendingCount() {
+    return pendingCountByAddress.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  /**
+   * Returns the number of authentication tasks that have been rejected because the scheduler was saturated or too
+   * many logins from the same address were pending.
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  /**
+   * Returns the latencies, measured from submission to completion, of the authentication tasks.
+   */
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  @Override
+  public String toString() {
+    return "AuthenticationScheduler[pending=" + getPendingCount() + ", rejected=" + getRejectedCount()
+        + ", latency=" + latency + "]";
+  }
+}
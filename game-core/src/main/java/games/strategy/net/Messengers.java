@@ -4,6 +4,7 @@ import games.strategy.engine.message.ChannelMessenger;
 import games.strategy.engine.message.IChannelMessenger;
 import games.strategy.engine.message.IRemoteMessenger;
 import games.strategy.engine.message.RemoteMessenger;
+import games.strategy.engine.message.unifiedmessenger.InvocationScheduler;
 import games.strategy.engine.message.unifiedmessenger.UnifiedMessenger;
 
 /**
@@ -15,8 +16,12 @@ public class Messengers {
   private final IChannelMessenger channelMessenger;
 
   public Messengers(final IMessenger messenger) {
+    this(messenger, new InvocationScheduler());
+  }
+
+  public Messengers(final IMessenger messenger, final InvocationScheduler invocationScheduler) {
     this.messenger = messenger;
-    final UnifiedMessenger unifiedMessenger = new UnifiedMessenger(messenger);
+    final UnifiedMessenger unifiedMessenger = new UnifiedMessenger(messenger, invocationScheduler);
     channelMessenger = new ChannelMessenger(unifiedMessenger);
     remoteMessenger = new RemoteMessenger(unifiedMessenger);
   }
@@ -8,32 +8,29 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
 import games.strategy.engine.chat.ChatController;
+import games.strategy.engine.chat.ChatFloodControl;
 import games.strategy.engine.chat.IChatChannel;
 import games.strategy.engine.config.lobby.LobbyPropertyReader;
-import games.strategy.engine.lobby.server.db.Database;
-import games.strategy.engine.lobby.server.db.MutedMacController;
-import games.strategy.engine.lobby.server.db.MutedUsernameController;
+import games.strategy.engine.lobby.server.db.ModerationCache;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.engine.message.HubInvoke;
 import games.strategy.engine.message.RemoteMethodCall;
@@ -43,6 +40,7 @@ import games.strategy.net.nio.NioSocket;
 import games.strategy.net.nio.NioSocketListener;
 import games.strategy.net.nio.QuarantineConversation;
 import games.strategy.net.nio.ServerQuarantineConversation;
+import games.strategy.util.HashedTimerWheel;
 
 /**
  * A Messenger that can have many clients connected to it.
@@ -58,23 +56,27 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
   private final List<IConnectionChangeListener> connectionListeners = new CopyOnWriteArrayList<>();
   private boolean acceptNewConnection = false;
   private ILoginValidator loginValidator;
+  private final AuthenticationScheduler authenticationScheduler;
   // all our nodes
   private final Map<INode, SocketChannel> nodeToChannel = new ConcurrentHashMap<>();
   private final Map<SocketChannel, INode> channelToNode = new ConcurrentHashMap<>();
+  private final ChatFloodControl chatFloodControl = new ChatFloodControl();
 
   /**
-   * The lobby database if this instance is for use by a lobby; otherwise {@code null}.
+   * The lobby moderation cache if this instance is for use by a lobby; otherwise {@code null}.
    */
-  private final @Nullable Database database;
+  private final @Nullable ModerationCache moderationCache;
 
   // A hack, till I think of something better
   private ServerMessenger(
       final String name,
       final int requestedPortNumber,
       final IObjectStreamFactory streamFactory,
-      final @Nullable Database database)
+      final AuthenticationScheduler authenticationScheduler,
+      final @Nullable ModerationCache moderationCache)
       throws IOException {
-    this.database = database;
+    this.authenticationScheduler = authenticationScheduler;
+    this.moderationCache = moderationCache;
     socketChannel = ServerSocketChannel.open();
     socketChannel.configureBlocking(false);
     socketChannel.socket().setReuseAddress(true);
@@ -98,18 +100,23 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
       final int requestedPortNumber,
       final IObjectStreamFactory streamFactory)
       throws IOException {
-    return new ServerMessenger(name, requestedPortNumber, streamFactory, null);
+    return new ServerMessenger(name, requestedPortNumber, streamFactory, new AuthenticationScheduler(), null);
   }
 
   public static ServerMessenger newInstanceForLobby(
       final String name,
-      final LobbyPropertyReader lobbyPropertyReader)
+      final LobbyPropertyReader lobbyPropertyReader,
+      final ModerationCache moderationCache)
       throws IOException {
     return new ServerMessenger(
         name,
         lobbyPropertyReader.getPort(),
         new DefaultObjectStreamFactory(),
-        new Database(lobbyPropertyReader));
+        new AuthenticationScheduler(
+            lobbyPropertyReader.getAuthenticationThreads(),
+            lobbyPropertyReader.getAuthenticationQueueCapacity(),
+            lobbyPropertyReader.getMaxPendingLoginsPerAddress()),
+        moderationCache);
   }
 
   @Override
@@ -122,6 +129,10 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     return loginValidator;
   }
 
+  public AuthenticationScheduler getAuthenticationScheduler() {
+    return authenticationScheduler;
+  }
+
   @Override
   public void addMessageListener(final IMessageListener listener) {
     listeners.add(listener);
@@ -144,6 +155,7 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     if (!shutdown) {
       shutdown = true;
       nioSocket.shutDown();
+      moderationExpiryTimer.shutDown();
       try {
         socketChannel.close();
       } catch (final Exception e) {
@@ -189,36 +201,36 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
   }
 
   private final Object cachedListLock = new Object();
-  private final Map<String, String> cachedMacAddresses = new HashMap<>();
+  private final Map<String, String> cachedMacAddresses = new ConcurrentHashMap<>();
+  // all moderation entries that expire share this timer
+  private final HashedTimerWheel moderationExpiryTimer =
+      new HashedTimerWheel("Moderation expiry timer", Duration.ofSeconds(1), 512);
 
   @Override
   public @Nullable String getPlayerMac(final String name) {
+    final @Nullable String mac = cachedMacAddresses.get(name);
+    if (mac != null) {
+      return mac;
+    }
     synchronized (cachedListLock) {
-      return Optional.ofNullable(cachedMacAddresses.get(name))
-          .orElseGet(() -> playersThatLeftMacsLast10.get(name));
+      return playersThatLeftMacsLast10.get(name);
     }
   }
 
   // We need to cache whether players are muted, because otherwise the database would have to be accessed each time a
   // message was sent,
   // which can be very slow
-  private final List<String> liveMutedUsernames = new ArrayList<>();
+  private final Set<String> liveMutedUsernames = ConcurrentHashMap.newKeySet();
 
   private boolean isUsernameMuted(final String username) {
-    synchronized (cachedListLock) {
-      return liveMutedUsernames.contains(username);
-    }
+    return liveMutedUsernames.contains(username);
   }
 
   @Override
   public void notifyUsernameMutingOfPlayer(final String username, final Instant muteExpires) {
-    synchronized (cachedListLock) {
-      if (!liveMutedUsernames.contains(username)) {
-        liveMutedUsernames.add(username);
-      }
-      if (muteExpires != null) {
-        scheduleUsernameUnmuteAt(username, muteExpires);
-      }
+    liveMutedUsernames.add(username);
+    if (muteExpires != null) {
+      scheduleUsernameUnmuteAt(username, muteExpires);
     }
   }
 
@@ -227,74 +239,93 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     // TODO: remove if no backwards compat issues
   }
 
-  private final List<String> liveMutedMacAddresses = new ArrayList<>();
+  private final Set<String> liveMutedMacAddresses = ConcurrentHashMap.newKeySet();
 
-  private boolean isMacMuted(final String mac) {
-    synchronized (cachedListLock) {
-      return liveMutedMacAddresses.contains(mac);
-    }
+  private boolean isMacMuted(final @Nullable String mac) {
+    return (mac != null) && liveMutedMacAddresses.contains(mac);
   }
 
   @Override
   public void notifyMacMutingOfPlayer(final String mac, final Instant muteExpires) {
-    synchronized (cachedListLock) {
-      if (!liveMutedMacAddresses.contains(mac)) {
-        liveMutedMacAddresses.add(mac);
-      }
-      if (muteExpires != null) {
-        scheduleMacUnmuteAt(mac, muteExpires);
-      }
+    liveMutedMacAddresses.add(mac);
+    if (muteExpires != null) {
+      scheduleMacUnmuteAt(mac, muteExpires);
     }
   }
 
   private void scheduleUsernameUnmuteAt(final String username, final Instant checkTime) {
-    final Timer unmuteUsernameTimer = new Timer("Username unmute timer");
-    unmuteUsernameTimer.schedule(getUsernameUnmuteTask(username),
-        checkTime.toEpochMilli() - System.currentTimeMillis());
+    moderationExpiryTimer.schedule(() -> {
+      if (isGame()) {
+        liveMutedUsernames.remove(username);
+        return;
+      }
+      // the mute may have been extended since this check was scheduled
+      final Optional<Instant> muteTill = moderationCache.getUsernameUnmuteTime(username);
+      if (muteTill.isPresent() && muteTill.get().isAfter(checkTime)) {
+        scheduleUsernameUnmuteAt(username, muteTill.get());
+      } else if (!moderationCache.isUsernameMuted(username)) {
+        liveMutedUsernames.remove(username);
+      }
+    }, checkTime);
   }
 
   private void scheduleMacUnmuteAt(final String mac, final Instant checkTime) {
-    final Timer unmuteMacTimer = new Timer("Mac unmute timer");
-    unmuteMacTimer.schedule(getMacUnmuteTask(mac), checkTime.toEpochMilli() - System.currentTimeMillis());
+    moderationExpiryTimer.schedule(() -> {
+      if (isGame()) {
+        liveMutedMacAddresses.remove(mac);
+        return;
+      }
+      // the mute may have been extended since this check was scheduled
+      final Optional<Instant> muteTill = moderationCache.getMacUnmuteTime(mac);
+      if (muteTill.isPresent() && muteTill.get().isAfter(checkTime)) {
+        scheduleMacUnmuteAt(mac, muteTill.get());
+      } else if (!moderationCache.isMacMuted(mac)) {
+        liveMutedMacAddresses.remove(mac);
+      }
+    }, checkTime);
   }
 
-  public void notifyPlayerLogin(final String uniquePlayerName, final String mac) {
-    synchronized (cachedListLock) {
+  public void notifyPlayerLogin(final String uniquePlayerName, final @Nullable String mac) {
+    if (mac != null) {
       cachedMacAddresses.put(uniquePlayerName, mac);
-      if (isLobby()) {
-        final String realName = uniquePlayerName.split(" ")[0];
-        if (!liveMutedUsernames.contains(realName)) {
-          final Optional<Instant> muteTill = new MutedUsernameController(database).getUsernameUnmuteTime(realName);
-          muteTill.ifPresent(instant -> {
-            if (instant.isAfter(Instant.now())) {
-              // Signal the player as muted
-              liveMutedUsernames.add(realName);
-              scheduleUsernameUnmuteAt(realName, instant);
-            }
-          });
-        }
-        if (!liveMutedMacAddresses.contains(mac)) {
-          final Optional<Instant> muteTill = new MutedMacController(database).getMacUnmuteTime(mac);
-          muteTill.ifPresent(instant -> {
-            if (instant.isAfter(Instant.now())) {
-              // Signal the player as muted
-              liveMutedMacAddresses.add(mac);
-              scheduleMacUnmuteAt(mac, instant);
-            }
-          });
-        }
+    }
+    if (isLobby()) {
+      final String realName = uniquePlayerName.split(" ")[0];
+      if (!liveMutedUsernames.contains(realName)) {
+        final Optional<Instant> muteTill = moderationCache.getUsernameUnmuteTime(realName);
+        muteTill.ifPresent(instant -> {
+          // Signal the player as muted
+          if (instant.isAfter(Instant.now()) && liveMutedUsernames.add(realName)) {
+            scheduleUsernameUnmuteAt(realName, instant);
+          }
+        });
+      }
+      if (mac != null && !liveMutedMacAddresses.contains(mac)) {
+        final Optional<Instant> muteTill = moderationCache.getMacUnmuteTime(mac);
+        muteTill.ifPresent(instant -> {
+          // Signal the player as muted
+          if (instant.isAfter(Instant.now()) && liveMutedMacAddresses.add(mac)) {
+            scheduleMacUnmuteAt(mac, instant);
+          }
+        });
       }
     }
   }
 
-  private final HashMap<String, String> playersThatLeftMacsLast10 = new HashMap<>();
+  @GuardedBy("cachedListLock")
+  private final Map<String, String> playersThatLeftMacsLast10 = new LinkedHashMap<String, String>() {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+      return size() > 10;
+    }
+  };
 
   private void notifyPlayerRemoval(final INode node) {
+    // record the mac of the leaving player before dropping it, so a concurrent lookup always finds it in one of them
     synchronized (cachedListLock) {
       playersThatLeftMacsLast10.put(node.getName(), cachedMacAddresses.get(node.getName()));
-      if (playersThatLeftMacsLast10.size() > 10) {
-        playersThatLeftMacsLast10.remove(playersThatLeftMacsLast10.entrySet().iterator().next().toString());
-      }
       cachedMacAddresses.remove(node.getName());
     }
   }
@@ -319,6 +350,9 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
           bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_LOBBY, msg.getFrom());
           return;
         }
+        if (isFlooding((HubInvoke) msg.getMessage(), msg.getFrom())) {
+          return;
+        }
       } else if (isGame() && ((HubInvoke) msg.getMessage()).call.getRemoteName()
           .equals("_ChatCtrlgames.strategy.engine.framework.ui.ServerStartup.CHAT_NAME")) {
         final String realName = msg.getFrom().getName().split(" ")[0];
@@ -342,6 +376,16 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     }
   }
 
+  /**
+   * Lobby clients ignore chat messages from a sender that exceeds the flood control limit. Dropping those messages here
+   * saves sending each of them to every client.
+   */
+  private boolean isFlooding(final HubInvoke invoke, final INode from) {
+    final String methodName = invoke.call.getMethodName();
+    return (methodName.equals("chatOccured") || methodName.equals("meMessageOccured"))
+        && !chatFloodControl.allow(from.getName(), System.currentTimeMillis());
+  }
+
   private void bareBonesSendChatMessage(final String message, final INode to) {
     final RemoteName rn = new RemoteName(isLobby()
         ? ChatController.getChatChannelName("_LOBBY_CHAT")
@@ -358,90 +402,51 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
   }
 
   // The following code is used in hosted lobby games by the host for player mini-banning and mini-muting
-  private final List<String> miniBannedUsernames = new ArrayList<>();
+  private final Map<String, Instant> miniBannedUsernames = new ConcurrentHashMap<>();
 
   @Override
   public boolean isUsernameMiniBanned(final String username) {
-    synchronized (cachedListLock) {
-      return miniBannedUsernames.contains(username);
-    }
+    return miniBannedUsernames.containsKey(username);
   }
 
   @Override
   public void notifyUsernameMiniBanningOfPlayer(final String username, final Instant expires) {
-    synchronized (cachedListLock) {
-      if (!miniBannedUsernames.contains(username)) {
-        miniBannedUsernames.add(username);
-      }
-      if (expires != null) {
-        final Timer unbanUsernameTimer = new Timer("Username unban timer");
-        unbanUsernameTimer.schedule(new TimerTask() {
-          @Override
-          public void run() {
-            synchronized (cachedListLock) {
-              miniBannedUsernames.remove(username);
-            }
-          }
-        }, expires.toEpochMilli() - System.currentTimeMillis());
-      }
-    }
+    miniBan(miniBannedUsernames, username, expires);
   }
 
-  private final List<String> miniBannedIpAddresses = new ArrayList<>();
+  private final Map<String, Instant> miniBannedIpAddresses = new ConcurrentHashMap<>();
 
   @Override
   public boolean isIpMiniBanned(final String ip) {
-    synchronized (cachedListLock) {
-      return miniBannedIpAddresses.contains(ip);
-    }
+    return miniBannedIpAddresses.containsKey(ip);
   }
 
   @Override
   public void notifyIpMiniBanningOfPlayer(final String ip, final Instant expires) {
-    synchronized (cachedListLock) {
-      if (!miniBannedIpAddresses.contains(ip)) {
-        miniBannedIpAddresses.add(ip);
-      }
-      if (expires != null) {
-        final Timer unbanIpTimer = new Timer("IP unban timer");
-        unbanIpTimer.schedule(new TimerTask() {
-          @Override
-          public void run() {
-            synchronized (cachedListLock) {
-              miniBannedIpAddresses.remove(ip);
-            }
-          }
-        }, expires.toEpochMilli() - System.currentTimeMillis());
-      }
-    }
+    miniBan(miniBannedIpAddresses, ip, expires);
   }
 
-  private final List<String> miniBannedMacAddresses = new ArrayList<>();
+  private final Map<String, Instant> miniBannedMacAddresses = new ConcurrentHashMap<>();
 
   @Override
   public boolean isMacMiniBanned(final String mac) {
-    synchronized (cachedListLock) {
-      return miniBannedMacAddresses.contains(mac);
-    }
+    return miniBannedMacAddresses.containsKey(mac);
   }
 
   @Override
   public void notifyMacMiniBanningOfPlayer(final String mac, final Instant expires) {
-    synchronized (cachedListLock) {
-      if (!miniBannedMacAddresses.contains(mac)) {
-        miniBannedMacAddresses.add(mac);
-      }
-      if (expires != null) {
-        final Timer unbanMacTimer = new Timer("Mac unban timer");
-        unbanMacTimer.schedule(new TimerTask() {
-          @Override
-          public void run() {
-            synchronized (cachedListLock) {
-              miniBannedMacAddresses.remove(mac);
-            }
-          }
-        }, Instant.now().until(expires, ChronoUnit.MILLIS));
-      }
+    miniBan(miniBannedMacAddresses, mac, expires);
+  }
+
+  /**
+   * Adds a mini-ban that is lifted at the specified time. Each entry holds the expiry of the latest ban, so the
+   * expiry of an earlier ban that has since been replaced does not lift the later one.
+   */
+  private void miniBan(final Map<String, Instant> miniBans, final String key, final @Nullable Instant expires) {
+    final Instant expiry = (expires != null) ? expires : Instant.MAX;
+    miniBans.put(key, expiry);
+    if (expires != null) {
+      moderationExpiryTimer.schedule(() -> miniBans.remove(key, expiry), expires);
     }
   }
 
@@ -465,11 +470,8 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     if (logger.isLoggable(Level.FINEST)) {
       logger.log(Level.FINEST, "broadcasting to" + nodes);
     }
-    for (final SocketChannel channel : nodes) {
-      if (channel != fromChannel) {
-        nioSocket.send(channel, msg);
-      }
-    }
+    nodes.remove(fromChannel);
+    nioSocket.send(nodes, msg);
   }
 
   private boolean isNameTaken(final String nodeName) {
@@ -605,7 +607,8 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
               continue;
             }
             final ServerQuarantineConversation conversation =
-                new ServerQuarantineConversation(loginValidator, socketChannel, nioSocket, ServerMessenger.this);
+                new ServerQuarantineConversation(
+                    loginValidator, authenticationScheduler, socketChannel, nioSocket, ServerMessenger.this);
             nioSocket.add(socketChannel, conversation);
           } else if (!key.isValid()) {
             key.cancel();
@@ -615,31 +618,6 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     }
   }
 
-  private TimerTask getUsernameUnmuteTask(final String username) {
-    return createUnmuteTimerTask(
-        () -> (isLobby() && !new MutedUsernameController(database).isUsernameMuted(username)) || isGame(),
-        () -> liveMutedUsernames.remove(username));
-  }
-
-  private TimerTask createUnmuteTimerTask(final Supplier<Boolean> runCondition, final Runnable action) {
-    return new TimerTask() {
-      @Override
-      public void run() {
-        if (runCondition.get()) {
-          synchronized (cachedListLock) {
-            action.run();
-          }
-        }
-      }
-    };
-  }
-
-  private TimerTask getMacUnmuteTask(final String mac) {
-    return createUnmuteTimerTask(
-        () -> (isLobby() && !new MutedMacController(database).isMacMuted(mac)) || isGame(),
-        () -> liveMutedMacAddresses.remove(mac));
-  }
-
   @Override
   public boolean isServer() {
     return true;
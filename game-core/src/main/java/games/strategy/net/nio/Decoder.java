@@ -7,6 +7,7 @@ import java.io.Serializable;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,9 +65,9 @@ class Decoder {
         }
 
         try {
-          final MessageHeader header = IoUtils.readFromMemory(data.getData(), is -> {
+          final DecodedMessage decoded = IoUtils.readFromMemory(data.getData(), is -> {
             try {
-              return readMessageHeader(data.getChannel(), objectStreamFactory.create(is));
+              return readMessage(objectStreamFactory.create(is));
             } catch (final ClassNotFoundException e) {
               throw new IOException(e);
             }
@@ -76,10 +77,13 @@ class Decoder {
           if (!running || s == null || s.isInputShutdown()) {
             continue;
           }
-          final QuarantineConversation conversation = quarantine.get(data.getChannel());
-          if (conversation != null) {
-            sendQuarantine(data.getChannel(), conversation, header);
-          } else {
+          if (!sendQuarantine(data.getChannel(), decoded.header)) {
+            // resolve the sender only now, as the node of a channel is registered when it leaves quarantine, which may
+            // have happened on another thread while this message was waiting for the conversation
+            final MessageHeader header = decoded.fromRemoteNode
+                ? new MessageHeader(decoded.header.getFor(), nioSocket.getRemoteNode(data.getChannel()),
+                    decoded.header.getMessage())
+                : decoded.header;
             if (nioSocket.getLocalNode() == null) {
               throw new IllegalStateException("we are writing messages, but no local node");
             }
@@ -104,9 +108,43 @@ class Decoder {
     }
   }
 
-  private void sendQuarantine(final SocketChannel channel, final QuarantineConversation conversation,
-      final MessageHeader header) {
-    final Action a = conversation.message(header.getMessage());
+  /**
+   * Sends the given message to the quarantine conversation of the given channel.
+   *
+   * @return {@code false} if the channel is not quarantined and the message should be delivered normally.
+   */
+  private boolean sendQuarantine(final SocketChannel channel, final MessageHeader header) {
+    final QuarantineConversation conversation = quarantine.get(channel);
+    if (conversation == null) {
+      return false;
+    }
+    synchronized (conversation) {
+      // the conversation may have ended on another thread while we were waiting for it
+      if (quarantine.get(channel) != conversation) {
+        return false;
+      }
+      handleQuarantineAction(channel, conversation, conversation.message(header.getMessage()));
+      return true;
+    }
+  }
+
+  /**
+   * Completes a step of the quarantine conversation of the given channel that the conversation has run on a thread
+   * other than the decoder thread. The step is run while holding the conversation's lock, so it can neither overlap
+   * with a message being sent to the conversation nor with the channel leaving quarantine. The step is not run if the
+   * channel has been closed in the meantime.
+   */
+  void completeQuarantineStep(final SocketChannel channel, final QuarantineConversation conversation,
+      final Supplier<Action> step) {
+    synchronized (conversation) {
+      if (quarantine.get(channel) == conversation) {
+        handleQuarantineAction(channel, conversation, step.get());
+      }
+    }
+  }
+
+  private void handleQuarantineAction(final SocketChannel channel, final QuarantineConversation conversation,
+      final Action a) {
     if (a == Action.TERMINATE) {
       conversation.close();
       // we need to indicate the channel was closed
@@ -117,8 +155,7 @@ class Decoder {
     }
   }
 
-  private MessageHeader readMessageHeader(final SocketChannel channel, final ObjectInputStream objectInput)
-      throws IOException, ClassNotFoundException {
+  private DecodedMessage readMessage(final ObjectInputStream objectInput) throws IOException, ClassNotFoundException {
     final INode to;
     if (objectInput.read() == 1) {
       to = null;
@@ -134,9 +171,7 @@ class Decoder {
     }
     final INode from;
     final int readMark = objectInput.read();
-    if (readMark == 1) {
-      from = nioSocket.getRemoteNode(channel);
-    } else if (readMark == 2) {
+    if (readMark == 1 || readMark == 2) {
       from = null;
     } else {
       from = new Node();
@@ -151,7 +186,20 @@ class Decoder {
     } else {
       message = (Serializable) objectInput.readObject();
     }
-    return new MessageHeader(to, from, message);
+    return new DecodedMessage(new MessageHeader(to, from, message), readMark == 1);
+  }
+
+  /**
+   * A message read from a channel. If it was sent by the remote node of the channel, its header has no sender yet.
+   */
+  private static final class DecodedMessage {
+    private final MessageHeader header;
+    private final boolean fromRemoteNode;
+
+    DecodedMessage(final MessageHeader header, final boolean fromRemoteNode) {
+      this.header = header;
+      this.fromRemoteNode = fromRemoteNode;
+    }
   }
 
   private static Externalizable getTemplate(final byte type) {
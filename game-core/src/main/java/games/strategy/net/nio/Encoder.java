@@ -4,9 +4,14 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
+
 import games.strategy.io.IoUtils;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
@@ -28,24 +33,60 @@ class Encoder {
   }
 
   void write(final SocketChannel to, final MessageHeader header) {
-    if (header.getFrom() == null) {
-      throw new IllegalArgumentException("No from node");
-    }
     if (to == null) {
       throw new IllegalArgumentException("No to channel!");
     }
-    try {
-      final byte[] bytes = IoUtils.writeToMemory(os -> write(header, objectStreamFactory.create(os), to));
-      final SocketWriteData data = new SocketWriteData(bytes, bytes.length);
+    final SocketWriteData data = encode(to, header);
+    if (data != null) {
       writer.enque(data, to);
+    }
+  }
+
+  /**
+   * Writes the same message to each of the given channels, waking the writer only once for the whole batch.
+   *
+   * <p>
+   * The encoding of a broadcast does not depend on its recipient, so a broadcast is serialized only once and every
+   * channel is given a view of the same data.
+   * </p>
+   */
+  void write(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (to.isEmpty()) {
+      return;
+    }
+    final Map<SocketChannel, SocketWriteData> batch = new LinkedHashMap<>();
+    if (header.getFor() == null) {
+      final SocketWriteData data = encode(to.iterator().next(), header);
+      if (data != null) {
+        to.forEach(channel -> batch.put(channel, data.share()));
+      }
+    } else {
+      for (final SocketChannel channel : to) {
+        final SocketWriteData data = encode(channel, header);
+        if (data != null) {
+          batch.put(channel, data);
+        }
+      }
+    }
+    writer.enque(batch);
+  }
+
+  private @Nullable SocketWriteData encode(final SocketChannel to, final MessageHeader header) {
+    if (header.getFrom() == null) {
+      throw new IllegalArgumentException("No from node");
+    }
+    try {
+      final byte[] bytes = IoUtils.writeToMemory(os -> writeHeader(header, objectStreamFactory.create(os), to));
+      return new SocketWriteData(bytes, bytes.length);
     } catch (final IOException e) {
       // we arent doing any io, just writing in memory
       // so something is very wrong
       logger.log(Level.SEVERE, "Error writing object:" + header, e);
+      return null;
     }
   }
 
-  private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
+  private void writeHeader(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
       throws IOException {
     if (header.getFrom() == null) {
       throw new IllegalArgumentException("null from");
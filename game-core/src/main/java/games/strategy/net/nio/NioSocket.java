@@ -3,12 +3,15 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
+import games.strategy.net.nio.QuarantineConversation.Action;
 
 /**
  * The threads needed for a group of sockets using NIO.
@@ -68,6 +71,22 @@ public class NioSocket implements ErrorReporter {
     encoder.write(to, header);
   }
 
+  /**
+   * Sends the specified message header through each of the specified channels.
+   *
+   * @param to The destination channels.
+   * @param header The message header to send.
+   */
+  public void send(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (to == null) {
+      throw new IllegalArgumentException("to cant be null!");
+    }
+    if (header == null) {
+      throw new IllegalArgumentException("header cant be null");
+    }
+    encoder.write(to, header);
+  }
+
   /**
    * Add this channel.
    * The channel will either be unquarantined, or an error will be reported
@@ -81,6 +100,14 @@ public class NioSocket implements ErrorReporter {
     reader.add(channel);
   }
 
+  /**
+   * Completes a step of the quarantine conversation of the given channel from a thread other than the decoder thread.
+   */
+  void completeQuarantineStep(final SocketChannel channel, final QuarantineConversation conversation,
+      final Supplier<Action> step) {
+    decoder.completeQuarantineStep(channel, conversation, step);
+  }
+
   void unquarantine(final SocketChannel channel, final QuarantineConversation conversation) {
     listener.socketUnqaurantined(channel, conversation);
   }
@@ -3,39 +3,65 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
+
 /**
  * A thread that writes socket data using NIO .
  * Data is written in packets that are enqueued on our buffer.
  * Packets are sent to the sockets in the order that they are received.
+ *
+ * <p>
+ * Each channel has its own lock-free queue of packets. When a channel becomes writable, as many queued packets as
+ * possible are written with a single gathering write. A channel whose queued data grows beyond
+ * {@code maxQueuedBytesPerChannel} is not keeping up with what we send it and is reported as an error, which
+ * disconnects it. The error is reported by the writer thread, never by the thread that is sending.
+ * </p>
  */
 class NioWriter {
   private static final Logger logger = Logger.getLogger(NioWriter.class.getName());
+  static final long DEFAULT_MAX_QUEUED_BYTES_PER_CHANNEL = 4L * SocketReadData.MAX_MESSAGE_SIZE;
+  // the most packets we try to write to a channel with one gathering write
+  private static final int MAX_PACKETS_PER_WRITE = 64;
+
   private final Selector selector;
   private final ErrorReporter errorReporter;
+  private final long maxQueuedBytesPerChannel;
   // this is the data we are writing
-  private final Map<SocketChannel, List<SocketWriteData>> writing = new HashMap<>();
+  private final Map<SocketChannel, ChannelQueue> writing = new ConcurrentHashMap<>();
   // these are the sockets we arent selecting on, but should now
-  private List<SocketChannel> socketsToWake = new ArrayList<>();
-  // the writing thread and threads adding data to write synchronize on this lock
-  private final Object mutex = new Object();
+  private final Queue<SocketChannel> socketsToWake = new ConcurrentLinkedQueue<>();
+  // these are the sockets that have too much data queued, and must be reported
+  private final Queue<SocketChannel> socketsToReport = new ConcurrentLinkedQueue<>();
   private long totalBytes = 0;
   private volatile boolean running = true;
 
   NioWriter(final ErrorReporter reporter, final String threadSuffix) {
+    this(reporter, threadSuffix, DEFAULT_MAX_QUEUED_BYTES_PER_CHANNEL);
+  }
+
+  @VisibleForTesting
+  NioWriter(final ErrorReporter reporter, final String threadSuffix, final long maxQueuedBytesPerChannel) {
     errorReporter = reporter;
+    this.maxQueuedBytesPerChannel = maxQueuedBytesPerChannel;
     try {
       selector = Selector.open();
     } catch (final IOException e) {
@@ -55,19 +81,28 @@ class NioWriter {
   }
 
   private void addNewSocketsToSelector() {
-    final List<SocketChannel> socketsToWriteCopy;
-    synchronized (mutex) {
-      if (socketsToWake.isEmpty()) {
-        return;
-      }
-      socketsToWriteCopy = socketsToWake;
-      socketsToWake = new ArrayList<>();
-    }
-    for (final SocketChannel channel : socketsToWriteCopy) {
+    SocketChannel channel;
+    while ((channel = socketsToWake.poll()) != null) {
       try {
-        channel.register(selector, SelectionKey.OP_WRITE);
-      } catch (final ClosedChannelException e) {
+        final SelectionKey key = channel.keyFor(selector);
+        if (key == null) {
+          channel.register(selector, SelectionKey.OP_WRITE);
+        } else {
+          key.interestOps(SelectionKey.OP_WRITE);
+        }
+      } catch (final ClosedChannelException | CancelledKeyException e) {
         logger.log(Level.FINEST, "socket already closed", e);
+        writing.remove(channel);
+      }
+    }
+  }
+
+  private void reportOverflowedSockets() {
+    SocketChannel channel;
+    while ((channel = socketsToReport.poll()) != null) {
+      final ChannelQueue queue = writing.get(channel);
+      if (queue != null) {
+        errorReporter.error(channel, new IOException("Too much data queued: " + queue.overflowBytes + " bytes"));
       }
     }
   }
@@ -84,6 +119,7 @@ class NioWriter {
         }
         // select any new sockets that can be written to
         addNewSocketsToSelector();
+        reportOverflowedSockets();
         final Set<SelectionKey> selected = selector.selectedKeys();
         if (logger.isLoggable(Level.FINEST)) {
           logger.finest("selected:" + selected.size());
@@ -93,42 +129,7 @@ class NioWriter {
           final SelectionKey key = iter.next();
           iter.remove();
           if (key.isValid() && key.isWritable()) {
-            final SocketChannel channel = (SocketChannel) key.channel();
-            final SocketWriteData packet = getData(channel);
-            if (packet != null) {
-              try {
-                if (logger.isLoggable(Level.FINEST)) {
-                  logger.finest("writing packet:" + packet + " to:" + channel.socket().getRemoteSocketAddress());
-                }
-                final boolean done = packet.write(channel);
-                if (done) {
-                  totalBytes += packet.size();
-                  if (logger.isLoggable(Level.FINE)) {
-                    final Socket s = channel.socket();
-                    SocketAddress sa = null;
-                    if (s != null) {
-                      sa = s.getRemoteSocketAddress();
-                    }
-                    String remote = "null";
-                    if (sa != null) {
-                      remote = sa.toString();
-                    }
-                    logger.log(Level.FINE, " done writing to:" + remote + " size:" + packet.size() + " writeCalls;"
-                        + packet.getWriteCalls() + " total:" + totalBytes);
-                  }
-                  removeLast(channel);
-                }
-              } catch (final Exception e) {
-                logger.log(Level.FINER, "exception writing", e);
-                errorReporter.error(channel, e);
-                key.cancel();
-              }
-            } else {
-              // nothing to write
-              // cancel the key, otherwise we will
-              // spin forever as the socket will always be writable
-              key.cancel();
-            }
+            write(key);
           }
         }
       } catch (final Exception e) {
@@ -139,61 +140,170 @@ class NioWriter {
     }
   }
 
+  private void write(final SelectionKey key) {
+    final SocketChannel channel = (SocketChannel) key.channel();
+    final ChannelQueue queue = writing.get(channel);
+    if (queue == null) {
+      // the channel was closed
+      key.cancel();
+      return;
+    }
+    try {
+      final List<SocketWriteData> packets = queue.peek(MAX_PACKETS_PER_WRITE);
+      if (!packets.isEmpty()) {
+        if (logger.isLoggable(Level.FINEST)) {
+          logger.finest("writing packets:" + packets + " to:" + channel.socket().getRemoteSocketAddress());
+        }
+        write(channel, packets);
+        for (final SocketWriteData packet : packets) {
+          if (!packet.isWritten()) {
+            break;
+          }
+          queue.remove(packet);
+          totalBytes += packet.size();
+          if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, " done writing to:" + getRemoteAddress(channel) + " size:" + packet.size()
+                + " writeCalls;" + packet.getWriteCalls() + " total:" + totalBytes);
+          }
+        }
+      }
+      if (queue.isEmpty()) {
+        // stop selecting on the channel, otherwise we will
+        // spin forever as the socket will always be writable
+        key.interestOps(0);
+        queue.scheduled.set(false);
+        // data may have been enqueued after we looked, but before we cleared the flag
+        if (!queue.isEmpty() && queue.scheduled.compareAndSet(false, true)) {
+          key.interestOps(SelectionKey.OP_WRITE);
+        }
+      }
+    } catch (final Exception e) {
+      logger.log(Level.FINER, "exception writing", e);
+      errorReporter.error(channel, e);
+      key.cancel();
+    }
+  }
+
+  private static void write(final SocketChannel channel, final List<SocketWriteData> packets) throws IOException {
+    final List<ByteBuffer> buffers = new ArrayList<>(packets.size() * 2);
+    for (final SocketWriteData packet : packets) {
+      packet.addRemainingBuffers(buffers);
+    }
+    final long count = channel.write(buffers.toArray(new ByteBuffer[0]));
+    if (count == -1) {
+      throw new IOException("triplea: end of stream detected");
+    }
+    if (logger.isLoggable(Level.FINEST)) {
+      logger.finest("wrote bytes:" + count);
+    }
+  }
+
+  private static String getRemoteAddress(final SocketChannel channel) {
+    final Socket s = channel.socket();
+    SocketAddress sa = null;
+    if (s != null) {
+      sa = s.getRemoteSocketAddress();
+    }
+    String remote = "null";
+    if (sa != null) {
+      remote = sa.toString();
+    }
+    return remote;
+  }
+
   /**
    * Remove the data for this channel.
    */
   void closed(final SocketChannel channel) {
-    removeAll(channel);
+    writing.remove(channel);
   }
 
-  private void removeAll(final SocketChannel to) {
-    synchronized (mutex) {
-      writing.remove(to);
+  /**
+   * Enqueues the given packet to be written to the given channel.
+   */
+  void enque(final SocketWriteData data, final SocketChannel channel) {
+    if (enqueWithoutWakeup(data, channel)) {
+      selector.wakeup();
     }
   }
 
-  private void removeLast(final SocketChannel to) {
-    synchronized (mutex) {
-      final List<SocketWriteData> values = writing.get(to);
-      if (values == null) {
-        logger.log(Level.SEVERE, "NO socket data to:" + to + " all:" + values);
-        return;
-      }
-      values.remove(0);
-      // remove empty lists, so we can detect that we need to wake up the socket
-      if (values.isEmpty()) {
-        writing.remove(to);
-      }
+  /**
+   * Enqueues each of the given packets to be written to its channel, waking the writer thread at most once.
+   */
+  void enque(final Map<SocketChannel, SocketWriteData> packetsByChannel) {
+    boolean wakeup = false;
+    for (final Map.Entry<SocketChannel, SocketWriteData> entry : packetsByChannel.entrySet()) {
+      wakeup |= enqueWithoutWakeup(entry.getValue(), entry.getKey());
+    }
+    if (wakeup) {
+      selector.wakeup();
     }
   }
 
-  private SocketWriteData getData(final SocketChannel to) {
-    synchronized (mutex) {
-      if (!writing.containsKey(to)) {
-        return null;
-      }
-      final List<SocketWriteData> values = writing.get(to);
-      if (values.isEmpty()) {
-        return null;
+  /**
+   * Returns true if the writer thread must be woken up, either to start writing to the channel because it was idle, or
+   * to report the channel because too much data is queued for it.
+   */
+  private boolean enqueWithoutWakeup(final SocketWriteData data, final SocketChannel channel) {
+    if (!running) {
+      return false;
+    }
+    final ChannelQueue queue = writing.computeIfAbsent(channel, k -> new ChannelQueue());
+    final long queuedBytes = queue.add(data);
+    if (queuedBytes > maxQueuedBytesPerChannel) {
+      if (queue.overflowed.compareAndSet(false, true)) {
+        logger.warning("Disconnecting " + getRemoteAddress(channel) + ", it is not reading fast enough; "
+            + queuedBytes + " bytes are waiting to be written");
+        // reporting the channel closes it, which must not be done by the sending thread
+        queue.overflowBytes = queuedBytes;
+        socketsToReport.add(channel);
+        return true;
       }
-      return values.get(0);
+      return false;
+    }
+    if (queue.scheduled.compareAndSet(false, true)) {
+      socketsToWake.add(channel);
+      return true;
     }
+    return false;
   }
 
-  void enque(final SocketWriteData data, final SocketChannel channel) {
-    synchronized (mutex) {
-      if (!running) {
-        return;
-      }
-      if (writing.containsKey(channel)) {
-        writing.get(channel).add(data);
-      } else {
-        final List<SocketWriteData> values = new ArrayList<>();
-        values.add(data);
-        writing.put(channel, values);
-        socketsToWake.add(channel);
-        selector.wakeup();
+  /**
+   * The packets waiting to be written to one channel.
+   */
+  private static final class ChannelQueue {
+    private final Queue<SocketWriteData> packets = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    // true while the channel is, or is about to be, selected for writing
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    // true once we have reported the channel for having too much data queued
+    final AtomicBoolean overflowed = new AtomicBoolean();
+    // the number of bytes that were queued when the channel overflowed
+    volatile long overflowBytes;
+
+    long add(final SocketWriteData data) {
+      packets.add(data);
+      return queuedBytes.addAndGet(data.size());
+    }
+
+    void remove(final SocketWriteData data) {
+      packets.poll();
+      queuedBytes.addAndGet(-data.size());
+    }
+
+    boolean isEmpty() {
+      return packets.isEmpty();
+    }
+
+    List<SocketWriteData> peek(final int maxCount) {
+      final List<SocketWriteData> peeked = new ArrayList<>(Math.min(maxCount, 8));
+      for (final SocketWriteData data : packets) {
+        if (peeked.size() == maxCount) {
+          break;
+        }
+        peeked.add(data);
       }
+      return peeked;
     }
   }
 }
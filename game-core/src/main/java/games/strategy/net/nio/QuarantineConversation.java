@@ -12,7 +12,9 @@ package games.strategy.net.nio;
  * </p>
  *
  * <p>
- * All messages sent to a conversation must be done in the Decode thread.
+ * All messages sent to a conversation must be done in the Decode thread, while holding the lock of the conversation.
+ * A conversation that needs to do slow work (e.g. authenticating the node) may do so on another thread and then
+ * complete the step through {@link NioSocket#completeQuarantineStep}, so the Decode thread is not held up.
  * </p>
  */
 public abstract class QuarantineConversation {
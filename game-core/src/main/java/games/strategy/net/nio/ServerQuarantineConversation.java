@@ -1,12 +1,19 @@
 package games.strategy.net.nio;
 
 import java.io.Serializable;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
+
+import games.strategy.net.AuthenticationScheduler;
 import games.strategy.net.ILoginValidator;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
@@ -25,25 +32,36 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket).
+   *
+   * The validator is only consulted on the authentication scheduler, so a slow login (the lobby hashes passwords and
+   * queries its database) does not hold up the decoder thread, which serves every other connection. If the scheduler
+   * is too busy to get the challenge, no challenge is sent, and the client is told the server is busy when it replies,
+   * as that is the step at which the client expects an error message.
    */
   private static final Logger logger = Logger.getLogger(ServerQuarantineConversation.class.getName());
 
+  private static final String SERVER_BUSY = "The server is busy; please try again later";
+
   private enum Step {
-    READ_NAME, READ_MAC, CHALLENGE, ACK_ERROR
+    READ_NAME, READ_MAC, CHALLENGE, AUTHENTICATING, ACK_ERROR
   }
 
   private final ILoginValidator validator;
+  private final AuthenticationScheduler authenticationScheduler;
   private final SocketChannel channel;
   private final NioSocket socket;
   private Step step = Step.READ_NAME;
   private String remoteName;
   private String remoteMac;
   private Map<String, String> challenge;
+  private boolean busy;
   private final ServerMessenger serverMessenger;
 
-  public ServerQuarantineConversation(final ILoginValidator validator, final SocketChannel channel,
-      final NioSocket socket, final ServerMessenger serverMessenger) {
+  public ServerQuarantineConversation(final ILoginValidator validator,
+      final AuthenticationScheduler authenticationScheduler, final SocketChannel channel, final NioSocket socket,
+      final ServerMessenger serverMessenger) {
     this.validator = validator;
+    this.authenticationScheduler = authenticationScheduler;
     this.socket = socket;
     this.channel = channel;
     this.serverMessenger = serverMessenger;
@@ -55,7 +73,7 @@ public class ServerQuarantineConversation extends QuarantineConversation {
 
   @Override
   public Action message(final Object o) {
-    try {
+    return handleErrors(() -> {
       switch (step) {
         case READ_NAME:
           // read name, send challent
@@ -65,48 +83,105 @@ public class ServerQuarantineConversation extends QuarantineConversation {
         case READ_MAC:
           // read name, send challent
           remoteMac = (String) o;
-          if (validator != null) {
-            challenge = validator.getChallengeProperties(remoteName, channel.socket().getRemoteSocketAddress());
+          if (validator == null) {
+            return sendChallenge(null);
           }
-          send((Serializable) challenge);
-          step = Step.CHALLENGE;
-          return Action.NONE;
+          return authenticate(
+              () -> validator.getChallengeProperties(remoteName, channel.socket().getRemoteSocketAddress()),
+              this::sendChallenge,
+              () -> {
+                busy = true;
+                return sendChallenge(null);
+              });
         case CHALLENGE:
           @SuppressWarnings("unchecked")
           final Map<String, String> response = (Map<String, String>) o;
-          if (validator != null) {
-            final String error = validator.verifyConnection(challenge, response, remoteName, remoteMac,
-                channel.socket().getRemoteSocketAddress());
-            send(error);
-            if (error != null) {
-              step = Step.ACK_ERROR;
-              return Action.NONE;
-            }
-          } else {
-            send(null);
+          if (busy) {
+            return sendVerification(SERVER_BUSY);
+          } else if (validator == null) {
+            return sendVerification(null);
           }
-          // get a unique name
-          remoteName = serverMessenger.getUniqueName(remoteName);
-          // send the node its name and our name
-          send(new String[] {remoteName, serverMessenger.getLocalNode().getName()});
-          // send the node its and our address as we see it
-          send(new InetSocketAddress[] {(InetSocketAddress) channel.socket().getRemoteSocketAddress(),
-              serverMessenger.getLocalNode().getSocketAddress()});
-          // Login succeeded, so notify the ServerMessenger about the login with the name, mac, etc.
-          serverMessenger.notifyPlayerLogin(remoteName, remoteMac);
-          // We are good
-          return Action.UNQUARANTINE;
+          return authenticate(
+              () -> Optional.ofNullable(validator.verifyConnection(challenge, response, remoteName, remoteMac,
+                  channel.socket().getRemoteSocketAddress())),
+              error -> sendVerification(error.orElse(null)),
+              () -> sendVerification(SERVER_BUSY));
+        case AUTHENTICATING:
+          // the node must wait for our reply before sending anything else
+          logger.warning("Unexpected message while authenticating " + remoteName);
+          return Action.TERMINATE;
         case ACK_ERROR:
           return Action.TERMINATE;
         default:
           throw new IllegalStateException("Invalid state");
       }
+    });
+  }
+
+  /**
+   * Runs {@code check} on the authentication scheduler, away from the decoder thread, then passes its result to
+   * {@code onChecked} to continue the conversation. If the scheduler rejects the check, {@code onRejected} continues
+   * the conversation instead.
+   */
+  private <T> Action authenticate(final Supplier<T> check, final Function<T, Action> onChecked,
+      final Supplier<Action> onRejected) {
+    step = Step.AUTHENTICATING;
+    final InetAddress address = ((InetSocketAddress) channel.socket().getRemoteSocketAddress()).getAddress();
+    final boolean scheduled = authenticationScheduler.submit(address, () -> {
+      final Supplier<Action> nextStep;
+      try {
+        final T result = check.get();
+        nextStep = () -> handleErrors(() -> onChecked.apply(result));
+      } catch (final RuntimeException e) {
+        logger.log(Level.SEVERE, "Error with connection", e);
+        socket.completeQuarantineStep(channel, this, () -> Action.TERMINATE);
+        return;
+      }
+      socket.completeQuarantineStep(channel, this, nextStep);
+    });
+    if (!scheduled) {
+      logger.warning("Rejecting login from " + address + ", too many logins are pending");
+      return onRejected.get();
+    }
+    return Action.NONE;
+  }
+
+  private static Action handleErrors(final Supplier<Action> step) {
+    try {
+      return step.get();
     } catch (final Throwable t) {
       logger.log(Level.SEVERE, "Error with connection", t);
       return Action.TERMINATE;
     }
   }
 
+  private Action sendChallenge(final @Nullable Map<String, String> challenge) {
+    this.challenge = challenge;
+    step = Step.CHALLENGE;
+    send((Serializable) challenge);
+    return Action.NONE;
+  }
+
+  private Action sendVerification(final @Nullable String error) {
+    if (error != null) {
+      step = Step.ACK_ERROR;
+      send(error);
+      return Action.NONE;
+    }
+    send(null);
+    // get a unique name
+    remoteName = serverMessenger.getUniqueName(remoteName);
+    // send the node its name and our name
+    send(new String[] {remoteName, serverMessenger.getLocalNode().getName()});
+    // send the node its and our address as we see it
+    send(new InetSocketAddress[] {(InetSocketAddress) channel.socket().getRemoteSocketAddress(),
+        serverMessenger.getLocalNode().getSocketAddress()});
+    // Login succeeded, so notify the ServerMessenger about the login with the name, mac, etc.
+    serverMessenger.notifyPlayerLogin(remoteName, remoteMac);
+    // We are good
+    return Action.UNQUARANTINE;
+  }
+
   private void send(final Serializable object) {
     // this messenger is quarantined, so to and from dont matter
     final MessageHeader header = new MessageHeader(Node.NULL_NODE, Node.NULL_NODE, object);
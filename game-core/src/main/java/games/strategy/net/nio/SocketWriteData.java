@@ -1,11 +1,8 @@
 package games.strategy.net.nio;
 
-import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * A packet of data to be written over the network.
@@ -19,7 +16,6 @@ import java.util.logging.Logger;
  * </p>
  */
 class SocketWriteData {
-  private static final Logger logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger counter = new AtomicInteger();
   private final ByteBuffer size;
   private final ByteBuffer content;
@@ -39,6 +35,23 @@ class SocketWriteData {
     content.flip();
   }
 
+  private SocketWriteData(final ByteBuffer size, final ByteBuffer content) {
+    this.size = size;
+    this.content = content;
+  }
+
+  /**
+   * Returns a new packet with the same data as this packet that can be written independently of it. The new packet
+   * shares this packet's content rather than copying it, which lets a broadcast be serialized once for all recipients.
+   */
+  SocketWriteData share() {
+    final ByteBuffer sharedSize = size.asReadOnlyBuffer();
+    sharedSize.rewind();
+    final ByteBuffer sharedContent = content.asReadOnlyBuffer();
+    sharedContent.rewind();
+    return new SocketWriteData(sharedSize, sharedContent);
+  }
+
   int size() {
     return size.capacity() + content.capacity();
   }
@@ -48,33 +61,23 @@ class SocketWriteData {
   }
 
   /**
-   * Writes any pending data to the specified channel.
-   *
-   * @return true if the write has written the entire message.
+   * Adds the buffers holding the data that has not been written yet to the given list, for use in a gathering write.
    */
-  boolean write(final SocketChannel channel) throws IOException {
+  void addRemainingBuffers(final List<ByteBuffer> buffers) {
     writeCalls++;
     if (size.hasRemaining()) {
-      final int count = channel.write(size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (logger.isLoggable(Level.FINEST)) {
-        logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (size.hasRemaining()) {
-        return false;
-      }
+      buffers.add(size);
     }
-    final int count = channel.write(content);
-    if (count == -1) {
-      throw new IOException("triplea: end of stream detected");
+    if (content.hasRemaining()) {
+      buffers.add(content);
     }
-    if (logger.isLoggable(Level.FINEST)) {
-      logger.finest("wrote content bytes:" + count);
-    }
-    return !content.hasRemaining();
+  }
+
+  /**
+   * Returns true if the entire message has been written.
+   */
+  boolean isWritten() {
+    return !size.hasRemaining() && !content.hasRemaining();
   }
 
   @Override
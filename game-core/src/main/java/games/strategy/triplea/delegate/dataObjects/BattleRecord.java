@@ -147,7 +147,7 @@ public class BattleRecord implements Serializable {
     this.battleResults = battleResults;
   }
 
-  protected Territory getBattleSite() {
+  public Territory getBattleSite() {
     return battleSite;
   }
 
@@ -155,7 +155,7 @@ public class BattleRecord implements Serializable {
     this.battleSite = battleSite;
   }
 
-  protected PlayerID getAttacker() {
+  public PlayerID getAttacker() {
     return attacker;
   }
 
@@ -163,7 +163,7 @@ public class BattleRecord implements Serializable {
     this.attacker = attacker;
   }
 
-  protected PlayerID getDefender() {
+  public PlayerID getDefender() {
     return defender;
   }
 
@@ -171,18 +171,22 @@ public class BattleRecord implements Serializable {
     this.defender = defender;
   }
 
-  int getAttackerLostTuv() {
+  public int getAttackerLostTuv() {
     return attackerLostTUV;
   }
 
-  int getDefenderLostTuv() {
+  public int getDefenderLostTuv() {
     return defenderLostTUV;
   }
 
-  protected BattleType getBattleType() {
+  public BattleType getBattleType() {
     return battleType;
   }
 
+  public BattleResultDescription getBattleResultDescription() {
+    return battleResultDescription;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(battleSite);
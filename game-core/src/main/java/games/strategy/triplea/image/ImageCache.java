@@ -0,0 +1,177 @@
+package games.strategy.triplea.image;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.awt.Image;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.swing.ImageIcon;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * A cache of decoded and scaled images shared by the image factories, limited by the memory the images use.
+ *
+ * <p>
+ * When the images exceed the budget, the least recently used ones are evicted. Each factory stores its images in its
+ * own partition, so it can drop them when it switches maps or its game ends without affecting the others, and images
+ * scaled for different scale factors are cached side by side, so returning to a previous zoom level does not scale
+ * them again.
+ * The icon of an image is created once and cached along with the image.
+ * </p>
+ */
+@ThreadSafe
+public final class ImageCache {
+  // an image whose size is unknown, e.g. because it has not finished loading, is assumed to be this large
+  private static final int UNKNOWN_IMAGE_BYTES = 64 * 1024;
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private static final ImageCache instance = new ImageCache(Runtime.getRuntime().maxMemory() / 4);
+
+  private final Cache<Key, CachedImage> images;
+
+  @VisibleForTesting
+  ImageCache(final long maxBytes) {
+    checkArgument(maxBytes > 0, "budget must be positive");
+
+    images = CacheBuilder.newBuilder()
+        // a single segment, so eviction follows the least recently used order of the whole cache
+        .concurrencyLevel(1)
+        .maximumWeight(maxBytes)
+        .weigher((final Key key, final CachedImage cachedImage) -> getSizeInBytes(cachedImage.image))
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the cache shared by all image factories; its budget is a quarter of the maximum heap size.
+   */
+  public static ImageCache getInstance() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  static int getSizeInBytes(final Image image) {
+    final int width = image.getWidth(null);
+    final int height = image.getHeight(null);
+    if (width <= 0 || height <= 0) {
+      return UNKNOWN_IMAGE_BYTES;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (long) width * height * BYTES_PER_PIXEL);
+  }
+
+  /**
+   * Returns the cached image with the specified key, or {@code null} if it is not cached.
+   */
+  public @Nullable Image get(final Key key) {
+    final @Nullable CachedImage cachedImage = images.getIfPresent(checkNotNull(key));
+    return (cachedImage != null) ? cachedImage.image : null;
+  }
+
+  /**
+   * Returns an icon of the cached image with the specified key, or {@code null} if the image is not cached.
+   */
+  public @Nullable ImageIcon getIcon(final Key key) {
+    final @Nullable CachedImage cachedImage = images.getIfPresent(checkNotNull(key));
+    return (cachedImage != null) ? cachedImage.getIcon() : null;
+  }
+
+  public void put(final Key key, final Image image) {
+    images.put(checkNotNull(key), new CachedImage(checkNotNull(image)));
+  }
+
+  /**
+   * Evicts all images of the specified partition.
+   */
+  public void invalidatePartition(final Object partition) {
+    checkNotNull(partition);
+
+    images.asMap().keySet().removeIf(key -> key.partition == partition);
+  }
+
+  /**
+   * Returns the number of hits, misses and evictions since the cache was created.
+   */
+  public CacheStats getStats() {
+    return images.stats();
+  }
+
+  /**
+   * Returns the number of cached images.
+   */
+  public long size() {
+    return images.size();
+  }
+
+  @ThreadSafe
+  private static final class CachedImage {
+    private final Image image;
+    // created on first use; two threads may both create it, which is harmless
+    private volatile @Nullable ImageIcon icon;
+
+    CachedImage(final Image image) {
+      this.image = image;
+    }
+
+    ImageIcon getIcon() {
+      ImageIcon icon = this.icon;
+      if (icon == null) {
+        icon = new ImageIcon(image);
+        this.icon = icon;
+      }
+      return icon;
+    }
+  }
+
+  /**
+   * Identifies a cached image.
+   */
+  @Immutable
+  public static final class Key {
+    private final Object partition;
+    private final String name;
+    private final double scale;
+
+    /**
+     * Initializes a new key.
+     *
+     * @param partition The owner of the image, usually the factory that creates it; compared by identity.
+     * @param name The name of the image, unique within the partition.
+     * @param scale The scale factor the image was scaled with, or 1 if it is not scaled.
+     */
+    public Key(final Object partition, final String name, final double scale) {
+      this.partition = checkNotNull(partition);
+      this.name = checkNotNull(name);
+      this.scale = scale;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (obj == this) {
+        return true;
+      } else if (!(obj instanceof Key)) {
+        return false;
+      }
+
+      final Key other = (Key) obj;
+      return partition == other.partition && name.equals(other.name) && Double.compare(scale, other.scale) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(partition), name, scale);
+    }
+
+    @Override
+    public String toString() {
+      return name + "@" + scale;
+    }
+  }
+}
@@ -1,27 +1,39 @@
 package games.strategy.triplea.image;
 
+import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
-import java.lang.ref.SoftReference;
 import java.net.URL;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 
+import javax.annotation.Nullable;
 import javax.imageio.ImageIO;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.triplea.ResourceLoader;
 import games.strategy.triplea.image.BlendComposite.BlendingMode;
+import games.strategy.triplea.settings.ClientSetting;
+import games.strategy.triplea.ui.screen.TileManager;
 import games.strategy.triplea.util.Stopwatch;
 import games.strategy.ui.Util;
 import lombok.extern.java.Log;
@@ -40,9 +52,17 @@ public final class TileImageFactory {
   private static final GraphicsConfiguration configuration =
       GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
   private static final Logger logger = Logger.getLogger(TileImageFactory.class.getName());
-  // maps image name to ImageRef
-  private final Map<String, SoftReference<Image>> imageCache = Collections.synchronizedMap(new HashMap<>());
-  private ResourceLoader resourceLoader;
+  private static final String BLANK_RELIEF_TILE_NAME = "reliefTiles/blank_relief.png";
+  private static final ExecutorService tilePackExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "Tile pack loader");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final ImageCache imageCache = ImageCache.getInstance();
+  private volatile ResourceLoader resourceLoader;
+  // null until the tile pack of the current map is ready, and always if tile packs are disabled
+  private volatile @Nullable TilePack tilePack;
+  private final AtomicReference<Rectangle> pendingReadAhead = new AtomicReference<>();
 
   static {
     final Preferences prefs = Preferences.userNodeForPackage(TileImageFactory.class);
@@ -114,14 +134,140 @@ public final class TileImageFactory {
 
   public void setMapDir(final ResourceLoader loader) {
     resourceLoader = loader;
-    imageCache.clear();
+    tilePack = null;
+    clearImageCache();
   }
 
-  private Image isImageLoaded(final String fileName) {
-    if (imageCache.get(fileName) == null) {
+  /**
+   * Sets the map whose tiles this factory loads. If tile packs are enabled, the tile pack of the map is opened, or
+   * built if it is missing or stale, in the background; tiles are decoded from their PNG files until it is ready.
+   *
+   * @param loader The loader of the map resources.
+   * @param mapDir The name of the map folder or skin; identifies the tile pack of the map.
+   * @param mapDimensions The size of the map, which determines the tiles the map can have.
+   */
+  public void setMapDir(final ResourceLoader loader, final String mapDir, final Dimension mapDimensions) {
+    setMapDir(loader);
+    if (ClientSetting.USE_MAP_TILE_PACKS.booleanValue()) {
+      tilePackExecutor.execute(() -> loadTilePack(loader, mapDir, mapDimensions));
+    }
+  }
+
+  /**
+   * Evicts the tiles of this factory from the shared image cache.
+   */
+  public void clearImageCache() {
+    imageCache.invalidatePartition(this);
+  }
+
+  private void loadTilePack(final ResourceLoader loader, final String mapDir, final Dimension mapDimensions) {
+    if (loader != resourceLoader) {
+      return;
+    }
+
+    final List<String> tileNames = getMapTileNames(mapDimensions);
+    final String signature = getTilePackSignature(loader, tileNames);
+    final File folder = new File(ClientFileSystemHelper.getUserRootFolder(), "tileCache");
+    final File file = new File(folder, mapDir.replaceAll("[^\\w.-]", "_") + ".tpk");
+    try {
+      TilePack pack = file.exists() ? openTilePack(file) : null;
+      if (pack == null || !pack.getSignature().equals(signature)) {
+        final Stopwatch stopwatch = new Stopwatch("Building tile pack: " + file);
+        folder.mkdirs();
+        TilePack.build(file, signature, tileNames, name -> {
+          final @Nullable URL url = loader.getResource(name);
+          return url == null ? null : ImageIO.read(url);
+        });
+        stopwatch.done();
+        pack = TilePack.open(file);
+      }
+      // the map may have changed while the pack was loading
+      if (loader == resourceLoader) {
+        tilePack = pack;
+      }
+    } catch (final IOException e) {
+      log.log(Level.WARNING, "Failed to load tile pack: " + file + "; tiles will be decoded from their images", e);
+    }
+  }
+
+  private static @Nullable TilePack openTilePack(final File file) {
+    try {
+      return TilePack.open(file);
+    } catch (final IOException e) {
+      log.log(Level.INFO, "Discarding unreadable tile pack: " + file, e);
       return null;
     }
-    return imageCache.get(fileName).get();
+  }
+
+  private static List<String> getMapTileNames(final Dimension mapDimensions) {
+    final List<String> tileNames = new ArrayList<>();
+    for (int x = 0; x * TileManager.TILE_SIZE < mapDimensions.width; x++) {
+      for (int y = 0; y * TileManager.TILE_SIZE < mapDimensions.height; y++) {
+        tileNames.add(getBaseTileImageName(x, y));
+        tileNames.add(getReliefTileImageName(x, y));
+      }
+    }
+    tileNames.add(BLANK_RELIEF_TILE_NAME);
+    return tileNames;
+  }
+
+  private static String getTilePackSignature(final ResourceLoader loader, final List<String> tileNames) {
+    // a tile pack is stale once any tile is added, removed or modified
+    final Hasher hasher = Hashing.sha256().newHasher();
+    for (final String name : tileNames) {
+      final @Nullable URL url = loader.getResource(name);
+      if (url != null) {
+        hasher.putString(name, StandardCharsets.UTF_8).putString(url.toExternalForm(), StandardCharsets.UTF_8);
+        try {
+          hasher.putLong(url.openConnection().getLastModified());
+        } catch (final IOException e) {
+          log.log(Level.FINE, "Failed to read modification time of " + url, e);
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Pages the packed tiles that intersect the specified map area into memory in the background, so that they can be
+   * loaded without waiting for the disk. Does nothing if the current map has no tile pack.
+   */
+  public void readAheadTiles(final Rectangle bounds) {
+    if (tilePack == null) {
+      return;
+    }
+    // requests made while the previous one is pending replace it, so scrolling does not queue up read-aheads
+    if (pendingReadAhead.getAndSet(bounds) == null) {
+      tilePackExecutor.execute(() -> {
+        final @Nullable TilePack pack = tilePack;
+        final @Nullable Rectangle area = pendingReadAhead.getAndSet(null);
+        if (pack != null && area != null) {
+          pack.readAhead(getTileNames(area));
+        }
+      });
+    }
+  }
+
+  private static List<String> getTileNames(final Rectangle area) {
+    final List<String> tileNames = new ArrayList<>();
+    final int minX = Math.max(0, area.x / TileManager.TILE_SIZE);
+    final int minY = Math.max(0, area.y / TileManager.TILE_SIZE);
+    for (int x = minX; x * TileManager.TILE_SIZE < area.x + area.width; x++) {
+      for (int y = minY; y * TileManager.TILE_SIZE < area.y + area.height; y++) {
+        tileNames.add(getBaseTileImageName(x, y));
+        tileNames.add(getReliefTileImageName(x, y));
+      }
+    }
+    return tileNames;
+  }
+
+  private Image isImageLoaded(final String fileName) {
+    return imageCache.get(newCacheKey(fileName));
+  }
+
+  private ImageCache.Key newCacheKey(final String fileName) {
+    // tiles are drawn unscaled and scaled when the map is painted
+    return new ImageCache.Key(this, fileName, 1.0);
   }
 
   public Image getBaseTile(final int x, final int y) {
@@ -190,17 +336,16 @@ public final class TileImageFactory {
     final String baseFileName = fileName.replace("reliefTiles", "baseTiles");
     final URL urlBase = resourceLoader.getResource(baseFileName);
     // blank relief tile
-    final String blankReliefFileName = "reliefTiles/blank_relief.png";
-    final URL urlBlankRelief = resourceLoader.getResource(blankReliefFileName);
+    final URL urlBlankRelief = resourceLoader.getResource(BLANK_RELIEF_TILE_NAME);
 
     // Get buffered images
     try {
       final Stopwatch loadingImages = new Stopwatch("Loading images:" + urlrelief + " and " + urlBase);
       if (urlrelief != null) {
-        reliefFile = loadCompatibleImage(urlrelief);
+        reliefFile = loadCompatibleImage(reliefFileName, urlrelief);
       }
       if (urlBase != null) {
-        baseFile = loadCompatibleImage(urlBase);
+        baseFile = loadCompatibleImage(baseFileName, urlBase);
       }
       loadingImages.done();
     } catch (final IOException e) {
@@ -211,7 +356,7 @@ public final class TileImageFactory {
     final float alpha = getShowMapBlendAlpha();
     if (reliefFile == null) {
       try {
-        reliefFile = loadCompatibleImage(urlBlankRelief);
+        reliefFile = loadCompatibleImage(BLANK_RELIEF_TILE_NAME, urlBlankRelief);
       } catch (final IOException e) {
         log.log(Level.SEVERE, "Failed to load image: " + urlBlankRelief, e);
       }
@@ -230,13 +375,11 @@ public final class TileImageFactory {
       final BlendComposite blendComposite = BlendComposite.getInstance(blendMode).derive(alpha);
       g2.setComposite(blendComposite);
       g2.drawImage(baseFile, 0, 0, null);
-      final SoftReference<Image> ref = new SoftReference<>(blendedImage);
-      imageCache.put(fileName, ref);
+      imageCache.put(newCacheKey(fileName), blendedImage);
       return blendedImage;
     }
 
-    final SoftReference<Image> ref = new SoftReference<>(baseFile);
-    imageCache.put(fileName, ref);
+    imageCache.put(newCacheKey(fileName), baseFile);
     return baseFile;
   }
 
@@ -244,7 +387,7 @@ public final class TileImageFactory {
     Image image;
     try {
       final Stopwatch loadingImages = new Stopwatch("Loading image:" + imageLocation);
-      final BufferedImage fromFile = ImageIO.read(imageLocation);
+      final BufferedImage fromFile = readImage(fileName, imageLocation);
       loadingImages.done();
       final Stopwatch copyingImage = new Stopwatch("Copying image:" + imageLocation);
       // if we dont copy, drawing the tile to the screen takes significantly longer
@@ -263,15 +406,21 @@ public final class TileImageFactory {
       log.log(Level.SEVERE, "Could not load image, url: " + imageLocation.toString(), e);
       image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
     }
-    imageCache.put(fileName, new SoftReference<>(image));
+    imageCache.put(newCacheKey(fileName), image);
     return image;
   }
 
-  private static BufferedImage loadCompatibleImage(final URL resource) throws IOException {
-    final BufferedImage image = ImageIO.read(resource);
+  private BufferedImage loadCompatibleImage(final String fileName, final URL resource) throws IOException {
+    final BufferedImage image = readImage(fileName, resource);
     return toCompatibleImage(image);
   }
 
+  private BufferedImage readImage(final String fileName, final URL resource) throws IOException {
+    final @Nullable TilePack pack = tilePack;
+    final @Nullable BufferedImage packedImage = (pack != null) ? pack.getTile(fileName) : null;
+    return (packedImage != null) ? packedImage : ImageIO.read(resource);
+  }
+
   private static BufferedImage toCompatibleImage(final BufferedImage image) {
     final BufferedImage compatibleImage =
         configuration.createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
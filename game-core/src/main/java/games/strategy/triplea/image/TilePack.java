@@ -0,0 +1,267 @@
+package games.strategy.triplea.image;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The decoded pixels of the tiles of a map, stored in one file that is memory-mapped when it is read.
+ *
+ * <p>
+ * Decoding a PNG tile takes far longer than copying its pixels, so a tile pack stores each tile as raw ARGB pixels.
+ * Reading a tile copies its pixels straight from the mapping into a new image; the operating system pages in only the
+ * tiles that are read, and {@link #readAhead(Collection)} pages in tiles that are about to be read.
+ * </p>
+ *
+ * <p>
+ * The file consists of a magic number, the pixel blocks of all tiles, an index and the offset of the index. The index
+ * holds a signature of the sources the pack was built from, so that a stale pack can be recognized, and the name,
+ * size and offset of each tile.
+ * </p>
+ */
+@Immutable
+@ThreadSafe
+public final class TilePack {
+  private static final int MAGIC = 0x54504B31;
+  private static final int HEADER_BYTES = Integer.BYTES;
+  private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+  private static final int PAGE_BYTES = 4096;
+
+  private final String signature;
+  private final Map<String, Entry> entries;
+
+  private TilePack(final String signature, final Map<String, Entry> entries) {
+    this.signature = signature;
+    this.entries = entries;
+  }
+
+  /**
+   * Reads the tiles of a tile pack.
+   */
+  @FunctionalInterface
+  public interface TileSource {
+    /**
+     * Returns the tile with the specified name, or {@code null} if there is no such tile.
+     */
+    @Nullable
+    BufferedImage read(String name) throws IOException;
+  }
+
+  /**
+   * Builds a tile pack from the specified tiles. The file is replaced only once the pack is complete.
+   *
+   * @param file The file to which the tile pack is written.
+   * @param signature The signature of the sources of the tiles.
+   * @param names The names of the tiles; tiles that the source does not have are skipped.
+   * @param source The source of the tiles.
+   */
+  public static void build(final File file, final String signature, final Collection<String> names,
+      final TileSource source) throws IOException {
+    checkNotNull(file);
+    checkNotNull(signature);
+    checkNotNull(names);
+    checkNotNull(source);
+
+    final File tempFile = File.createTempFile(file.getName(), null, file.getAbsoluteFile().getParentFile());
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        final List<Entry> writtenEntries = new ArrayList<>();
+        long offset = HEADER_BYTES;
+        for (final String name : names) {
+          final @Nullable BufferedImage tile = source.read(name);
+          if (tile != null) {
+            final int width = tile.getWidth();
+            final int height = tile.getHeight();
+            for (final int pixel : tile.getRGB(0, 0, width, height, null, 0, width)) {
+              out.writeInt(pixel);
+            }
+            writtenEntries.add(new Entry(name, width, height, offset));
+            offset += (long) width * height * Integer.BYTES;
+          }
+        }
+        out.writeUTF(signature);
+        out.writeInt(writtenEntries.size());
+        for (final Entry entry : writtenEntries) {
+          out.writeUTF(entry.name);
+          out.writeInt(entry.width);
+          out.writeInt(entry.height);
+          out.writeLong(entry.offset);
+        }
+        out.writeLong(offset);
+      }
+      Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  /**
+   * Opens the specified tile pack and maps its tiles into memory.
+   *
+   * @throws IOException If the file is not a complete tile pack.
+   */
+  public static TilePack open(final File file) throws IOException {
+    checkNotNull(file);
+
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      final long length = channel.size();
+      if (length < HEADER_BYTES + Long.BYTES || randomAccessFile.readInt() != MAGIC) {
+        throw new IOException("Not a tile pack: " + file);
+      }
+      randomAccessFile.seek(length - Long.BYTES);
+      final long indexOffset = randomAccessFile.readLong();
+      if (indexOffset < HEADER_BYTES || indexOffset > length - Long.BYTES) {
+        throw new IOException("Corrupt tile pack index: " + file);
+      }
+
+      channel.position(indexOffset);
+      final InputStream indexStream = Channels.newInputStream(channel);
+      final DataInputStream in = new DataInputStream(indexStream);
+      final String signature = in.readUTF();
+      final int count = in.readInt();
+      final List<Entry> entries = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        final Entry entry = new Entry(in.readUTF(), in.readInt(), in.readInt(), in.readLong());
+        if (entry.offset < HEADER_BYTES || entry.offset + entry.getSizeInBytes() > indexOffset) {
+          throw new IOException("Corrupt tile pack entry " + entry.name + ": " + file);
+        }
+        entries.add(entry);
+      }
+      return new TilePack(signature, mapEntries(channel, entries));
+    }
+  }
+
+  private static Map<String, Entry> mapEntries(final FileChannel channel, final List<Entry> entries)
+      throws IOException {
+    // a mapping cannot exceed 2 GB, so large packs are mapped in several segments that each hold whole tiles
+    entries.sort((first, second) -> Long.compare(first.offset, second.offset));
+    final Map<String, Entry> mappedEntries = new HashMap<>(entries.size());
+    int start = 0;
+    while (start < entries.size()) {
+      final long segmentOffset = entries.get(start).offset;
+      int end = start;
+      long segmentEnd = segmentOffset;
+      while (end < entries.size()
+          && entries.get(end).offset + entries.get(end).getSizeInBytes() - segmentOffset <= MAX_SEGMENT_BYTES) {
+        segmentEnd = entries.get(end).offset + entries.get(end).getSizeInBytes();
+        end++;
+      }
+      if (end == start) {
+        throw new IOException("Tile too large: " + entries.get(start).name);
+      }
+      final MappedByteBuffer segment =
+          channel.map(FileChannel.MapMode.READ_ONLY, segmentOffset, segmentEnd - segmentOffset);
+      for (int i = start; i < end; i++) {
+        final Entry entry = entries.get(i);
+        mappedEntries.put(entry.name, entry.withSegment(segment, (int) (entry.offset - segmentOffset)));
+      }
+      start = end;
+    }
+    return mappedEntries;
+  }
+
+  public String getSignature() {
+    return signature;
+  }
+
+  public boolean contains(final String name) {
+    return entries.containsKey(name);
+  }
+
+  /**
+   * Returns a new image holding the pixels of the specified tile, or {@code null} if this pack does not contain it.
+   */
+  public @Nullable BufferedImage getTile(final String name) {
+    final @Nullable Entry entry = entries.get(name);
+    if (entry == null) {
+      return null;
+    }
+
+    final BufferedImage image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB);
+    final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    entry.getPixels().asIntBuffer().get(pixels);
+    return image;
+  }
+
+  /**
+   * Pages the specified tiles into memory, so that reading them later does not wait for the disk. Tiles that this
+   * pack does not contain are ignored.
+   */
+  public void readAhead(final Collection<String> names) {
+    for (final String name : names) {
+      final @Nullable Entry entry = entries.get(name);
+      if (entry != null) {
+        final ByteBuffer pixels = entry.getPixels();
+        for (int position = 0; position < pixels.limit(); position += PAGE_BYTES) {
+          pixels.get(position);
+        }
+      }
+    }
+  }
+
+  @Immutable
+  private static final class Entry {
+    final String name;
+    final int width;
+    final int height;
+    final long offset;
+    private final @Nullable ByteBuffer segment;
+    private final int segmentOffset;
+
+    Entry(final String name, final int width, final int height, final long offset) {
+      this(name, width, height, offset, null, 0);
+    }
+
+    private Entry(final String name, final int width, final int height, final long offset,
+        final @Nullable ByteBuffer segment, final int segmentOffset) {
+      this.name = name;
+      this.width = width;
+      this.height = height;
+      this.offset = offset;
+      this.segment = segment;
+      this.segmentOffset = segmentOffset;
+    }
+
+    long getSizeInBytes() {
+      return (long) width * height * Integer.BYTES;
+    }
+
+    Entry withSegment(final ByteBuffer segment, final int segmentOffset) {
+      return new Entry(name, width, height, offset, segment, segmentOffset);
+    }
+
+    ByteBuffer getPixels() {
+      // each reader uses its own view, so the position of the shared segment never changes
+      final ByteBuffer pixels = checkNotNull(segment).duplicate();
+      pixels.position(segmentOffset);
+      pixels.limit(segmentOffset + (int) getSizeInBytes());
+      return pixels.slice();
+    }
+  }
+}
@@ -7,8 +7,6 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 import javax.swing.ImageIcon;
@@ -37,12 +35,12 @@ public class UnitImageFactory {
   private static int unitCounterOffsetWidth = DEFAULT_UNIT_ICON_SIZE / 4;
   private static int unitCounterOffsetHeight = unitIconHeight;
   private static final String FILE_NAME_BASE = "units/";
-  // maps Point -> image
-  private final Map<String, Image> images = new HashMap<>();
-  // maps Point -> Icon
-  private final Map<String, ImageIcon> icons = new HashMap<>();
+  // scaled images and unscaled icon images, keyed by base image name and player name
+  private final ImageCache imageCache = ImageCache.getInstance();
+  // icons are not scaled, so they are cached in their own partition
+  private final Object iconPartition = new Object();
   // Scaling factor for unit images
-  private double scaleFactor;
+  private volatile double scaleFactor;
   private ResourceLoader resourceLoader;
 
   /** Creates new UnitImageFactory. */
@@ -63,10 +61,8 @@ public class UnitImageFactory {
    * Set the unitScaling factor.
    */
   public void setScaleFactor(final double scaleFactor) {
-    if (this.scaleFactor != scaleFactor) {
-      this.scaleFactor = scaleFactor;
-      clearImageCache();
-    }
+    // images scaled for the previous factor stay cached, so returning to it does not scale them again
+    this.scaleFactor = scaleFactor;
   }
 
   /**
@@ -98,10 +94,12 @@ public class UnitImageFactory {
     return (int) (scaleFactor * unitCounterOffsetHeight);
   }
 
-  // Clear the image and icon cache
-  private void clearImageCache() {
-    images.clear();
-    icons.clear();
+  /**
+   * Evicts the images and icons of this factory from the shared image cache.
+   */
+  public void clearImageCache() {
+    imageCache.invalidatePartition(this);
+    imageCache.invalidatePartition(iconPartition);
   }
 
   /**
@@ -110,9 +108,11 @@ public class UnitImageFactory {
   public Optional<Image> getImage(final UnitType type, final PlayerID player, final boolean damaged,
       final boolean disabled) {
     final String baseName = getBaseImageName(type, player, damaged, disabled);
-    final String fullName = baseName + player.getName();
-    if (images.containsKey(fullName)) {
-      return Optional.of(images.get(fullName));
+    final double scale = scaleFactor;
+    final ImageCache.Key key = new ImageCache.Key(this, baseName + player.getName(), scale);
+    final Image cachedImage = imageCache.get(key);
+    if (cachedImage != null) {
+      return Optional.of(cachedImage);
     }
     final Optional<Image> image = getBaseImage(baseName, player);
     if (!image.isPresent()) {
@@ -126,12 +126,12 @@ public class UnitImageFactory {
     // to take our time in doing the scaling.
     // Image observer is null, since the image should have been
     // guaranteed to be loaded.
-    final int width = (int) (baseImage.getWidth(null) * scaleFactor);
-    final int height = (int) (baseImage.getHeight(null) * scaleFactor);
+    final int width = (int) (baseImage.getWidth(null) * scale);
+    final int height = (int) (baseImage.getHeight(null) * scale);
     final Image scaledImage = baseImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
     // Ensure the scaling is completed.
     Util.ensureImageLoaded(scaledImage);
-    images.put(fullName, scaledImage);
+    imageCache.put(key, scaledImage);
     return Optional.of(scaledImage);
   }
 
@@ -184,18 +184,20 @@ public class UnitImageFactory {
   public Optional<ImageIcon> getIcon(final UnitType type, final PlayerID player, final boolean damaged,
       final boolean disabled) {
     final String baseName = getBaseImageName(type, player, damaged, disabled);
-    final String fullName = baseName + player.getName();
-    if (icons.containsKey(fullName)) {
-      return Optional.of(icons.get(fullName));
+    final ImageCache.Key key = new ImageCache.Key(iconPartition, baseName + player.getName(), 1.0);
+    final ImageIcon cachedIcon = imageCache.getIcon(key);
+    if (cachedIcon != null) {
+      return Optional.of(cachedIcon);
     }
     final Optional<Image> image = getBaseImage(baseName, player);
     if (!image.isPresent()) {
       return Optional.empty();
     }
 
-    final ImageIcon icon = new ImageIcon(image.get());
-    icons.put(fullName, icon);
-    return Optional.of(icon);
+    imageCache.put(key, image.get());
+    final ImageIcon icon = imageCache.getIcon(key);
+    // an image that alone exceeds the budget of the cache is evicted at once
+    return Optional.of((icon != null) ? icon : new ImageIcon(image.get()));
   }
 
   private static String getBaseImageName(final UnitType type, final PlayerID id, final boolean damaged,
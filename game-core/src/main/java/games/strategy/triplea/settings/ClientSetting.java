@@ -55,6 +55,8 @@ public enum ClientSetting implements GameSetting {
 
   BATTLE_CALC_SIMULATION_COUNT_LOW_LUCK(500),
 
+  CACHE_GAME_TEMPLATES_ON_DISK(true),
+
   CONFIRM_DEFENSIVE_ROLLS(false),
 
   CONFIRM_ENEMY_CASUALTIES(false),
@@ -126,6 +128,8 @@ public enum ClientSetting implements GameSetting {
 
   USE_EXPERIMENTAL_JAVAFX_UI(false),
 
+  USE_MAP_TILE_PACKS(false),
+
   /* for testing purposes, to be used in unit tests only */
   @VisibleForTesting
   TEST_SETTING,
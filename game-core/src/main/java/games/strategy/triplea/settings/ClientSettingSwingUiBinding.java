@@ -149,6 +149,20 @@ enum ClientSettingSwingUiBinding implements GameSettingUiBinding<JComponent> {
       ClientSetting.TRIPLEA_FIRST_TIME_THIS_VERSION_PROPERTY,
       "Setting to true will trigger for any first time prompts to be shown"),
 
+  USE_MAP_TILE_PACKS_BINDING(
+      "Use Map Tile Packs",
+      SettingType.GAME,
+      ClientSetting.USE_MAP_TILE_PACKS,
+      "Stores the decoded tiles of each map in a file in the user folder, so that maps draw faster "
+          + "when scrolled.\nThe file can be several times as large as the map."),
+
+  CACHE_GAME_TEMPLATES_ON_DISK_BINDING(
+      "Cache Parsed Games",
+      SettingType.GAME,
+      ClientSetting.CACHE_GAME_TEMPLATES_ON_DISK,
+      "Stores the parsed form of each game file in the user folder, so that games start faster "
+          + "after a restart.\nTakes effect after a restart."),
+
   SAVE_GAMES_FOLDER_PATH_BINDING(
       "Saved Games Folder",
       SettingType.FOLDER_LOCATIONS,
@@ -87,7 +87,7 @@ public class HeadedUiContext extends AbstractUiContext {
     unitIconImageFactory.setResourceLoader(resourceLoader);
     flagIconImageFactory.setResourceLoader(resourceLoader);
     puImageFactory.setResourceLoader(resourceLoader);
-    tileImageFactory.setMapDir(resourceLoader);
+    tileImageFactory.setMapDir(resourceLoader, dir, mapData.getMapDimensions());
     // load map data
     mapImage.loadMaps(resourceLoader);
     mapDir = dir;
@@ -179,6 +179,10 @@ public class HeadedUiContext extends AbstractUiContext {
   public void shutDown() {
     super.shutDown();
     mapData.close();
+    // the image cache is shared by the whole process, so drop this game's images along with the factories they
+    // reference
+    tileImageFactory.clearImageCache();
+    unitImageFactory.clearImageCache();
   }
 
   @Override
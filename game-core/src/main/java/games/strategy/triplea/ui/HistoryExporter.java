@@ -0,0 +1,194 @@
+package games.strategy.triplea.ui;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.history.EventChild;
+import games.strategy.engine.history.History;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.Round;
+import games.strategy.engine.stats.IStat;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.delegate.dataObjects.BattleRecord;
+import games.strategy.triplea.delegate.dataObjects.BattleRecords;
+
+/**
+ * Exports what happened in a game, round by round, for offline analysis.
+ *
+ * <p>
+ * The history is walked once from its start to its end, performing the changes of each round in turn on the game
+ * data, so no copy of the game data is made per node. The export consists of CSV chunks separated by blank lines, each
+ * starting with the name of the chunk in square brackets and a header row:
+ * </p>
+ * <ul>
+ * <li>{@code players}: the production, PUs, TUV and unit count of each player at the end of each round.</li>
+ * <li>{@code ownership}: the owner of each territory at the start of the game (round 0), and of each territory whose
+ * owner changed during a round at the end of that round.</li>
+ * <li>{@code battles}: the outcome of each battle.</li>
+ * <li>{@code dice}: each roll of battle dice.</li>
+ * </ul>
+ */
+public final class HistoryExporter {
+  private final GameData data;
+  private final List<PlayerID> players;
+  private final IStat productionStat = new StatPanel.ProductionStat();
+  private final IStat pusStat;
+  private final IStat tuvStat = new StatPanel.TuvStat();
+  private final IStat unitsStat = new StatPanel.UnitsStat();
+  private final Map<Territory, String> owners = new HashMap<>();
+  private final StringBuilder playerRows = new StringBuilder();
+  private final StringBuilder ownershipRows = new StringBuilder();
+  private final StringBuilder diceRows = new StringBuilder();
+
+  private HistoryExporter(final GameData data) {
+    this.data = data;
+    players = new ArrayList<>(data.getPlayerList().getPlayers());
+    pusStat = new AbstractStatPanel.ResourceStat(data.getResourceList().getResource(Constants.PUS));
+  }
+
+  /**
+   * Writes the export of the history of the specified game data.
+   *
+   * <p>
+   * The game data is left at the end of its history. It must not be in use elsewhere, so pass a copy of game data that
+   * is in use, or game data loaded only for the export.
+   * </p>
+   */
+  public static void export(final GameData data, final Writer writer) throws IOException {
+    checkNotNull(data);
+    checkNotNull(writer);
+
+    new HistoryExporter(data).export(writer);
+  }
+
+  private void export(final Writer writer) throws IOException {
+    final History history = data.getHistory();
+    final HistoryNode root = (HistoryNode) history.getRoot();
+    history.gotoNode(root);
+    int round = 0;
+    addOwnershipRows(round);
+    final Enumeration<?> nodes = ((DefaultMutableTreeNode) root).preorderEnumeration();
+    while (nodes.hasMoreElements()) {
+      final HistoryNode node = (HistoryNode) nodes.nextElement();
+      if (node instanceof Round) {
+        // the start of a round is the end of the previous one
+        history.gotoNode(node);
+        if (round > 0) {
+          addRoundRows(round);
+        }
+        round = ((Round) node).getRoundNo();
+      } else if (node instanceof EventChild && ((EventChild) node).getRenderingData() instanceof DiceRoll) {
+        addDiceRow(round, (EventChild) node);
+      }
+    }
+    history.gotoNode(history.getLastNode());
+    if (round > 0) {
+      addRoundRows(round);
+    }
+
+    writeChunk(writer, "players", "round,player,production,pus,tuv,units", playerRows);
+    writeChunk(writer, "ownership", "round,territory,owner", ownershipRows);
+    writeChunk(writer, "battles",
+        "round,territory,type,attacker,defender,result,attacker_lost_tuv,defender_lost_tuv", getBattleRows());
+    writeChunk(writer, "dice", "round,player,hits,dice,description", diceRows);
+  }
+
+  private void addRoundRows(final int round) {
+    data.acquireReadLock();
+    try {
+      for (final PlayerID player : players) {
+        addRow(playerRows, round, player.getName(), format(productionStat, player), format(pusStat, player),
+            format(tuvStat, player), format(unitsStat, player));
+      }
+      addOwnershipRows(round);
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  private String format(final IStat stat, final PlayerID player) {
+    return stat.getFormatter().format(stat.getValue(player, data));
+  }
+
+  private void addOwnershipRows(final int round) {
+    for (final Territory territory : data.getMap().getTerritories()) {
+      final String owner = (territory.getOwner() == null) ? PlayerID.NULL_PLAYERID.getName()
+          : territory.getOwner().getName();
+      if (!owner.equals(owners.put(territory, owner))) {
+        addRow(ownershipRows, round, territory.getName(), owner);
+      }
+    }
+  }
+
+  private void addDiceRow(final int round, final EventChild node) {
+    final DiceRoll diceRoll = (DiceRoll) node.getRenderingData();
+    final StringJoiner dice = new StringJoiner(" ");
+    for (int i = 0; i < diceRoll.size(); i++) {
+      // dice are stored 0 based
+      dice.add(String.valueOf(diceRoll.getDie(i).getValue() + 1));
+    }
+    addRow(diceRows, round, DiceRoll.getPlayerNameFromAnnotation(node.getTitle()), diceRoll.getHits(), dice,
+        node.getTitle());
+  }
+
+  private StringBuilder getBattleRows() {
+    final StringBuilder battleRows = new StringBuilder();
+    final Map<Integer, BattleRecords> battleRecords = new TreeMap<>(data.getBattleRecordsList().getBattleRecordsMap());
+    battleRecords.forEach((round, records) -> {
+      for (final BattleRecord record : BattleRecords.getAllRecords(records)) {
+        addRow(battleRows, round, getName(record.getBattleSite()), record.getBattleType(),
+            getName(record.getAttacker()), getName(record.getDefender()),
+            Objects.toString(record.getBattleResultDescription(), ""), record.getAttackerLostTuv(),
+            record.getDefenderLostTuv());
+      }
+    });
+    return battleRows;
+  }
+
+  private static String getName(final @Nullable Territory territory) {
+    return (territory == null) ? "" : territory.getName();
+  }
+
+  private static String getName(final @Nullable PlayerID player) {
+    return (player == null) ? "" : player.getName();
+  }
+
+  private static void addRow(final StringBuilder rows, final Object... values) {
+    final StringJoiner row = new StringJoiner(",");
+    for (final Object value : values) {
+      row.add(escape(String.valueOf(value)));
+    }
+    rows.append(row).append('\n');
+  }
+
+  private static String escape(final String value) {
+    return (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0)
+        ? '"' + value.replace("\"", "\"\"") + '"'
+        : value;
+  }
+
+  private static void writeChunk(final Writer writer, final String name, final String header,
+      final CharSequence rows) throws IOException {
+    writer.append('[').append(name).append("]\n");
+    writer.append(header).append('\n');
+    writer.append(rows);
+    writer.append('\n');
+  }
+}
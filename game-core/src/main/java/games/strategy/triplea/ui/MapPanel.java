@@ -56,6 +56,7 @@ import games.strategy.triplea.ui.logic.MapScrollUtil;
 import games.strategy.triplea.ui.screen.SmallMapImageManager;
 import games.strategy.triplea.ui.screen.Tile;
 import games.strategy.triplea.ui.screen.TileManager;
+import games.strategy.triplea.ui.screen.TileRenderer;
 import games.strategy.triplea.ui.screen.UnitsDrawer;
 import games.strategy.triplea.util.Stopwatch;
 import games.strategy.triplea.util.UnitCategory;
@@ -94,7 +95,8 @@ public class MapPanel extends ImageScrollerLargeView {
   private Map<Territory, List<Unit>> highlightedUnits;
   private Cursor hiddenCursor = null;
   private final MapRouteDrawer routeDrawer;
-
+  private final MapRenderScheduler renderScheduler =
+      new MapRenderScheduler(MapRenderScheduler.DEFAULT_FRAME_INTERVAL, executor, this::renderFrame);
 
   /** Creates new MapPanel. */
   public MapPanel(final GameData data, final MapPanelSmallView smallView, final UiContext uiContext,
@@ -202,11 +204,15 @@ public class MapPanel extends ImageScrollerLargeView {
         }
       });
     });
-    addScrollListener((x2, y2) -> SwingUtilities.invokeLater(this::repaint));
+    addScrollListener((x2, y2) -> {
+      readAheadTiles();
+      SwingUtilities.invokeLater(this::repaint);
+    });
     executor.execute(() -> recreateTiles(data, uiContext));
     uiContext.addActive(() -> {
       // super.deactivate
       deactivate();
+      renderScheduler.stop();
       clearPendingDrawOperations();
       executor.shutdown();
     });
@@ -239,9 +245,29 @@ public class MapPanel extends ImageScrollerLargeView {
   private void recreateTiles(final GameData data, final UiContext uiContext) {
     tileManager.createTiles(new Rectangle(this.uiContext.getMapData().getMapDimensions()));
     tileManager.resetTiles(data, uiContext.getMapData());
-    for (final Tile tile : tileManager.getTiles()) {
-      enqueueTile(tile, data);
-    }
+    executor.execute(() -> renderDirtyTiles(data));
+  }
+
+  /**
+   * Draws all dirty tiles in parallel, the visible ones first so they can be repainted without waiting for the rest.
+   * The calling thread must not hold the game data write lock.
+   */
+  private void renderDirtyTiles(final GameData data) {
+    final List<Tile> visibleTiles = tileManager.getTiles(getVisibleBounds());
+    renderScheduler.tilesRedrawn(TileRenderer.renderDirty(visibleTiles, data, uiContext.getMapData()));
+    SwingUtilities.invokeLater(this::repaint);
+    renderScheduler.tilesRedrawn(TileRenderer.renderDirty(tileManager.getTiles(), data, uiContext.getMapData()));
+  }
+
+  private void readAheadTiles() {
+    // include the tiles just outside the visible area, which are the next to be scrolled into view
+    final Rectangle bounds = getVisibleBounds().getBounds();
+    bounds.grow(TileManager.TILE_SIZE, TileManager.TILE_SIZE);
+    uiContext.getTileImageFactory().readAheadTiles(bounds);
+  }
+
+  private Rectangle2D getVisibleBounds() {
+    return new Rectangle2D.Double(model.getX(), model.getY(), getScaledWidth(), getScaledHeight());
   }
 
   GameData getData() {
@@ -445,30 +471,52 @@ public class MapPanel extends ImageScrollerLargeView {
     gameData.addTerritoryListener(territoryListener);
     gameData.addDataChangeListener(dataChangeListener);
     clearPendingDrawOperations();
-    executor.execute(() -> tileManager.resetTiles(gameData, uiContext.getMapData()));
+    renderScheduler.discardPendingTerritories();
+    executor.execute(() -> {
+      tileManager.resetTiles(data, uiContext.getMapData());
+      renderDirtyTiles(data);
+    });
   }
 
   private final TerritoryListener territoryListener = new TerritoryListener() {
     @Override
     public void unitsChanged(final Territory territory) {
-      updateCountries(Collections.singleton(territory));
-      SwingUtilities.invokeLater(MapPanel.this::repaint);
+      renderScheduler.territoryChanged(territory, false);
     }
 
     @Override
     public void ownerChanged(final Territory territory) {
-      smallMapImageManager.updateTerritoryOwner(territory, gameData, uiContext.getMapData());
-      updateCountries(Collections.singleton(territory));
-      SwingUtilities.invokeLater(MapPanel.this::repaint);
+      renderScheduler.territoryChanged(territory, true);
     }
 
     @Override
     public void attachmentChanged(final Territory territory) {
-      updateCountries(Collections.singleton(territory));
-      SwingUtilities.invokeLater(MapPanel.this::repaint);
+      renderScheduler.territoryChanged(territory, false);
     }
   };
 
+  /**
+   * Updates the map for the territories that changed during a frame: rebuilds their drawables, redraws the visible
+   * tiles they cover in parallel, updates the small map once and repaints both views once all tiles are drawn. Tiles
+   * that are not visible stay dirty and are drawn when they are scrolled into view.
+   */
+  private void renderFrame(final Set<Territory> territories, final Set<Territory> ownerChangedTerritories) {
+    final GameData data = gameData;
+    for (final Territory territory : ownerChangedTerritories) {
+      smallMapImageManager.updateTerritoryOwner(territory, data, uiContext.getMapData());
+    }
+    final Set<Tile> updatedTiles = tileManager.updateTerritories(territories, data, uiContext.getMapData());
+    smallMapImageManager.update(uiContext.getMapData());
+
+    final List<Tile> visibleTiles = tileManager.getTiles(getVisibleBounds());
+    visibleTiles.retainAll(updatedTiles);
+    renderScheduler.tilesRedrawn(TileRenderer.renderDirty(visibleTiles, data, uiContext.getMapData()));
+    SwingUtilities.invokeLater(() -> {
+      smallView.repaint();
+      repaint();
+    });
+  }
+
   private final GameDataChangeListener dataChangeListener = new GameDataChangeListener() {
     @Override
     public void gameDataChanged(final Change change) {
@@ -544,7 +592,7 @@ public class MapPanel extends ImageScrollerLargeView {
     super.paint(g2d);
     g2d.clip(new Rectangle2D.Double(0, 0, getImageWidth() * scale, getImageHeight() * scale));
     final Stopwatch stopWatch = new Stopwatch("Paint");
-    drawTiles(g2d, gameData, new Rectangle2D.Double(model.getX(), model.getY(), getScaledWidth(), getScaledHeight()));
+    drawTiles(g2d, gameData, getVisibleBounds());
     if (routeDescription != null && mouseShadowImage != null && routeDescription.getEnd() != null) {
       final AffineTransform t = new AffineTransform();
       t.translate(scale * normalizeX(routeDescription.getEnd().getX() - getXOffset()),
@@ -591,7 +639,6 @@ public class MapPanel extends ImageScrollerLargeView {
       if (tile.isDirty()) {
         enqueueTile(tile, data);
       }
-      final Image image = tile.getImage();
       final List<AffineTransform> transforms = MapScrollUtil.getPossibleTranslations(
           model.getScrollX(), model.getScrollY(), model.getMaxWidth(), model.getMaxHeight());
       for (final AffineTransform transform : transforms) {
@@ -600,19 +647,14 @@ public class MapPanel extends ImageScrollerLargeView {
         viewTransformation.translate(-bounds.getX(), -bounds.getY());
         viewTransformation.translate(tile.getBounds().x, tile.getBounds().y);
         viewTransformation.concatenate(transform);
-        graphics.drawImage(image, viewTransformation, this);
+        tile.paint(graphics, viewTransformation, this);
       }
     }
   }
 
   private void enqueueTile(final Tile tile, final GameData data) {
     executor.execute(() -> {
-      try {
-        data.acquireReadLock();
-        tile.drawImage(data, uiContext.getMapData());
-      } finally {
-        data.releaseReadLock();
-      }
+      TileRenderer.render(tile, data, uiContext.getMapData());
       SwingUtilities.invokeLater(this::repaint);
     });
   }
@@ -0,0 +1,177 @@
+package games.strategy.triplea.ui;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.swing.Timer;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.engine.data.Territory;
+
+/**
+ * Collects the territories that change while a frame interval elapses and renders each of them once per frame.
+ *
+ * <p>
+ * A single battle or a jump in the history fires hundreds of territory events, many for the same territories.
+ * Instead of updating the map for each event, the first event of a frame starts the frame timer, later events only
+ * add their territory to the pending set, and when the timer fires the whole set is handed to the renderer on the
+ * specified executor.
+ * </p>
+ */
+@ThreadSafe
+final class MapRenderScheduler {
+  static final Duration DEFAULT_FRAME_INTERVAL = Duration.ofMillis(16);
+
+  private final Executor executor;
+  private final FrameRenderer renderer;
+  private final Timer frameTimer;
+  private volatile boolean stopped;
+  private final Object lock = new Object();
+  @GuardedBy("lock")
+  private Set<Territory> changedTerritories = new LinkedHashSet<>();
+  @GuardedBy("lock")
+  private Set<Territory> ownerChangedTerritories = new HashSet<>();
+  @GuardedBy("lock")
+  private boolean frameScheduled;
+  private final AtomicLong eventCount = new AtomicLong();
+  private final AtomicLong frameCount = new AtomicLong();
+  private final AtomicLong territoryUpdateCount = new AtomicLong();
+  private final AtomicLong tileRedrawCount = new AtomicLong();
+
+  /**
+   * Renders the territories that changed during a frame.
+   */
+  @FunctionalInterface
+  interface FrameRenderer {
+    /**
+     * Updates the map for the specified territories.
+     *
+     * @param changedTerritories The territories that changed in any way, each listed once.
+     * @param ownerChangedTerritories The subset of {@code changedTerritories} whose owner changed.
+     */
+    void render(Set<Territory> changedTerritories, Set<Territory> ownerChangedTerritories);
+  }
+
+  MapRenderScheduler(final Duration frameInterval, final Executor executor, final FrameRenderer renderer) {
+    this.executor = checkNotNull(executor);
+    this.renderer = checkNotNull(renderer);
+    frameTimer = new Timer((int) frameInterval.toMillis(), e -> frameIntervalElapsed());
+    frameTimer.setRepeats(false);
+  }
+
+  /**
+   * Marks the specified territory as changed. It is rendered at the end of the current frame.
+   */
+  void territoryChanged(final Territory territory, final boolean ownerChanged) {
+    checkNotNull(territory);
+
+    eventCount.incrementAndGet();
+    final boolean startFrame;
+    synchronized (lock) {
+      changedTerritories.add(territory);
+      if (ownerChanged) {
+        ownerChangedTerritories.add(territory);
+      }
+      startFrame = !frameScheduled;
+      frameScheduled = true;
+    }
+    if (startFrame) {
+      frameTimer.restart();
+    }
+  }
+
+  @VisibleForTesting
+  void frameIntervalElapsed() {
+    try {
+      executor.execute(this::renderFrame);
+    } catch (final RejectedExecutionException e) {
+      // the timer may fire once more after the executor has been shut down along with the map
+      if (!stopped) {
+        throw e;
+      }
+    }
+  }
+
+  private void renderFrame() {
+    final Set<Territory> territories;
+    final Set<Territory> ownerChanged;
+    synchronized (lock) {
+      territories = changedTerritories;
+      ownerChanged = ownerChangedTerritories;
+      changedTerritories = new LinkedHashSet<>();
+      ownerChangedTerritories = new HashSet<>();
+      frameScheduled = false;
+    }
+    if (territories.isEmpty()) {
+      return;
+    }
+    frameCount.incrementAndGet();
+    territoryUpdateCount.addAndGet(territories.size());
+    renderer.render(Collections.unmodifiableSet(territories), Collections.unmodifiableSet(ownerChanged));
+  }
+
+  /**
+   * Records that the renderer redrew the specified number of tiles.
+   */
+  void tilesRedrawn(final int count) {
+    tileRedrawCount.addAndGet(count);
+  }
+
+  /**
+   * Drops the territories that changed since the last frame, e.g. because the game data they belong to is replaced.
+   */
+  void discardPendingTerritories() {
+    synchronized (lock) {
+      changedTerritories.clear();
+      ownerChangedTerritories.clear();
+      // the executor queue may have been cleared along with a pending frame
+      frameScheduled = false;
+    }
+  }
+
+  /**
+   * Stops rendering. Territories that change afterwards are never rendered. The executor may be shut down once this
+   * method returns.
+   */
+  void stop() {
+    stopped = true;
+    synchronized (lock) {
+      changedTerritories.clear();
+      ownerChangedTerritories.clear();
+      // no frame is started once this flag is set
+      frameScheduled = true;
+    }
+    frameTimer.stop();
+  }
+
+  /** Returns the number of territory events received. */
+  long getEventCount() {
+    return eventCount.get();
+  }
+
+  /** Returns the number of frames rendered. */
+  long getFrameCount() {
+    return frameCount.get();
+  }
+
+  /** Returns the number of territories rendered, counting a territory once per frame in which it changed. */
+  long getTerritoryUpdateCount() {
+    return territoryUpdateCount.get();
+  }
+
+  /** Returns the number of tiles redrawn. */
+  long getTileRedrawCount() {
+    return tileRedrawCount.get();
+  }
+}
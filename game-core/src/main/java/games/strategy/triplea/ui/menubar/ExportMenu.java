@@ -45,6 +45,7 @@ import games.strategy.triplea.attachments.UnitAttachment;
 import games.strategy.triplea.delegate.EndRoundDelegate;
 import games.strategy.triplea.printgenerator.SetupFrame;
 import games.strategy.triplea.ui.ExtendedStats;
+import games.strategy.triplea.ui.HistoryExporter;
 import games.strategy.triplea.ui.TripleAFrame;
 import games.strategy.triplea.ui.UiContext;
 import games.strategy.triplea.ui.export.ScreenshotExporter;
@@ -76,6 +77,7 @@ final class ExportMenu extends JMenu {
     addExportXml();
     addExportStats();
     addExportStatsFull();
+    addExportHistoryEvents();
     addExportSetupCharts();
     addExportUnitStats();
     addSaveScreenshot();
@@ -375,6 +377,40 @@ final class ExportMenu extends JMenu {
     }
   }
 
+  private void addExportHistoryEvents() {
+    final Action exportHistoryEvents = SwingAction.of("Export History Events", e -> exportHistoryEvents());
+    add(exportHistoryEvents).setMnemonic(KeyEvent.VK_H);
+  }
+
+  private void exportHistoryEvents() {
+    final JFileChooser chooser = new JFileChooser();
+    chooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+    final File rootDir = new File(SystemProperties.getUserDir());
+    String defaultFileName = "history_" + dateTimeFormatter.format(LocalDateTime.now()) + "_"
+        + gameData.getGameName() + "_round_" + gameData.getCurrentRound();
+    defaultFileName = FileNameUtils.removeIllegalCharacters(defaultFileName);
+    defaultFileName = defaultFileName + ".csv";
+    chooser.setSelectedFile(new File(rootDir, defaultFileName));
+    if (chooser.showSaveDialog(frame) != JOptionPane.OK_OPTION) {
+      return;
+    }
+    final GameData clone;
+    try {
+      gameData.acquireReadLock();
+      clone = GameDataUtils.cloneGameData(gameData);
+    } finally {
+      gameData.releaseReadLock();
+    }
+    if (clone == null) {
+      return;
+    }
+    try (Writer writer = Files.newBufferedWriter(chooser.getSelectedFile().toPath(), StandardCharsets.UTF_8)) {
+      HistoryExporter.export(clone, writer);
+    } catch (final IOException e1) {
+      log.log(Level.SEVERE, "Failed to write history events: " + chooser.getSelectedFile().getAbsolutePath(), e1);
+    }
+  }
+
   private void addExportUnitStats() {
     final JMenuItem menuFileExport = new JMenuItem(SwingAction.of("Export Unit Charts", e -> {
       final JFileChooser chooser = new JFileChooser();
@@ -1,19 +1,19 @@
 package games.strategy.triplea.ui.screen;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -26,17 +26,25 @@ import games.strategy.ui.Util;
 /**
  * A class representing a Tile of the Map and storing the image to be rendered
  * on the screen.
- * This class doesn't guarantee to be Thread-Safe although
- * it's safe to use this class between multiple Threads
- * which might cause outdated Images which is totally fine.
+ *
+ * <p>
+ * The drawables are kept sorted by level as they are added, so drawing a tile does not need to sort them. A tile is
+ * drawn into a scratch image owned by the drawing thread, which is then swapped with the displayed image, so a tile
+ * that is painted while it is being drawn shows its previous image rather than a partially drawn one. The image that
+ * is swapped out becomes the drawing thread's scratch image for the next tile.
+ * </p>
  */
 public class Tile {
+  private static final ThreadLocal<BufferedImage> scratchImage = new ThreadLocal<>();
+
   private volatile boolean isDirty = true;
 
-  private final Image image;
+  private final Object imageLock = new Object();
+  @GuardedBy("imageLock")
+  private Image image;
   private final Rectangle bounds;
-  private final Queue<IDrawable> contents = new PriorityBlockingQueue<>(1,
-      Comparator.comparingInt(IDrawable::getLevel));
+  @GuardedBy("contents")
+  private final List<IDrawable> contents = new ArrayList<>();
 
   Tile(final Rectangle bounds) {
     this(bounds, Util.createImage((int) bounds.getWidth(), (int) bounds.getHeight(), true));
@@ -52,69 +60,126 @@ public class Tile {
     return isDirty;
   }
 
+  /**
+   * Returns the image currently displayed for this tile. The returned image may be reused to draw another tile once
+   * this tile is drawn again; use {@link #paint(Graphics2D, AffineTransform, ImageObserver)} to paint the tile safely.
+   */
   public Image getImage() {
-    return image;
+    synchronized (imageLock) {
+      return image;
+    }
+  }
+
+  /**
+   * Paints the image currently displayed for this tile using the specified transform.
+   */
+  public void paint(final Graphics2D graphics, final AffineTransform transform, final ImageObserver observer) {
+    synchronized (imageLock) {
+      graphics.drawImage(image, transform, observer);
+    }
   }
 
   /**
    * This method draws an image based on the provided GameData and MapData.
-   * It first creates an empty image with the same size and properties
-   * as the image field, applies all of the drawing operations to it
-   * copies the resulting pixels to the stored image and disposes
-   * the resources afterwards.
+   * It draws all of the drawables, in order of their level, into a scratch
+   * image owned by the current thread and then swaps it with the displayed
+   * image.
    *
    * <p>
    * This is to ensure we don't draw the Tile mid-generating
-   * without having to synchronize it.
+   * without having to synchronize the drawing itself.
    * </p>
    */
   public void drawImage(final GameData data, final MapData mapData) {
-    final BufferedImage writeBuffer = Util.createImage(image.getWidth(null),
-        image.getHeight(null), true);
-    final Graphics2D g = (Graphics2D) writeBuffer.getGraphics();
+    final Stopwatch stopWatch = new Stopwatch("Drawing Tile at " + bounds);
+    // changes made while drawing mark the tile dirty again
+    isDirty = false;
+    final IDrawable[] drawables;
+    synchronized (contents) {
+      drawables = contents.toArray(new IDrawable[0]);
+    }
+
+    final BufferedImage writeBuffer = takeScratchImage();
+    final Graphics2D g = writeBuffer.createGraphics();
+    g.setComposite(AlphaComposite.Clear);
+    g.fillRect(0, 0, writeBuffer.getWidth(), writeBuffer.getHeight());
+    g.setComposite(AlphaComposite.SrcOver);
     g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
     g.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
     g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-    draw(g, data, mapData);
-
-    final Graphics2D imageGraphics = (Graphics2D) image.getGraphics();
-    imageGraphics.drawImage(writeBuffer, new AffineTransform(), null);
-    imageGraphics.dispose();
+    for (final IDrawable drawable : drawables) {
+      drawable.draw(bounds, data, g, mapData);
+    }
     g.dispose();
-  }
 
-  private void draw(final Graphics2D g, final GameData data, final MapData mapData) {
-    final Stopwatch stopWatch = new Stopwatch("Drawing Tile at " + bounds);
-    final Queue<IDrawable> clone = new PriorityBlockingQueue<>(contents);
-    while (!clone.isEmpty()) {
-      clone.remove().draw(bounds, data, g, mapData);
+    final Image previousImage;
+    synchronized (imageLock) {
+      previousImage = image;
+      image = writeBuffer;
+    }
+    if (previousImage instanceof BufferedImage) {
+      scratchImage.set((BufferedImage) previousImage);
     }
-    isDirty = false;
     stopWatch.done();
   }
 
+  private BufferedImage takeScratchImage() {
+    final @Nullable BufferedImage scratch = scratchImage.get();
+    scratchImage.remove();
+    return (scratch != null && scratch.getWidth() == bounds.width && scratch.getHeight() == bounds.height)
+        ? scratch
+        : Util.createImage(bounds.width, bounds.height, true);
+  }
+
   void addDrawables(final Collection<IDrawable> drawables) {
-    contents.addAll(drawables);
+    synchronized (contents) {
+      drawables.forEach(this::insertSorted);
+    }
     isDirty = true;
   }
 
   void addDrawable(final IDrawable d) {
-    contents.add(d);
+    synchronized (contents) {
+      insertSorted(d);
+    }
     isDirty = true;
   }
 
+  @GuardedBy("contents")
+  private void insertSorted(final IDrawable drawable) {
+    // insert after all drawables of the same level, so drawables of equal level keep their insertion order
+    final int level = drawable.getLevel();
+    int low = 0;
+    int high = contents.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (contents.get(mid).getLevel() <= level) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    contents.add(low, drawable);
+  }
+
   void removeDrawables(final Collection<IDrawable> c) {
-    contents.removeAll(c);
+    synchronized (contents) {
+      contents.removeAll(c);
+    }
     isDirty = true;
   }
 
   void clear() {
-    contents.clear();
+    synchronized (contents) {
+      contents.clear();
+    }
     isDirty = true;
   }
 
   List<IDrawable> getDrawables() {
-    return new ArrayList<>(contents);
+    synchronized (contents) {
+      return new ArrayList<>(contents);
+    }
   }
 
   public Rectangle getBounds() {
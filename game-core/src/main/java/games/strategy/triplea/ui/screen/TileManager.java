@@ -25,6 +25,8 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
+
 import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.engine.data.GameData;
@@ -185,17 +187,30 @@ public class TileManager {
     }
   }
 
-  public void updateTerritories(final Collection<Territory> territories, final GameData data, final MapData mapData) {
+  /**
+   * Replaces the drawables of the specified territories with drawables reflecting their current state.
+   *
+   * @return The tiles on which the territories were or are now drawn; these tiles need to be redrawn.
+   */
+  public Set<Tile> updateTerritories(final Collection<Territory> territories, final GameData data,
+      final MapData mapData) {
+    final Set<Tile> updatedTiles = new HashSet<>();
     data.acquireReadLock();
     try {
       acquireLock();
       try {
         if (territories == null) {
-          return;
+          return updatedTiles;
         }
         for (final Territory territory : territories) {
+          final @Nullable Set<Tile> oldTiles = territoryTiles.get(territory.getName());
+          if (oldTiles != null) {
+            updatedTiles.addAll(oldTiles);
+          }
           updateTerritory(territory, data, mapData);
+          updatedTiles.addAll(territoryTiles.get(territory.getName()));
         }
+        return updatedTiles;
       } finally {
         releaseLock();
       }
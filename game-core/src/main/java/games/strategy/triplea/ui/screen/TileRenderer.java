@@ -0,0 +1,46 @@
+package games.strategy.triplea.ui.screen;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.ui.mapdata.MapData;
+
+/**
+ * Draws tiles while holding the game data read lock.
+ */
+public final class TileRenderer {
+  private TileRenderer() {}
+
+  /**
+   * Draws the specified tile.
+   */
+  public static void render(final Tile tile, final GameData data, final MapData mapData) {
+    data.acquireReadLock();
+    try {
+      tile.drawImage(data, mapData);
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  /**
+   * Draws those of the specified tiles that are dirty, in parallel on the common fork-join pool, and returns when all
+   * of them are drawn.
+   *
+   * <p>
+   * The calling thread must not hold the game data write lock, because the tiles are drawn by other threads that need
+   * the read lock.
+   * </p>
+   *
+   * @return The number of tiles drawn.
+   */
+  public static int renderDirty(final Collection<Tile> tiles, final GameData data, final MapData mapData) {
+    final List<Tile> dirtyTiles = tiles.stream()
+        .filter(Tile::isDirty)
+        .collect(Collectors.toList());
+    dirtyTiles.parallelStream().forEach(tile -> render(tile, data, mapData));
+    return dirtyTiles.size();
+  }
+}
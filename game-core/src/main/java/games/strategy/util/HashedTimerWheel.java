@@ -0,0 +1,187 @@
+package games.strategy.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import lombok.extern.java.Log;
+
+/**
+ * Runs tasks at given times using a single thread, however many tasks are pending.
+ *
+ * <p>
+ * Time is divided into ticks of a fixed duration. Pending tasks are kept in a ring of buckets, one bucket per tick,
+ * and a task whose deadline is more than one revolution of the ring away waits in its bucket for later revolutions.
+ * Scheduling and cancelling a task take constant time and never block, while the timer thread wakes up once per tick
+ * and only looks at one bucket. A task runs on the first tick at or after its deadline, so it may run up to one tick
+ * late but never early.
+ * </p>
+ *
+ * <p>
+ * Tasks run on the timer thread, one at a time, so they must be short. A task that throws is logged and does not
+ * affect other tasks. The timer thread is a daemon thread that is started when the first task is scheduled.
+ * </p>
+ */
+@Log
+@ThreadSafe
+public final class HashedTimerWheel {
+  private final String threadName;
+  private final long tickMillis;
+  private final List<List<Timeout>> wheel;
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile boolean shutDown;
+  private volatile Thread timerThread;
+  // the following are accessed only by the timer thread
+  private long startMillis;
+  private long tick;
+
+  /**
+   * Initializes a new timer wheel.
+   *
+   * @param threadName The name of the timer thread.
+   * @param tickDuration The precision of the timer.
+   * @param wheelSize The number of buckets; deadlines up to {@code tickDuration * wheelSize} away are reached in one
+   *        revolution.
+   */
+  public HashedTimerWheel(final String threadName, final Duration tickDuration, final int wheelSize) {
+    checkArgument(tickDuration.toMillis() > 0, "tick duration must be at least one millisecond");
+    checkArgument(wheelSize > 0, "wheel size must be positive");
+
+    this.threadName = checkNotNull(threadName);
+    tickMillis = tickDuration.toMillis();
+    wheel = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      wheel.add(new ArrayList<>());
+    }
+  }
+
+  /**
+   * Schedules the specified task to run at the specified time. A deadline in the past runs the task on the next tick.
+   *
+   * @return A handle that can cancel the task.
+   *
+   * @throws IllegalStateException If this timer has been shut down.
+   */
+  public Timeout schedule(final Runnable task, final Instant deadline) {
+    checkNotNull(task);
+    checkNotNull(deadline);
+    if (shutDown) {
+      throw new IllegalStateException("timer has been shut down");
+    }
+
+    final Timeout timeout = new Timeout(task, deadline.toEpochMilli());
+    pendingTimeouts.add(timeout);
+    if (started.compareAndSet(false, true)) {
+      final Thread thread = new Thread(this::run, threadName);
+      thread.setDaemon(true);
+      timerThread = thread;
+      thread.start();
+    }
+    return timeout;
+  }
+
+  /**
+   * Stops the timer thread. Tasks that have not run yet never run.
+   */
+  public void shutDown() {
+    shutDown = true;
+    final Thread thread = timerThread;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void run() {
+    startMillis = System.currentTimeMillis();
+    while (!shutDown) {
+      final long sleepMillis = startMillis + tick * tickMillis - System.currentTimeMillis();
+      if (sleepMillis > 0) {
+        try {
+          Thread.sleep(sleepMillis);
+        } catch (final InterruptedException e) {
+          return;
+        }
+      } else {
+        addPendingTimeouts();
+        expireTimeouts();
+        tick++;
+      }
+    }
+  }
+
+  private void addPendingTimeouts() {
+    for (Timeout timeout = pendingTimeouts.poll(); timeout != null; timeout = pendingTimeouts.poll()) {
+      if (!timeout.isCancelled()) {
+        // round up, so a task never runs before its deadline
+        final long deadlineTick = (timeout.deadlineMillis - startMillis + tickMillis - 1) / tickMillis;
+        timeout.tick = Math.max(deadlineTick, tick);
+        wheel.get((int) (timeout.tick % wheel.size())).add(timeout);
+      }
+    }
+  }
+
+  private void expireTimeouts() {
+    final Iterator<Timeout> bucket = wheel.get((int) (tick % wheel.size())).iterator();
+    while (bucket.hasNext()) {
+      final Timeout timeout = bucket.next();
+      if (timeout.isCancelled()) {
+        bucket.remove();
+      } else if (timeout.tick <= tick) {
+        bucket.remove();
+        timeout.expire();
+      }
+    }
+  }
+
+  /**
+   * A task scheduled on a {@link HashedTimerWheel}.
+   */
+  @ThreadSafe
+  public static final class Timeout {
+    private final Runnable task;
+    private final long deadlineMillis;
+    private final AtomicBoolean done = new AtomicBoolean();
+    // accessed only by the timer thread
+    private long tick;
+
+    private Timeout(final Runnable task, final long deadlineMillis) {
+      this.task = task;
+      this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Prevents the task from running if it has not run yet.
+     *
+     * @return {@code true} if the task will not run because of this call.
+     */
+    public boolean cancel() {
+      return done.compareAndSet(false, true);
+    }
+
+    private boolean isCancelled() {
+      return done.get();
+    }
+
+    private void expire() {
+      if (done.compareAndSet(false, true)) {
+        try {
+          task.run();
+        } catch (final RuntimeException e) {
+          log.log(Level.SEVERE, "Timer task failed", e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package games.strategy.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A lock-free histogram of operation latencies.
+ *
+ * <p>
+ * Latencies are counted in buckets whose upper bounds are powers of two milliseconds (1 ms, 2 ms, 4 ms, ... up to
+ * about 65 seconds), so percentiles reported by this class are upper bounds with at most a factor of two of error. That
+ * is precise enough to tell a healthy server from a degraded one while costing only a couple of atomic increments per
+ * recorded sample.
+ * </p>
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+  private static final int BUCKET_COUNT = 17;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT + 1);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records a single latency sample.
+   *
+   * @param nanos The latency in nanoseconds; negative values are treated as zero.
+   */
+  public void record(final long nanos) {
+    final long boundedNanos = Math.max(0, nanos);
+    buckets.incrementAndGet(bucketIndex(TimeUnit.NANOSECONDS.toMillis(boundedNanos)));
+    count.increment();
+    totalNanos.add(boundedNanos);
+    maxNanos.accumulate(boundedNanos);
+  }
+
+  private static int bucketIndex(final long millis) {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      if (millis < bucketUpperBoundMillis(i)) {
+        return i;
+      }
+    }
+    return BUCKET_COUNT;
+  }
+
+  private static long bucketUpperBoundMillis(final int index) {
+    return 1L << index;
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getMaxMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+  }
+
+  public double getMeanMillis() {
+    final long samples = count.sum();
+    return (samples == 0) ? 0.0 : (totalNanos.sum() / (double) samples) / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * Returns an upper bound, in milliseconds, of the given percentile of all recorded latencies, or zero if nothing has
+   * been recorded yet.
+   *
+   * @param percentile The percentile to compute; must be in the range (0, 100].
+   */
+  public long getPercentileMillis(final double percentile) {
+    checkArgument(percentile > 0 && percentile <= 100, "percentile must be in the range (0, 100]");
+
+    final long[] snapshot = new long[buckets.length()];
+    long samples = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = buckets.get(i);
+      samples += snapshot[i];
+    }
+    if (samples == 0) {
+      return 0;
+    }
+
+    final long rank = (long) Math.ceil(samples * percentile / 100.0);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(bucketUpperBoundMillis(i), getMaxMillis());
+      }
+    }
+    return getMaxMillis();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d, mean=%.1fms, p50<=%dms, p99<=%dms, max=%dms",
+        getCount(), getMeanMillis(), getPercentileMillis(50), getPercentileMillis(99), getMaxMillis());
+  }
+}
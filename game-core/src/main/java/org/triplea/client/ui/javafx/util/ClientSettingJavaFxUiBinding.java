@@ -81,6 +81,14 @@ public enum ClientSettingJavaFxUiBinding implements GameSettingUiBinding<Region>
       SettingType.GAME,
       ClientSetting.TRIPLEA_FIRST_TIME_THIS_VERSION_PROPERTY),
 
+  USE_MAP_TILE_PACKS_BINDING(
+      SettingType.GAME,
+      ClientSetting.USE_MAP_TILE_PACKS),
+
+  CACHE_GAME_TEMPLATES_ON_DISK_BINDING(
+      SettingType.GAME,
+      ClientSetting.CACHE_GAME_TEMPLATES_ON_DISK),
+
   SAVE_GAMES_FOLDER_PATH_BINDING(
       SettingType.FOLDER_LOCATIONS,
       JavaFxSelectionComponentFactory.folderPath(ClientSetting.SAVE_GAMES_FOLDER_PATH)),
@@ -1,13 +1,15 @@
 package games.strategy.engine.chat;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 public class ChatFloodControlTest {
-  private static final long INITIAL_CLEAR_TIME = 100;
-  private final ChatFloodControl testObj = new ChatFloodControl(INITIAL_CLEAR_TIME);
+  private static final long INITIAL_TIME = 100;
+  private final ChatFloodControl testObj = new ChatFloodControl();
 
   @Test
   public void testSimple() {
@@ -25,10 +27,43 @@ public class ChatFloodControlTest {
 
   @Test
   public void throttlingReleasedAfterTimePeriod() {
-    final long now = 100;
+    final long now = INITIAL_TIME;
     for (int i = 0; i < 100; i++) {
       testObj.allow("", now);
     }
-    assertTrue(testObj.allow("", INITIAL_CLEAR_TIME + ChatFloodControl.WINDOW + 1));
+    assertTrue(testObj.allow("", INITIAL_TIME + ChatFloodControl.WINDOW + 1));
+  }
+
+  @Test
+  public void throttlingReleasesOneEventPerInterval() {
+    for (int i = 0; i < ChatFloodControl.EVENTS_PER_WINDOW; i++) {
+      testObj.allow("", INITIAL_TIME);
+    }
+    final long interval = ChatFloodControl.WINDOW / ChatFloodControl.EVENTS_PER_WINDOW;
+
+    assertFalse(testObj.allow("", INITIAL_TIME + interval - 1));
+    assertTrue(testObj.allow("", INITIAL_TIME + interval));
+    assertFalse(testObj.allow("", INITIAL_TIME + interval));
+  }
+
+  @Test
+  public void throttlingIsPerSender() {
+    for (int i = 0; i < ChatFloodControl.EVENTS_PER_WINDOW; i++) {
+      testObj.allow("flooder", INITIAL_TIME);
+    }
+
+    assertFalse(testObj.allow("flooder", INITIAL_TIME));
+    assertTrue(testObj.allow("other", INITIAL_TIME));
+  }
+
+  @Test
+  public void sendersWithFullBucketsAreForgotten() {
+    testObj.allow("first", INITIAL_TIME);
+    testObj.allow("second", INITIAL_TIME);
+    assertThat(testObj.getSenderCount(), is(2));
+
+    testObj.allow("third", INITIAL_TIME + ChatFloodControl.WINDOW);
+
+    assertThat(testObj.getSenderCount(), is(1));
   }
 }
@@ -15,6 +15,96 @@ public final class LobbyPropertyReaderTest {
   private final MemoryPropertyReader memoryPropertyReader = new MemoryPropertyReader();
   private final LobbyPropertyReader lobbyPropertyReader = new LobbyPropertyReader(memoryPropertyReader);
 
+  @Nested
+  public final class GetAuthenticationQueueCapacityTest {
+    @Test
+    public void shouldReturnValueWhenPresent() {
+      final int value = 42;
+      memoryPropertyReader.setProperty(PropertyKeys.AUTHENTICATION_QUEUE_CAPACITY, String.valueOf(value));
+
+      assertThat(lobbyPropertyReader.getAuthenticationQueueCapacity(), is(value));
+    }
+
+    @Test
+    public void shouldReturnDefaultValueWhenAbsent() {
+      memoryPropertyReader.setProperty(PropertyKeys.AUTHENTICATION_QUEUE_CAPACITY, "");
+
+      assertThat(lobbyPropertyReader.getAuthenticationQueueCapacity(), is(DefaultValues.AUTHENTICATION_QUEUE_CAPACITY));
+    }
+  }
+
+  @Nested
+  public final class GetAuthenticationThreadsTest {
+    @Test
+    public void shouldReturnValueWhenPresent() {
+      final int value = 2;
+      memoryPropertyReader.setProperty(PropertyKeys.AUTHENTICATION_THREADS, String.valueOf(value));
+
+      assertThat(lobbyPropertyReader.getAuthenticationThreads(), is(value));
+    }
+
+    @Test
+    public void shouldReturnDefaultValueWhenAbsent() {
+      memoryPropertyReader.setProperty(PropertyKeys.AUTHENTICATION_THREADS, "");
+
+      assertThat(lobbyPropertyReader.getAuthenticationThreads(), is(DefaultValues.AUTHENTICATION_THREADS));
+    }
+  }
+
+  @Nested
+  public final class GetInvocationQueueCapacityTest {
+    @Test
+    public void shouldReturnValueWhenPresent() {
+      final int value = 42;
+      memoryPropertyReader.setProperty(PropertyKeys.INVOCATION_QUEUE_CAPACITY, String.valueOf(value));
+
+      assertThat(lobbyPropertyReader.getInvocationQueueCapacity(), is(value));
+    }
+
+    @Test
+    public void shouldReturnDefaultValueWhenAbsent() {
+      memoryPropertyReader.setProperty(PropertyKeys.INVOCATION_QUEUE_CAPACITY, "");
+
+      assertThat(lobbyPropertyReader.getInvocationQueueCapacity(), is(DefaultValues.INVOCATION_QUEUE_CAPACITY));
+    }
+  }
+
+  @Nested
+  public final class GetInvocationThreadsTest {
+    @Test
+    public void shouldReturnValueWhenPresent() {
+      final int value = 4;
+      memoryPropertyReader.setProperty(PropertyKeys.INVOCATION_THREADS, String.valueOf(value));
+
+      assertThat(lobbyPropertyReader.getInvocationThreads(), is(value));
+    }
+
+    @Test
+    public void shouldReturnDefaultValueWhenAbsent() {
+      memoryPropertyReader.setProperty(PropertyKeys.INVOCATION_THREADS, "");
+
+      assertThat(lobbyPropertyReader.getInvocationThreads(), is(DefaultValues.INVOCATION_THREADS));
+    }
+  }
+
+  @Nested
+  public final class GetMaxPendingLoginsPerAddressTest {
+    @Test
+    public void shouldReturnValueWhenPresent() {
+      final int value = 3;
+      memoryPropertyReader.setProperty(PropertyKeys.MAX_PENDING_LOGINS_PER_ADDRESS, String.valueOf(value));
+
+      assertThat(lobbyPropertyReader.getMaxPendingLoginsPerAddress(), is(value));
+    }
+
+    @Test
+    public void shouldReturnDefaultValueWhenAbsent() {
+      memoryPropertyReader.setProperty(PropertyKeys.MAX_PENDING_LOGINS_PER_ADDRESS, "");
+
+      assertThat(lobbyPropertyReader.getMaxPendingLoginsPerAddress(), is(DefaultValues.MAX_PENDING_LOGINS_PER_ADDRESS));
+    }
+  }
+
   @Nested
   public final class GetPortTest {
     @Test
@@ -87,6 +177,24 @@ public final class LobbyPropertyReaderTest {
     }
   }
 
+  @Nested
+  public final class GetPostgresPoolSizeTest {
+    @Test
+    public void shouldReturnValueWhenPresent() {
+      final int value = 5;
+      memoryPropertyReader.setProperty(PropertyKeys.POSTGRES_POOL_SIZE, String.valueOf(value));
+
+      assertThat(lobbyPropertyReader.getPostgresPoolSize(), is(value));
+    }
+
+    @Test
+    public void shouldReturnDefaultValueWhenAbsent() {
+      memoryPropertyReader.setProperty(PropertyKeys.POSTGRES_POOL_SIZE, "");
+
+      assertThat(lobbyPropertyReader.getPostgresPoolSize(), is(DefaultValues.POSTGRES_POOL_SIZE));
+    }
+  }
+
   @Nested
   public final class GetPostgresPortTest {
     @Test
@@ -1,13 +1,26 @@
 package games.strategy.engine.data;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
 import games.strategy.util.Tuple;
 
 public final class GameParserTest {
@@ -31,4 +44,110 @@ public final class GameParserTest {
           });
     }
   }
+
+  @Nested
+  public final class ParseTest {
+    @Test
+    public void shouldCreateDefaultTechnologiesFromPropertiesThatFollowAttachments() throws Exception {
+      final GameData data = TestMapGameData.WW2V3_1941.getGameData();
+
+      final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+      assertThat(germans.getTechnologyFrontierList().getFrontiers().size(), is(2));
+      assertThat(data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY).getAttachments().isEmpty(),
+          is(false));
+      assertThat(germans.getResources().getQuantity(Constants.PUS) > 0, is(true));
+    }
+
+    @Test
+    public void shouldApplyAllOptionsOfAttachment() throws Exception {
+      final GameData data = TestMapGameData.WW2V3_1941.getGameData();
+
+      final PlayerID germans = data.getPlayerList().getPlayerId("Germans");
+      final UnitType infantryType = data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INFANTRY);
+      final UnitAttachment infantry = UnitAttachment.get(infantryType);
+      assertThat(infantry.getMovement(germans), is(1));
+      assertThat(infantry.getTransportCost(), is(2));
+      assertThat(Matches.unitIsLandTransportable().test(infantryType.create(germans)), is(true));
+      assertThat(infantry.getIsAirTransportable(), is(true));
+      assertThat(infantry.getAttack(germans), is(1));
+      assertThat(infantry.getDefense(germans), is(2));
+      assertThat(infantry.getArtillerySupportable(), is(true));
+    }
+
+    @Test
+    public void shallowParseShouldReadPlayersAndPropertiesOnly() throws Exception {
+      try (InputStream is = Files.newInputStream(Paths.get("src", "test", "resources", "ww2v3_1941_test.xml"))) {
+        final GameData data = GameParser.parseShallow("game name", is);
+
+        assertThat(data.getPlayerList().size(), is(7));
+        assertThat(data.getProperties().get(Constants.MAP_NAME, ""), is("World War II v3 1941 Test"));
+        assertThat(data.getProperties().get("notes", ""), is(not(emptyString())));
+        assertThat(data.getMap().getTerritories().isEmpty(), is(true));
+      }
+    }
+
+    @Test
+    public void shouldParseResourcesDisplayedForPlayersThatFollowThem() throws Exception {
+      final GameData data = parse(newGame(
+          "<resourceList><resource name='gold' isDisplayedFor='bush'/></resourceList>",
+          "<playerList><player name='bush' optional='false'/><player name='castro' optional='false'/></playerList>"));
+
+      final Resource gold = data.getResourceList().getResource("gold");
+      assertThat(gold.isDisplayedFor(data.getPlayerList().getPlayerId("bush")), is(true));
+      assertThat(gold.isDisplayedFor(data.getPlayerList().getPlayerId("castro")), is(false));
+    }
+
+    @Test
+    public void shouldFailWhenDeferredResourcesReferToUnknownPlayer() {
+      final GameParseException e = assertThrows(GameParseException.class, () -> parse(newGame(
+          "<resourceList><resource name='gold' isDisplayedFor='castro'/></resourceList>",
+          "<playerList><player name='bush' optional='false'/></playerList>")));
+
+      assertThat(e.getMessage(), containsString("could not find player: castro"));
+    }
+
+    @Test
+    public void shouldFailWhenSectionIsDuplicated() {
+      final GameParseException e = assertThrows(GameParseException.class, () -> parse(newGame(
+          "<map><territory name='us'/></map>",
+          "<playerList><player name='bush' optional='false'/></playerList>")));
+
+      assertThat(e.getMessage(), containsString("Too many children named map"));
+    }
+
+    @Test
+    public void shouldFailWhenRequiredSectionIsMissing() {
+      final GameParseException e = assertThrows(GameParseException.class, () -> GameParser.parseShallow("game name",
+          newInputStream(newDocument("<info name='test' version='1.0'/>"
+              + "<loader javaClass='games.strategy.engine.xml.TestGameLoader'/>"))));
+
+      assertThat(e.getMessage(), containsString("No child called playerList"));
+    }
+
+    private GameData parse(final String xml) throws Exception {
+      return GameParser.parse("game name", newInputStream(xml));
+    }
+
+    private InputStream newInputStream(final String xml) {
+      return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns a minimal game definition with the specified sections between its map and its game play.
+     */
+    private String newGame(final String... sections) {
+      return newDocument("<info name='test' version='1.0'/>"
+          + "<loader javaClass='games.strategy.engine.xml.TestGameLoader'/>"
+          + "<map><territory name='us'/></map>"
+          + String.join("", sections)
+          + "<gamePlay>"
+          + "<delegate name='move' javaClass='games.strategy.engine.xml.TestDelegate'/>"
+          + "<sequence><step name='usMove' delegate='move' player='bush'/></sequence>"
+          + "</gamePlay>");
+    }
+
+    private String newDocument(final String sections) {
+      return "<?xml version='1.0'?><!DOCTYPE game SYSTEM 'game.dtd'><game>" + sections + "</game>";
+    }
+  }
 }
@@ -0,0 +1,111 @@
+package games.strategy.engine.data.changefactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public final class ChangeCompactorTest {
+  private final List<Change> changes = new ArrayList<>();
+  private GameData gameData;
+  private Territory canada;
+  private Territory greenland;
+  private PlayerID chretian;
+  private PlayerID bush;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.TEST.getGameData();
+    canada = gameData.getMap().getTerritory("canada");
+    greenland = gameData.getMap().getTerritory("greenland");
+    chretian = gameData.getPlayerList().getPlayerId("chretian");
+    bush = gameData.getPlayerList().getPlayerId("bush");
+  }
+
+  private void perform(final Change change) {
+    changes.add(change);
+    gameData.performChange(change);
+  }
+
+  private void undoAll() {
+    gameData.performChange(new CompositeChange(changes).invert());
+  }
+
+  private Collection<Unit> getInfantry(final Territory territory, final int count) {
+    return territory.getUnits().getUnits(gameData.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF), count);
+  }
+
+  @Test
+  public void compactShouldMergeUnitMovesIntoNetMove() {
+    final Collection<Unit> units = getInfantry(canada, 3);
+    perform(ChangeFactory.moveUnits(canada, greenland, units));
+    perform(ChangeFactory.moveUnits(greenland, canada, units));
+    perform(ChangeFactory.moveUnits(canada, greenland, units));
+    undoAll();
+
+    final CompositeChange compacted = ChangeCompactor.compact(changes);
+    gameData.performChange(compacted);
+
+    assertThat(compacted.getChanges().size(), is(2));
+    assertThat(canada.getUnits().getUnitCount(), is(2));
+    assertThat(greenland.getUnits().getUnits(), containsInAnyOrder(units.toArray()));
+    gameData.performChange(compacted.invert());
+    assertThat(canada.getUnits().getUnitCount(), is(5));
+    assertThat(greenland.getUnits().getUnits(), is(empty()));
+  }
+
+  @Test
+  public void compactShouldKeepLastValueOfOwnerAndSumOfResources() {
+    final Resource gold = gameData.getResourceList().getResource("gold");
+    perform(ChangeFactory.changeOwner(greenland, bush));
+    perform(ChangeFactory.changeResourcesChange(chretian, gold, 50));
+    perform(ChangeFactory.changeOwner(greenland, chretian));
+    perform(ChangeFactory.changeResourcesChange(chretian, gold, -20));
+    perform(ChangeFactory.changeOwner(canada, bush));
+    undoAll();
+
+    final CompositeChange compacted = ChangeCompactor.compact(changes);
+    gameData.performChange(compacted);
+
+    assertThat(compacted.getChanges().size(), is(2));
+    assertThat(greenland.getOwner(), is(chretian));
+    assertThat(canada.getOwner(), is(bush));
+    assertThat(chretian.getResources().getQuantity(gold), is(130));
+    gameData.performChange(compacted.invert());
+    assertThat(canada.getOwner(), is(chretian));
+    assertThat(chretian.getResources().getQuantity(gold), is(100));
+  }
+
+  @Test
+  public void compactShouldNotMergeChangesAcrossOtherChanges() {
+    final Change frontierChange = ChangeFactory.changeProductionFrontier(chretian,
+        gameData.getProductionFrontierList().getProductionFrontier("usProd"));
+    perform(ChangeFactory.changeOwner(greenland, bush));
+    perform(frontierChange);
+    perform(ChangeFactory.changeOwner(greenland, chretian));
+    undoAll();
+
+    final CompositeChange compacted = ChangeCompactor.compact(changes);
+
+    assertThat(compacted.getChanges().size(), is(3));
+    assertThat(compacted.getChanges(), contains(changes.get(0), frontierChange, changes.get(2)));
+  }
+}
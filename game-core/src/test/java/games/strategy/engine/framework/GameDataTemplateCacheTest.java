@@ -0,0 +1,120 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import javax.annotation.Nullable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.util.Version;
+
+public final class GameDataTemplateCacheTest {
+  private static final Version ENGINE_VERSION = new Version(1, 9, 0, 0);
+
+  private File folder;
+  private byte[] xml;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    folder = Files.createTempDirectory("gameCache").toFile();
+    xml = Files.readAllBytes(Paths.get("src", "test", "resources", "GameExample.xml"));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    for (final File file : folder.listFiles()) {
+      file.delete();
+    }
+    folder.delete();
+  }
+
+  private static GameDataTemplateCache newCache(final @Nullable File folder) {
+    return new GameDataTemplateCache(folder, ENGINE_VERSION, GameDataTemplateCache.DEFAULT_MAX_DISK_BYTES);
+  }
+
+  private GameData parse(final GameDataTemplateCache cache) throws Exception {
+    return cache.parse("map name", new ByteArrayInputStream(xml));
+  }
+
+  @Test
+  public void parseShouldReturnNewGameDataForEachCall() throws Exception {
+    final GameDataTemplateCache cache = newCache(null);
+
+    final GameData first = parse(cache);
+    final GameData second = parse(cache);
+
+    assertThat(second, is(not(sameInstance(first))));
+    assertThat(second.getGameName(), is(first.getGameName()));
+    assertThat(second.getMap().getTerritories().size(), is(first.getMap().getTerritories().size()));
+    assertThat(second.getDelegateList().size(), is(first.getDelegateList().size()));
+    assertThat(second.getProperties().get(GameData.GAME_UUID),
+        is(not(first.getProperties().get(GameData.GAME_UUID))));
+  }
+
+  @Test
+  public void parseShouldReuseTemplateStoredOnDiskByAnotherCache() throws Exception {
+    final GameData first = parse(newCache(folder));
+    assertThat(folder.listFiles(), is(arrayWithSize(1)));
+
+    final GameData second = parse(newCache(folder));
+
+    assertThat(second.getGameName(), is(first.getGameName()));
+    assertThat(folder.listFiles(), is(arrayWithSize(1)));
+  }
+
+  @Test
+  public void parseShouldNotReuseTemplateOfOtherEngineVersion() throws Exception {
+    parse(newCache(folder));
+
+    parse(new GameDataTemplateCache(folder, new Version(1, 9, 0, 1), GameDataTemplateCache.DEFAULT_MAX_DISK_BYTES));
+
+    assertThat(folder.listFiles(), is(arrayWithSize(2)));
+  }
+
+  @Test
+  public void parseShouldReplaceUnreadableTemplate() throws Exception {
+    parse(newCache(folder));
+    final File templateFile = folder.listFiles()[0];
+    Files.write(templateFile.toPath(), "corrupt".getBytes(StandardCharsets.UTF_8));
+
+    final GameData data = parse(newCache(folder));
+
+    assertThat(data.getGameName(), is(not((String) null)));
+    assertThat(Files.readAllBytes(templateFile.toPath()).length > "corrupt".length(), is(true));
+  }
+
+  @Test
+  public void parseShouldDeleteLeastRecentlyUsedTemplatesOverSizeLimit() throws Exception {
+    parse(new GameDataTemplateCache(folder, ENGINE_VERSION, 1));
+    final File oldTemplateFile = folder.listFiles()[0];
+    assertThat(oldTemplateFile.setLastModified(oldTemplateFile.lastModified() - 60_000), is(true));
+
+    parse(new GameDataTemplateCache(folder, new Version(1, 9, 0, 1), 1));
+
+    assertThat(folder.listFiles(), is(arrayWithSize(1)));
+    assertThat(oldTemplateFile.exists(), is(false));
+  }
+
+  @Test
+  public void parseShouldReturnGameDataWhenTemplateCannotBeStored() throws Exception {
+    final File file = new File(folder, "file");
+    Files.write(file.toPath(), new byte[0]);
+
+    final GameData data = parse(newCache(file));
+
+    assertThat(data.getGameName(), is(not((String) null)));
+  }
+}
@@ -0,0 +1,97 @@
+package games.strategy.engine.framework.headlessGameServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.framework.CliProperties;
+import games.strategy.engine.framework.GameRunner;
+import games.strategy.engine.framework.ui.SaveGameFileChooser;
+
+public final class GameServerThreadGroupTest {
+  private static final String KEY = CliProperties.TRIPLEA_PORT;
+
+  private final GameServerThreadGroup threadGroup = newThreadGroup();
+
+  private static GameServerThreadGroup newThreadGroup() {
+    final Properties properties = new Properties();
+    properties.setProperty(KEY, "4001");
+    return new GameServerThreadGroup("game", properties, 2);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    System.clearProperty(KEY);
+  }
+
+  private <T> T callInThreadGroup(final ThreadGroup group, final Supplier<T> supplier) throws Exception {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Thread thread = new Thread(group, () -> result.complete(supplier.get()));
+    thread.start();
+    return result.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void getPropertyShouldReturnSystemPropertyOutsideOfGame() {
+    System.setProperty(KEY, "4000");
+
+    assertThat(GameServerThreadGroup.current(), is(Optional.empty()));
+    assertThat(GameServerThreadGroup.getProperty(KEY), is("4000"));
+  }
+
+  @Test
+  public void getPropertyShouldReturnGamePropertyInsideOfGame() throws Exception {
+    System.setProperty(KEY, "4000");
+
+    assertThat(callInThreadGroup(threadGroup, () -> GameServerThreadGroup.getProperty(KEY)), is("4001"));
+  }
+
+  @Test
+  public void getPropertyShouldReturnSystemPropertyNotOverriddenByGame() throws Exception {
+    System.setProperty(CliProperties.LOBBY_GAME_COMMENTS, "automated_host");
+    try {
+      assertThat(
+          callInThreadGroup(threadGroup, () -> GameServerThreadGroup.getProperty(CliProperties.LOBBY_GAME_COMMENTS)),
+          is("automated_host"));
+      assertThat(
+          callInThreadGroup(threadGroup, () -> GameServerThreadGroup.getProperty(CliProperties.TRIPLEA_GAME, "-")),
+          is("-"));
+    } finally {
+      System.clearProperty(CliProperties.LOBBY_GAME_COMMENTS);
+    }
+  }
+
+  @Test
+  public void autoSaveFileNamesShouldBeResolvedForGame() throws Exception {
+    final Properties properties = new Properties();
+    properties.setProperty(CliProperties.TRIPLEA_NAME, "Bot_game_2");
+    final GameServerThreadGroup game = new GameServerThreadGroup("game 2", properties, 2);
+    System.setProperty(GameRunner.TRIPLEA_HEADLESS, "true");
+    System.setProperty(CliProperties.TRIPLEA_NAME, "Bot_game");
+    try {
+      assertThat(
+          callInThreadGroup(game, SaveGameFileChooser.AUTOSAVE_TYPE.AUTOSAVE_ODD::getFileName),
+          startsWith("Bot_game_2_"));
+      assertThat(SaveGameFileChooser.AUTOSAVE_TYPE.AUTOSAVE_ODD.getFileName(), startsWith("Bot_game_autosave"));
+    } finally {
+      System.clearProperty(GameRunner.TRIPLEA_HEADLESS);
+      System.clearProperty(CliProperties.TRIPLEA_NAME);
+    }
+  }
+
+  @Test
+  public void currentShouldFindGameOfThreadInNestedGroup() throws Exception {
+    final ThreadGroup nestedGroup = new ThreadGroup(threadGroup, "nested");
+
+    assertThat(callInThreadGroup(nestedGroup, GameServerThreadGroup::current), is(Optional.of(threadGroup)));
+  }
+}
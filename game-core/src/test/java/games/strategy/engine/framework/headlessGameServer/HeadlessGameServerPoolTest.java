@@ -0,0 +1,24 @@
+package games.strategy.engine.framework.headlessGameServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.framework.CliProperties;
+
+public final class HeadlessGameServerPoolTest {
+  @Test
+  public void newGamePropertiesShouldGiveEachGameItsOwnNameAndPort() {
+    final Properties first = HeadlessGameServerPool.newGameProperties("BotServer", 4000, 0);
+    final Properties third = HeadlessGameServerPool.newGameProperties("BotServer", 4000, 2);
+
+    assertThat(first.getProperty(CliProperties.TRIPLEA_NAME), is("BotServer_1"));
+    assertThat(first.getProperty(CliProperties.LOBBY_GAME_HOSTED_BY), is("BotServer_1"));
+    assertThat(first.getProperty(CliProperties.TRIPLEA_PORT), is("4000"));
+    assertThat(third.getProperty(CliProperties.TRIPLEA_NAME), is("BotServer_3"));
+    assertThat(third.getProperty(CliProperties.TRIPLEA_PORT), is("4002"));
+  }
+}
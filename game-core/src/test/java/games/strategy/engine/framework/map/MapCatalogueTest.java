@@ -0,0 +1,122 @@
+package games.strategy.engine.framework.map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import games.strategy.test.extensions.TemporaryFolder;
+import games.strategy.test.extensions.TemporaryFolderExtension;
+
+@ExtendWith(TemporaryFolderExtension.class)
+public final class MapCatalogueTest {
+  private TemporaryFolder temporaryFolder;
+  private final List<File> readMapFiles = Collections.synchronizedList(new ArrayList<>());
+  private final List<File> invalidMapFiles = new ArrayList<>();
+  private final Map<File, String> mapFiles = new LinkedHashMap<>();
+  private File catalogueFile;
+  private File mapFile1;
+  private File mapFile2;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    catalogueFile = new File(temporaryFolder.newFile("maps").getParentFile(), "catalogue.ser");
+    mapFile1 = temporaryFolder.newFile("map1.zip");
+    mapFile2 = temporaryFolder.newFile("map2.zip");
+    mapFiles.put(mapFile1, "map1");
+    mapFiles.put(mapFile2, "map2");
+  }
+
+  private List<MapCatalogue.Game> getGames(final String engineVersion) {
+    final MapCatalogue catalogue = new MapCatalogue(catalogueFile, engineVersion, this::readMapFile);
+    return catalogue.getGames(mapFiles, (mapFile, e) -> invalidMapFiles.add(mapFile));
+  }
+
+  private List<MapCatalogue.Game> readMapFile(final File mapFile, final String mapName) throws IOException {
+    readMapFiles.add(mapFile);
+    if (mapFile.getName().startsWith("invalid")) {
+      throw new IOException("invalid map");
+    }
+    return Collections.singletonList(newGame(mapName));
+  }
+
+  private static MapCatalogue.Game newGame(final String mapName) {
+    return new MapCatalogue.Game("file:/" + mapName + ".xml", mapName, mapName + " game", mapName, 2, "1.0", "");
+  }
+
+  @Test
+  public void getGamesShouldOnlyReadMapFilesChangedSinceCatalogueWasSaved() throws Exception {
+    assertThat(getGames("1.0"), contains(newGame("map1"), newGame("map2")));
+    assertThat(readMapFiles, containsInAnyOrder(mapFile1, mapFile2));
+    readMapFiles.clear();
+
+    assertThat(getGames("1.0"), contains(newGame("map1"), newGame("map2")));
+    assertThat(readMapFiles.isEmpty(), is(true));
+
+    Files.write(mapFile2.toPath(), Arrays.asList("changed"));
+    assertThat(getGames("1.0"), contains(newGame("map1"), newGame("map2")));
+    assertThat(readMapFiles, contains(mapFile2));
+  }
+
+  @Test
+  public void getGamesShouldReadAllMapFilesWhenCatalogueWasSavedByOtherEngineVersion() {
+    getGames("1.0");
+    readMapFiles.clear();
+
+    getGames("2.0");
+
+    assertThat(readMapFiles.size(), is(2));
+  }
+
+  @Test
+  public void getGamesShouldReportInvalidMapFilesEachTime() throws Exception {
+    final File invalidMapFile = temporaryFolder.newFile("invalid.zip");
+    mapFiles.put(invalidMapFile, "invalid");
+
+    assertThat(getGames("1.0"), contains(newGame("map1"), newGame("map2")));
+    getGames("1.0");
+
+    assertThat(invalidMapFiles, contains(invalidMapFile, invalidMapFile));
+  }
+
+  @Test
+  public void getGamesShouldNotLeaveTemporaryFilesBehind() {
+    final File folder = catalogueFile.getParentFile();
+    final List<String> fileNames = Arrays.asList(folder.list());
+
+    getGames("1.0");
+
+    final List<String> newFileNames = new ArrayList<>(Arrays.asList(folder.list()));
+    newFileNames.removeAll(fileNames);
+    assertThat(newFileNames, contains(catalogueFile.getName()));
+  }
+
+  @Test
+  public void listMapFilesShouldFindMapZipsAndGameFilesOfMapFolders() throws Exception {
+    final File mapsFolder = mapFile1.getParentFile();
+    final File gamesFolder = new File(mapsFolder, "folderMap/map/games");
+    gamesFolder.mkdirs();
+    final File gameFile = new File(gamesFolder, "game.xml");
+    gameFile.createNewFile();
+
+    final Map<File, String> listedMapFiles = MapCatalogue.listMapFiles(mapsFolder);
+
+    assertThat(listedMapFiles.get(mapFile1), is("map1"));
+    assertThat(listedMapFiles.get(gameFile), is("folderMap"));
+    assertThat(listedMapFiles.size(), is(3));
+  }
+}
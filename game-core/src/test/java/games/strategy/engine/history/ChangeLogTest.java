@@ -0,0 +1,114 @@
+package games.strategy.engine.history;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public final class ChangeLogTest {
+  private final List<Change> changes = new ArrayList<>();
+  private GameData gameData;
+  private ChangeLog changeLog;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.TEST.getGameData();
+    changeLog = new ChangeLog(gameData, 2, 1);
+  }
+
+  private void addResourceChanges(final int count) {
+    final PlayerID chretian = gameData.getPlayerList().getPlayerId("chretian");
+    final Resource gold = gameData.getResourceList().getResource("gold");
+    for (int i = 0; i < count; i++) {
+      final Change change = ChangeFactory.changeResourcesChange(chretian, gold, changes.size() + 1);
+      changes.add(change);
+      changeLog.add(change);
+    }
+  }
+
+  private void assertChangesEqual() {
+    assertThat(changeLog.size(), is(changes.size()));
+    for (int i = 0; i < changes.size(); i++) {
+      assertThat(changeLog.get(i).toString(), is(changes.get(i).toString()));
+    }
+  }
+
+  @Test
+  public void addShouldSpillOldestBlocksToLog() {
+    addResourceChanges(7);
+
+    assertThat(changeLog.getMemoryChangeCount(), is(3));
+    assertChangesEqual();
+    assertThat(changeLog.get(6), is(sameInstance(changes.get(6))));
+  }
+
+  @Test
+  public void addShouldKeepIndicesOfViewsStableWhileSpilling() {
+    addResourceChanges(2);
+    final List<Change> view = changeLog.subList(0, 2);
+
+    addResourceChanges(5);
+
+    assertThat(changeLog.getMemoryChangeCount(), is(3));
+    assertThat(view.get(0).toString(), is(changes.get(0).toString()));
+    assertThat(view.get(1).toString(), is(changes.get(1).toString()));
+  }
+
+  @Test
+  public void addShouldNotSpillChangeLogCreatedWithoutSpilling() {
+    changeLog = ChangeLog.readWithoutSpilling(() -> new ChangeLog(gameData, 2, 1));
+
+    addResourceChanges(7);
+
+    assertThat(changeLog.getMemoryChangeCount(), is(7));
+    assertChangesEqual();
+  }
+
+  @Test
+  public void getShouldResolveSpilledUnitsToUnitsOfGameData() {
+    final Territory canada = gameData.getMap().getTerritory("canada");
+    final Territory greenland = gameData.getMap().getTerritory("greenland");
+    final Unit unit = canada.getUnits().iterator().next();
+    changeLog.add(ChangeFactory.moveUnits(canada, greenland, Collections.singleton(unit)));
+    addResourceChanges(4);
+
+    gameData.performChange(changeLog.get(0));
+
+    assertThat(greenland.getUnits().iterator().next(), is(sameInstance(unit)));
+  }
+
+  @Test
+  public void removeRangeShouldRemoveSpilledChanges() {
+    addResourceChanges(9);
+
+    changes.subList(3, 9).clear();
+    changeLog.subList(3, 9).clear();
+    assertChangesEqual();
+
+    addResourceChanges(6);
+    assertChangesEqual();
+  }
+
+  @Test
+  public void removeRangeShouldThrowExceptionWhenChangesAreNotAtEnd() {
+    addResourceChanges(3);
+
+    assertThrows(UnsupportedOperationException.class, () -> changeLog.subList(0, 1).clear());
+  }
+}
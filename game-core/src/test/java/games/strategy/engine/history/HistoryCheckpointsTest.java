@@ -0,0 +1,67 @@
+package games.strategy.engine.history;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+
+public final class HistoryCheckpointsTest {
+  private static final int SPAN = 10;
+
+  private final List<Change> changes = newChanges(35);
+  private final HistoryCheckpoints checkpoints = new HistoryCheckpoints(changes, SPAN);
+
+  private static List<Change> newChanges(final int count) {
+    final List<Change> changes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      changes.add(mock(Change.class));
+    }
+    return changes;
+  }
+
+  @Test
+  public void getChangesShouldUseCompactedChangeOfEachWholeSpan() {
+    final List<Change> delta = checkpoints.getChanges(3, 34);
+
+    assertThat(delta.size(), is(7 + 2 + 4));
+    assertThat(delta.get(6), is(changes.get(9)));
+    assertThat(delta.get(7), is(instanceOf(CompositeChange.class)));
+    assertThat(((CompositeChange) delta.get(7)).getChanges(), is(changes.subList(10, 20)));
+    assertThat(delta.get(8), is(instanceOf(CompositeChange.class)));
+    assertThat(delta.get(9), is(changes.get(30)));
+    assertThat(checkpoints.getChanges(3, 34).get(7), is(sameInstance(delta.get(7))));
+  }
+
+  @Test
+  public void getChangesShouldReturnChangesWhenNoSpanIsCovered() {
+    assertThat(checkpoints.getChanges(3, 19), is(changes.subList(3, 19)));
+  }
+
+  @Test
+  public void getChangesShouldReturnChangesWhenBudgetIsZero() {
+    checkpoints.setBudget(0);
+
+    assertThat(checkpoints.getChanges(0, 35), is(changes));
+  }
+
+  @Test
+  public void truncateShouldDropCheckpointsOfIncompleteSpans() {
+    final Change compactedSpan = checkpoints.getChanges(0, 20).get(1);
+    changes.subList(15, 35).clear();
+    changes.addAll(newChanges(10));
+
+    checkpoints.truncate(15);
+
+    assertThat(checkpoints.getChanges(0, 20).get(1), is(not(sameInstance(compactedSpan))));
+  }
+}
@@ -4,8 +4,12 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,13 +19,19 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
+import games.strategy.engine.lobby.server.ILobbyGameChangeBroadcaster;
 import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.engine.lobby.server.LobbyGameChanges;
 import games.strategy.engine.message.IChannelMessenger;
 import games.strategy.engine.message.IRemoteMessenger;
 import games.strategy.engine.message.MessageContext;
 import games.strategy.net.GUID;
 import games.strategy.net.IMessenger;
 import games.strategy.net.INode;
+import games.strategy.net.Node;
 import games.strategy.test.TestUtil;
 import games.strategy.util.Tuple;
 
@@ -56,9 +66,14 @@ public class LobbyGameTableModelTest {
 
     Mockito.when(mockRemoteMessenger.getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE))
         .thenReturn(mockLobbyController);
-    Mockito.when(mockLobbyController.listGames()).thenReturn(fakeGameMap);
+    Mockito.when(mockLobbyController.updatesSince(0L)).thenReturn(LobbyGameChanges.complete(1, fakeGameMap));
     testObj = new LobbyGameTableModel(true, mockMessenger, mockChannelMessenger, mockRemoteMessenger);
-    Mockito.verify(mockLobbyController, Mockito.times(1)).listGames();
+    Mockito.verify(mockLobbyController, Mockito.times(1)).updatesSince(0L);
+    // the lobby broadcasts each change on only one of the channels, so subscribing to both would apply it twice
+    Mockito.verify(mockChannelMessenger).registerChannelSubscriber(
+        testObj.getLobbyGameBroadcaster(), ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL);
+    Mockito.verify(mockChannelMessenger, Mockito.never())
+        .registerChannelSubscriber(Mockito.any(), Mockito.eq(ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL));
 
     MessageContext.setSenderNodeForThread(serverNode);
     Mockito.when(mockMessenger.getServerNode()).thenReturn(serverNode);
@@ -66,6 +81,12 @@ public class LobbyGameTableModelTest {
     assertThat("games are loaded on init", testObj.getRowCount(), is(1));
   }
 
+  private void gamesChanged(final Map<GUID, GameDescription> games, final Set<GUID> removedGames) {
+    testObj.getLobbyGameBroadcaster()
+        .gamesChanged(new LobbyGameChanges(1, 2, false, games, Collections.emptyMap(), removedGames));
+    TestUtil.waitForSwingThreads();
+  }
+
   @Test
   public void updateGame() {
     final int commentColumnIndex = testObj.getColumnIndex(LobbyGameTableModel.Column.Comments);
@@ -75,38 +96,75 @@ public class LobbyGameTableModelTest {
     final GameDescription newDescription = new GameDescription();
     newDescription.setComment(newComment);
 
-    testObj.getLobbyGameBroadcaster().gameUpdated(fakeGame.getFirst(), newDescription);
-    TestUtil.waitForSwingThreads();
+    gamesChanged(Collections.singletonMap(fakeGame.getFirst(), newDescription), Collections.emptySet());
     assertThat(testObj.getRowCount(), is(1));
     assertThat(testObj.getValueAt(0, commentColumnIndex), is(newComment));
   }
 
   @Test
   public void updateGameAddsIfDoesNotExist() {
-    testObj.getLobbyGameBroadcaster().gameUpdated(new GUID(), new GameDescription());
-    TestUtil.waitForSwingThreads();
+    gamesChanged(Collections.singletonMap(new GUID(), new GameDescription()), Collections.emptySet());
     assertThat(testObj.getRowCount(), is(2));
   }
 
   @Test
-  public void updateGameWithNullGuidIsIgnored() {
-    testObj.getLobbyGameBroadcaster().gameUpdated(null, new GameDescription());
-    TestUtil.waitForSwingThreads();
-    assertThat("expect row count to remain 1, null guid is bogus data",
-        testObj.getRowCount(), is(1));
+  public void removeGame() {
+    gamesChanged(Collections.emptyMap(), Collections.singleton(fakeGame.getFirst()));
+    assertThat(testObj.getRowCount(), is(0));
   }
 
   @Test
-  public void removeGame() {
-    testObj.getLobbyGameBroadcaster().gameRemoved(fakeGame.getFirst());
+  public void removeGameThatDoesNotExistIsIgnored() {
+    gamesChanged(Collections.emptyMap(), Collections.singleton(new GUID()));
+    assertThat(testObj.getRowCount(), is(1));
+  }
+
+  @Test
+  public void gamesChangedAppliesDeltas() {
+    final GameDescription description = newGameDescription();
+    final GameDescription newDescription = (GameDescription) description.clone();
+    newDescription.setComment("comment");
+    final GUID gameId = new GUID();
+
+    testObj.getLobbyGameBroadcaster().gamesChanged(new LobbyGameChanges(1, 2, false,
+        Collections.singletonMap(gameId, description), Collections.emptyMap(), Collections.emptySet()));
+    testObj.getLobbyGameBroadcaster().gamesChanged(new LobbyGameChanges(2, 3, false, Collections.emptyMap(),
+        Collections.singletonMap(gameId, GameDescriptionDelta.between(description, newDescription)),
+        Collections.singleton(fakeGame.getFirst())));
     TestUtil.waitForSwingThreads();
-    assertThat(testObj.getRowCount(), is(0));
+
+    assertThat(testObj.getRowCount(), is(1));
+    assertThat(testObj.getValueAt(0, testObj.getColumnIndex(LobbyGameTableModel.Column.Comments)), is("comment"));
   }
 
   @Test
-  public void removeGameThatDoesNotExistIsIgnored() {
-    testObj.getLobbyGameBroadcaster().gameRemoved(new GUID());
+  public void gamesChangedIgnoresChangesAlreadyApplied() {
+    testObj.getLobbyGameBroadcaster().gamesChanged(new LobbyGameChanges(0, 1, false,
+        Collections.emptyMap(), Collections.emptyMap(), Collections.singleton(fakeGame.getFirst())));
     TestUtil.waitForSwingThreads();
+
     assertThat(testObj.getRowCount(), is(1));
   }
+
+  @Test
+  public void gamesChangedCatchesUpWhenChangesWereMissed() throws Exception {
+    final GUID gameId = new GUID();
+    Mockito.when(mockLobbyController.updatesSince(1L)).thenReturn(new LobbyGameChanges(1, 3, false,
+        Collections.singletonMap(gameId, newGameDescription()), Collections.emptyMap(), Collections.emptySet()));
+
+    testObj.getLobbyGameBroadcaster().gamesChanged(new LobbyGameChanges(2, 3, false,
+        Collections.emptyMap(), Collections.emptyMap(), Collections.singleton(fakeGame.getFirst())));
+
+    final long deadline = System.currentTimeMillis() + 5000;
+    do {
+      Thread.sleep(10);
+      TestUtil.waitForSwingThreads();
+    } while (testObj.getRowCount() != 2 && System.currentTimeMillis() < deadline);
+    assertThat(testObj.getRowCount(), is(2));
+  }
+
+  private static GameDescription newGameDescription() {
+    return new GameDescription(new Node("host", new InetSocketAddress("localhost", 3300)), 3300, Instant.now(),
+        "gameName", 2, GameStatus.WAITING_FOR_PLAYERS, "1", "hostName", "", false, "1.0", "1.0");
+  }
 }
@@ -0,0 +1,260 @@
+package games.strategy.engine.lobby.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.message.ChannelMessenger;
+import games.strategy.engine.message.MessageContext;
+import games.strategy.engine.message.RemoteName;
+import games.strategy.engine.message.UnifiedMessengerHub;
+import games.strategy.engine.message.unifiedmessenger.UnifiedMessenger;
+import games.strategy.net.ClientMessenger;
+import games.strategy.net.GUID;
+import games.strategy.net.IConnectionChangeListener;
+import games.strategy.net.IMessenger;
+import games.strategy.net.INode;
+import games.strategy.net.IServerMessenger;
+import games.strategy.net.MacFinder;
+import games.strategy.net.MessengerTestUtils;
+import games.strategy.net.Node;
+import games.strategy.net.ServerMessenger;
+import games.strategy.util.Interruptibles;
+
+public final class LobbyGameControllerTest {
+  private final INode host = new Node("host", new InetSocketAddress("localhost", 3300));
+  private final INode otherHost = new Node("otherHost", new InetSocketAddress("localhost", 3301));
+  private final ILobbyGameBroadcaster broadcaster = mock(ILobbyGameBroadcaster.class);
+  private final ILobbyGameChangeBroadcaster changeBroadcaster = mock(ILobbyGameChangeBroadcaster.class);
+  private final ScheduledExecutorService broadcastExecutor = mock(ScheduledExecutorService.class);
+  private final IServerMessenger serverMessenger = mock(IServerMessenger.class);
+  private final LobbyGameController lobbyGameController =
+      new LobbyGameController(broadcaster, changeBroadcaster, serverMessenger, broadcastExecutor);
+  private final GUID gameId = new GUID();
+  private IConnectionChangeListener connectionChangeListener;
+
+  @BeforeEach
+  public void setUp() {
+    MessageContext.setSenderNodeForThread(host);
+    final ArgumentCaptor<IConnectionChangeListener> listener =
+        ArgumentCaptor.forClass(IConnectionChangeListener.class);
+    verify(serverMessenger).addConnectionChangeListener(listener.capture());
+    connectionChangeListener = listener.getValue();
+  }
+
+  private GameDescription newGameDescription() {
+    return newGameDescription(host);
+  }
+
+  private static GameDescription newGameDescription(final INode hostedBy) {
+    return new GameDescription(hostedBy, 3300, Instant.now(), "gameName", 2, GameStatus.WAITING_FOR_PLAYERS, "1",
+        "hostName", "", false, "1.0", "1.0");
+  }
+
+  private LobbyGameChanges broadcastChanges() {
+    lobbyGameController.broadcastChanges();
+    final ArgumentCaptor<LobbyGameChanges> changes = ArgumentCaptor.forClass(LobbyGameChanges.class);
+    verify(changeBroadcaster).gamesChanged(changes.capture());
+    return changes.getValue();
+  }
+
+  @Test
+  public void shouldScheduleOneBroadcastForChangesWithinWindow() {
+    final GameDescription description = newGameDescription();
+    lobbyGameController.postGame(gameId, description);
+    description.setPlayerCount(3);
+    lobbyGameController.updateGame(gameId, description);
+
+    verify(broadcastExecutor, times(1))
+        .schedule(any(Runnable.class), eq(LobbyGameController.BROADCAST_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+    // the same description is posted and updated
+    verify(broadcaster, times(2)).gameUpdated(gameId, description);
+    verify(changeBroadcaster, never()).gamesChanged(any());
+  }
+
+  @Test
+  public void shouldBroadcastNewGameInFullAndChangedGameAsDelta() {
+    final GameDescription description = newGameDescription();
+    lobbyGameController.postGame(gameId, description);
+    final LobbyGameChanges added = broadcastChanges();
+    assertThat(added.getGames().keySet(), contains(gameId));
+    assertThat(added.getFromVersion(), is(0L));
+    assertThat(added.getToVersion(), is(1L));
+
+    final GameDescription updatedDescription = (GameDescription) description.clone();
+    updatedDescription.setRound("2");
+    updatedDescription.setPlayerCount(3);
+    lobbyGameController.updateGame(gameId, updatedDescription);
+    updatedDescription.setRound("3");
+    lobbyGameController.updateGame(gameId, updatedDescription);
+    lobbyGameController.broadcastChanges();
+
+    final ArgumentCaptor<LobbyGameChanges> changes = ArgumentCaptor.forClass(LobbyGameChanges.class);
+    verify(changeBroadcaster, times(2)).gamesChanged(changes.capture());
+    final LobbyGameChanges changed = changes.getValue();
+    assertThat(changed.getGames(), is(anEmptyMap()));
+    assertThat(changed.getFromVersion(), is(1L));
+    assertThat(changed.getToVersion(), is(3L));
+    final GameDescription applied = changed.getDeltas().get(gameId).applyTo(description);
+    assertThat(applied.getRound(), is("3"));
+    assertThat(applied.getPlayerCount(), is(3));
+  }
+
+  @Test
+  public void shouldNotBroadcastGameAddedAndRemovedWithinWindow() {
+    lobbyGameController.postGame(gameId, newGameDescription());
+
+    connectionChangeListener.connectionRemoved(host);
+    final LobbyGameChanges changes = broadcastChanges();
+
+    assertThat(changes.getGames(), is(anEmptyMap()));
+    assertThat(changes.getRemovedGames(), is(empty()));
+    assertThat(changes.getToVersion(), is(2L));
+  }
+
+  @Test
+  public void shouldBroadcastEachChangeForOlderClients() {
+    final GameDescription description = newGameDescription();
+    lobbyGameController.postGame(gameId, description);
+    final GameDescription updatedDescription = (GameDescription) description.clone();
+    updatedDescription.setRound("2");
+    lobbyGameController.updateGame(gameId, updatedDescription);
+    connectionChangeListener.connectionRemoved(host);
+
+    verify(broadcaster).gameUpdated(gameId, description);
+    verify(broadcaster).gameUpdated(gameId, updatedDescription);
+    verify(broadcaster).gameRemoved(gameId);
+  }
+
+  @Test
+  public void updatesSinceShouldReturnOnlyChangesSinceThatVersion() {
+    final GUID otherGameId = new GUID();
+    lobbyGameController.postGame(gameId, newGameDescription());
+    lobbyGameController.postGame(otherGameId, newGameDescription());
+
+    final LobbyGameChanges changes = lobbyGameController.updatesSince(1);
+
+    assertThat(changes.isComplete(), is(false));
+    assertThat(changes.getGames().keySet(), contains(otherGameId));
+    assertThat(changes.getToVersion(), is(2L));
+  }
+
+  @Test
+  public void updatesSinceShouldReturnRemovedGames() {
+    lobbyGameController.postGame(gameId, newGameDescription());
+    connectionChangeListener.connectionRemoved(host);
+
+    final LobbyGameChanges changes = lobbyGameController.updatesSince(1);
+
+    assertThat(changes.isComplete(), is(false));
+    assertThat(changes.getRemovedGames(), contains(gameId));
+  }
+
+  @Test
+  public void updatesSinceShouldReturnCompleteListWhenRemovalsHaveBeenForgotten() {
+    lobbyGameController.postGame(gameId, newGameDescription());
+    for (int i = 0; i <= LobbyGameController.MAX_REMOVED_GAMES; i++) {
+      lobbyGameController.postGame(new GUID(), newGameDescription(otherHost));
+      connectionChangeListener.connectionRemoved(otherHost);
+    }
+    connectionChangeListener.connectionRemoved(host);
+    lobbyGameController.postGame(gameId, newGameDescription());
+
+    assertThat(lobbyGameController.updatesSince(1).isComplete(), is(true));
+    assertThat(lobbyGameController.updatesSince(0).getGames().keySet(), contains(gameId));
+    verify(changeBroadcaster, never()).gamesChanged(any());
+    verify(broadcastExecutor, times(1)).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Nested
+  public final class WithConnectedClientsTest {
+    private final ILobbyGameBroadcaster olderClientSubscriber = mock(ILobbyGameBroadcaster.class);
+    private final ILobbyGameChangeBroadcaster newerClientSubscriber = mock(ILobbyGameChangeBroadcaster.class);
+    private IServerMessenger server;
+    private IMessenger olderClient;
+    private IMessenger newerClient;
+    private LobbyGameController controller;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+      server = ServerMessenger.newInstanceForGameHost("Server", 0);
+      server.setAcceptNewConnections(true);
+      final UnifiedMessenger serverUnifiedMessenger = new UnifiedMessenger(server);
+      final ChannelMessenger serverChannelMessenger = new ChannelMessenger(serverUnifiedMessenger);
+      controller = new LobbyGameController(
+          (ILobbyGameBroadcaster) serverChannelMessenger
+              .getChannelBroadcastor(ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL),
+          (ILobbyGameChangeBroadcaster) serverChannelMessenger
+              .getChannelBroadcastor(ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL),
+          server,
+          broadcastExecutor);
+
+      final int port = server.getLocalNode().getSocketAddress().getPort();
+      final String mac = MacFinder.getHashedMacAddress();
+      olderClient = new ClientMessenger("localhost", port, "olderClient", mac);
+      new ChannelMessenger(new UnifiedMessenger(olderClient))
+          .registerChannelSubscriber(olderClientSubscriber, ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL);
+      newerClient = new ClientMessenger("localhost", port, "newerClient", mac);
+      new ChannelMessenger(new UnifiedMessenger(newerClient)).registerChannelSubscriber(
+          newerClientSubscriber, ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL);
+      awaitSubscriber(serverUnifiedMessenger.getHub(), ILobbyGameBroadcaster.GAME_BROADCASTER_CHANNEL);
+      awaitSubscriber(serverUnifiedMessenger.getHub(), ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL);
+    }
+
+    private void awaitSubscriber(final UnifiedMessengerHub hub, final RemoteName channel) {
+      final long deadline = System.currentTimeMillis() + 5000;
+      while (!hub.hasImplementors(channel.getName()) && System.currentTimeMillis() < deadline) {
+        Interruptibles.sleep(10);
+      }
+      assertThat(hub.hasImplementors(channel.getName()), is(true));
+    }
+
+    @AfterEach
+    public void tearDown() {
+      MessengerTestUtils.shutDownQuietly(olderClient);
+      MessengerTestUtils.shutDownQuietly(newerClient);
+      MessengerTestUtils.shutDownQuietly(server);
+    }
+
+    @Test
+    public void shouldSendEachClientOnlyTheBroadcastsOfItsProtocol() {
+      final GameDescription description = newGameDescription();
+      controller.postGame(gameId, description);
+      controller.broadcastChanges();
+      final GameDescription updatedDescription = (GameDescription) description.clone();
+      updatedDescription.setRound("2");
+      controller.updateGame(gameId, updatedDescription);
+      controller.broadcastChanges();
+
+      // the older client is still connected after the changes were broadcast to the newer client
+      verify(olderClientSubscriber, timeout(5000)).gameUpdated(eq(gameId), argThat(d -> d.getRound().equals("1")));
+      verify(olderClientSubscriber, timeout(5000)).gameUpdated(eq(gameId), argThat(d -> d.getRound().equals("2")));
+      verify(newerClientSubscriber, timeout(5000).times(2)).gamesChanged(any());
+      assertThat(olderClient.isConnected(), is(true));
+      verify(olderClientSubscriber, never()).gameRemoved(any());
+    }
+  }
+}
@@ -8,6 +8,7 @@ import static org.hamcrest.Matchers.nullValue;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
@@ -15,6 +16,7 @@ import games.strategy.engine.lobby.server.TestUserUtils;
 import games.strategy.engine.lobby.server.User;
 import games.strategy.engine.lobby.server.login.UserType;
 import games.strategy.test.Integration;
+import games.strategy.util.Tuple;
 
 @Integration
 public final class AccessLogControllerIntegrationTest extends AbstractControllerTestCase {
@@ -31,6 +33,19 @@ public final class AccessLogControllerIntegrationTest extends AbstractController
     }
   }
 
+  @Test
+  public void insertAll_ShouldInsertNewRecords() throws Exception {
+    final User registeredUser = TestUserUtils.newUser();
+    final User anonymousUser = TestUserUtils.newUser();
+
+    accessLogController.insertAll(Arrays.asList(
+        Tuple.of(registeredUser, UserType.REGISTERED),
+        Tuple.of(anonymousUser, UserType.ANONYMOUS)));
+
+    thenAccessLogRecordShouldExist(registeredUser, UserType.REGISTERED);
+    thenAccessLogRecordShouldExist(anonymousUser, UserType.ANONYMOUS);
+  }
+
   private void thenAccessLogRecordShouldExist(final User user, final UserType userType) throws Exception {
     final String sql = "select access_time from access_log where username=? and ip=?::inet and mac=? and registered=?";
     try (Connection conn = database.newConnection();
@@ -0,0 +1,130 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import games.strategy.engine.lobby.server.TestUserUtils;
+import games.strategy.engine.lobby.server.User;
+import games.strategy.engine.lobby.server.login.UserType;
+import games.strategy.util.Tuple;
+
+public final class BatchingAccessLogDaoTest {
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private final AccessLogDao accessLogDao = mock(AccessLogDao.class);
+  private final User user = TestUserUtils.newUser();
+
+  @Test
+  public void shouldWriteQueuedAccessesInOneBatchWhenBatchIsFull() throws Exception {
+    final List<List<Tuple<User, UserType>>> batches = recordBatches();
+    final BatchingAccessLogDao batchingAccessLogDao =
+        new BatchingAccessLogDao(accessLogDao, 10, 2, TimeUnit.HOURS.toMillis(1));
+
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+    batchingAccessLogDao.insert(user, UserType.ANONYMOUS);
+
+    verify(accessLogDao, timeout(TIMEOUT_MILLIS)).insertAll(anyCollection());
+    assertThat(batches, is(Collections.singletonList(ImmutableList.of(
+        Tuple.of(user, UserType.REGISTERED),
+        Tuple.of(user, UserType.ANONYMOUS)))));
+  }
+
+  @Test
+  public void shouldWritePartialBatchAfterFlushInterval() throws Exception {
+    final List<List<Tuple<User, UserType>>> batches = recordBatches();
+    final BatchingAccessLogDao batchingAccessLogDao = new BatchingAccessLogDao(accessLogDao, 10, 100, 10);
+
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+
+    verify(accessLogDao, timeout(TIMEOUT_MILLIS)).insertAll(anyCollection());
+    assertThat(batches, is(Collections.singletonList(ImmutableList.of(Tuple.of(user, UserType.REGISTERED)))));
+  }
+
+  @Test
+  public void shouldDropAccessesWhenQueueIsFull() throws Exception {
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      writing.countDown();
+      release.await();
+      return null;
+    }).when(accessLogDao).insertAll(anyCollection());
+    final BatchingAccessLogDao batchingAccessLogDao = new BatchingAccessLogDao(accessLogDao, 1, 1, 0);
+
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+    writing.await();
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+
+    assertThat(batchingAccessLogDao.getQueuedCount(), is(1));
+    assertThat(batchingAccessLogDao.getDroppedCount(), is(1L));
+    release.countDown();
+  }
+
+  @Test
+  public void shouldCountAccessesThatCouldNotBeWritten() throws Exception {
+    doThrow(SQLException.class).when(accessLogDao).insertAll(anyCollection());
+    final BatchingAccessLogDao batchingAccessLogDao = new BatchingAccessLogDao(accessLogDao, 10, 1, 0);
+
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+
+    verify(accessLogDao, timeout(TIMEOUT_MILLIS)).insertAll(anyCollection());
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (batchingAccessLogDao.getFailedCount() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(batchingAccessLogDao.getFailedCount(), is(1L));
+    assertThat(batchingAccessLogDao.getWrittenCount(), is(0L));
+  }
+
+  @Test
+  public void closeShouldWriteQueuedAccesses() throws Exception {
+    final List<List<Tuple<User, UserType>>> batches = recordBatches();
+    final BatchingAccessLogDao batchingAccessLogDao =
+        new BatchingAccessLogDao(accessLogDao, 10, 2, TimeUnit.HOURS.toMillis(1));
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+
+    batchingAccessLogDao.close();
+
+    assertThat(batches, is(Collections.singletonList(ImmutableList.of(Tuple.of(user, UserType.REGISTERED)))));
+    assertThat(batchingAccessLogDao.getQueuedCount(), is(0));
+  }
+
+  @Test
+  public void shouldDropAccessesAfterClose() {
+    final BatchingAccessLogDao batchingAccessLogDao = new BatchingAccessLogDao(accessLogDao, 10, 1, 0);
+    batchingAccessLogDao.close();
+
+    batchingAccessLogDao.insert(user, UserType.REGISTERED);
+
+    assertThat(batchingAccessLogDao.getQueuedCount(), is(0));
+    assertThat(batchingAccessLogDao.getDroppedCount(), is(1L));
+  }
+
+  private List<List<Tuple<User, UserType>>> recordBatches() throws SQLException {
+    final List<List<Tuple<User, UserType>>> batches = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> {
+      batches.add(new ArrayList<>(invocation.getArgument(0)));
+      return null;
+    }).when(accessLogDao).insertAll(anyCollection());
+    return batches;
+  }
+}
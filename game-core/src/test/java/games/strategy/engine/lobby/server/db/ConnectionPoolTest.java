@@ -0,0 +1,149 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ConnectionPoolTest {
+  private final ConnectionPoolDataSource dataSource = mock(ConnectionPoolDataSource.class);
+  private final List<FakePooledConnection> pooledConnections = new ArrayList<>();
+  private final AtomicLong currentTimeMillis = new AtomicLong();
+  private final ConnectionPool connectionPool = new ConnectionPool(dataSource, 2, 0, currentTimeMillis::get);
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    when(dataSource.getPooledConnection()).then(invocation -> {
+      final FakePooledConnection pooledConnection = new FakePooledConnection();
+      pooledConnections.add(pooledConnection);
+      return pooledConnection.mock;
+    });
+  }
+
+  @Test
+  public void getConnectionShouldReuseConnectionReturnedToPool() throws Exception {
+    final Connection connection = connectionPool.getConnection();
+    close(0);
+
+    assertThat(connectionPool.getConnection(), is(sameInstance(connection)));
+    assertThat(pooledConnections.size(), is(1));
+  }
+
+  @Test
+  public void getConnectionShouldOpenNewConnectionWhenNoneIsIdle() throws Exception {
+    connectionPool.getConnection();
+    connectionPool.getConnection();
+
+    assertThat(pooledConnections.size(), is(2));
+  }
+
+  @Test
+  public void getConnectionShouldFailWhenPoolIsExhausted() throws Exception {
+    connectionPool.getConnection();
+    connectionPool.getConnection();
+
+    assertThrows(SQLException.class, connectionPool::getConnection);
+  }
+
+  @Test
+  public void getConnectionShouldNotValidateRecentlyUsedConnection() throws Exception {
+    final Connection connection = connectionPool.getConnection();
+    close(0);
+
+    connectionPool.getConnection();
+
+    verify(connection, never()).isValid(anyInt());
+  }
+
+  @Test
+  public void getConnectionShouldDiscardConnectionThatFailsValidation() throws Exception {
+    final Connection connection = connectionPool.getConnection();
+    close(0);
+    currentTimeMillis.addAndGet(ConnectionPool.VALIDATION_INTERVAL_MILLIS);
+    when(connection.isValid(anyInt())).thenReturn(false);
+
+    final Connection newConnection = connectionPool.getConnection();
+
+    assertThat(newConnection, is(sameInstance(pooledConnections.get(1).connection)));
+    verify(pooledConnections.get(0).mock).close();
+  }
+
+  @Test
+  public void getConnectionShouldReuseConnectionThatPassesValidation() throws Exception {
+    final Connection connection = connectionPool.getConnection();
+    close(0);
+    currentTimeMillis.addAndGet(ConnectionPool.VALIDATION_INTERVAL_MILLIS);
+    when(connection.isValid(anyInt())).thenReturn(true);
+
+    assertThat(connectionPool.getConnection(), is(sameInstance(connection)));
+  }
+
+  @Test
+  public void shouldEvictConnectionsIdleForTooLong() throws Exception {
+    connectionPool.getConnection();
+    connectionPool.getConnection();
+    close(0);
+    currentTimeMillis.addAndGet(ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    close(1);
+
+    verify(pooledConnections.get(0).mock).close();
+    verify(pooledConnections.get(1).mock, never()).close();
+    assertThat(connectionPool.getIdleCount(), is(1));
+  }
+
+  @Test
+  public void shouldDiscardConnectionOnWhichErrorOccurred() throws Exception {
+    connectionPool.getConnection();
+    pooledConnections.get(0).listener.connectionErrorOccurred(
+        new ConnectionEvent(pooledConnections.get(0).mock, new SQLException()));
+
+    close(0);
+
+    verify(pooledConnections.get(0).mock, times(1)).close();
+    assertThat(connectionPool.getIdleCount(), is(0));
+    connectionPool.getConnection();
+    connectionPool.getConnection();
+  }
+
+  private void close(final int index) {
+    final FakePooledConnection pooledConnection = pooledConnections.get(index);
+    pooledConnection.listener.connectionClosed(new ConnectionEvent(pooledConnection.mock));
+  }
+
+  private static final class FakePooledConnection {
+    final PooledConnection mock = mock(PooledConnection.class);
+    final Connection connection = mock(Connection.class);
+    ConnectionEventListener listener;
+
+    FakePooledConnection() throws SQLException {
+      when(mock.getConnection()).thenReturn(connection);
+      doAnswer(invocation -> {
+        listener = invocation.getArgument(0);
+        return null;
+      }).when(mock).addConnectionEventListener(any());
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package games.strategy.engine.lobby.server.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.ImmutableMap;
+
+import games.strategy.engine.lobby.server.TestUserUtils;
+import games.strategy.engine.lobby.server.User;
+import games.strategy.util.Interruptibles;
+
+@ExtendWith(MockitoExtension.class)
+public final class ModerationCacheTest {
+  private static final Instant NOW = Instant.parse("2018-01-01T00:00:00Z");
+  private static final Instant LATER = NOW.plusSeconds(60);
+  private static final Instant EARLIER = NOW.minusSeconds(60);
+  private static final ModerationSnapshot SNAPSHOT = new ModerationSnapshot(
+      1,
+      Collections.singletonList("badWord"),
+      ImmutableMap.of("bannedMac", LATER, "foreverBannedMac", Instant.MAX, "expiredMac", EARLIER),
+      ImmutableMap.of("bannedUsername", LATER),
+      ImmutableMap.of("mutedMac", LATER, "expiredMac", EARLIER),
+      ImmutableMap.of("mutedUsername", Instant.MAX));
+
+  @Mock
+  private ModerationSnapshotDao moderationSnapshotDao;
+  @Mock
+  private BadWordDao badWordDao;
+  @Mock
+  private BannedMacDao bannedMacDao;
+  @Mock
+  private BannedUsernameDao bannedUsernameDao;
+  @Mock
+  private MutedMacController mutedMacController;
+  @Mock
+  private MutedUsernameController mutedUsernameController;
+  private final User user = TestUserUtils.newUser();
+  private ModerationCache moderationCache;
+
+  @BeforeEach
+  public void setUp() {
+    moderationCache = new ModerationCache(moderationSnapshotDao, badWordDao, bannedMacDao, bannedUsernameDao,
+        mutedMacController, mutedUsernameController, () -> NOW);
+    when(moderationSnapshotDao.load()).thenReturn(SNAPSHOT);
+  }
+
+  @Test
+  public void shouldLoadTablesOnlyOnce() {
+    assertThat(moderationCache.list(), contains("badWord"));
+    moderationCache.isMacBanned("bannedMac");
+    moderationCache.isUsernameMuted("mutedUsername");
+
+    verify(moderationSnapshotDao, times(1)).load();
+  }
+
+  @Test
+  public void isMacBannedShouldHonorBanExpiration() {
+    assertThat(moderationCache.isMacBanned("bannedMac").getFirst(), is(true));
+    assertThat(moderationCache.isMacBanned("bannedMac").getSecond(), is(Timestamp.from(LATER)));
+    assertThat(moderationCache.isMacBanned("foreverBannedMac").getFirst(), is(true));
+    assertThat(moderationCache.isMacBanned("foreverBannedMac").getSecond(), is(nullValue()));
+    assertThat(moderationCache.isMacBanned("expiredMac").getFirst(), is(false));
+    assertThat(moderationCache.isMacBanned("otherMac").getFirst(), is(false));
+    assertThat(moderationCache.isMacBanned("otherMac").getSecond(), is(nullValue()));
+  }
+
+  @Test
+  public void isUsernameBannedShouldReturnBan() {
+    assertThat(moderationCache.isUsernameBanned("bannedUsername").getFirst(), is(true));
+    assertThat(moderationCache.isUsernameBanned("otherUsername").getFirst(), is(false));
+  }
+
+  @Test
+  public void getUnmuteTimeShouldHonorMuteExpiration() {
+    assertThat(moderationCache.getMacUnmuteTime("mutedMac"), is(Optional.of(LATER)));
+    assertThat(moderationCache.getMacUnmuteTime("expiredMac"), is(Optional.empty()));
+    assertThat(moderationCache.isMacMuted("otherMac"), is(false));
+    assertThat(moderationCache.getUsernameUnmuteTime("mutedUsername"), is(Optional.of(Instant.MAX)));
+    assertThat(moderationCache.isUsernameMuted("otherUsername"), is(false));
+  }
+
+  @Test
+  public void changesShouldBeWrittenToDatabaseAndVisibleToNextQuery() {
+    moderationCache.list();
+
+    moderationCache.addBannedMac(user, LATER, user);
+
+    verify(bannedMacDao).addBannedMac(user, LATER, user);
+    moderationCache.isMacBanned("bannedMac");
+    verify(moderationSnapshotDao, times(2)).load();
+  }
+
+  @Test
+  public void refreshIfChangedShouldReloadTablesOnlyWhenVersionChanges() {
+    moderationCache.list();
+    when(moderationSnapshotDao.getVersion()).thenReturn(SNAPSHOT.version);
+
+    moderationCache.refreshIfChanged();
+    verify(moderationSnapshotDao, times(1)).load();
+
+    when(moderationSnapshotDao.getVersion()).thenReturn(SNAPSHOT.version + 1);
+    moderationCache.refreshIfChanged();
+    verify(moderationSnapshotDao, times(2)).load();
+  }
+
+  @Test
+  public void concurrentQueriesShouldLoadTablesOnlyOnce() throws Exception {
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    when(moderationSnapshotDao.load()).thenAnswer(invocation -> {
+      loading.countDown();
+      Interruptibles.await(release);
+      return SNAPSHOT;
+    });
+    final Thread first = new Thread(moderationCache::list);
+    final Thread second = new Thread(moderationCache::list);
+    first.start();
+    Interruptibles.await(loading);
+    second.start();
+    // the second query finds no snapshot, and must wait for the first to load it
+    while (second.getState() != Thread.State.BLOCKED) {
+      Thread.yield();
+    }
+    release.countDown();
+    first.join();
+    second.join();
+
+    verify(moderationSnapshotDao, times(1)).load();
+  }
+
+  @Test
+  public void deleteExpiredShouldDeleteExpiredBansAndMutesAndReloadTables() {
+    moderationCache.list();
+
+    moderationCache.deleteExpired();
+
+    verify(moderationSnapshotDao).deleteExpired(NOW);
+    moderationCache.list();
+    verify(moderationSnapshotDao, times(2)).load();
+  }
+
+  @Test
+  public void deleteExpiredShouldNotTouchDatabaseWhenNothingExpired() {
+    when(moderationSnapshotDao.load()).thenReturn(new ModerationSnapshot(1, Collections.emptyList(),
+        ImmutableMap.of("bannedMac", LATER), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap()));
+    moderationCache.list();
+
+    moderationCache.deleteExpired();
+
+    verify(moderationSnapshotDao, never()).deleteExpired(any());
+  }
+}
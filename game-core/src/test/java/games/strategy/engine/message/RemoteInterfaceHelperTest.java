@@ -5,12 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.PrintStream;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.ILobbyGameBroadcaster;
+import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.net.GUID;
+
 public class RemoteInterfaceHelperTest {
 
   @Test
@@ -36,6 +42,44 @@ public class RemoteInterfaceHelperTest {
     assertEquals(34, RemoteInterfaceHelper.getNumber("println", new Class<?>[] {Object.class}, PrintStream.class));
   }
 
+  @Test
+  public void testLobbyMethodNumbersAreUnchangedForOlderClients() {
+    assertEquals(0, RemoteInterfaceHelper.getNumber("listGames", new Class<?>[] {}, ILobbyGameController.class));
+    assertEquals(1, RemoteInterfaceHelper.getNumber("postGame",
+        new Class<?>[] {GUID.class, GameDescription.class}, ILobbyGameController.class));
+    assertEquals(2, RemoteInterfaceHelper.getNumber("testGame", new Class<?>[] {GUID.class},
+        ILobbyGameController.class));
+    assertEquals(3, RemoteInterfaceHelper.getNumber("updateGame",
+        new Class<?>[] {GUID.class, GameDescription.class}, ILobbyGameController.class));
+    assertEquals(0, RemoteInterfaceHelper.getNumber("gameRemoved", new Class<?>[] {GUID.class},
+        ILobbyGameBroadcaster.class));
+    assertEquals(1, RemoteInterfaceHelper.getNumber("gameUpdated",
+        new Class<?>[] {GUID.class, GameDescription.class}, ILobbyGameBroadcaster.class));
+  }
+
+  @Test
+  public void testMethodHandleInvokesImplementor() throws Throwable {
+    final int methodNumber =
+        RemoteInterfaceHelper.getNumber("compare", new Class<?>[] {Object.class, Object.class}, Comparator.class);
+    final Object comparator = Comparator.naturalOrder();
+
+    final Object result = (Object) RemoteInterfaceHelper.getMethodHandle(methodNumber, Comparator.class)
+        .invokeExact(comparator, new Object[] {1, 2});
+
+    assertEquals(-1, result);
+  }
+
+  @Test
+  public void testMethodHandleAcceptsNullArgsForNoArgMethod() throws Throwable {
+    final int methodNumber = RemoteInterfaceHelper.getNumber("size", new Class<?>[] {}, Collection.class);
+    final Object collection = Arrays.asList("a", "b");
+
+    final Object result = (Object) RemoteInterfaceHelper.getMethodHandle(methodNumber, Collection.class)
+        .invokeExact(collection, (Object[]) null);
+
+    assertEquals(2, result);
+  }
+
   private static void checkMethodMatches(final String name, final Class<?>[] parameterTypes, final Method method) {
     assertEquals(name, method.getName());
     assertArrayEquals(parameterTypes, method.getParameterTypes());
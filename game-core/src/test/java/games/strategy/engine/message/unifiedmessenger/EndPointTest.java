@@ -1,7 +1,9 @@
 package games.strategy.engine.message.unifiedmessenger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 
@@ -22,4 +24,22 @@ public class EndPointTest {
     assertEquals(1, results.size());
     assertEquals(2, (results.iterator().next()).getRVal());
   }
+
+  @Test
+  public void testSingleThreadedEndPointSkipsNumbersReleasedWithoutRunning() {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> 2);
+    final RemoteMethodCall call = new RemoteMethodCall("", "compare", new Object[] {"", ""},
+        new Class<?>[] {Object.class, Object.class}, Comparator.class);
+    final long first = endPoint.takeANumber();
+    final long abandoned = endPoint.takeANumber();
+    final long last = endPoint.takeANumber();
+
+    endPoint.releaseNumberWithoutRunning(abandoned);
+    endPoint.invokeLocal(call, first, null);
+
+    final List<RemoteMethodCallResults> results =
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> endPoint.invokeLocal(call, last, null));
+    assertEquals(2, (results.iterator().next()).getRVal());
+  }
 }
@@ -0,0 +1,112 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.util.Interruptibles;
+
+public final class InvocationSchedulerTest {
+  @Test
+  public void submitShouldRunInvocationAndRecordLatency() {
+    final InvocationScheduler invocationScheduler = new InvocationScheduler();
+    final CountDownLatch ran = new CountDownLatch(1);
+
+    final boolean scheduled = invocationScheduler.submit("endPoint", ran::countDown);
+
+    assertThat(scheduled, is(true));
+    assertThat(Interruptibles.await(ran), is(true));
+    awaitNoInvocationsInFlight(invocationScheduler);
+    assertThat(invocationScheduler.getLatencyByEndPoint().get("endPoint").getCount(), is(1L));
+    assertThat(invocationScheduler.getRejectedCount(), is(0L));
+  }
+
+  @Test
+  public void submitShouldRejectInvocationWhenSaturated() {
+    final InvocationScheduler invocationScheduler = new InvocationScheduler(1, 1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch running = new CountDownLatch(1);
+    try {
+      assertThat(invocationScheduler.submit("endPoint", () -> {
+        running.countDown();
+        Interruptibles.await(release);
+      }), is(true));
+      Interruptibles.await(running);
+      assertThat(invocationScheduler.submit("endPoint", () -> {
+      }), is(true));
+
+      assertThat(invocationScheduler.submit("endPoint", () -> {
+      }), is(false));
+      assertThat(invocationScheduler.getRejectedCount(), is(1L));
+      assertThat(invocationScheduler.getInFlightCount(), is(2));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void submitOrWaitShouldWaitForRoomWhenSaturated() throws Exception {
+    final InvocationScheduler invocationScheduler = new InvocationScheduler(1, 1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch ran = new CountDownLatch(1);
+    try {
+      invocationScheduler.submit("endPoint", () -> {
+        running.countDown();
+        Interruptibles.await(release);
+      });
+      Interruptibles.await(running);
+      invocationScheduler.submit("endPoint", () -> {
+      });
+      final Thread releaser = new Thread(() -> {
+        Interruptibles.sleep(100);
+        release.countDown();
+      });
+      releaser.start();
+
+      assertThat(invocationScheduler.submitOrWait("endPoint", ran::countDown), is(true));
+
+      assertThat(Interruptibles.await(ran), is(true));
+      assertThat(invocationScheduler.getRejectedCount(), is(0L));
+      assertThat(invocationScheduler.getOverflowCount(), is(0L));
+      releaser.join();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void submitOrWaitShouldScheduleBeyondBoundWhenSaturatedForTooLong() {
+    final InvocationScheduler invocationScheduler = new InvocationScheduler(1, 1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch ran = new CountDownLatch(1);
+    try {
+      invocationScheduler.submit("endPoint", () -> {
+        running.countDown();
+        Interruptibles.await(release);
+      });
+      Interruptibles.await(running);
+      invocationScheduler.submit("endPoint", () -> {
+      });
+
+      assertThat(invocationScheduler.submitOrWait("endPoint", ran::countDown), is(false));
+
+      assertThat(invocationScheduler.getOverflowCount(), is(1L));
+      assertThat(invocationScheduler.getInFlightCount(), is(3));
+      release.countDown();
+      assertThat(Interruptibles.await(ran), is(true));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static void awaitNoInvocationsInFlight(final InvocationScheduler invocationScheduler) {
+    while (invocationScheduler.getInFlightCount() > 0) {
+      Thread.yield();
+    }
+  }
+}
@@ -125,6 +125,31 @@ public class RemoteMessengerTest {
     assertEquals(TestRemote.EXCEPTION_STRING, e.getCause().getMessage());
   }
 
+  @Test
+  public void testAsyncMethodCall() throws Exception {
+    final TestRemote testRemote = new TestRemote();
+    final RemoteName test = new RemoteName(ITestRemote.class, "test");
+    remoteMessenger.registerRemote(testRemote, test);
+    final CompletableFuture<Integer> result =
+        remoteMessenger.invokeAsync(test, (ITestRemote remote) -> remote.increment(1));
+    assertEquals(2, (int) result.get());
+  }
+
+  @Test
+  public void testAsyncNoRemote() {
+    final RemoteName test = new RemoteName(ITestRemote.class, "test");
+    final CompletableFuture<Integer> result =
+        remoteMessenger.invokeAsync(test, (ITestRemote remote) -> remote.increment(1));
+    final Exception e = assertThrows(ExecutionException.class, result::get);
+    assertTrue(RemoteNotFoundException.class.isInstance(e.getCause().getCause()));
+  }
+
+  @Test
+  public void testAsyncCallMustCallExactlyOneMethod() {
+    final RemoteName test = new RemoteName(ITestRemote.class, "test");
+    assertThrows(IllegalStateException.class, () -> remoteMessenger.invokeAsync(test, (ITestRemote remote) -> null));
+  }
+
   @Test
   public void testRemoteCall() throws Exception {
     final RemoteName test = new RemoteName(ITestRemote.class, "test");
@@ -155,6 +180,13 @@ public class RemoteMessengerTest {
       final int incrementedValue = ((ITestRemote) clientRemoteMessenger.getRemote(test)).increment(1);
       assertEquals(2, incrementedValue);
       assertEquals(testRemote.getLastSenderNode(), client.getLocalNode());
+      // and asynchronously
+      final CompletableFuture<Integer> first =
+          clientRemoteMessenger.invokeAsync(test, (ITestRemote remote) -> remote.increment(1));
+      final CompletableFuture<Integer> second =
+          clientRemoteMessenger.invokeAsync(test, (ITestRemote remote) -> remote.increment(2));
+      assertEquals(2, (int) first.get());
+      assertEquals(3, (int) second.get());
     } finally {
       shutdownServerAndClient(server, client);
     }
@@ -169,6 +201,45 @@ public class RemoteMessengerTest {
     }
   }
 
+  @Test
+  public void testCancelAsyncRemoteCall() throws Exception {
+    final RemoteName test = new RemoteName(IFoo.class, "test");
+    ServerMessenger server = null;
+    ClientMessenger client = null;
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      server = ServerMessenger.newInstanceForGameHost("server", 0);
+      server.setAcceptNewConnections(true);
+      final int serverPort = server.getLocalNode().getSocketAddress().getPort();
+      final String mac = MacFinder.getHashedMacAddress();
+      client = new ClientMessenger("localhost", serverPort, "client", mac);
+      final RemoteMessenger serverRemoteMessenger = new RemoteMessenger(new UnifiedMessenger(server));
+      final CountDownLatch started = new CountDownLatch(1);
+      final IFoo foo = () -> {
+        started.countDown();
+        Interruptibles.await(release);
+      };
+      serverRemoteMessenger.registerRemote(foo, test);
+      final UnifiedMessenger clientUnifiedMessenger = new UnifiedMessenger(client);
+      final RemoteMessenger clientRemoteMessenger = new RemoteMessenger(clientUnifiedMessenger);
+
+      final CompletableFuture<Void> result = clientRemoteMessenger.invokeAsync(test, (IFoo remote) -> {
+        remote.foo();
+        return null;
+      });
+      Interruptibles.await(started);
+      assertTrue(result.cancel(false));
+
+      assertEquals(0, clientUnifiedMessenger.getPendingInvocationCount());
+      release.countDown();
+      // the late results of the cancelled call are dropped, and later calls still work
+      ((IFoo) clientRemoteMessenger.getRemote(test)).foo();
+    } finally {
+      release.countDown();
+      shutdownServerAndClient(server, client);
+    }
+  }
+
   @Test
   public void testRemoteCall2() throws Exception {
     final RemoteName test = new RemoteName(ITestRemote.class, "test");
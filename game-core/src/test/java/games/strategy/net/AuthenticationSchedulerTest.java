@@ -0,0 +1,78 @@
+package games.strategy.net;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.net.InetAddress;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.util.Interruptibles;
+
+public final class AuthenticationSchedulerTest {
+  private static final InetAddress ADDRESS = InetAddress.getLoopbackAddress();
+
+  @Test
+  public void submitShouldRunTaskAndRecordLatency() {
+    final AuthenticationScheduler authenticationScheduler = new AuthenticationScheduler();
+    final CountDownLatch ran = new CountDownLatch(1);
+
+    final boolean scheduled = authenticationScheduler.submit(ADDRESS, ran::countDown);
+
+    assertThat(scheduled, is(true));
+    assertThat(Interruptibles.await(ran), is(true));
+    awaitNoTasksPending(authenticationScheduler);
+    assertThat(authenticationScheduler.getLatency().getCount(), is(1L));
+    assertThat(authenticationScheduler.getRejectedCount(), is(0L));
+  }
+
+  @Test
+  public void submitShouldRejectTaskWhenTooManyArePendingForSameAddress() throws Exception {
+    final AuthenticationScheduler authenticationScheduler = new AuthenticationScheduler(1, 10, 2);
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      assertThat(authenticationScheduler.submit(ADDRESS, () -> Interruptibles.await(release)), is(true));
+      assertThat(authenticationScheduler.submit(ADDRESS, () -> {
+      }), is(true));
+
+      assertThat(authenticationScheduler.submit(ADDRESS, () -> {
+      }), is(false));
+      assertThat(authenticationScheduler.submit(InetAddress.getByName("127.0.0.2"), () -> {
+      }), is(true));
+      assertThat(authenticationScheduler.getRejectedCount(), is(1L));
+      assertThat(authenticationScheduler.getPendingCount(), is(3));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void submitShouldRejectTaskWhenSaturated() throws Exception {
+    final AuthenticationScheduler authenticationScheduler = new AuthenticationScheduler(1, 1, 10);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch running = new CountDownLatch(1);
+    try {
+      assertThat(authenticationScheduler.submit(ADDRESS, () -> {
+        running.countDown();
+        Interruptibles.await(release);
+      }), is(true));
+      Interruptibles.await(running);
+      assertThat(authenticationScheduler.submit(ADDRESS, () -> {
+      }), is(true));
+
+      assertThat(authenticationScheduler.submit(ADDRESS, () -> {
+      }), is(false));
+      assertThat(authenticationScheduler.getRejectedCount(), is(1L));
+      assertThat(authenticationScheduler.getPendingCount(), is(2));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static void awaitNoTasksPending(final AuthenticationScheduler authenticationScheduler) {
+    while (authenticationScheduler.getPendingCount() > 0) {
+      Thread.yield();
+    }
+  }
+}
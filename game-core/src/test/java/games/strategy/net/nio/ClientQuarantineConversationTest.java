@@ -0,0 +1,98 @@
+package games.strategy.net.nio;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import games.strategy.net.AuthenticationScheduler;
+import games.strategy.net.IConnectionLogin;
+import games.strategy.net.ILoginValidator;
+import games.strategy.net.MessageHeader;
+import games.strategy.net.nio.QuarantineConversation.Action;
+import games.strategy.util.Interruptibles;
+
+@ExtendWith(MockitoExtension.class)
+public final class ClientQuarantineConversationTest {
+  private static final InetSocketAddress REMOTE_ADDRESS = new InetSocketAddress("127.0.0.1", 3300);
+
+  @Mock
+  private IConnectionLogin login;
+  @Mock
+  private ILoginValidator validator;
+  @Mock
+  private SocketChannel channel;
+  @Mock
+  private Socket socket;
+  @Mock
+  private NioSocket clientSocket;
+  @Mock
+  private NioSocket serverSocket;
+
+  private final Queue<Serializable> sentByClient = new LinkedList<>();
+  private final Queue<Serializable> sentByServer = new LinkedList<>();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private AuthenticationScheduler authenticationScheduler;
+
+  @BeforeEach
+  public void setUp() {
+    when(channel.socket()).thenReturn(socket);
+    when(socket.getRemoteSocketAddress()).thenReturn(REMOTE_ADDRESS);
+    doAnswer(invocation -> sentByClient.add(invocation.<MessageHeader>getArgument(1).getMessage()))
+        .when(clientSocket).send(any(SocketChannel.class), any(MessageHeader.class));
+    doAnswer(invocation -> sentByServer.add(invocation.<MessageHeader>getArgument(1).getMessage()))
+        .when(serverSocket).send(any(SocketChannel.class), any(MessageHeader.class));
+
+    // occupy the only login slot for the client's address, so the scheduler rejects the client's login
+    authenticationScheduler = new AuthenticationScheduler(1, 1, 1);
+    authenticationScheduler.submit(REMOTE_ADDRESS.getAddress(), () -> Interruptibles.await(release));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+  }
+
+  @Test
+  public void shouldReadServerBusyErrorWhenServerRejectsLogin() {
+    final ClientQuarantineConversation client =
+        new ClientQuarantineConversation(login, channel, clientSocket, "name", "mac");
+    final ServerQuarantineConversation server =
+        new ServerQuarantineConversation(validator, authenticationScheduler, channel, serverSocket, null);
+
+    // name and mac
+    assertThat(server.message(sentByClient.remove()), is(Action.NONE));
+    assertThat(server.message(sentByClient.remove()), is(Action.NONE));
+    // challenge
+    assertThat(sentByServer.peek(), is(nullValue()));
+    assertThat(client.message(sentByServer.remove()), is(Action.NONE));
+    // response
+    assertThat(server.message(sentByClient.remove()), is(Action.NONE));
+    // error
+    assertThat(client.message(sentByServer.remove()), is(Action.TERMINATE));
+
+    assertThat(client.getErrorMessage(), is("The server is busy; please try again later"));
+    verify(login, never()).getProperties(anyMap());
+    verify(validator, never()).getChallengeProperties(any(), any());
+  }
+}
@@ -0,0 +1,103 @@
+package games.strategy.net.nio;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.ImmutableMap;
+
+@ExtendWith(MockitoExtension.class)
+public final class NioWriterTest {
+  private static final int PACKET_SIZE = 100;
+
+  @Mock
+  private ErrorReporter errorReporter;
+  private ServerSocketChannel serverChannel;
+  private SocketChannel writeChannel;
+  private SocketChannel readChannel;
+  private NioWriter writer;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress("localhost", 0));
+    writeChannel = SocketChannel.open(serverChannel.getLocalAddress());
+    writeChannel.configureBlocking(false);
+    readChannel = serverChannel.accept();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    if (writer != null) {
+      writer.shutDown();
+    }
+    writeChannel.close();
+    readChannel.close();
+    serverChannel.close();
+  }
+
+  private static SocketWriteData newPacket(final int value) {
+    final byte[] data = new byte[PACKET_SIZE];
+    data[0] = (byte) value;
+    return new SocketWriteData(data, data.length);
+  }
+
+  private void assertNextPacketIs(final DataInputStream in, final int value) throws IOException {
+    assertThat(in.readInt() ^ SocketReadData.MAGIC, is(PACKET_SIZE));
+    final byte[] data = new byte[PACKET_SIZE];
+    in.readFully(data);
+    assertThat(data[0], is((byte) value));
+  }
+
+  @Test
+  public void shouldWritePacketsInTheOrderTheyWereEnqueued() throws Exception {
+    writer = new NioWriter(errorReporter, "test");
+
+    writer.enque(newPacket(1), writeChannel);
+    writer.enque(ImmutableMap.of(writeChannel, newPacket(2)));
+    writer.enque(newPacket(3), writeChannel);
+
+    final DataInputStream in = new DataInputStream(readChannel.socket().getInputStream());
+    assertNextPacketIs(in, 1);
+    assertNextPacketIs(in, 2);
+    assertNextPacketIs(in, 3);
+    verify(errorReporter, never()).error(any(), any());
+  }
+
+  @Test
+  public void shouldReportChannelOnceOnWriterThreadWhenTooMuchDataIsQueued() {
+    final List<String> reportingThreadNames = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> reportingThreadNames.add(Thread.currentThread().getName()))
+        .when(errorReporter).error(any(), any());
+    writer = new NioWriter(errorReporter, "test", PACKET_SIZE / 2);
+
+    writer.enque(newPacket(1), writeChannel);
+    writer.enque(ImmutableMap.of(writeChannel, newPacket(2)));
+
+    verify(errorReporter, timeout(5000)).error(eq(writeChannel), any(IOException.class));
+    verify(errorReporter, after(200).times(1)).error(any(), any());
+    assertThat(reportingThreadNames, contains("NIO Writer - test"));
+  }
+}
@@ -0,0 +1,35 @@
+package games.strategy.net.nio;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public final class SocketWriteDataTest {
+  private static void writeAll(final SocketWriteData data, final ByteBuffer out) {
+    final List<ByteBuffer> buffers = new ArrayList<>();
+    data.addRemainingBuffers(buffers);
+    buffers.forEach(out::put);
+  }
+
+  @Test
+  public void sharedPacketShouldBeWrittenIndependently() {
+    final byte[] bytes = {1, 2, 3};
+    final SocketWriteData original = new SocketWriteData(bytes, bytes.length);
+    final SocketWriteData shared = original.share();
+    final ByteBuffer originalOut = ByteBuffer.allocate(original.size());
+    final ByteBuffer sharedOut = ByteBuffer.allocate(shared.size());
+
+    writeAll(original, originalOut);
+
+    assertThat(original.isWritten(), is(true));
+    assertThat(shared.isWritten(), is(false));
+    writeAll(shared, sharedOut);
+    assertThat(shared.isWritten(), is(true));
+    assertThat(sharedOut.array(), is(originalOut.array()));
+  }
+}
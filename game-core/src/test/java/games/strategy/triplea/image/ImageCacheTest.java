@@ -0,0 +1,91 @@
+package games.strategy.triplea.image;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.ui.Util;
+
+public final class ImageCacheTest {
+  private static final int IMAGE_BYTES = 10 * 10 * 4;
+
+  private final Object partition = new Object();
+  private final ImageCache imageCache = new ImageCache(3 * IMAGE_BYTES);
+
+  private static BufferedImage newImage() {
+    return Util.createImage(10, 10, true);
+  }
+
+  private ImageCache.Key newKey(final String name) {
+    return new ImageCache.Key(partition, name, 1.0);
+  }
+
+  @Test
+  public void getShouldReturnImageCachedForSameScale() {
+    final Image image = newImage();
+    final Image scaledImage = newImage();
+    imageCache.put(new ImageCache.Key(partition, "infantry", 1.0), image);
+    imageCache.put(new ImageCache.Key(partition, "infantry", 0.5), scaledImage);
+
+    assertThat(imageCache.get(new ImageCache.Key(partition, "infantry", 1.0)), is(sameInstance(image)));
+    assertThat(imageCache.get(new ImageCache.Key(partition, "infantry", 0.5)), is(sameInstance(scaledImage)));
+    assertThat(imageCache.get(new ImageCache.Key(new Object(), "infantry", 1.0)), is(nullValue()));
+    assertThat(imageCache.getStats().hitCount(), is(2L));
+    assertThat(imageCache.getStats().missCount(), is(1L));
+  }
+
+  @Test
+  public void getIconShouldReturnSameIconUntilImageIsReplaced() {
+    final Image image = newImage();
+    imageCache.put(newKey("infantry"), image);
+
+    final ImageIcon icon = imageCache.getIcon(newKey("infantry"));
+    assertThat(icon.getImage(), is(sameInstance(image)));
+    assertThat(imageCache.getIcon(newKey("infantry")), is(sameInstance(icon)));
+    assertThat(imageCache.getIcon(newKey("artillery")), is(nullValue()));
+
+    imageCache.put(newKey("infantry"), newImage());
+    assertThat(imageCache.getIcon(newKey("infantry")), is(not(sameInstance(icon))));
+  }
+
+  @Test
+  public void putShouldEvictLeastRecentlyUsedImageWhenBudgetIsExceeded() {
+    imageCache.put(newKey("a"), newImage());
+    imageCache.put(newKey("b"), newImage());
+    imageCache.put(newKey("c"), newImage());
+    imageCache.get(newKey("a"));
+
+    imageCache.put(newKey("d"), newImage());
+
+    assertThat(imageCache.get(newKey("b")), is(nullValue()));
+    assertThat(imageCache.get(newKey("a")) != null, is(true));
+    assertThat(imageCache.size(), is(3L));
+    assertThat(imageCache.getStats().evictionCount(), is(1L));
+  }
+
+  @Test
+  public void invalidatePartitionShouldEvictOnlyImagesOfPartition() {
+    final Object otherPartition = new Object();
+    imageCache.put(newKey("a"), newImage());
+    imageCache.put(new ImageCache.Key(otherPartition, "a", 1.0), newImage());
+
+    imageCache.invalidatePartition(partition);
+
+    assertThat(imageCache.get(newKey("a")), is(nullValue()));
+    assertThat(imageCache.get(new ImageCache.Key(otherPartition, "a", 1.0)) != null, is(true));
+  }
+
+  @Test
+  public void getSizeInBytesShouldAssumeFourBytesPerPixel() {
+    assertThat(ImageCache.getSizeInBytes(newImage()), is(IMAGE_BYTES));
+  }
+}
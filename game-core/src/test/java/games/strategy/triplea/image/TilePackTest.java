@@ -0,0 +1,80 @@
+package games.strategy.triplea.image;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import games.strategy.test.extensions.TemporaryFolder;
+import games.strategy.test.extensions.TemporaryFolderExtension;
+
+@ExtendWith(TemporaryFolderExtension.class)
+public final class TilePackTest {
+  private TemporaryFolder temporaryFolder;
+
+  private static BufferedImage newTile(final int width, final int height, final int seed) {
+    final BufferedImage tile = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        tile.setRGB(x, y, seed * 31 + x * 7919 + y * 104729);
+      }
+    }
+    return tile;
+  }
+
+  private static void assertSamePixels(final BufferedImage actual, final BufferedImage expected) {
+    assertThat(actual.getWidth(), is(expected.getWidth()));
+    assertThat(actual.getHeight(), is(expected.getHeight()));
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertThat(actual.getRGB(x, y), is(expected.getRGB(x, y)));
+      }
+    }
+  }
+
+  @Test
+  public void getTileShouldReturnPixelsOfPackedTile() throws Exception {
+    final Map<String, BufferedImage> tiles = new HashMap<>();
+    tiles.put("baseTiles/0_0.png", newTile(16, 16, 1));
+    tiles.put("baseTiles/0_1.png", newTile(16, 7, 2));
+    final File file = temporaryFolder.newFile("map.tpk");
+
+    TilePack.build(file, "signature", Arrays.asList("baseTiles/0_0.png", "reliefTiles/0_0.png", "baseTiles/0_1.png"),
+        tiles::get);
+    final TilePack tilePack = TilePack.open(file);
+
+    assertThat(tilePack.getSignature(), is("signature"));
+    assertSamePixels(tilePack.getTile("baseTiles/0_0.png"), tiles.get("baseTiles/0_0.png"));
+    assertSamePixels(tilePack.getTile("baseTiles/0_1.png"), tiles.get("baseTiles/0_1.png"));
+  }
+
+  @Test
+  public void getTileShouldReturnNullWhenTileIsNotPacked() throws Exception {
+    final File file = temporaryFolder.newFile("map.tpk");
+    TilePack.build(file, "signature", Arrays.asList("baseTiles/0_0.png", "reliefTiles/0_0.png"),
+        name -> name.startsWith("base") ? newTile(4, 4, 0) : null);
+    final TilePack tilePack = TilePack.open(file);
+
+    assertThat(tilePack.contains("reliefTiles/0_0.png"), is(false));
+    assertThat(tilePack.getTile("reliefTiles/0_0.png"), is(nullValue()));
+  }
+
+  @Test
+  public void openShouldThrowExceptionWhenFileIsNotTilePack() throws Exception {
+    final File file = temporaryFolder.newFile("map.tpk");
+    Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+
+    assertThrows(IOException.class, () -> TilePack.open(file));
+  }
+}
@@ -0,0 +1,105 @@
+package games.strategy.triplea.ui;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.EventChild;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public final class HistoryExporterTest {
+  private GameData gameData;
+  private HistoryWriter historyWriter;
+  private PlayerID japanese;
+  private PlayerID british;
+  private Territory japan;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.DELEGATE_TEST.getGameData();
+    historyWriter = gameData.getHistory().getHistoryWriter();
+    japanese = gameData.getPlayerList().getPlayerId("Japanese");
+    british = gameData.getPlayerList().getPlayerId("British");
+    japan = gameData.getMap().getTerritory("Japan");
+  }
+
+  private void startEvent(final int round, final PlayerID player) {
+    historyWriter.startNextRound(round);
+    historyWriter.startNextStep("step", "delegate", player, "step");
+    historyWriter.startEvent("event");
+  }
+
+  private void addChange(final Change change) {
+    // as the game does, perform the change before adding it to the history
+    gameData.performChange(change);
+    historyWriter.addChange(change);
+  }
+
+  private String export() throws IOException {
+    final StringWriter writer = new StringWriter();
+    HistoryExporter.export(gameData, writer);
+    return writer.toString();
+  }
+
+  @Test
+  public void exportShouldWriteOwnerOfTerritoriesWhoseOwnerChanged() throws Exception {
+    startEvent(1, british);
+    addChange(ChangeFactory.changeOwner(japan, british));
+    startEvent(2, japanese);
+    addChange(ChangeFactory.changeOwner(japan, japanese));
+    startEvent(3, japanese);
+
+    final String export = export();
+
+    assertThat(export, containsString("[ownership]\nround,territory,owner\n"));
+    assertThat(export, containsString("0,Japan,Japanese\n"));
+    assertThat(export, containsString("1,Japan,British\n"));
+    assertThat(export, containsString("2,Japan,Japanese\n"));
+    assertThat(export, not(containsString("3,Japan,")));
+  }
+
+  @Test
+  public void exportShouldWriteResourcesOfPlayersAtEndOfEachRound() throws Exception {
+    final Resource pus = gameData.getResourceList().getResource(Constants.PUS);
+    startEvent(1, japanese);
+    addChange(ChangeFactory.changeResourcesChange(japanese, pus, 5));
+    startEvent(2, japanese);
+    addChange(ChangeFactory.changeResourcesChange(japanese, pus, 10));
+
+    final String export = export();
+
+    assertThat(export, containsString("[players]\nround,player,production,pus,tuv,units\n"));
+    assertThat(export, containsString("1,Japanese,20,40,"));
+    assertThat(export, containsString("2,Japanese,20,50,"));
+    assertThat(japanese.getResources().getQuantity(pus), is(50));
+  }
+
+  @Test
+  public void exportShouldWriteDiceOfEachRoll() throws Exception {
+    startEvent(1, japanese);
+    historyWriter.addChildToEvent(new EventChild("Japanese roll dice for 2 infantry in China, round 1",
+        new DiceRoll(new int[] {0, 5}, 1, 1, false)));
+
+    final String export = export();
+
+    assertThat(export, containsString(
+        "[dice]\nround,player,hits,dice,description\n1,Japanese,1,1 6,\"Japanese roll dice for 2 infantry in China, "
+            + "round 1\"\n"));
+  }
+}
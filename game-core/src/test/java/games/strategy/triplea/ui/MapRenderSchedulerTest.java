@@ -0,0 +1,99 @@
+package games.strategy.triplea.ui;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+
+public final class MapRenderSchedulerTest {
+  private final GameData data = new GameData();
+  private final Territory germany = new Territory("Germany", data);
+  private final Territory france = new Territory("France", data);
+  private final List<Set<Territory>> renderedTerritories = new CopyOnWriteArrayList<>();
+  private final List<Set<Territory>> renderedOwnerChanges = new CopyOnWriteArrayList<>();
+  private final CountDownLatch rendered = new CountDownLatch(1);
+  private final MapRenderScheduler renderScheduler = new MapRenderScheduler(Duration.ofMillis(50), Runnable::run,
+      (territories, ownerChangedTerritories) -> {
+        renderedTerritories.add(territories);
+        renderedOwnerChanges.add(ownerChangedTerritories);
+        rendered.countDown();
+      });
+
+  private void awaitFrame() throws Exception {
+    assertThat("timed out", rendered.await(5, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void shouldRenderEachChangedTerritoryOncePerFrame() throws Exception {
+    renderScheduler.territoryChanged(germany, false);
+    renderScheduler.territoryChanged(france, false);
+    renderScheduler.territoryChanged(germany, true);
+    renderScheduler.territoryChanged(germany, false);
+
+    awaitFrame();
+
+    assertThat(renderedTerritories, contains(contains(germany, france)));
+    assertThat(renderedOwnerChanges, contains(contains(germany)));
+    assertThat(renderScheduler.getEventCount(), is(4L));
+    assertThat(renderScheduler.getFrameCount(), is(1L));
+    assertThat(renderScheduler.getTerritoryUpdateCount(), is(2L));
+  }
+
+  @Test
+  public void shouldCountRedrawnTiles() {
+    renderScheduler.tilesRedrawn(3);
+    renderScheduler.tilesRedrawn(2);
+
+    assertThat(renderScheduler.getTileRedrawCount(), is(5L));
+  }
+
+  @Test
+  public void shouldStartNewFrameAfterPendingTerritoriesAreDiscarded() throws Exception {
+    renderScheduler.territoryChanged(france, false);
+    renderScheduler.discardPendingTerritories();
+    renderScheduler.territoryChanged(germany, false);
+
+    awaitFrame();
+
+    assertThat(renderedTerritories, contains(contains(germany)));
+  }
+
+  @Test
+  public void shouldNotRenderAfterStop() throws Exception {
+    renderScheduler.territoryChanged(germany, false);
+    renderScheduler.stop();
+    renderScheduler.territoryChanged(france, false);
+
+    assertThat(rendered.await(200, TimeUnit.MILLISECONDS), is(false));
+    assertThat(renderedTerritories, is(empty()));
+  }
+
+  @Test
+  public void shouldIgnoreRejectedFrameAfterStop() {
+    final Executor shutDownExecutor = command -> {
+      throw new RejectedExecutionException();
+    };
+    final MapRenderScheduler renderScheduler = new MapRenderScheduler(Duration.ofMillis(50), shutDownExecutor,
+        (territories, ownerChangedTerritories) -> rendered.countDown());
+    assertThrows(RejectedExecutionException.class, renderScheduler::frameIntervalElapsed);
+
+    renderScheduler.stop();
+
+    renderScheduler.frameIntervalElapsed();
+  }
+}
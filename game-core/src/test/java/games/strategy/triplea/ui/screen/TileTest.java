@@ -3,6 +3,7 @@ package games.strategy.triplea.ui.screen;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -102,6 +103,30 @@ public class TileTest {
     assertEquals(Collections.emptyList(), tile.getDrawables());
   }
 
+  @Test
+  public void testDrawablesSortedOnInsert() {
+    final IDrawable first = createMockWithLevel(1);
+    final IDrawable second = createMockWithLevel(1);
+    final IDrawable low = createMockWithLevel(0);
+    final IDrawable high = createMockWithLevel(2);
+    tile.addDrawable(high);
+    tile.addDrawables(Arrays.asList(first, low));
+    tile.addDrawable(second);
+    assertEquals(Arrays.asList(low, first, second, high), tile.getDrawables());
+  }
+
+  @Test
+  public void testDrawImageSwapsDisplayedImage() {
+    tile.drawImage(null, null);
+    final Image drawnImage = tile.getImage();
+    assertNotSame(image, drawnImage);
+    assertEquals(rect.width, drawnImage.getWidth(null));
+    assertEquals(rect.height, drawnImage.getHeight(null));
+
+    tile.drawImage(null, null);
+    assertNotSame(drawnImage, tile.getImage());
+  }
+
   @Test
   public void testCorrectBounds() {
     assertSame(rect, tile.getBounds());
@@ -0,0 +1,93 @@
+package games.strategy.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public final class HashedTimerWheelTest {
+  // a small wheel, so that some deadlines take more than one revolution
+  private final HashedTimerWheel timerWheel = new HashedTimerWheel("Test timer", Duration.ofMillis(10), 4);
+  private final List<String> events = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  public void tearDown() {
+    timerWheel.shutDown();
+  }
+
+  private static void await(final CountDownLatch latch) throws Exception {
+    assertThat("timed out", latch.await(5, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void shouldNotRunTaskBeforeDeadline() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Instant deadline = Instant.now().plusMillis(100);
+
+    timerWheel.schedule(latch::countDown, deadline);
+
+    await(latch);
+    assertThat(Instant.now().toEpochMilli(), is(greaterThanOrEqualTo(deadline.toEpochMilli())));
+  }
+
+  @Test
+  public void shouldRunTasksInDeadlineOrder() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Instant now = Instant.now();
+
+    timerWheel.schedule(() -> {
+      events.add("third");
+      latch.countDown();
+    }, now.plusMillis(150));
+    timerWheel.schedule(() -> events.add("second"), now.plusMillis(60));
+    timerWheel.schedule(() -> events.add("first"), now.minusMillis(1000));
+
+    await(latch);
+    assertThat(events, contains("first", "second", "third"));
+  }
+
+  @Test
+  public void shouldNotRunCancelledTask() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Instant now = Instant.now();
+
+    final HashedTimerWheel.Timeout timeout = timerWheel.schedule(() -> events.add("cancelled"), now.plusMillis(20));
+    timerWheel.schedule(latch::countDown, now.plusMillis(50));
+
+    assertThat(timeout.cancel(), is(true));
+    await(latch);
+    assertThat(events.isEmpty(), is(true));
+    assertThat(timeout.cancel(), is(false));
+  }
+
+  @Test
+  public void shouldKeepRunningTasksAfterTaskThrows() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Instant now = Instant.now();
+
+    timerWheel.schedule(() -> {
+      throw new IllegalStateException("expected");
+    }, now);
+    timerWheel.schedule(latch::countDown, now.plusMillis(20));
+
+    await(latch);
+  }
+
+  @Test
+  public void scheduleShouldThrowExceptionWhenShutDown() {
+    timerWheel.shutDown();
+
+    assertThrows(IllegalStateException.class, () -> timerWheel.schedule(() -> events.add("late"), Instant.now()));
+  }
+}
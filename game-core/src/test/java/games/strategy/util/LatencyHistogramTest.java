@@ -0,0 +1,40 @@
+package games.strategy.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public final class LatencyHistogramTest {
+  private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+  @Test
+  public void shouldReportZeroWhenEmpty() {
+    assertThat(latencyHistogram.getCount(), is(0L));
+    assertThat(latencyHistogram.getPercentileMillis(99), is(0L));
+    assertThat(latencyHistogram.getMeanMillis(), is(0.0));
+  }
+
+  @Test
+  public void shouldReportPercentileUpperBounds() {
+    for (int i = 0; i < 99; i++) {
+      latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    }
+    latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+
+    assertThat(latencyHistogram.getCount(), is(100L));
+    assertThat(latencyHistogram.getPercentileMillis(50), is(4L));
+    assertThat(latencyHistogram.getPercentileMillis(99), is(4L));
+    assertThat(latencyHistogram.getPercentileMillis(100), is(100L));
+    assertThat(latencyHistogram.getMaxMillis(), is(100L));
+  }
+
+  @Test
+  public void getPercentileMillisShouldThrowExceptionWhenPercentileOutOfRange() {
+    assertThrows(IllegalArgumentException.class, () -> latencyHistogram.getPercentileMillis(0));
+    assertThrows(IllegalArgumentException.class, () -> latencyHistogram.getPercentileMillis(101));
+  }
+}
@@ -0,0 +1,31 @@
+create table moderation_version (
+  id int not null primary key default 1 check (id=1),
+  version bigint not null
+);
+
+comment on table moderation_version is 'A single row counting the changes made to the bans, mutes and bad words, so the lobby can tell when to reload its cache of them.';
+comment on column moderation_version.version is 'The number of statements that have changed the bans, mutes or bad words.';
+
+alter table moderation_version owner to postgres;
+
+insert into moderation_version (version) values (0);
+
+create function increment_moderation_version() returns trigger as $$
+begin
+  update moderation_version set version=version+1;
+  return null;
+end;
+$$ language plpgsql;
+
+alter function increment_moderation_version() owner to postgres;
+
+create trigger bad_words_moderation_version after insert or update or delete or truncate on bad_words
+  for each statement execute procedure increment_moderation_version();
+create trigger banned_macs_moderation_version after insert or update or delete or truncate on banned_macs
+  for each statement execute procedure increment_moderation_version();
+create trigger banned_usernames_moderation_version after insert or update or delete or truncate on banned_usernames
+  for each statement execute procedure increment_moderation_version();
+create trigger muted_macs_moderation_version after insert or update or delete or truncate on muted_macs
+  for each statement execute procedure increment_moderation_version();
+create trigger muted_usernames_moderation_version after insert or update or delete or truncate on muted_usernames
+  for each statement execute procedure increment_moderation_version();
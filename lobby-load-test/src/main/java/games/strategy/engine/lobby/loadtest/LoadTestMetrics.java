@@ -0,0 +1,88 @@
+package games.strategy.engine.lobby.loadtest;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import games.strategy.util.LatencyHistogram;
+
+/**
+ * The measurements taken during a lobby load test.
+ */
+@ThreadSafe
+final class LoadTestMetrics {
+  /** Time from opening a connection until the lobby accepts the login. */
+  final LatencyHistogram login = new LatencyHistogram();
+  /** Time from sending a chat message until an observer receives it. */
+  final LatencyHistogram chatDelivery = new LatencyHistogram();
+  /** Time for the lobby to accept a new game. */
+  final LatencyHistogram gamePost = new LatencyHistogram();
+  /** Time for the lobby to accept a game update. */
+  final LatencyHistogram gameUpdate = new LatencyHistogram();
+  /** Time from a host updating its game until an observer sees the update. */
+  final LatencyHistogram gameUpdateDelivery = new LatencyHistogram();
+  final LongAdder failedLogins = new LongAdder();
+  final LongAdder chatMessagesSent = new LongAdder();
+  final LongAdder errors = new LongAdder();
+
+  private final Map<String, long[]> gcAtStart = new LinkedHashMap<>();
+  private long startNanos;
+
+  /**
+   * Remembers the garbage collection counts and the time at which the measured period starts.
+   */
+  void start() {
+    startNanos = System.nanoTime();
+    for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcAtStart.put(gc.getName(), new long[] {gc.getCollectionCount(), gc.getCollectionTime()});
+    }
+  }
+
+  /**
+   * Prints the measurements taken since {@link #start()}.
+   */
+  void report(final PrintStream out) {
+    final double elapsedSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    out.printf("%-22s %10s %10s %10s %10s %10s %10s%n", "Operation", "Count", "Rate (/s)", "Mean (ms)", "p50 (ms)",
+        "p99 (ms)", "Max (ms)");
+    report(out, "login", login, elapsedSeconds);
+    report(out, "chat delivery", chatDelivery, elapsedSeconds);
+    report(out, "game post", gamePost, elapsedSeconds);
+    report(out, "game update", gameUpdate, elapsedSeconds);
+    report(out, "game update delivery", gameUpdateDelivery, elapsedSeconds);
+    out.println("(percentiles are upper bounds rounded up to a power of two milliseconds)");
+    out.printf("Chat messages sent: %d (%.1f/s)%n", chatMessagesSent.sum(), chatMessagesSent.sum() / elapsedSeconds);
+    out.printf("Failed logins: %d, other errors: %d%n", failedLogins.sum(), errors.sum());
+
+    final List<GarbageCollectorMXBean> gcs = ManagementFactory.getGarbageCollectorMXBeans();
+    for (final GarbageCollectorMXBean gc : gcs) {
+      final long[] atStart = gcAtStart.getOrDefault(gc.getName(), new long[2]);
+      out.printf("GC %s: %d collections, %d ms%n", gc.getName(), gc.getCollectionCount() - atStart[0],
+          gc.getCollectionTime() - atStart[1]);
+    }
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    out.printf("Threads: %d live, %d peak%n", threads.getThreadCount(), threads.getPeakThreadCount());
+    final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    out.printf("Heap: %d MB used, %d MB committed%n", memory.getHeapMemoryUsage().getUsed() >> 20,
+        memory.getHeapMemoryUsage().getCommitted() >> 20);
+  }
+
+  private static void report(
+      final PrintStream out,
+      final String operation,
+      final LatencyHistogram histogram,
+      final double elapsedSeconds) {
+    out.printf("%-22s %10d %10.1f %10.1f %10d %10d %10d%n", operation, histogram.getCount(),
+        histogram.getCount() / elapsedSeconds, histogram.getMeanMillis(), histogram.getPercentileMillis(50),
+        histogram.getPercentileMillis(99), histogram.getMaxMillis());
+  }
+}
@@ -0,0 +1,106 @@
+package games.strategy.engine.lobby.loadtest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The options of a lobby load test, parsed from command line arguments of the form {@code --name=value}.
+ */
+final class LoadTestOptions {
+  static final String CLIENTS = "clients";
+  static final String HOSTS = "hosts";
+  static final String OBSERVERS = "observers";
+  static final String DURATION_SECONDS = "duration";
+  static final String RAMP_UP_SECONDS = "ramp-up";
+  static final String CHAT_INTERVAL_MILLIS = "chat-interval";
+  static final String GAME_UPDATE_INTERVAL_MILLIS = "game-update-interval";
+  static final String DRIVER_THREADS = "driver-threads";
+  static final String LOBBY_HOST = "lobby-host";
+  static final String LOBBY_PORT = "lobby-port";
+  private static final ImmutableSet<String> NAMES = ImmutableSet.of(
+      CLIENTS, HOSTS, OBSERVERS, DURATION_SECONDS, RAMP_UP_SECONDS, CHAT_INTERVAL_MILLIS, GAME_UPDATE_INTERVAL_MILLIS,
+      DRIVER_THREADS, LOBBY_HOST, LOBBY_PORT);
+
+  /** The number of simulated clients. */
+  final int clients;
+  /** The number of clients that post a game and keep updating it. */
+  final int hosts;
+  /** The number of clients that track the game list and record how long changes take to reach them. */
+  final int observers;
+  final int durationSeconds;
+  /** The time over which the clients log in. */
+  final int rampUpSeconds;
+  /** The interval at which each client sends a chat message. */
+  final long chatIntervalMillis;
+  /** The interval at which each host updates its game. */
+  final long gameUpdateIntervalMillis;
+  /** The number of threads that drive the clients' workloads. */
+  final int driverThreads;
+  /** The host of the lobby to load, or empty to start a lobby in this process. */
+  final Optional<String> lobbyHost;
+  /** The port of the lobby to load, or empty to use the port of the lobby started in this process. */
+  final Optional<Integer> lobbyPort;
+
+  private LoadTestOptions(final Map<String, String> options) {
+    clients = getInt(options, CLIENTS, 500);
+    hosts = getInt(options, HOSTS, clients / 10);
+    observers = getInt(options, OBSERVERS, Math.min(clients, 20));
+    durationSeconds = getInt(options, DURATION_SECONDS, 60);
+    rampUpSeconds = getInt(options, RAMP_UP_SECONDS, 10);
+    // the lobby's chat flood control allows 20 messages per minute
+    chatIntervalMillis = getInt(options, CHAT_INTERVAL_MILLIS, 10_000);
+    gameUpdateIntervalMillis = getInt(options, GAME_UPDATE_INTERVAL_MILLIS, 2_000);
+    driverThreads = getInt(options, DRIVER_THREADS, 32);
+    lobbyHost = Optional.ofNullable(options.get(LOBBY_HOST));
+    lobbyPort = Optional.ofNullable(options.get(LOBBY_PORT)).map(Integer::valueOf);
+
+    checkArgument(clients > 0, "clients must be positive");
+    checkArgument(hosts >= 0 && hosts <= clients, "hosts must be between 0 and the number of clients");
+    checkArgument(observers >= 0 && observers <= clients, "observers must be between 0 and the number of clients");
+    checkArgument(durationSeconds > 0, "duration must be positive");
+    checkArgument(rampUpSeconds >= 0, "ramp-up must not be negative");
+    checkArgument(chatIntervalMillis > 0, "chat-interval must be positive");
+    checkArgument(gameUpdateIntervalMillis > 0, "game-update-interval must be positive");
+    checkArgument(driverThreads > 0, "driver-threads must be positive");
+  }
+
+  private static int getInt(final Map<String, String> options, final String name, final int defaultValue) {
+    final @Nullable String value = options.get(name);
+    try {
+      return (value != null) ? Integer.parseInt(value) : defaultValue;
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException(name + " must be an integer: " + value, e);
+    }
+  }
+
+  /**
+   * Parses the specified command line arguments.
+   *
+   * @throws IllegalArgumentException If an argument is malformed or has an invalid value.
+   */
+  static LoadTestOptions parse(final String... args) {
+    final Map<String, String> options = new HashMap<>();
+    for (final String arg : args) {
+      checkArgument(arg.startsWith("--") && arg.contains("="), "arguments must be of the form --name=value: " + arg);
+      final int separatorIndex = arg.indexOf('=');
+      final String name = arg.substring(2, separatorIndex);
+      checkArgument(NAMES.contains(name), "unknown option: " + name);
+      options.put(name, arg.substring(separatorIndex + 1));
+    }
+    return new LoadTestOptions(options);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d clients (%d hosts, %d observers), %d s after %d s ramp-up, chat every %d ms, "
+        + "game update every %d ms",
+        clients, hosts, observers, durationSeconds, rampUpSeconds, chatIntervalMillis, gameUpdateIntervalMillis);
+  }
+}
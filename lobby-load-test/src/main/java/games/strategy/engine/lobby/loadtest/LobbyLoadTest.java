@@ -0,0 +1,136 @@
+package games.strategy.engine.lobby.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import games.strategy.engine.config.FilePropertyReader;
+import games.strategy.engine.config.lobby.LobbyPropertyReader;
+import games.strategy.engine.lobby.server.LobbyServer;
+import games.strategy.sound.ClipPlayer;
+import games.strategy.util.ExitStatus;
+import lombok.extern.java.Log;
+
+/**
+ * Measures how the lobby copes with many concurrent users.
+ *
+ * <p>
+ * Starts a lobby in this process (unless the {@code lobby-host} option names a running lobby), logs in the configured
+ * number of simulated clients over the ramp-up period, and then lets every client chat, and every host post and
+ * update a game, at the configured intervals for the configured duration. Finally, prints throughput and latency of
+ * each operation, along with garbage collection, thread and heap statistics of this process.
+ * </p>
+ *
+ * <p>
+ * The lobby started in this process uses the properties in {@code config/lobby/lobby.properties}, so it needs the
+ * same database as the lobby integration tests.
+ * </p>
+ */
+@Log
+public final class LobbyLoadTest {
+  private static final int DEFAULT_LOBBY_PORT = 3304;
+
+  private LobbyLoadTest() {}
+
+  /**
+   * Entry point for running a lobby load test. See {@link LoadTestOptions} for the available arguments.
+   */
+  public static void main(final String[] args) {
+    try {
+      run(LoadTestOptions.parse(args), System.out);
+      ExitStatus.SUCCESS.exit();
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      ExitStatus.FAILURE.exit();
+    } catch (final Exception e) {
+      log.log(Level.SEVERE, "Lobby load test failed", e);
+      ExitStatus.FAILURE.exit();
+    }
+  }
+
+  private static void run(final LoadTestOptions options, final PrintStream out)
+      throws IOException, InterruptedException {
+    ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
+
+    final String host;
+    final int port;
+    if (options.lobbyHost.isPresent()) {
+      host = options.lobbyHost.get();
+      port = options.lobbyPort.orElse(DEFAULT_LOBBY_PORT);
+    } else {
+      final LobbyPropertyReader lobbyPropertyReader =
+          new LobbyPropertyReader(new FilePropertyReader("config/lobby/lobby.properties"));
+      LobbyServer.start(lobbyPropertyReader);
+      host = "localhost";
+      port = lobbyPropertyReader.getPort();
+    }
+    out.println("Lobby load test against " + host + ":" + port + ": " + options);
+
+    final LoadTestMetrics metrics = new LoadTestMetrics();
+    final ScheduledExecutorService driver = Executors.newScheduledThreadPool(options.driverThreads,
+        new ThreadFactoryBuilder().setNameFormat("Load test driver %d").setDaemon(true).build());
+    final List<SimulatedClient> clients = new ArrayList<>(options.clients);
+    final long loginIntervalNanos = TimeUnit.SECONDS.toNanos(options.rampUpSeconds) / options.clients;
+    metrics.start();
+    for (int i = 0; i < options.clients; i++) {
+      // observers come first and hosts last, so they overlap only if there are not enough clients
+      final SimulatedClient client = new SimulatedClient(i, i < options.observers, metrics);
+      final boolean gameHost = i >= options.clients - options.hosts;
+      clients.add(client);
+      driver.schedule(
+          () -> {
+            if (client.login(host, port)) {
+              startWorkload(client, gameHost, options, driver, metrics);
+            }
+          },
+          i * loginIntervalNanos,
+          TimeUnit.NANOSECONDS);
+    }
+
+    TimeUnit.SECONDS.sleep(options.rampUpSeconds + options.durationSeconds);
+    driver.shutdownNow();
+    metrics.report(out);
+    clients.forEach(SimulatedClient::shutDown);
+  }
+
+  private static void startWorkload(
+      final SimulatedClient client,
+      final boolean gameHost,
+      final LoadTestOptions options,
+      final ScheduledExecutorService driver,
+      final LoadTestMetrics metrics) {
+    // spread the clients' actions evenly over their intervals
+    driver.scheduleWithFixedDelay(
+        countingErrors(client::sendChatMessage, metrics),
+        ThreadLocalRandom.current().nextLong(options.chatIntervalMillis),
+        options.chatIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    if (gameHost) {
+      driver.scheduleWithFixedDelay(
+          countingErrors(client::postOrUpdateGame, metrics),
+          ThreadLocalRandom.current().nextLong(options.gameUpdateIntervalMillis),
+          options.gameUpdateIntervalMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static Runnable countingErrors(final Runnable action, final LoadTestMetrics metrics) {
+    return () -> {
+      try {
+        action.run();
+      } catch (final RuntimeException e) {
+        // keep going; an exception would cancel the periodic action
+        metrics.errors.increment();
+        log.log(Level.FINE, "Simulated client action failed", e);
+      }
+    };
+  }
+}
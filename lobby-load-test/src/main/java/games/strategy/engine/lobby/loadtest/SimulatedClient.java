@@ -0,0 +1,197 @@
+package games.strategy.engine.lobby.loadtest;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import games.strategy.engine.chat.Chat.ChatSoundProfile;
+import games.strategy.engine.chat.HeadlessChat;
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.lobby.server.GameDescription.GameStatus;
+import games.strategy.engine.lobby.server.GameDescriptionDelta;
+import games.strategy.engine.lobby.server.ILobbyGameChangeBroadcaster;
+import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.engine.lobby.server.LobbyGameChanges;
+import games.strategy.engine.lobby.server.LobbyServer;
+import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
+import games.strategy.net.ClientMessenger;
+import games.strategy.net.GUID;
+import games.strategy.net.MacFinder;
+import games.strategy.net.Messengers;
+
+/**
+ * A lobby client that logs in anonymously, joins the lobby chat and watches the game list like a real client, and
+ * that can send chat messages and host a game on demand.
+ *
+ * <p>
+ * Chat messages and game comments sent by simulated clients carry the time at which they were sent, so an
+ * <i>observer</i> (a simulated client in the same process) can measure how long they took to reach it.
+ * </p>
+ */
+final class SimulatedClient {
+  private static final String TIMESTAMP_PREFIX = "loadtest ";
+
+  private final String name;
+  private final boolean observer;
+  private final LoadTestMetrics metrics;
+  private @Nullable ClientMessenger messenger;
+  private @Nullable HeadlessChat chat;
+  private @Nullable ILobbyGameController lobbyGameController;
+  private @Nullable GUID gameId;
+  private @Nullable GameDescription gameDescription;
+  // the game list, tracked only by observers
+  @GuardedBy("this")
+  private final Map<GUID, GameDescription> games = new HashMap<>();
+
+  SimulatedClient(final int index, final boolean observer, final LoadTestMetrics metrics) {
+    name = "loadtest" + index;
+    this.observer = observer;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Logs in to the specified lobby, joins its chat and subscribes to its game list.
+   *
+   * @return {@code true} if the client logged in.
+   */
+  boolean login(final String host, final int port) {
+    final long startNanos = System.nanoTime();
+    final ClientMessenger messenger;
+    try {
+      messenger = new ClientMessenger(host, port, name, MacFinder.getHashedMacAddress(), challenge -> {
+        final Map<String, String> response = new HashMap<>();
+        response.put(LobbyLoginValidator.ANONYMOUS_LOGIN, Boolean.TRUE.toString());
+        response.put(LobbyLoginValidator.LOBBY_VERSION, LobbyServer.LOBBY_VERSION.toString());
+        return response;
+      });
+    } catch (final IOException e) {
+      metrics.failedLogins.increment();
+      return false;
+    }
+    metrics.login.record(System.nanoTime() - startNanos);
+    this.messenger = messenger;
+
+    final Messengers messengers = new Messengers(messenger);
+    messengers.getChannelMessenger().registerChannelSubscriber(
+        new GameListListener(), ILobbyGameChangeBroadcaster.GAME_CHANGE_BROADCASTER_CHANNEL);
+    lobbyGameController = (ILobbyGameController) messengers.getRemoteMessenger()
+        .getRemote(ILobbyGameController.GAME_CONTROLLER_REMOTE);
+    chat = new RecordingChat(messengers);
+    if (observer) {
+      gamesChanged(lobbyGameController.updatesSince(0));
+    }
+    return true;
+  }
+
+  void sendChatMessage() {
+    if (chat != null) {
+      chat.getChat().sendMessage(TIMESTAMP_PREFIX + System.nanoTime(), false);
+      metrics.chatMessagesSent.increment();
+    }
+  }
+
+  /**
+   * Posts a game to the lobby if this client has not done so yet; otherwise updates it.
+   */
+  void postOrUpdateGame() {
+    if (messenger == null || lobbyGameController == null) {
+      return;
+    }
+
+    final long startNanos = System.nanoTime();
+    if (gameId == null) {
+      gameId = new GUID();
+      gameDescription = new GameDescription(messenger.getLocalNode(), messenger.getLocalNode().getPort(),
+          Instant.now(), "Load Test", 1, GameStatus.WAITING_FOR_PLAYERS, "-", name, TIMESTAMP_PREFIX + startNanos,
+          false, LobbyServer.LOBBY_VERSION.toString(), "1.0");
+      lobbyGameController.postGame(gameId, gameDescription);
+      metrics.gamePost.record(System.nanoTime() - startNanos);
+    } else {
+      gameDescription.setPlayerCount(gameDescription.getPlayerCount() % 6 + 1);
+      gameDescription.setComment(TIMESTAMP_PREFIX + startNanos);
+      lobbyGameController.updateGame(gameId, gameDescription);
+      metrics.gameUpdate.record(System.nanoTime() - startNanos);
+    }
+  }
+
+  void shutDown() {
+    if (messenger != null) {
+      messenger.shutDown();
+    }
+  }
+
+  private void recordDelivery(final @Nullable String timestampedText, final LongConsumer histogram) {
+    if (timestampedText != null && timestampedText.startsWith(TIMESTAMP_PREFIX)) {
+      try {
+        final long sentNanos = Long.parseLong(timestampedText.substring(TIMESTAMP_PREFIX.length()));
+        histogram.accept(System.nanoTime() - sentNanos);
+      } catch (final NumberFormatException e) {
+        // not sent by a simulated client
+      }
+    }
+  }
+
+  private synchronized void gamesChanged(final LobbyGameChanges changes) {
+    if (changes.isComplete()) {
+      games.clear();
+    }
+    changes.getGames().forEach((id, description) -> {
+      games.put(id, description);
+      // a complete list is the initial list, which holds no new changes
+      if (!changes.isComplete()) {
+        recordDelivery(description.getComment(), metrics.gameUpdateDelivery::record);
+      }
+    });
+    for (final Map.Entry<GUID, GameDescriptionDelta> entry : changes.getDeltas().entrySet()) {
+      final @Nullable GameDescription description = games.get(entry.getKey());
+      if (description != null) {
+        final GameDescription changed = entry.getValue().applyTo(description);
+        games.put(entry.getKey(), changed);
+        if (!Objects.equals(changed.getComment(), description.getComment())) {
+          recordDelivery(changed.getComment(), metrics.gameUpdateDelivery::record);
+        }
+      }
+    }
+    changes.getRemovedGames().forEach(games::remove);
+  }
+
+  private final class GameListListener implements ILobbyGameChangeBroadcaster {
+    @Override
+    public void gamesChanged(final LobbyGameChanges changes) {
+      if (observer) {
+        SimulatedClient.this.gamesChanged(changes);
+      }
+    }
+  }
+
+  /**
+   * A headless chat that does not keep the chat text, but records the delivery time of chat messages if the client is
+   * an observer.
+   */
+  private final class RecordingChat extends HeadlessChat {
+    RecordingChat(final Messengers messengers) {
+      super(messengers.getMessenger(), messengers.getChannelMessenger(), messengers.getRemoteMessenger(),
+          LobbyServer.LOBBY_CHAT, ChatSoundProfile.NO_SOUND);
+    }
+
+    @Override
+    public void addMessage(final String message, final String from, final boolean thirdperson) {
+      if (observer) {
+        recordDelivery(message, metrics.chatDelivery::record);
+      }
+    }
+
+    @Override
+    public void addMessageWithSound(final String message, final String from, final boolean thirdperson,
+        final String sound) {}
+
+    @Override
+    public void addStatusMessage(final String message) {}
+  }
+}
@@ -0,0 +1,60 @@
+package games.strategy.engine.lobby.loadtest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public final class LoadTestOptionsTest {
+  @Test
+  public void parse_ShouldUseDefaultsWhenNoArgumentsAreSpecified() {
+    final LoadTestOptions options = LoadTestOptions.parse();
+
+    assertThat(options.clients, is(500));
+    assertThat(options.hosts, is(50));
+    assertThat(options.observers, is(20));
+    assertThat(options.lobbyHost, is(Optional.empty()));
+    assertThat(options.lobbyPort, is(Optional.empty()));
+  }
+
+  @Test
+  public void parse_ShouldDeriveHostsAndObserversFromClients() {
+    final LoadTestOptions options = LoadTestOptions.parse("--clients=10");
+
+    assertThat(options.hosts, is(1));
+    assertThat(options.observers, is(10));
+  }
+
+  @Test
+  public void parse_ShouldUseSpecifiedValues() {
+    final LoadTestOptions options = LoadTestOptions.parse(
+        "--clients=100", "--hosts=5", "--duration=30", "--lobby-host=example.com", "--lobby-port=3305");
+
+    assertThat(options.clients, is(100));
+    assertThat(options.hosts, is(5));
+    assertThat(options.durationSeconds, is(30));
+    assertThat(options.lobbyHost, is(Optional.of("example.com")));
+    assertThat(options.lobbyPort, is(Optional.of(3305)));
+  }
+
+  @Test
+  public void parse_ShouldRejectMalformedArgument() {
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("clients=100"));
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--clients"));
+  }
+
+  @Test
+  public void parse_ShouldRejectUnknownOption() {
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--users=100"));
+  }
+
+  @Test
+  public void parse_ShouldRejectInvalidValue() {
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--clients=many"));
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--clients=0"));
+    assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--clients=10", "--hosts=11"));
+  }
+}